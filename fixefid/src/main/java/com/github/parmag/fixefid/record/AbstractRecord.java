@@ -1,12 +1,16 @@
 package com.github.parmag.fixefid.record;
 
 import java.math.BigDecimal;
+import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
 
 import com.github.parmag.fixefid.record.csv.CSVEnc;
@@ -40,6 +44,14 @@ public abstract class AbstractRecord {
 	protected int recordLen;
 	protected List<FieldExtendedProperty> fieldExtendedProperties;
 	
+	private Set<String> projection;
+	private Field[] projectionFields;
+	private int[] projectionOffsets;
+	private boolean[] projected;
+	private Map<String, Integer> projectionIndexes;
+	private String passThroughRecord;
+	private boolean[] passThrough;
+	
 	private Long id;
 	private String name;
 	private String type;
@@ -372,6 +384,11 @@ public abstract class AbstractRecord {
 	 * @param record the record with the formatted value to fill
 	 */
 	protected void doFill(String record) {
+		if (projection != null) {
+			doFillProjection(record);
+			return;
+		}
+		
 		int index = 0;
 		
 		for (String key : fieldsMap.keySet()) {
@@ -380,6 +397,152 @@ public abstract class AbstractRecord {
 		}
 	}
 	
+	/**
+	 * Fill only the fields of the projection with the formatted value presented in the <code>record</code> param. 
+	 * The other fields are kept as they are in the <code>record</code> param: they are decoded only if they are accessed, 
+	 * otherwise they are returned unchanged by the <code>toString</code> method
+	 * 
+	 * @param record the record with the formatted value to fill
+	 */
+	private void doFillProjection(String record) {
+		compileProjection();
+		
+		passThroughRecord = record;
+		for (int i = 0; i < projectionFields.length; i++) {
+			passThrough[i] = !projected[i];
+			if (projected[i]) {
+				projectionFields[i].setValue(record.substring(projectionOffsets[i], projectionOffsets[i] + projectionFields[i].getLen()), false);
+			}
+		}
+	}
+	
+	/**
+	 * Compile the projection of this record, if present and not compiled yet, with the offset of every field
+	 * 
+	 * @throws RecordException if a name of the projection doesn't represent any field of the record
+	 */
+	protected void compileProjection() throws RecordException {
+		if (projection == null || projectionFields != null) {
+			return;
+		}
+		
+		int size = fieldsMap.size();
+		projectionFields = new Field[size];
+		projectionOffsets = new int[size];
+		projectionIndexes = new HashMap<String, Integer>();
+		projected = projectedKeys(projection);
+		passThrough = new boolean[size];
+		int i = 0;
+		int offset = 0;
+		for (Map.Entry<String, Field> entry : fieldsMap.entrySet()) {
+			projectionFields[i] = entry.getValue();
+			projectionOffsets[i] = offset;
+			projectionIndexes.put(entry.getKey(), i);
+			offset += entry.getValue().getLen();
+			i++;
+		}
+	}
+	
+	/**
+	 * Returns, for every field of the fields map in order, true if the field is in the projection indicated by 
+	 * the <code>projection</code> param. A field is in the projection if its name, or the name of one of its 
+	 * composite parents, is in the projection. The final filler is never in the projection
+	 * 
+	 * @param projection the names of the fields of the projection
+	 * @return for every field of the fields map in order, true if the field is in the projection
+	 * @throws RecordException if a name of the projection doesn't represent any field of the record
+	 */
+	protected boolean[] projectedKeys(Set<String> projection) throws RecordException {
+		boolean[] result = new boolean[fieldsMap.size()];
+		Set<String> found = new HashSet<String>();
+		int i = 0;
+		for (String key : fieldsMap.keySet()) {
+			if (!FINAL_FILLER_NAME.equals(key)) {
+				String fieldName = fieldNameForKey(key, fieldOccursForKey(key));
+				for (int end = fieldName.length(); end > 0; end = fieldName.lastIndexOf(CMP_FIELD_NAME_SEP, end - 1)) {
+					String name = fieldName.substring(0, end);
+					if (projection.contains(name)) {
+						result[i] = true;
+						found.add(name);
+					}
+				}
+			}
+			
+			i++;
+		}
+		
+		for (String name : projection) {
+			if (!found.contains(name)) {
+				throw new RecordException(ErrorCode.RE9, "Unknown fieldName=[" + name + "] of the projection");
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @return the names of the fields of the projection, or null if all the fields are decoded
+	 */
+	public Set<String> getProjection() {
+		return projection;
+	}
+	
+	/**
+	 * Set the names of the fields to decode when the record is filled. The other fields aren't decoded, validated
+	 * and synced, and they are returned unchanged by the <code>toString</code> method. If a field not in the projection
+	 * is accessed, it's decoded at the first access. If the name of a composite field is in the projection, all its 
+	 * components are in the projection
+	 * 
+	 * @param projection the names of the fields of the projection, or null to decode all the fields
+	 */
+	protected void setProjection(Set<String> projection) {
+		this.projection = projection != null ? new HashSet<String>(projection) : null;
+		this.projectionFields = null;
+		this.passThroughRecord = null;
+		this.passThrough = null;
+	}
+	
+	/**
+	 * Decode all the fields not decoded yet, before an operation that uses every field of the record
+	 */
+	private void decodePassThrough() {
+		if (passThroughRecord == null) {
+			return;
+		}
+		
+		for (int i = 0; i < projectionFields.length; i++) {
+			decodePassThrough(i);
+		}
+	}
+	
+	private void decodePassThrough(int i) {
+		if (passThrough[i]) {
+			passThrough[i] = false;
+			projectionFields[i].setValue(passThroughRecord.substring(projectionOffsets[i], projectionOffsets[i] + projectionFields[i].getLen()), false);
+		}
+	}
+	
+	/**
+	 * @param i the index of the field in the fields map
+	 * @return true if the field is not decoded yet, and so it's kept as it is in the filled record
+	 */
+	private boolean isPassThrough(int i) {
+		return passThroughRecord != null && passThrough[i];
+	}
+	
+	/**
+	 * @param key the key of the field
+	 * @return true if the field is in the projection, or if all the fields are decoded
+	 */
+	protected boolean isProjected(String key) {
+		if (passThroughRecord == null) {
+			return true;
+		}
+		
+		Integer i = projectionIndexes.get(key);
+		return i == null || projected[i];
+	}
+	
 	/**
 	 * Returns the field represented by the <code>fieldName</code> param
 	 *  
@@ -408,6 +571,10 @@ public abstract class AbstractRecord {
 			throw new RecordException(ErrorCode.RE9, "Unknown fieldName=[" + fieldName + "] with key=[" + key + "]");
 		}
 		
+		if (passThroughRecord != null) {
+			decodePassThrough(projectionIndexes.get(key));
+		}
+		
 		return fieldsMap.get(key);
 	}
 	
@@ -436,6 +603,29 @@ public abstract class AbstractRecord {
 		return getRecordField(fieldName, fieldOccur).getLen();
 	}
 	
+	/**
+	 * Returns the scale of the values as BigDecimal of the field represented by the <code>fieldName</code> param: 
+	 * the scale of a binary field, the max fraction digits of the decimal format of a field with a decimal format, or 0 
+	 * for the other fields
+	 * 
+	 * @param fieldName the property of the field to know the scale
+	 * @return the scale of the field represented by the <code>fieldName</code> param
+	 */
+	public int getFieldScale(String fieldName) {
+		Field field = getRecordField(fieldName, defaultFieldOccursForFieldName(fieldName));
+		if (field.isBinary()) {
+			return field.getScale();
+		}
+		
+		for (FieldExtendedProperty fieldExtendedProperty : field.getFieldExtendedProperties()) {
+			if (FieldExtendedPropertyType.DECIMAL_FORMAT.equals(fieldExtendedProperty.getType())) {
+				return ((DecimalFormat) fieldExtendedProperty.getValue()).getMaximumFractionDigits();
+			}
+		}
+		
+		return 0;
+	}
+	
 	/**
 	 * Returns the list of fields with status equals the <code>status</code> param
 	 * 
@@ -482,8 +672,15 @@ public abstract class AbstractRecord {
 		}
 		
 		StringBuilder sb = new StringBuilder();
+		int i = 0;
 		for (String key : fieldsMap.keySet()) {
-			sb.append(fieldsMap.get(key).getValue());
+			if (isPassThrough(i)) {
+				sb.append(passThroughRecord, projectionOffsets[i], projectionOffsets[i] + projectionFields[i].getLen());
+			} else {
+				sb.append(fieldsMap.get(key).getValue());
+			}
+			
+			i++;
 		}
 		String record = sb.toString();
 		doValidRecordLen(record, "toString");
@@ -523,6 +720,8 @@ public abstract class AbstractRecord {
      * @throws RecordException it the status of this record is ERROR or the separator size not eq 1
      */
 	public String toStringCSV(CSVSep sep, String otherSep, CSVEnc enclosing, boolean encloseAllFields) throws RecordException {
+		decodePassThrough();
+		
 		if (isErrorStatus()) {
 			throw new RecordException(ErrorCode.RE10, "Record has Error status. Cause: " + prettyPrintErrorValidationInfo());
 		}
@@ -567,6 +766,8 @@ public abstract class AbstractRecord {
 	 * @return the pretty print of this record
 	 */
 	public String prettyPrint() {
+		decodePassThrough();
+		
 		StringBuilder sb = new StringBuilder();
 		int offset = 1;
 		for (String key : fieldsMap.keySet()) {
@@ -854,10 +1055,11 @@ public abstract class AbstractRecord {
 	public boolean isErrorStatus() {
 		boolean result = false;
 		
+		int i = 0;
 		for (String key : fieldsMap.keySet()) {
 			Field rf = fieldsMap.get(key); 
 			FieldValidationInfo vi = rf.getValidationInfo();
-			if (vi != null && FieldValidationInfo.RecordFieldValidationStatus.ERROR.equals(vi.getValidationStatus())) {
+			if (!isPassThrough(i++) && vi != null && FieldValidationInfo.RecordFieldValidationStatus.ERROR.equals(vi.getValidationStatus())) {
 				result = true;
 				break;
 			} 
@@ -874,10 +1076,11 @@ public abstract class AbstractRecord {
 	public boolean isWarnStatus() {
 		boolean result = false;
 		
+		int i = 0;
 		for (String key : fieldsMap.keySet()) {
 			Field rf = fieldsMap.get(key); 
 			FieldValidationInfo vi = rf.getValidationInfo();
-			if (vi != null && FieldValidationInfo.RecordFieldValidationStatus.WARN.equals(vi.getValidationStatus())) {
+			if (!isPassThrough(i++) && vi != null && FieldValidationInfo.RecordFieldValidationStatus.WARN.equals(vi.getValidationStatus())) {
 				result = true;
 				break;
 			} 
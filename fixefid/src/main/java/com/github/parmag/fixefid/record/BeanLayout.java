@@ -0,0 +1,430 @@
+package com.github.parmag.fixefid.record;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec.ValueType;
+import com.github.parmag.fixefid.record.bean.FixefidField;
+import com.github.parmag.fixefid.record.eps.FieldExtendedPropertyFactory;
+import com.github.parmag.fixefid.record.eps.FixefidBooleanFormat;
+import com.github.parmag.fixefid.record.eps.FixefidCustomFormat;
+import com.github.parmag.fixefid.record.eps.FixefidDateFormat;
+import com.github.parmag.fixefid.record.eps.FixefidDecimalFormat;
+import com.github.parmag.fixefid.record.eps.FixefidLPAD;
+import com.github.parmag.fixefid.record.eps.FixefidRPAD;
+import com.github.parmag.fixefid.record.eps.FixefidScale;
+import com.github.parmag.fixefid.record.eps.FixefidValidator;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldMandatory;
+import com.github.parmag.fixefid.record.field.FieldType;
+
+/**
+ * The <code>BeanLayout</code> is the layout of a bean class for a class of record: the fields of the bean class, the
+ * properties of its annotated fields sorted by ordinal and sub-ordinal, and the extended properties set via annotation.
+ * The layout is built with reflection only once for every bean class and class of record (the annotations are read
+ * by the <code>...ForBeanField</code> methods of the record, so a <code>CSVBeanRecord</code> has its own layout),
+ * and it's shared by all the records of that class. The layouts are cached by a <code>ClassValue</code> of the bean class
+ * with a <code>ClassValue</code> of the record class, so a layout is reachable only from the classes it belongs to and the
+ * cache doesn't pin their class loaders. A layout is immutable, but for the paths from the bean to the bean properties of
+ * the record fields, that are resolved at the first sync of a record and then reused: the extended properties are copied for
+ * every record (see {@link FieldExtendedPropertyFactory#copyOf(List)}), cause their formats are not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+final class BeanLayout {
+	private static final ClassValue<ClassValue<AtomicReference<BeanLayout>>> LAYOUTS = 
+			new ClassValue<ClassValue<AtomicReference<BeanLayout>>>() {
+		@Override
+		protected ClassValue<AtomicReference<BeanLayout>> computeValue(Class<?> beanClass) {
+			return new ClassValue<AtomicReference<BeanLayout>>() {
+				@Override
+				protected AtomicReference<BeanLayout> computeValue(Class<?> recordClass) {
+					return new AtomicReference<BeanLayout>();
+				}
+			};
+		}
+	};
+
+	private final List<Field> fields;
+	private final List<BeanProperty> properties;
+	private final Map<String, BeanProperty> propertiesByName;
+	private final List<FieldExtendedProperty> recordExtendedProperties;
+	private final Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties;
+	private final int recordLen;
+	private volatile PropertyPath[] propertyPaths;
+
+	private BeanLayout(Class<?> beanClass, BeanRecord record) {
+		List<Field> fields = BeanRecord.retrieveAllFields(new ArrayList<Field>(), beanClass);
+		List<BeanProperty> properties = new ArrayList<BeanProperty>();
+		Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties = new HashMap<String, List<FieldExtendedProperty>>();
+		int recordLen = 0;
+		for (Field field : fields) {
+			field.setAccessible(true);
+			FixefidField fixefidField = field.getAnnotation(FixefidField.class);
+			if (fixefidField != null) {
+				recordLen += fixefidField.fieldLen() * fixefidField.fieldOccurs();
+			}
+
+			if (record.isAnnotationPresentForBeanField(field)) {
+				properties.add(new BeanProperty(field, record));
+				List<FieldExtendedProperty> eps = fieldExtendedPropertiesForBeanField(field);
+				if (!eps.isEmpty()) {
+					mapFieldExtendedProperties.put(field.getName(), Collections.unmodifiableList(eps));
+				}
+			}
+		}
+
+		Collections.sort(properties, (p1, p2) -> p1.ordinal == p2.ordinal ? p1.subOrdinal - p2.subOrdinal : p1.ordinal - p2.ordinal);
+		checkProperties(beanClass, properties);
+
+		Map<String, BeanProperty> propertiesByName = new HashMap<String, BeanProperty>();
+		for (BeanProperty property : properties) {
+			propertiesByName.put(property.name, property);
+		}
+
+		this.fields = Collections.unmodifiableList(fields);
+		this.properties = Collections.unmodifiableList(properties);
+		this.propertiesByName = Collections.unmodifiableMap(propertiesByName);
+		this.recordExtendedProperties = Collections.unmodifiableList(recordExtendedPropertiesForBeanClass(beanClass));
+		this.mapFieldExtendedProperties = Collections.unmodifiableMap(mapFieldExtendedProperties);
+		this.recordLen = recordLen;
+	}
+
+	/**
+	 * Returns the layout of the <code>beanClass</code> param for the class of the <code>record</code> param, building it
+	 * the first time
+	 *
+	 * @param beanClass the class of the bean
+	 * @param record the record that reads the annotations of the fields of the bean class
+	 * @return the layout
+	 * @throws RecordException if the annotations of the fields are not valid
+	 */
+	static BeanLayout of(Class<?> beanClass, BeanRecord record) throws RecordException {
+		AtomicReference<BeanLayout> layoutRef = LAYOUTS.get(beanClass).get(record.getClass());
+		BeanLayout layout = layoutRef.get();
+		if (layout == null) {
+			layoutRef.compareAndSet(null, new BeanLayout(beanClass, record));
+			layout = layoutRef.get();
+		}
+
+		return layout;
+	}
+
+	private static void checkProperties(Class<?> beanClass, List<BeanProperty> properties) {
+		Map<Integer, List<Integer>> subOrdinalsMap = new HashMap<Integer, List<Integer>>();
+		List<String> names = new ArrayList<String>();
+		for (BeanProperty property : properties) {
+			// check ordinals => must be unique
+			List<Integer> subOrdinals = subOrdinalsMap.get(property.ordinal);
+			if (subOrdinals == null) {
+				subOrdinals = new ArrayList<Integer>();
+				subOrdinalsMap.put(property.ordinal, subOrdinals);
+			} else if (subOrdinals.contains(property.subOrdinal)) {
+				throw new RecordException(ErrorCode.RE14, "The ordinal " + property.ordinal + " + subOrdinal " + property.subOrdinal +
+					" must be unique for the type (and super type) " + beanClass.getName());
+			}
+			subOrdinals.add(property.subOrdinal);
+
+			// check names => must be unique and diff respect FINAL_FILLER_NAME
+			if (AbstractRecord.FINAL_FILLER_NAME.equals(property.name)) {
+				throw new RecordException(ErrorCode.RE15, "The field name=[" + AbstractRecord.FINAL_FILLER_NAME + "] is reserved");
+			} else if (names.contains(property.name)) {
+				throw new RecordException(ErrorCode.RE19, "The field name=[" + property.name + "] must be unique for the type (and super type) " +
+					beanClass.getName());
+			}
+			names.add(property.name);
+
+			// check occurs
+			if (property.isCmp()) {
+				if (property.occurs != 1 && FieldType.CMP.equals(property.type)) {
+					throw new RecordException(ErrorCode.RE29, "The occurs of the bean field " + property.name + " of type " +
+						property.type.name() + " must be equals to 1");
+				} else if (property.occurs < 1 && FieldType.LIST.equals(property.type)) {
+					throw new RecordException(ErrorCode.RE33, "The occurs of the bean field " + property.name + " of type " +
+						property.type.name() + " must be greater then zero");
+				}
+			} else if (FieldType.LIST.equals(property.type)) {
+				if (property.occurs < 1) {
+					throw new RecordException(ErrorCode.RE33, "The occurs of the bean field " + property.name + " of type " +
+						property.type.name() + " must be greater then zero");
+				}
+			} else if (property.occurs != 1) {
+				throw new RecordException(ErrorCode.RE30, "The occurs of the bean field " + property.name + " of type " +
+					property.type.name() + " must be equals to 1");
+			}
+		}
+	}
+
+	private static List<FieldExtendedProperty> recordExtendedPropertiesForBeanClass(Class<?> beanClass) {
+		List<FieldExtendedProperty> eps = new ArrayList<FieldExtendedProperty>();
+		FixefidLPAD lpad = beanClass.getAnnotation(FixefidLPAD.class);
+		if (lpad != null) {
+			eps.add(FieldExtendedPropertyFactory.createLPAD(lpad.padChar()));
+		}
+
+		FixefidRPAD rpad = beanClass.getAnnotation(FixefidRPAD.class);
+		if (rpad != null) {
+			eps.add(FieldExtendedPropertyFactory.createRPAD(rpad.padChar()));
+		}
+
+		FixefidValidator validator = beanClass.getAnnotation(FixefidValidator.class);
+		if (validator != null) {
+			eps.add(FieldExtendedPropertyFactory.createValidator(validator.className()));
+		}
+
+		return eps;
+	}
+
+	private static List<FieldExtendedProperty> fieldExtendedPropertiesForBeanField(Field field) {
+		List<FieldExtendedProperty> eps = new ArrayList<FieldExtendedProperty>();
+		FixefidDecimalFormat decimalFormat = field.getAnnotation(FixefidDecimalFormat.class);
+		if (decimalFormat != null) {
+			eps.add(FieldExtendedPropertyFactory.createDecimalFormat(decimalFormat.pattern(), new Locale(decimalFormat.locale())));
+			eps.add(FieldExtendedPropertyFactory.createRemoveDecimalSeparator(Boolean.valueOf(decimalFormat.removeDecimalSeparator())));
+		}
+
+		FixefidDateFormat dateFormat = field.getAnnotation(FixefidDateFormat.class);
+		if (dateFormat != null) {
+			eps.add(FieldExtendedPropertyFactory.createDateFormat(dateFormat.pattern(), new Locale(dateFormat.locale())));
+		}
+
+		FixefidBooleanFormat booleanFormat = field.getAnnotation(FixefidBooleanFormat.class);
+		if (booleanFormat != null) {
+			eps.add(FieldExtendedPropertyFactory.createBooleanFormat(booleanFormat.trueValue(), booleanFormat.falseValue()));
+		}
+
+		FixefidCustomFormat customFormat = field.getAnnotation(FixefidCustomFormat.class);
+		if (customFormat != null) {
+			eps.add(FieldExtendedPropertyFactory.createCustomFormat(customFormat.className()));
+		}
+
+		FixefidLPAD lpad = field.getAnnotation(FixefidLPAD.class);
+		if (lpad != null) {
+			eps.add(FieldExtendedPropertyFactory.createLPAD(lpad.padChar()));
+		}
+
+		FixefidRPAD rpad = field.getAnnotation(FixefidRPAD.class);
+		if (rpad != null) {
+			eps.add(FieldExtendedPropertyFactory.createRPAD(rpad.padChar()));
+		}
+
+		FixefidValidator validator = field.getAnnotation(FixefidValidator.class);
+		if (validator != null) {
+			eps.add(FieldExtendedPropertyFactory.createValidator(validator.className()));
+		}
+
+		FixefidScale scale = field.getAnnotation(FixefidScale.class);
+		if (scale != null) {
+			eps.add(FieldExtendedPropertyFactory.createScale(scale.scale()));
+		}
+
+		return eps;
+	}
+
+	/**
+	 * @return all the fields of the bean class and of its super classes, accessible
+	 */
+	List<Field> getFields() {
+		return fields;
+	}
+
+	/**
+	 * @return the properties of the annotated fields, sorted by ordinal and sub-ordinal
+	 */
+	List<BeanProperty> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * @param name the name of the field
+	 * @return the property of the annotated field with the <code>name</code> param, or null if not present
+	 */
+	BeanProperty getProperty(String name) {
+		return propertiesByName.get(name);
+	}
+
+	/**
+	 * @return a copy of the extended properties set via annotation on the bean class
+	 */
+	List<FieldExtendedProperty> copyRecordExtendedProperties() {
+		return FieldExtendedPropertyFactory.copyOf(recordExtendedProperties);
+	}
+
+	/**
+	 * @return the extended properties set via annotation on the fields, to copy before use
+	 */
+	Map<String, List<FieldExtendedProperty>> getMapFieldExtendedProperties() {
+		return mapFieldExtendedProperties;
+	}
+
+	/**
+	 * @return the sum of the len of every field annotated with <code>FixefidField</code>
+	 */
+	int getRecordLen() {
+		return recordLen;
+	}
+
+	/**
+	 * Returns the paths from the bean to the bean properties of the fields of the <code>record</code> param, in the order of
+	 * its fields map. The paths are resolved with the layouts of the declared types of the composite properties the first time,
+	 * and then reused for all the records of the same class. If the record has a different number of fields (a composite value
+	 * of a subclass of the declared type), its paths are resolved again and not reused
+	 *
+	 * @param record the record of the bean of this layout
+	 * @return the paths of the fields of the record
+	 */
+	PropertyPath[] getPropertyPaths(BeanRecord record) {
+		PropertyPath[] paths = propertyPaths;
+		if (paths == null) {
+			paths = resolvePropertyPaths(record);
+			propertyPaths = paths;
+		} else if (paths.length != record.getFieldsMap().size()) {
+			paths = resolvePropertyPaths(record);
+		}
+
+		return paths;
+	}
+
+	private PropertyPath[] resolvePropertyPaths(BeanRecord record) {
+		PropertyPath[] paths = new PropertyPath[record.getFieldsMap().size()];
+		int i = 0;
+		for (String key : record.getFieldsMap().keySet()) {
+			int[] fieldOccurs = record.fieldOccursForKey(key);
+			String fieldName = record.fieldNameForKey(key, fieldOccurs);
+			paths[i++] = new PropertyPath(key, fieldName, fieldOccurs, resolveProperties(fieldName, record));
+		}
+
+		return paths;
+	}
+
+	private BeanProperty[] resolveProperties(String fieldName, BeanRecord record) {
+		if (AbstractRecord.FINAL_FILLER_NAME.equals(fieldName)) {
+			return null;
+		}
+
+		String[] names = fieldName.split("\\" + AbstractRecord.CMP_FIELD_NAME_SEP);
+		BeanProperty[] result = new BeanProperty[names.length];
+		BeanLayout layout = this;
+		for (int i = 0; i < names.length; i++) {
+			BeanProperty property = layout.getProperty(names[i]);
+			boolean last = i == names.length - 1;
+			if (property == null || (!last && (!property.isCmp() || (property.list && property.elementClass == null)))) {
+				return null;
+			}
+
+			result[i] = property;
+			if (!last) {
+				layout = of(property.list ? property.elementClass : property.field.getType(), record);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * The path from the bean to the bean property of a record field: the key of the field in the fields map, the properties of the
+	 * composite beans along the path and the index of every list element. The properties are null if the path can't be resolved
+	 * with the declared types (for instance the final filler), and then the field is synced by name
+	 */
+	static final class PropertyPath {
+		final String key;
+		final String fieldName;
+		final int[] fieldOccurs;
+		final BeanProperty[] properties;
+		final BeanProperty property;
+
+		private PropertyPath(String key, String fieldName, int[] fieldOccurs, BeanProperty[] properties) {
+			this.key = key;
+			this.fieldName = fieldName;
+			this.fieldOccurs = fieldOccurs;
+			this.properties = properties;
+			this.property = properties != null ? properties[properties.length - 1] : null;
+		}
+
+		/**
+		 * @param bean the root bean
+		 * @return the bean that owns the bean property of the path
+		 * @throws IllegalAccessException if a composite property can't be read
+		 */
+		@SuppressWarnings("rawtypes")
+		Object target(Object bean) throws IllegalAccessException {
+			Object target = bean;
+			for (int i = 0; i < properties.length - 1; i++) {
+				target = properties[i].field.get(target);
+				if (FieldType.LIST.equals(properties[i].type)) {
+					target = ((List) target).get(fieldOccurs[i] - 1);
+				}
+			}
+
+			return target;
+		}
+	}
+
+	/**
+	 * The properties of an annotated field of the bean class, read once by the <code>...ForBeanField</code> methods of the record,
+	 * with the accessible field and the value type of the field (or of the elements of a list field)
+	 */
+	static final class BeanProperty {
+		final Field field;
+		final String name;
+		final int ordinal;
+		final int subOrdinal;
+		final FieldType type;
+		final FieldType typeList;
+		final int len;
+		final FieldMandatory mandatory;
+		final String defaultValue;
+		final int occurs;
+		final List<String> fixedValues;
+		final String displayName;
+		final String description;
+		final String typeName;
+		final String typeArgumentName;
+		final boolean list;
+		final Class<?> elementClass;
+		final ValueType valueType;
+
+		private BeanProperty(Field field, BeanRecord record) {
+			this.field = field;
+			this.name = field.getName();
+			this.ordinal = record.ordinalForBeanField(field);
+			this.subOrdinal = record.subOrdinalForBeanField(field);
+			this.type = record.typeForBeanField(field);
+			this.typeList = record.typeListForBeanField(field);
+			this.mandatory = record.mandatoryForBeanField(field);
+			this.defaultValue = record.defaultValueForBeanField(field);
+			this.occurs = record.occursForBeanField(field);
+			List<String> fixedValues = record.fixedValuesForBeanField(field);
+			this.fixedValues = fixedValues != null ? Collections.unmodifiableList(fixedValues) : null;
+			this.displayName = record.displayNameForBeanField(field);
+			this.description = record.descriptionForBeanField(field);
+			this.typeName = field.getType().getName();
+			Type genericType = field.getGenericType();
+			Type typeArgument = genericType instanceof ParameterizedType ? ((ParameterizedType) genericType).getActualTypeArguments()[0] : null;
+			this.typeArgumentName = typeArgument != null ? typeArgument.getTypeName() : null;
+			this.list = List.class.equals(field.getType());
+			this.elementClass = list && typeArgument instanceof Class ? (Class<?>) typeArgument : null;
+			// the conversion between the record field and the bean field, null if the java type is not supported
+			this.valueType = ValueType.of(list ? typeArgumentName : typeName);
+			// the len of a composite field is the len of its components
+			this.len = isCmp() ? 0 : record.lenForBeanField(field);
+		}
+
+		/**
+		 * @return true if the field is composite or a list of composite
+		 */
+		boolean isCmp() {
+			return FieldType.CMP.equals(type) || (FieldType.LIST.equals(type) && FieldType.CMP.equals(typeList));
+		}
+	}
+}
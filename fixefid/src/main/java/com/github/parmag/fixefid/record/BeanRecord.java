@@ -1,30 +1,23 @@
 package com.github.parmag.fixefid.record;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.github.parmag.fixefid.record.BeanLayout.BeanProperty;
+import com.github.parmag.fixefid.record.BeanLayout.PropertyPath;
+import com.github.parmag.fixefid.record.BeanRecordCodec.ValueType;
 import com.github.parmag.fixefid.record.bean.FixefidField;
 import com.github.parmag.fixefid.record.bean.FixefidRecord;
 import com.github.parmag.fixefid.record.eps.FieldExtendedPropertyFactory;
-import com.github.parmag.fixefid.record.eps.FixefidBooleanFormat;
-import com.github.parmag.fixefid.record.eps.FixefidCustomFormat;
-import com.github.parmag.fixefid.record.eps.FixefidDateFormat;
-import com.github.parmag.fixefid.record.eps.FixefidDecimalFormat;
-import com.github.parmag.fixefid.record.eps.FixefidLPAD;
-import com.github.parmag.fixefid.record.eps.FixefidRPAD;
-import com.github.parmag.fixefid.record.eps.FixefidValidator;
 import com.github.parmag.fixefid.record.field.FieldException;
 import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
 import com.github.parmag.fixefid.record.field.FieldMandatory;
@@ -41,19 +34,6 @@ import com.github.parmag.fixefid.record.field.FieldValidationInfo.RecordFieldVal
  *
  */
 public class BeanRecord extends AbstractRecord {
-	private static final String JAVA_MATH_BIG_DECIMAL = "java.math.BigDecimal";
-	private static final String JAVA_LANG_LONG = "java.lang.Long";
-	private static final String JAVA_LANG_LONG_PR = "long";
-	private static final String JAVA_LANG_INTEGER = "java.lang.Integer";
-	private static final String JAVA_LANG_INTEGER_PR = "int";
-	private static final String JAVA_LANG_DOUBLE = "java.lang.Double";
-	private static final String JAVA_LANG_DOUBLE_PR = "double";
-	private static final String JAVA_LANG_FLOAT = "java.lang.Float";
-	private static final String JAVA_LANG_FLOAT_PR = "float";
-	private static final String JAVA_LANG_BOOLEAN = "java.lang.Boolean";
-	private static final String JAVA_LANG_BOOLEAN_PR = "boolean";
-	private static final String JAVA_UTIL_DATE = "java.util.Date"; 
-	private static final String JAVA_LANG_STRING = "java.lang.String";
 	private static final String JAVA_UTIL_LIST = "java.util.List";
 	
 	private Object bean;
@@ -144,6 +124,26 @@ public class BeanRecord extends AbstractRecord {
 	 */
 	public BeanRecord(Object bean, String record, List<FieldExtendedProperty> fieldExtendedProperties, 
 			Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties, RecordWay recordWay) {
+		this(bean, record, fieldExtendedProperties, mapFieldExtendedProperties, recordWay, null);
+	}
+	
+	/**
+	 * Constructs a new <code>BeanRecord</code> that represents the fixed fields indicated by the <code>bean</code> parameter, 
+	 * as the constructor {@link #BeanRecord(Object, String, List, Map, RecordWay)} does. When the record is filled, only 
+	 * the fields in the <code>projection</code> parameter are decoded, validated and synced to the bean. The other fields 
+	 * are decoded only if they are accessed, and they are returned unchanged by the <code>toString</code> method. 
+	 * If the name of a composite field is in the projection, all its components are in the projection
+	 * 
+	 * @param bean the <code>bean</code> of this <code>BeanRecord</code>
+	 * @param record the formatted string of this <code>BeanRecord</code>
+	 * @param fieldExtendedProperties the extended properties of field applied to every fields of the record
+	 * @param mapFieldExtendedProperties the extended properties of fields to override the relative property at record level
+	 * @param recordWay the record way. This overrides what's defined at annotation level (see FixefidRecord annotation)
+	 * @param projection the names of the fields to decode, or null to decode all the fields
+	 * @throws RecordException if a name of the projection doesn't represent any field of the record
+	 */
+	public BeanRecord(Object bean, String record, List<FieldExtendedProperty> fieldExtendedProperties, 
+			Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties, RecordWay recordWay, Set<String> projection) {
 		if (mapFieldExtendedProperties != null) {
 			this.mapFieldExtendedProperties = new HashMap<String, List<FieldExtendedProperty>>();
 			this.mapFieldExtendedProperties.putAll(mapFieldExtendedProperties);
@@ -156,25 +156,13 @@ public class BeanRecord extends AbstractRecord {
 		}
 		initFieldExtendedProperties(bean, fieldExtendedProperties); 
 		initFieldExtendedProperties(fieldExtendedProperties); 
+		setProjection(projection);
 		initBean(bean, record, recordWay);
+		compileProjection();
 	}
 	
 	protected void initFieldExtendedProperties(Object bean, List<FieldExtendedProperty> fieldExtendedProperties) {
-		Class<?> clazz = bean.getClass();
-		if (clazz.isAnnotationPresent(FixefidLPAD.class)) {
-    		FixefidLPAD a = clazz.getAnnotation(FixefidLPAD.class);
-    		fieldExtendedProperties.add(FieldExtendedPropertyFactory.createLPAD(a.padChar()));
-    	}
-    	
-    	if (clazz.isAnnotationPresent(FixefidRPAD.class)) {
-    		FixefidRPAD a = clazz.getAnnotation(FixefidRPAD.class);
-    		fieldExtendedProperties.add(FieldExtendedPropertyFactory.createRPAD(a.padChar()));
-    	}
-    	
-    	if (clazz.isAnnotationPresent(FixefidValidator.class)) {
-    		FixefidValidator a = clazz.getAnnotation(FixefidValidator.class);
-    		fieldExtendedProperties.add(FieldExtendedPropertyFactory.createValidator(a.className()));
-    	}
+		fieldExtendedProperties.addAll(layout(bean.getClass()).copyRecordExtendedProperties());
 	}
 	
 	/**
@@ -183,50 +171,10 @@ public class BeanRecord extends AbstractRecord {
 	 * @param bean the <code>bean</code> of this <code>BeanRecord</code>
 	 */
 	protected void initMapFieldExtendedProperties(Object bean) {
-		Class<?> clazz = bean.getClass();
-		List<Field> fields = retrieveAllFields(new ArrayList<Field>(), clazz);
-		for (Field field : fields) {
-            field.setAccessible(true);
-            String fieldName = field.getName();
-            List<FieldExtendedProperty> fieldExtendedPropertyList = new ArrayList<FieldExtendedProperty>();
-            if (isAnnotationPresentForBeanField(field)) {
-            	if (field.isAnnotationPresent(FixefidDecimalFormat.class)) {
-            		FixefidDecimalFormat a = field.getAnnotation(FixefidDecimalFormat.class);
-            		fieldExtendedPropertyList.add(FieldExtendedPropertyFactory.createDecimalFormat(a.pattern(), new Locale(a.locale())));
-            		fieldExtendedPropertyList.add(FieldExtendedPropertyFactory.createRemoveDecimalSeparator(Boolean.valueOf(a.removeDecimalSeparator())));
-            	} 
-            	
-            	if (field.isAnnotationPresent(FixefidDateFormat.class)) {
-            		FixefidDateFormat a = field.getAnnotation(FixefidDateFormat.class);
-            		fieldExtendedPropertyList.add(FieldExtendedPropertyFactory.createDateFormat(a.pattern(), new Locale(a.locale())));
-            	}
-            	
-            	if (field.isAnnotationPresent(FixefidBooleanFormat.class)) {
-            		FixefidBooleanFormat a = field.getAnnotation(FixefidBooleanFormat.class);
-            		fieldExtendedPropertyList.add(FieldExtendedPropertyFactory.createBooleanFormat(a.trueValue(), a.falseValue()));
-            	}
-            	
-            	if (field.isAnnotationPresent(FixefidCustomFormat.class)) {
-            		FixefidCustomFormat a = field.getAnnotation(FixefidCustomFormat.class);
-            		fieldExtendedPropertyList.add(FieldExtendedPropertyFactory.createCustomFormat(a.className()));
-            	}
-            	
-            	if (field.isAnnotationPresent(FixefidLPAD.class)) {
-            		FixefidLPAD a = field.getAnnotation(FixefidLPAD.class);
-            		fieldExtendedPropertyList.add(FieldExtendedPropertyFactory.createLPAD(a.padChar()));
-            	}
-            	
-            	if (field.isAnnotationPresent(FixefidRPAD.class)) {
-            		FixefidRPAD a = field.getAnnotation(FixefidRPAD.class);
-            		fieldExtendedPropertyList.add(FieldExtendedPropertyFactory.createRPAD(a.padChar()));
-            	}
-            	
-            	if (field.isAnnotationPresent(FixefidValidator.class)) {
-            		FixefidValidator a = field.getAnnotation(FixefidValidator.class);
-            		fieldExtendedPropertyList.add(FieldExtendedPropertyFactory.createValidator(a.className()));
-            	}
-            }
-            
+		Map<String, List<FieldExtendedProperty>> annotationFieldExtendedProperties = layout(bean.getClass()).getMapFieldExtendedProperties();
+		for (Map.Entry<String, List<FieldExtendedProperty>> entry : annotationFieldExtendedProperties.entrySet()) {
+            String fieldName = entry.getKey();
+            List<FieldExtendedProperty> fieldExtendedPropertyList = FieldExtendedPropertyFactory.copyOf(entry.getValue());
             if (!fieldExtendedPropertyList.isEmpty()) {
             	if (mapFieldExtendedProperties == null) {
             		mapFieldExtendedProperties = new HashMap<String, List<FieldExtendedProperty>>();
@@ -311,15 +259,7 @@ public class BeanRecord extends AbstractRecord {
 		FixefidRecord fixefidRecord = clazz.getAnnotation(FixefidRecord.class);
 		int recordLen = fixefidRecord.recordLen();
     	if (recordLen == 0) {
-    		for (Field field : retrieveAllFields(new ArrayList<Field>(), clazz)) {
-                field.setAccessible(true);
-                if (field.isAnnotationPresent(FixefidField.class)) {
-                    FixefidField fixefidField = field.getAnnotation(FixefidField.class);
-                    int fieldLen = fixefidField.fieldLen();
-                    int fieldOccurs = fixefidField.fieldOccurs();
-					recordLen += (fieldLen * fieldOccurs);
-                }
-            }
+    		recordLen = layout(clazz).getRecordLen();
     	}
     	
     	this.recordLen = recordLen;
@@ -344,158 +284,81 @@ public class BeanRecord extends AbstractRecord {
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	protected void initFieldsMap() throws RecordException, FieldException {
-		Class<?> clazz = bean.getClass();
-		
-		List<Integer> ordinals = new ArrayList<Integer>();
-		List<String> names = new ArrayList<String>();
-		Map<Integer, List<Integer>> subOrdinalsMap = new HashMap<Integer, List<Integer>>();
-		
-		List<Field> fields = retrieveAllFields(new ArrayList<Field>(), clazz);
-		Collections.sort(fields, new Comparator<Field>() {
-			@Override
-			public int compare(Field f1, Field f2) {
-				int fieldOrdinal1 = ordinalForBeanField(f1);
-				int fieldOrdinal2 = ordinalForBeanField(f2);
-				
-				
-				if (fieldOrdinal1 == fieldOrdinal2) {
-					fieldOrdinal1 = subOrdinalForBeanField(f1);
-					fieldOrdinal2 = subOrdinalForBeanField(f2);
+		for (BeanProperty property : layout(bean.getClass()).getProperties()) {
+			String fieldName = property.name;
+			if (property.isCmp()) {
+				Map<String, List<FieldExtendedProperty>> mapCmpFieldExtendedProperties = null;
+				if (mapFieldExtendedProperties != null) {
+					mapCmpFieldExtendedProperties = new HashMap<String, List<FieldExtendedProperty>>();
+					for (String key : mapFieldExtendedProperties.keySet()) { 
+						 if (key.startsWith(fieldName + CMP_FIELD_NAME_SEP)) { 
+							 mapCmpFieldExtendedProperties.put(key.substring(key.indexOf(CMP_FIELD_NAME_SEP) + 1), mapFieldExtendedProperties.get(key));
+						 }
+					}
 				}
 				
-				return fieldOrdinal1 - fieldOrdinal2;
-			}
-		});
-		
-		for (Field field : fields) {
-            field.setAccessible(true);
-            if (isAnnotationPresentForBeanField(field)) {
-                String fieldName = field.getName();
-                int fieldOrdinal = ordinalForBeanField(field);
-                int fieldSubOrdinal = subOrdinalForBeanField(field);
-                
-                // check ordinals => must be unique
-                if (ordinals.contains(fieldOrdinal)) {
-                	List<Integer> subOrdinals = subOrdinalsMap.get(fieldOrdinal);
-                	if (subOrdinals.contains(fieldSubOrdinal)) {
-                		throw new RecordException(ErrorCode.RE14, "The ordinal " + fieldOrdinal + " + subOrdinal " + fieldSubOrdinal + " must be unique for the type (and super type) " + clazz.getName());
-                	} else {
-                		subOrdinals.add(fieldSubOrdinal);
-                	}
-                } else {
-                	ordinals.add(fieldOrdinal);
-                	
-                	List<Integer> subOrdinals = new ArrayList<Integer>();
-                	subOrdinals.add(fieldSubOrdinal);
-                	subOrdinalsMap.put(fieldOrdinal, subOrdinals); 
-                }
-                
-                // check names => must be unique and diff respect FINAL_FILLER_NAME
-                if (FINAL_FILLER_NAME.equals(fieldName)) {
-    				throw new RecordException(ErrorCode.RE15, "The field name=[" + FINAL_FILLER_NAME + "] is reserved");
-    			} else  {
-    				if (names.contains(fieldName)) {
-    					throw new RecordException(ErrorCode.RE19, "The field name=[" + fieldName + "] must be unique for the type (and super type) " + clazz.getName());
-    				} else {
-    					names.add(fieldName);
-    				}
-    			} 
-                
-				FieldType fieldType = typeForBeanField(field);
-				FieldType fieldTypeList = typeListForBeanField(field);
-				if (FieldType.CMP.equals(fieldType) || (FieldType.LIST.equals(fieldType) && FieldType.CMP.equals(fieldTypeList))) {
-					Map<String, List<FieldExtendedProperty>> mapCmpFieldExtendedProperties = null;
-					if (mapFieldExtendedProperties != null) {
-						mapCmpFieldExtendedProperties = new HashMap<String, List<FieldExtendedProperty>>();
-						for (String key : mapFieldExtendedProperties.keySet()) { 
-							 if (key.startsWith(fieldName + CMP_FIELD_NAME_SEP)) { 
-								 mapCmpFieldExtendedProperties.put(key.substring(key.indexOf(CMP_FIELD_NAME_SEP) + 1), mapFieldExtendedProperties.get(key));
-							 }
-						}
-					}
-					
-					int fieldOccurs = occursForBeanField(field);
-					if (fieldOccurs != 1 && FieldType.CMP.equals(fieldType)) {
-						throw new RecordException(ErrorCode.RE29, "The occurs of the bean field " + field.getName() + " of type " + 
-								fieldType.name() + " must be equals to 1");
-					} else if (fieldOccurs < 1 && FieldType.LIST.equals(fieldType)) {
-						throw new RecordException(ErrorCode.RE33, "The occurs of the bean field " + field.getName() + " of type " + 
-								fieldType.name() + " must be greater then zero");
-					}
-					
-					try {
-						Object value = field.get(bean);
-						List list = null;
-						if (FieldType.LIST.equals(fieldType)) {
-							if (JAVA_UTIL_LIST.equals(field.getType().getName())) {
-								list = (List) value;
-								
-								ParameterizedType genericType = (ParameterizedType) field.getGenericType();
-								String typeArgumentName = genericType.getActualTypeArguments()[0].getTypeName();
-								Class<?> typeArgumentClazz = Class.forName(typeArgumentName);
-								int endIndex = fieldOccurs - list.size();
-					    		for (int i = 0; i < endIndex; i++) {
-									list.add(typeArgumentClazz.newInstance());
-								}
-							} else {
-								throw new RecordException(ErrorCode.RE34, "The field " + field.getName() + " of type " + 
-										fieldType.name() + " must be an instance of " + JAVA_UTIL_LIST);
+				try {
+					Object value = property.field.get(bean);
+					List list = null;
+					if (FieldType.LIST.equals(property.type)) {
+						if (property.list) {
+							list = (List) value;
+							
+							Class<?> typeArgumentClazz = property.elementClass != null ? property.elementClass : Class.forName(property.typeArgumentName);
+							int endIndex = property.occurs - list.size();
+				    		for (int i = 0; i < endIndex; i++) {
+								list.add(typeArgumentClazz.newInstance());
 							}
 						} else {
-							list = new ArrayList(); 
-							list.add(value);
+							throw new RecordException(ErrorCode.RE34, "The field " + fieldName + " of type " + 
+									property.type.name() + " must be an instance of " + JAVA_UTIL_LIST);
 						}
-						for (int fieldOccur = 1; fieldOccur <= fieldOccurs; fieldOccur++) {
-							Map<String, com.github.parmag.fixefid.record.field.Field> cmpFieldsMap = 
-								createBeanRecord(list.get(fieldOccur - 1), null, fieldExtendedProperties, mapCmpFieldExtendedProperties).getFieldsMap();
-							for (String cmpFieldName : cmpFieldsMap.keySet()) {
-								com.github.parmag.fixefid.record.field.Field cmpField = cmpFieldsMap.get(cmpFieldName);
-								cmpField.setOccurIndex(fieldOccur); 
-								fieldsMap.put(keyForFieldNameAndFieldOccur(fieldName, fieldOccur) + CMP_FIELD_NAME_SEP + cmpFieldName, cmpField);
-							}
-						}
-					} catch (Exception e) {
-						throw new RecordException(ErrorCode.RE1, e);
-					}
-				} else if (FieldType.LIST.equals(fieldType)) {
-					List<FieldExtendedProperty> eps = normalizeFieldExtendedProperties(
-	                		mapFieldExtendedProperties != null ? mapFieldExtendedProperties.get(fieldName) : null);
-					
-					int fieldOccurs = occursForBeanField(field);
-					if (fieldOccurs < 1) {
-						throw new RecordException(ErrorCode.RE33, "The occurs of the bean field " + field.getName() + " of type " + 
-								fieldType.name() + " must be greater then zero");
-					}
-					
-					for (int fieldOccur = 1; fieldOccur <= fieldOccurs; fieldOccur++) {
-						fieldsMap.put(keyForFieldNameAndFieldOccur(fieldName, fieldOccur), new com.github.parmag.fixefid.record.field.Field (
-							fieldName, fieldOrdinal, fieldSubOrdinal, fieldOccur, fieldTypeList, lenForBeanField(field), 
-							mandatoryForBeanField(field), recordWay, defaultValueForBeanField(field), fixedValuesForBeanField(field), eps, 
-							displayNameForBeanField(field), descriptionForBeanField(field)));
-						
-						syncValueFromBeanFieldToRecordField(null, field, bean, fieldsMap, fieldOccur);
+					} else {
+						list = new ArrayList(); 
+						list.add(value);
 					}
-				} else {
-					List<FieldExtendedProperty> eps = normalizeFieldExtendedProperties(
-	                		mapFieldExtendedProperties != null ? mapFieldExtendedProperties.get(fieldName) : null);
-					
-					int fieldOccurs = occursForBeanField(field);
-					if (fieldOccurs != 1) {
-						throw new RecordException(ErrorCode.RE30, "The occurs of the bean field " + field.getName() + " of type " + 
-								fieldType.name() + " must be equals to 1");
+					for (int fieldOccur = 1; fieldOccur <= property.occurs; fieldOccur++) {
+						Map<String, com.github.parmag.fixefid.record.field.Field> cmpFieldsMap = 
+							createBeanRecord(list.get(fieldOccur - 1), null, fieldExtendedProperties, mapCmpFieldExtendedProperties).getFieldsMap();
+						for (String cmpFieldName : cmpFieldsMap.keySet()) {
+							com.github.parmag.fixefid.record.field.Field cmpField = cmpFieldsMap.get(cmpFieldName);
+							cmpField.setOccurIndex(fieldOccur); 
+							fieldsMap.put(keyForFieldNameAndFieldOccur(fieldName, fieldOccur) + CMP_FIELD_NAME_SEP + cmpFieldName, cmpField);
+						}
 					}
-					
-					fieldsMap.put(keyForFieldNameAndFieldOccur(fieldName, DEF_OCCUR), new com.github.parmag.fixefid.record.field.Field (
-						fieldName, fieldOrdinal, fieldSubOrdinal, DEF_OCCUR, fieldType, lenForBeanField(field), 
-						mandatoryForBeanField(field), recordWay, defaultValueForBeanField(field), fixedValuesForBeanField(field), eps, 
-						displayNameForBeanField(field), descriptionForBeanField(field)));
-					
-					syncValueFromBeanFieldToRecordField(null, field, bean, fieldsMap, DEF_OCCUR);
+				} catch (Exception e) {
+					throw new RecordException(ErrorCode.RE1, e);
 				}
-				
-            }
+			} else if (FieldType.LIST.equals(property.type)) {
+				for (int fieldOccur = 1; fieldOccur <= property.occurs; fieldOccur++) {
+					fieldsMap.put(keyForFieldNameAndFieldOccur(fieldName, fieldOccur), createField(property, property.typeList, fieldOccur));
+					syncValueFromBeanFieldToRecordField(null, property, bean, fieldsMap, fieldOccur);
+				}
+			} else {
+				fieldsMap.put(keyForFieldNameAndFieldOccur(fieldName, DEF_OCCUR), createField(property, property.type, DEF_OCCUR));
+				syncValueFromBeanFieldToRecordField(null, property, bean, fieldsMap, DEF_OCCUR);
+			}
         }
+	}
+	
+	private com.github.parmag.fixefid.record.field.Field createField(BeanProperty property, FieldType fieldType, int fieldOccur) {
+		List<FieldExtendedProperty> eps = normalizeFieldExtendedProperties(
+        		mapFieldExtendedProperties != null ? mapFieldExtendedProperties.get(property.name) : null);
 		
+		return new com.github.parmag.fixefid.record.field.Field(property.name, property.ordinal, property.subOrdinal, fieldOccur, 
+			fieldType, property.len, property.mandatory, recordWay, property.defaultValue, property.fixedValues, eps, 
+			property.displayName, property.description);
+	}
+	
+	/**
+	 * Returns the layout of the <code>clazz</code> param for the class of this record, built once and shared by all the
+	 * records of the same class
+	 * 
+	 * @param clazz the class of the bean
+	 * @return the layout of the <code>clazz</code> param
+	 */
+	private BeanLayout layout(Class<?> clazz) {
+		return BeanLayout.of(clazz, this);
 	}
 	
 	/**
@@ -775,13 +638,19 @@ public class BeanRecord extends AbstractRecord {
 	 * update the value of every fields from record to the backed bean
 	 */
 	public void syncValuesFromRecordToBean() {
-		for (String key : fieldsMap.keySet()) {
-		    int[] fieldOccurs = fieldOccursForKey(key);
-		    
+		for (PropertyPath path : layout(bean.getClass()).getPropertyPaths(this)) {
+			if (!isProjected(path.key)) {
+				continue;
+			}
+			
 			try {
-				syncValueFromRecordFieldToBeanField(fieldNameForKey(key, fieldOccurs), bean, fieldsMap, fieldOccurs);
+				if (path.property != null) {
+					syncValueFromRecordFieldToBeanProperty(path);
+				} else {
+					syncValueFromRecordFieldToBeanField(path.fieldName, bean, fieldsMap, path.fieldOccurs);
+				}
 			} catch (FieldException fe) {
-				com.github.parmag.fixefid.record.field.Field f = fieldsMap.get(key);
+				com.github.parmag.fixefid.record.field.Field f = fieldsMap.get(path.key);
 				FieldValidationInfo vi = f.getValidationInfo();
 				if (!FieldValidationInfo.RecordFieldValidationStatus.ERROR.equals(vi.getValidationStatus())) {
 					vi.setValidationStatus(RecordFieldValidationStatus.ERROR);
@@ -796,20 +665,18 @@ public class BeanRecord extends AbstractRecord {
 	 */
 	@SuppressWarnings("rawtypes")
 	public void syncValuesFromBeanToRecord() {
-		List<Field> fields = retrieveAllFields(new ArrayList<Field>(), bean.getClass());
-		for (Field field : fields) {
-			if (JAVA_UTIL_LIST.equals(field.getType().getName())) {
+		for (BeanProperty property : layout(bean.getClass()).getProperties()) {
+			if (property.list) {
 				try {
-					field.setAccessible(true);
-					List list = (List) field.get(bean);
+					List list = (List) property.field.get(bean);
 					for (int i = 0; i < list.size(); i++) {
-						syncValueFromBeanFieldToRecordField(null, field, bean, fieldsMap, i + 1);
+						syncValueFromBeanFieldToRecordField(null, property, bean, fieldsMap, i + 1);
 					}
 				} catch (Exception e) {
 					throw new RecordException(ErrorCode.RE4, e);
 				} 
 			} else {
-				syncValueFromBeanFieldToRecordField(null, field, bean, fieldsMap, DEF_OCCUR);
+				syncValueFromBeanFieldToRecordField(null, property, bean, fieldsMap, DEF_OCCUR);
 			}
 		} 
 	}
@@ -1017,66 +884,67 @@ public class BeanRecord extends AbstractRecord {
 	}
 	
 	@SuppressWarnings("rawtypes")
-	private void syncValueFromBeanFieldToRecordField(String parentFieldName, Field field, Object bean,
+	private void syncValueFromBeanFieldToRecordField(String parentFieldName, BeanProperty property, Object bean,
 			Map<String, com.github.parmag.fixefid.record.field.Field> fieldsMap, int... fieldOccur) {
-		field.setAccessible(true);
-		String fieldName = parentFieldName != null ? parentFieldName + CMP_FIELD_NAME_SEP + field.getName() : field.getName();
+		String fieldName = parentFieldName != null ? parentFieldName + CMP_FIELD_NAME_SEP + property.name : property.name;
 		int fieldOccurIndex = fieldName.split("\\" + CMP_FIELD_NAME_SEP).length - 1;
 	    try {
-	    	Object value = field.get(bean);
-			if (isAnnotationPresentForBeanField(field) && value != null) {
-				FieldType fieldType = typeForBeanField(field);
-				FieldType fieldTypeList = typeListForBeanField(field);
-				if (FieldType.CMP.equals(fieldType) || (FieldType.LIST.equals(fieldType) && FieldType.CMP.equals(fieldTypeList))) {
+	    	Object value = property.field.get(bean);
+			if (value != null) {
+				FieldType fieldType = property.type;
+				if (property.isCmp()) {
 					if (FieldType.LIST.equals(fieldType)) {
 						List list = null;
-						if (JAVA_UTIL_LIST.equals(field.getType().getName())) {
+						if (property.list) {
 							list = (List) value;
 						} else {
-							throw new RecordException(ErrorCode.RE34, "The field " + field.getName() + " of type " + 
+							throw new RecordException(ErrorCode.RE34, "The field " + property.name + " of type " + 
 									fieldType.name() + " must be an instance of " + JAVA_UTIL_LIST);
 						}
 						
 						value = list.get(fieldOccur[fieldOccurIndex] - 1);
 					}
 					
-					List<Field> cmpFields = retrieveAllFields(new ArrayList<Field>(), value.getClass());
 					int[] nextFieldOccur = new int[fieldOccur.length + 1];
 					for (int i = 0; i < fieldOccur.length; i++) {
 						nextFieldOccur[i] = fieldOccur[i];
 					}
-					for (Field cmpField : cmpFields) {
-						if (JAVA_UTIL_LIST.equals(cmpField.getType().getName())) {
+					for (BeanProperty cmpProperty : layout(value.getClass()).getProperties()) {
+						if (cmpProperty.list) {
 							try {
-								field.setAccessible(true);
-								List list = (List) cmpField.get(value);
+								List list = (List) cmpProperty.field.get(value);
 								for (int i = 0; i < list.size(); i++) {
 									nextFieldOccur[nextFieldOccur.length - 1] = i + 1;
-									syncValueFromBeanFieldToRecordField(fieldName, cmpField, value, fieldsMap, nextFieldOccur);
+									syncValueFromBeanFieldToRecordField(fieldName, cmpProperty, value, fieldsMap, nextFieldOccur);
 								}
 							} catch (Exception e) {
 								throw new RecordException(ErrorCode.RE4, e);
 							} 
 						} else {
 							nextFieldOccur[nextFieldOccur.length - 1] = DEF_OCCUR;
-							syncValueFromBeanFieldToRecordField(fieldName, cmpField, value, fieldsMap, nextFieldOccur);
+							syncValueFromBeanFieldToRecordField(fieldName, cmpProperty, value, fieldsMap, nextFieldOccur);
 						}
 					}
 				} else if (FieldType.LIST.equals(fieldType)) {
 					List list = null;
-					if (JAVA_UTIL_LIST.equals(field.getType().getName())) {
+					if (property.list) {
 						list = (List) value;
 					} else {
-						throw new RecordException(ErrorCode.RE34, "The field " + field.getName() + " of type " + 
+						throw new RecordException(ErrorCode.RE34, "The field " + property.name + " of type " + 
 								fieldType.name() + " must be an instance of " + JAVA_UTIL_LIST);
 					}
 					
 					if (list.size() >= fieldOccur[fieldOccurIndex]) {
 						Object listValue = list.get(fieldOccur[fieldOccurIndex] - 1);
-						syncValueFromBeanFieldToRecordField(fieldName, listValue.getClass().getName(), listValue, fieldsMap, fieldOccur);
+						if (property.valueType != null) {
+							syncValueFromBeanFieldToRecordField(fieldName, property.valueType, property.typeArgumentName, listValue, fieldsMap, fieldOccur);
+						} else {
+							String typeName = listValue.getClass().getName();
+							syncValueFromBeanFieldToRecordField(fieldName, ValueType.of(typeName), typeName, listValue, fieldsMap, fieldOccur);
+						}
 					}
 				} else {
-				    syncValueFromBeanFieldToRecordField(fieldName, field.getType().getName(), value, fieldsMap, fieldOccur);
+				    syncValueFromBeanFieldToRecordField(fieldName, property.valueType, property.typeName, value, fieldsMap, fieldOccur);
 				}
 			}
 	    } catch (Exception e) {
@@ -1084,7 +952,18 @@ public class BeanRecord extends AbstractRecord {
 	    }
 	}
 	
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void syncValueFromRecordFieldToBeanProperty(PropertyPath path) {
+		Object target;
+		try {
+			target = path.target(bean);
+		} catch (Exception e) {
+			throw new RecordException(ErrorCode.RE5, e);
+		}
+		
+		Object value = valueForBeanProperty(path.property, fieldsMap.get(path.key));
+		setBeanProperty(path.property, target, value, path.fieldOccurs);
+	}
+	
 	private void syncValueFromRecordFieldToBeanField(String fieldName, Object bean,
 			Map<String, com.github.parmag.fixefid.record.field.Field> fieldsMap, int... fieldOccur) {
 		if (FINAL_FILLER_NAME.equals(fieldName)) {
@@ -1092,93 +971,39 @@ public class BeanRecord extends AbstractRecord {
 		}
 		
 		Object[] fieldAndBean = fieldAndBeanForName(fieldName, bean, fieldOccur); 
-		Field field = (Field) fieldAndBean[0];
-		bean = fieldAndBean[1];
-		field.setAccessible(true);
-		if (isAnnotationPresentForBeanField(field)) {
-		    com.github.parmag.fixefid.record.field.Field rf = fieldsMap.get(keyForFieldNameAndFieldOccur(fieldName, fieldOccur));
-		    String typeName = field.getType().getName();
-		    Object value = valueForTypeName(field, rf, typeName);
-		    
-		    try {
-		    	if (JAVA_UTIL_LIST.equals(typeName)) {
-		    		List list = (List) field.get(bean);
-		    		int rightFieldOccur = fieldOccur[fieldOccur.length -1];
-		    		int endIndex = rightFieldOccur - list.size();
-		    		for (int i = 0; i < endIndex; i++) {
-						list.add(null);
-					}
-		    		list.set(rightFieldOccur - 1, value);
-		    	} else {
-		    		field.set(bean, value);
-		    	}
-	    	} catch (Exception e) {
-				throw new RecordException(ErrorCode.RE3, e);
-			} 
-		}
+		BeanProperty property = (BeanProperty) fieldAndBean[0];
+		com.github.parmag.fixefid.record.field.Field rf = fieldsMap.get(keyForFieldNameAndFieldOccur(fieldName, fieldOccur));
+		Object value = valueForBeanProperty(property, rf);
+		setBeanProperty(property, fieldAndBean[1], value, fieldOccur);
+	}
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void setBeanProperty(BeanProperty property, Object bean, Object value, int... fieldOccur) {
+		try {
+			if (property.list) {
+				List list = (List) property.field.get(bean);
+				int rightFieldOccur = fieldOccur[fieldOccur.length -1];
+				int endIndex = rightFieldOccur - list.size();
+				for (int i = 0; i < endIndex; i++) {
+					list.add(null);
+				}
+				list.set(rightFieldOccur - 1, value);
+			} else {
+				property.field.set(bean, value);
+			}
+		} catch (Exception e) {
+			throw new RecordException(ErrorCode.RE3, e);
+		} 
 	}
 	
-	private void syncValueFromBeanFieldToRecordField(String fieldName, String typeName, Object value, 
+	private void syncValueFromBeanFieldToRecordField(String fieldName, ValueType valueType, String typeName, Object value, 
 			Map<String, com.github.parmag.fixefid.record.field.Field> fieldsMap, int... fieldOccur) {
-		boolean error = false;
-	    
 	    com.github.parmag.fixefid.record.field.Field rf = fieldsMap.get(keyForFieldNameAndFieldOccur(fieldName, fieldOccur));
-	    
-	    if (JAVA_LANG_STRING.equals(typeName)) {
-	    	if (rf.isString()) {
-	    		rf.setValue((String) value, true);
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_UTIL_DATE.equals(typeName)) {
-	    	if (rf.isDate()) {
-	    		rf.setValue((Date)value); 
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_BOOLEAN.equals(typeName) || JAVA_LANG_BOOLEAN_PR.equals(typeName)) {
-	    	if (rf.isBoolean()) {
-	    		rf.setValue((Boolean)value); 
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_FLOAT.equals(typeName) || JAVA_LANG_FLOAT_PR.equals(typeName)) {
-	    	if (rf.isFloat()) {
-	    		rf.setValue((Float)value);
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_DOUBLE.equals(typeName) || JAVA_LANG_DOUBLE_PR.equals(typeName)) {
-	    	if (rf.isDouble() || rf.isLenNormalized()) {
-	    		rf.setValue((Double)value);
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_INTEGER.equals(typeName) || JAVA_LANG_INTEGER_PR.equals(typeName)) {
-	    	if (rf.isInteger()) {
-	    		rf.setValue((Integer)value);
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_LONG.equals(typeName) || JAVA_LANG_LONG_PR.equals(typeName)) {
-	    	if (rf.isLong() || rf.isLenNormalized()) {
-	    		rf.setValue((Long)value);
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_MATH_BIG_DECIMAL.equals(typeName)) {
-	    	if (rf.isBigDecimal()) {
-	    		rf.setValue((BigDecimal)value);
-	    	} else {
-	    		error = true;
-	    	}
-	    } else {
-	    	error = true;
-	    }
-	    
-	    if (error) {
+	    if (valueType == null || !valueType.isValidFor(rf)) {
 	    	throw new RecordException(ErrorCode.RE16, "Cannot set to " + rf.toString() + " the value from field " + fieldName + " of type " + typeName);
 	    }
+	    
+	    valueType.set(rf, value);
 	}
 	
 	protected static List<Field> retrieveAllFields(List<Field> fields, Class<?> type) {
@@ -1194,27 +1019,23 @@ public class BeanRecord extends AbstractRecord {
 	@SuppressWarnings({"rawtypes" })
 	private Object[] fieldAndBeanForName(String fieldName, Object bean, int... fieldOccur) {
 		Object[] result = null;
-		List<Field> fields = retrieveAllFields(new ArrayList<Field>(), bean.getClass());
+		BeanLayout layout = layout(bean.getClass());
+		int sepIndex = fieldName.indexOf(CMP_FIELD_NAME_SEP);
+		BeanProperty property = layout.getProperty(sepIndex != -1 ? fieldName.substring(0, sepIndex) : fieldName);
 		try {
-			for (Field field : fields) {
-				field.setAccessible(true);
-	            if (isAnnotationPresentForBeanField(field)) {
-					FieldType fieldType = typeForBeanField(field);
-					FieldType fieldTypeList = typeListForBeanField(field);
-					if (FieldType.CMP.equals(fieldType) && fieldName.startsWith(field.getName() + CMP_FIELD_NAME_SEP)) {
-						int[] nextFieldOccur = Arrays.copyOfRange(fieldOccur, 1, fieldOccur.length);
-						result = fieldAndBeanForName(fieldName.substring(fieldName.indexOf(CMP_FIELD_NAME_SEP) + 1), field.get(bean), nextFieldOccur);
-						break;
-					} else if (FieldType.LIST.equals(fieldType) && FieldType.CMP.equals(fieldTypeList) && fieldName.startsWith(field.getName() + CMP_FIELD_NAME_SEP)) {
-						List list = (List) field.get(bean);
-						int[] nextFieldOccur = Arrays.copyOfRange(fieldOccur, 1, fieldOccur.length);
-						result = fieldAndBeanForName(fieldName.substring(fieldName.indexOf(CMP_FIELD_NAME_SEP) + 1), list.get(fieldOccur[0] - 1), nextFieldOccur);
-					} else if (fieldName.equals(field.getName())) {
-						result = new Object[] {field, bean};
-						break;
-					}
-	            }
+			if (property != null && sepIndex != -1 && property.isCmp()) {
+				Object cmpBean = property.field.get(bean);
+				if (FieldType.LIST.equals(property.type)) {
+					cmpBean = ((List) cmpBean).get(fieldOccur[0] - 1);
+				}
+				
+				int[] nextFieldOccur = Arrays.copyOfRange(fieldOccur, 1, fieldOccur.length);
+				result = fieldAndBeanForName(fieldName.substring(sepIndex + 1), cmpBean, nextFieldOccur);
+			} else if (property != null && sepIndex == -1) {
+				result = new Object[] {property, bean};
 			}
+		} catch (RecordException re) {
+			throw re;
 		} catch (Exception e) {
 	    	throw new RecordException(ErrorCode.RE5, e);
 	    }
@@ -1226,75 +1047,19 @@ public class BeanRecord extends AbstractRecord {
 		return result;
 	}
 	
-	private Object valueForTypeName(Field field, com.github.parmag.fixefid.record.field.Field rf, String typeName) {
-		boolean error = false;
-		Object value = null;
-	    
-	    if (JAVA_LANG_STRING.equals(typeName)) {
-	    	if (rf.isString()) {
-	    		value = rf.getValueAsString();
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_UTIL_DATE.equals(typeName)) {
-	    	if (rf.isDate()) {
-	    		value = rf.getValueAsDate();
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_BOOLEAN.equals(typeName) || JAVA_LANG_BOOLEAN_PR.equals(typeName)) {
-	    	if (rf.isBoolean()) {
-	    		value = rf.getValueAsBoolean();
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_FLOAT.equals(typeName) || JAVA_LANG_FLOAT_PR.equals(typeName)) {
-	    	if (rf.isFloat()) {
-	    		value = rf.getValueAsFloat();
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_DOUBLE.equals(typeName) || JAVA_LANG_DOUBLE_PR.equals(typeName)) {
-	    	if (rf.isDouble() || rf.isLenNormalized()) {
-	    		value = rf.getValueAsDouble();
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_INTEGER.equals(typeName) || JAVA_LANG_INTEGER_PR.equals(typeName)) {
-	    	if (rf.isInteger()) {
-	    		value = rf.getValueAsInteger();
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_LANG_LONG.equals(typeName) || JAVA_LANG_LONG_PR.equals(typeName)) {
-	    	if (rf.isLong() || rf.isLenNormalized()) {
-	    		value = rf.getValueAsLong();
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_MATH_BIG_DECIMAL.equals(typeName)) {
-	    	if (rf.isBigDecimal()) {
-	    		value = rf.getValueAsBigDecimal();
-	    	} else {
-	    		error = true;
-	    	}
-	    } else if (JAVA_UTIL_LIST.equals(typeName)) {
-	    	try {
-				ParameterizedType genericType = (ParameterizedType) field.getGenericType();
-				String typeArgumentName = genericType.getActualTypeArguments()[0].getTypeName();
-				value = valueForTypeName(field, rf, typeArgumentName);
-	    	} catch (Exception e) {
-				throw new RecordException(ErrorCode.RE3, e);
-			}
-	    } else {
-	    	error = true;
-	    }
-	    
-	    if (error) {
-	    	throw new RecordException(ErrorCode.RE2, "Cannot retrieve value for the given java type name " + typeName + " from " + rf.toString());
-	    } 
-	    
-	    return value;
+	private Object valueForBeanProperty(BeanProperty property, com.github.parmag.fixefid.record.field.Field rf) {
+		if (property.list && property.typeArgumentName == null) {
+			throw new RecordException(ErrorCode.RE3, "The field " + property.name + " of type " + JAVA_UTIL_LIST + 
+				" must have a type argument");
+		}
+		
+		ValueType valueType = property.valueType;
+		if (valueType == null || !valueType.isValidFor(rf)) {
+			throw new RecordException(ErrorCode.RE2, "Cannot retrieve value for the given java type name " + 
+				(property.list ? property.typeArgumentName : property.typeName) + " from " + rf.toString());
+		}
+		
+		return valueType.get(rf);
 	}
 
 	/**
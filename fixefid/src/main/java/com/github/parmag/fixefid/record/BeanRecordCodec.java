@@ -0,0 +1,1050 @@
+package com.github.parmag.fixefid.record;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.parmag.fixefid.record.BeanLayout.BeanProperty;
+import com.github.parmag.fixefid.record.eps.FieldExtendedPropertyFactory;
+import com.github.parmag.fixefid.record.field.Field;
+import com.github.parmag.fixefid.record.field.FieldException;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.field.FieldType;
+import com.github.parmag.fixefid.record.field.FieldValidationInfo;
+
+/**
+ * The <code>BeanRecordCodec</code> is the compiled layout of a java bean annotated with <code>FixefidRecord.class</code>.
+ * The layout is compiled once, building a template <code>BeanRecord</code>, and then it's used to decode the formatted records
+ * straight into the beans and to encode the beans straight into the formatted records, without creating a new <code>BeanRecord</code>
+ * for every record.
+ * <p>
+ * The fields of the template are reused for every record, so an instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class BeanRecordCodec<T> {
+	private static final char SPACE = ' ';
+	private static final char ZERO = '0';
+	private static final int MAX_INTEGER_DIGITS = 9;
+	private static final int MAX_LONG_DIGITS = 18;
+
+	private final Class<T> beanClass;
+	private final Constructor<T> beanConstructor;
+	private final List<FieldExtendedProperty> fieldExtendedProperties;
+	private final Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties;
+	private final RecordWay recordWay;
+	private final Set<String> projection;
+	private final BeanRecord template;
+	private final int recordLen;
+	private final FieldCodec[] fieldCodecs;
+	private final boolean binary;
+	private final StringBuilder errors = new StringBuilder();
+
+	/**
+	 * Constructs a new <code>BeanRecordCodec</code> for the java bean class indicated by the <code>beanClass</code> parameter.
+	 * The java bean class must be annotated with <code>FixefidRecord.class</code> and must have a no-arg constructor.
+	 *
+	 * @param beanClass the class of the java bean
+	 */
+	public BeanRecordCodec(Class<T> beanClass) {
+		this(beanClass, null, null, null);
+	}
+
+	/**
+	 * Constructs a new <code>BeanRecordCodec</code> for the java bean class indicated by the <code>beanClass</code> parameter.
+	 * The extended properties are applied as the constructor {@link BeanRecord#BeanRecord(Object, String, List, Map, RecordWay)} does.
+	 *
+	 * @param beanClass the class of the java bean
+	 * @param fieldExtendedProperties the extended properties of field applied to every fields of the record
+	 * @param mapFieldExtendedProperties the extended properties of fields to override the relative property at record level
+	 * @param recordWay the record way. This overrides what's defined at annotation level (see FixefidRecord annotation)
+	 */
+	public BeanRecordCodec(Class<T> beanClass, List<FieldExtendedProperty> fieldExtendedProperties,
+			Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties, RecordWay recordWay) {
+		this(beanClass, fieldExtendedProperties, mapFieldExtendedProperties, recordWay, null);
+	}
+
+	/**
+	 * Constructs a new <code>BeanRecordCodec</code> for the java bean class indicated by the <code>beanClass</code> parameter,
+	 * that decodes only the fields in the <code>projection</code> parameter. The other fields aren't extracted, validated and
+	 * set to the bean, and they are left unchanged in the buffer when a bean is encoded into a buffer that already contains
+	 * the record with {@link #update(Object, char[], int)}. If the name of a composite field is in the projection, all its
+	 * components are in the projection
+	 *
+	 * @param beanClass the class of the java bean
+	 * @param fieldExtendedProperties the extended properties of field applied to every fields of the record
+	 * @param mapFieldExtendedProperties the extended properties of fields to override the relative property at record level
+	 * @param recordWay the record way. This overrides what's defined at annotation level (see FixefidRecord annotation)
+	 * @param projection the names of the fields to decode, or null to decode all the fields
+	 * @throws RecordException if a name of the projection doesn't represent any field of the record
+	 */
+	public BeanRecordCodec(Class<T> beanClass, List<FieldExtendedProperty> fieldExtendedProperties,
+			Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties, RecordWay recordWay, Set<String> projection) {
+		if (beanClass == null) {
+            throw new RecordException(ErrorCode.RE12, "Can't create codec with a null bean class");
+        }
+
+		this.beanClass = beanClass;
+		this.beanConstructor = constructorForBeanClass(beanClass);
+		this.fieldExtendedProperties = fieldExtendedProperties;
+		this.mapFieldExtendedProperties = mapFieldExtendedProperties;
+		this.recordWay = recordWay;
+		this.projection = projection;
+		this.template = newBeanRecord(newBean(), null);
+		this.recordLen = template.getRecordLen();
+		this.fieldCodecs = compileFieldCodecs();
+		this.binary = hasBinaryFieldCodecs();
+	}
+
+	/**
+	 * Create a new <code>BeanRecord</code> backed by the <code>bean</code> param, with the same extended properties,
+	 * record way and projection of this codec. The template <code>BeanRecord</code> used to compile the layout is created by this method
+	 *
+	 * @param bean the bean of the new <code>BeanRecord</code>
+	 * @param record the formatted string of the new <code>BeanRecord</code>, or null
+	 * @return the new <code>BeanRecord</code>
+	 */
+	public BeanRecord newBeanRecord(T bean, String record) {
+		return new BeanRecord(bean, record, fieldExtendedProperties, mapFieldExtendedProperties, recordWay, projection);
+	}
+
+	/**
+	 * Create a new <code>BeanRecordCodec</code> with the same java bean class, extended properties, record way and projection of this codec.
+	 * Every thread that decodes or encodes the records concurrently must use its own codec. The formats of the extended properties
+	 * are cloned (see {@link FieldExtendedPropertyFactory#copyOf(List)})
+	 *
+	 * @return the new <code>BeanRecordCodec</code>
+	 */
+	public BeanRecordCodec<T> copy() {
+		return new BeanRecordCodec<T>(beanClass, FieldExtendedPropertyFactory.copyOf(fieldExtendedProperties),
+			FieldExtendedPropertyFactory.copyOf(mapFieldExtendedProperties), recordWay, projection);
+	}
+
+	/**
+	 * @return the class of the java bean
+	 */
+	public Class<T> getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * @return the names of the fields decoded by this codec, or null if all the fields are decoded
+	 */
+	public Set<String> getProjection() {
+		return projection;
+	}
+
+	/**
+	 * @return the record len
+	 */
+	public int getRecordLen() {
+		return recordLen;
+	}
+
+	/**
+	 * @return the record way
+	 */
+	public RecordWay getRecordWay() {
+		return template.getRecordWay();
+	}
+
+	/**
+	 * @return true if the layout has packed decimal or binary fields, that must be read and written as bytes
+	 * (see {@link ByteRecordCodec})
+	 */
+	public boolean hasBinaryFields() {
+		return binary;
+	}
+
+	/**
+	 * Returns the ordered list of the names of the fields of the compiled layout, with occurs aware. The final filler, if present,
+	 * is the last name of the list
+	 *
+	 * @return the ordered list of the names of the fields of the compiled layout, with occurs aware
+	 */
+	public List<String> namesWithOccursAware() {
+		return template.namesWithOccursAware();
+	}
+
+	/**
+	 * Returns the offset inside the record, starting from 0, of the field represented by the <code>fieldName</code> param
+	 *
+	 * @param fieldName the field name
+	 * @return the offset of the field inside the record
+	 * @throws RecordException if the <code>fieldName</code> param doesn't represent any field of the record
+	 */
+	public int getFieldOffset(String fieldName) throws RecordException {
+		return getFieldOffset(fieldName, template.defaultFieldOccursForFieldName(fieldName));
+	}
+
+	/**
+	 * Returns the offset inside the record, starting from 0, of the field represented by the <code>fieldName</code>
+	 * and <code>fieldOccur</code> params. If the <code>fieldName</code> is composite, the <code>fieldOccur</code> must
+	 * contain the same number of components of the given <code>fieldName</code>
+	 *
+	 * @param fieldName the field name
+	 * @param fieldOccur the field occur
+	 * @return the offset of the field inside the record
+	 * @throws RecordException if the <code>fieldName</code> param doesn't represent any field of the record
+	 */
+	public int getFieldOffset(String fieldName, int... fieldOccur) throws RecordException {
+		return fieldCodecForFieldName(fieldName, fieldOccur).offset;
+	}
+
+	/**
+	 * Returns the len of the field represented by the <code>fieldName</code> param
+	 *
+	 * @param fieldName the field name
+	 * @return the len of the field
+	 * @throws RecordException if the <code>fieldName</code> param doesn't represent any field of the record
+	 */
+	public int getFieldLen(String fieldName) throws RecordException {
+		return getFieldLen(fieldName, template.defaultFieldOccursForFieldName(fieldName));
+	}
+
+	/**
+	 * Returns the len of the field represented by the <code>fieldName</code> and <code>fieldOccur</code> params.
+	 * If the <code>fieldName</code> is composite, the <code>fieldOccur</code> must contain the same number of components
+	 * of the given <code>fieldName</code>
+	 *
+	 * @param fieldName the field name
+	 * @param fieldOccur the field occur
+	 * @return the len of the field
+	 * @throws RecordException if the <code>fieldName</code> param doesn't represent any field of the record
+	 */
+	public int getFieldLen(String fieldName, int... fieldOccur) throws RecordException {
+		return fieldCodecForFieldName(fieldName, fieldOccur).len;
+	}
+
+	private FieldCodec fieldCodecForFieldName(String fieldName, int... fieldOccur) {
+		String key = template.keyForFieldNameAndFieldOccur(fieldName, fieldOccur);
+		for (FieldCodec fc : fieldCodecs) {
+			if (fc.key.equals(key)) {
+				return fc;
+			}
+		}
+
+		throw new RecordException(ErrorCode.RE9, "Unknown fieldName=[" + fieldName + "] with key=[" + key + "]");
+	}
+
+	/**
+	 * Returns a <code>String</code> object representing the pretty print offset and len of the compiled layout.
+	 * The pretty print is composed as following:
+	 * <p>
+	 * name=[offset][len]
+	 *
+	 * @return the pretty print offset and len of the compiled layout
+	 */
+	public String prettyPrintOffsetAndLen() {
+		return template.prettyPrintOffsetAndLen();
+	}
+
+	/**
+	 * Create a new instance of the java bean with the no-arg constructor
+	 *
+	 * @return a new instance of the java bean
+	 * @throws RecordException if the instance can't be created
+	 */
+	public T newBean() throws RecordException {
+		try {
+			return beanConstructor.newInstance();
+		} catch (Exception e) {
+			throw new RecordException(ErrorCode.RE40, "Cannot create a new instance of " + beanClass.getName(), e);
+		}
+	}
+
+	/**
+	 * Decode the formatted record present in the <code>record</code> param into a new instance of the java bean
+	 *
+	 * @param record the formatted record
+	 * @return the new instance of the java bean with the values of the record
+	 * @throws RecordException if the len of the record is greater than the record len or a field has error status
+	 */
+	public T decode(String record) throws RecordException {
+		return decode(record, newBean());
+	}
+
+	/**
+	 * Decode the formatted record present in the <code>record</code> param into the <code>bean</code> param.
+	 * If the len of the record is less than the record len, the record is right padded with spaces, as
+	 * {@link AbstractRecord#initRecord(String)} does
+	 *
+	 * @param record the formatted record
+	 * @param bean the bean to fill
+	 * @return the <code>bean</code> param
+	 * @throws RecordException if the len of the record is greater than the record len or a field has error status
+	 */
+	public T decode(String record, T bean) throws RecordException {
+		if (record.length() > recordLen) {
+			throw new RecordException(ErrorCode.RE8, "Not valid len=[" + record.length() + "] for input record=[" + record +
+				"]. Expected len=[" + recordLen + "]");
+		} else if (record.length() < recordLen) {
+			record = String.format("%-" + recordLen + "s", record);
+		}
+
+		resetErrors();
+		for (FieldCodec fc : fieldCodecs) {
+			if (fc.projected) {
+				fill(fc, record.substring(fc.offset, fc.offset + fc.len));
+			}
+		}
+
+		syncValuesFromFieldsToBean(bean);
+
+		return bean;
+	}
+
+	/**
+	 * Decode the formatted record present in the <code>buffer</code> param, starting from the <code>offset</code> param,
+	 * into the <code>bean</code> param. The buffer must contain at least record len chars starting from the offset.
+	 *
+	 * @param buffer the buffer with the formatted record
+	 * @param offset the offset of the record inside the buffer
+	 * @param bean the bean to fill
+	 * @return the <code>bean</code> param
+	 * @throws RecordException if a field has error status
+	 */
+	public T decode(char[] buffer, int offset, T bean) throws RecordException {
+		resetErrors();
+		for (FieldCodec fc : fieldCodecs) {
+			if (fc.projected) {
+				fill(fc, new String(buffer, offset + fc.offset, fc.len));
+			}
+		}
+
+		syncValuesFromFieldsToBean(bean);
+
+		return bean;
+	}
+
+	/**
+	 * Encode the <code>bean</code> param into a formatted record, as {@link BeanRecord#toString()} does
+	 *
+	 * @param bean the bean to encode
+	 * @return the formatted record
+	 * @throws RecordException if a field has error status
+	 */
+	public String encode(T bean) throws RecordException {
+		char[] buffer = new char[recordLen];
+		encode(bean, buffer, 0, true);
+		return new String(buffer);
+	}
+
+	/**
+	 * Encode the <code>bean</code> param into the <code>buffer</code> param, starting from the <code>offset</code> param.
+	 * The buffer must have room for at least record len chars starting from the offset. The fields with a null value
+	 * in the bean are encoded with their initial value (default value or empty value), as a new <code>BeanRecord</code> does.
+	 * All the fields are encoded, also if this codec has a projection
+	 *
+	 * @param bean the bean to encode
+	 * @param buffer the buffer to write the formatted record
+	 * @param offset the offset of the record inside the buffer
+	 * @throws RecordException if a field has error status
+	 */
+	public void encode(T bean, char[] buffer, int offset) throws RecordException {
+		encode(bean, buffer, offset, true);
+	}
+
+	/**
+	 * Encode the <code>bean</code> param into the record present in the <code>buffer</code> param, starting from the
+	 * <code>offset</code> param. If this codec has a projection, only the fields of the projection are encoded: the other fields
+	 * are left unchanged in the buffer, so a record decoded from the buffer is written back with the fields not decoded as they were.
+	 * Without a projection, this method is the same of {@link #encode(Object, char[], int)}
+	 *
+	 * @param bean the bean to encode
+	 * @param buffer the buffer with the formatted record
+	 * @param offset the offset of the record inside the buffer
+	 * @throws RecordException if a field has error status
+	 */
+	public void update(T bean, char[] buffer, int offset) throws RecordException {
+		encode(bean, buffer, offset, false);
+	}
+
+	private void encode(T bean, char[] buffer, int offset, boolean allFields) throws RecordException {
+		resetErrors();
+		for (FieldCodec fc : fieldCodecs) {
+			if (!fc.projected && !allFields) {
+				continue;
+			}
+
+			Object value = fc.getFromBean(bean);
+			if (!fc.encode(value, buffer, offset + fc.offset)) {
+				String formattedValue = format(fc, value);
+				if (formattedValue != null) {
+					formattedValue.getChars(0, fc.len, buffer, offset + fc.offset);
+				}
+			}
+		}
+
+		checkErrors(ErrorCode.RE10);
+	}
+
+	/**
+	 * Encode the <code>value</code> param into the formatted value of the field represented by the <code>fieldName</code> param,
+	 * as it's present in the formatted record. The value must be of the type of the relative bean property
+	 *
+	 * @param fieldName the field name
+	 * @param value the value to encode
+	 * @return the formatted value of the field
+	 * @throws RecordException if the <code>fieldName</code> param doesn't represent any field of the record or the value
+	 * can't be formatted
+	 */
+	public String encodeField(String fieldName, Object value) throws RecordException {
+		FieldCodec fc = fieldCodecForFieldName(fieldName, template.defaultFieldOccursForFieldName(fieldName));
+		resetErrors();
+		String formattedValue = format(fc, value);
+		checkErrors(ErrorCode.RE10);
+
+		return formattedValue;
+	}
+
+	/**
+	 * @return the compiled fields of the layout, in the record order
+	 */
+	FieldCodec[] getFieldCodecs() {
+		return fieldCodecs;
+	}
+
+	/**
+	 * Returns the key of the compiled field represented by the <code>fieldName</code> and <code>fieldOccur</code> params
+	 *
+	 * @param fieldName the field name
+	 * @param fieldOccur the field occur, or an empty array for the default occurs
+	 * @return the key of the compiled field
+	 */
+	String keyForFieldName(String fieldName, int... fieldOccur) {
+		return template.keyForFieldNameAndFieldOccur(fieldName, fieldOccur.length > 0 ? fieldOccur : template.defaultFieldOccursForFieldName(fieldName));
+	}
+
+	/**
+	 * Returns the field name of the compiled field with the <code>key</code> param
+	 *
+	 * @param key the key of the compiled field
+	 * @return the field name
+	 */
+	String fieldNameForKey(String key) {
+		return template.fieldNameForKey(key, template.fieldOccursForKey(key));
+	}
+
+	/**
+	 * Reset the errors of the last decoded or encoded record
+	 */
+	void resetErrors() {
+		errors.setLength(0);
+	}
+
+	/**
+	 * Throws a <code>RecordException</code> with the <code>errorCode</code> param if the last decoded or encoded record has errors
+	 *
+	 * @param errorCode the error code of the exception
+	 */
+	void checkErrors(ErrorCode errorCode) {
+		if (errors.length() > 0) {
+			throw new RecordException(errorCode, "Record has Error status. Cause: " + errors);
+		}
+	}
+
+	/**
+	 * Set the <code>value</code> param, extracted from the formatted record, to the record field of the <code>fc</code> param
+	 *
+	 * @param fc the compiled field
+	 * @param value the formatted value of the field
+	 */
+	void fill(FieldCodec fc, String value) {
+		fc.field.setValue(value, false);
+		FieldValidationInfo vi = fc.field.getValidationInfo();
+		if (FieldValidationInfo.RecordFieldValidationStatus.ERROR.equals(vi.getValidationStatus())) {
+			appendError(fc.key, vi.getValidationMessage());
+		} else if (!value.equals(fc.field.getValue())) {
+			appendError(fc.key, "Input value=[" + value + "] diff vs field value=[" + fc.field.getValue() + "]");
+		}
+	}
+
+	/**
+	 * Returns the value of the record field of the <code>fc</code> param, parsed according the type of the bean property
+	 *
+	 * @param fc the compiled field
+	 * @return the parsed value, or null if the value can't be parsed
+	 */
+	Object valueOf(FieldCodec fc) {
+		try {
+			return fc.valueType.get(fc.field);
+		} catch (FieldException fe) {
+			appendError(fc.key, fe.getLocalizedMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the formatted value of the <code>value</code> param, according the record field of the <code>fc</code> param.
+	 * If the <code>value</code> param is null, the initial value of the record field is returned
+	 *
+	 * @param fc the compiled field
+	 * @param value the value of the bean property
+	 * @return the formatted value, or null if the value can't be formatted
+	 */
+	String format(FieldCodec fc, Object value) {
+		if (value == null) {
+			if (fc.initialValue == null) {
+				appendError(fc.key, "Null value not valid for field=[" + fc.field.getName() + "]");
+			}
+
+			return fc.initialValue;
+		}
+
+		try {
+			fc.valueType.set(fc.field, value);
+			FieldValidationInfo vi = fc.field.getValidationInfo();
+			if (FieldValidationInfo.RecordFieldValidationStatus.ERROR.equals(vi.getValidationStatus())) {
+				appendError(fc.key, vi.getValidationMessage());
+				return null;
+			}
+
+			return fc.field.getValue();
+		} catch (FieldException fe) {
+			appendError(fc.key, fe.getLocalizedMessage());
+			return null;
+		}
+	}
+
+	private void syncValuesFromFieldsToBean(T bean) {
+		checkErrors(ErrorCode.RE39);
+
+		for (FieldCodec fc : fieldCodecs) {
+			if (fc.path != null && fc.projected) {
+				Object value = valueOf(fc);
+				if (errors.length() == 0) {
+					fc.setToBean(bean, value);
+				}
+			}
+		}
+
+		checkErrors(ErrorCode.RE39);
+	}
+
+	/**
+	 * Add an error with the <code>message</code> param to the record field of the <code>fc</code> param
+	 *
+	 * @param fc the compiled field
+	 * @param message the message of the error
+	 */
+	void appendError(FieldCodec fc, String message) {
+		appendError(fc.key, message);
+	}
+
+	private void appendError(String key, String message) {
+		errors.append(key + "=[" + FieldValidationInfo.RecordFieldValidationStatus.ERROR.name() + "][" + message + "]\n");
+	}
+
+	private FieldCodec[] compileFieldCodecs() {
+		List<FieldCodec> result = new ArrayList<FieldCodec>();
+		boolean[] projected = projection != null ? template.projectedKeys(projection) : null;
+		int offset = 0;
+		for (Map.Entry<String, Field> entry : template.getFieldsMap().entrySet()) {
+			String key = entry.getKey();
+			Field field = entry.getValue();
+			FieldCodec fc = new FieldCodec(key, field, offset, initialValueForField(field));
+			fc.projected = projected == null || projected[result.size()];
+			if (!AbstractRecord.FINAL_FILLER_NAME.equals(key)) {
+				int[] fieldOccurs = template.fieldOccursForKey(key);
+				String fieldName = template.fieldNameForKey(key, fieldOccurs);
+				fc.path = beanPathForFieldName(fieldName, fieldOccurs);
+				fc.valueType = ValueType.forTypeName(fc.path.valueClass().getName(), field);
+				fc.fastPath = fastPathForField(field, fc.valueType);
+			}
+
+			result.add(fc);
+			offset += fc.len;
+		}
+
+		return result.toArray(new FieldCodec[result.size()]);
+	}
+
+	private static FastPath fastPathForField(Field field, ValueType valueType) {
+		if (field.isLenNormalized() || !field.getFixedValues().isEmpty() ||
+				hasFieldExtendedProperty(field, FieldExtendedPropertyType.VALIDATOR) ||
+				hasFieldExtendedProperty(field, FieldExtendedPropertyType.LPAD) ||
+				hasFieldExtendedProperty(field, FieldExtendedPropertyType.RPAD)) {
+			return FastPath.NONE;
+		}
+
+		if (ValueType.INTEGER.equals(valueType) && FieldType.N.equals(field.getType()) && field.getLen() <= MAX_INTEGER_DIGITS) {
+			return FastPath.NUMBER;
+		} else if (ValueType.LONG.equals(valueType) && field.isLong() && field.getLen() <= MAX_LONG_DIGITS) {
+			return FastPath.NUMBER;
+		} else if (ValueType.STRING.equals(valueType) && FieldType.AN.equals(field.getType()) &&
+				!hasFieldExtendedProperty(field, FieldExtendedPropertyType.CUSTOM_FORMAT)) {
+			return FastPath.STRING;
+		}
+
+		return FastPath.NONE;
+	}
+
+	/**
+	 * Returns true if the record field indicated by the <code>field</code> param has an extended property of the
+	 * <code>type</code> param
+	 *
+	 * @param field the record field
+	 * @param type the type of the extended property
+	 * @return true if the record field has an extended property of the type
+	 */
+	static boolean hasFieldExtendedProperty(Field field, FieldExtendedPropertyType type) {
+		List<FieldExtendedProperty> feps = field.getFieldExtendedProperties();
+		if (feps != null) {
+			for (FieldExtendedProperty fep : feps) {
+				if (type.equals(fep.getType())) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private boolean hasBinaryFieldCodecs() {
+		for (FieldCodec fc : fieldCodecs) {
+			if (fc.field.isBinary()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private String initialValueForField(Field field) {
+		Field initialField = new Field(field.getName(), field.getIndex(), field.getSubIndex(), field.getOccurIndex(), field.getType(),
+			field.getLen(), field.getMandatory(), field.getRecordWay(), field.getDefaultValue(), field.getFixedValues(),
+			field.getFieldExtendedProperties(), field.getDisplayName(), field.getDescription());
+		try {
+			return initialField.getValue();
+		} catch (FieldException fe) {
+			return null;
+		}
+	}
+
+	private BeanPath beanPathForFieldName(String fieldName, int[] fieldOccurs) {
+		String[] names = fieldName.split("\\" + AbstractRecord.CMP_FIELD_NAME_SEP);
+		BeanPathStep[] steps = new BeanPathStep[names.length];
+		Class<?> clazz = beanClass;
+		for (int i = 0; i < names.length; i++) {
+			BeanProperty property = BeanLayout.of(clazz, template).getProperty(names[i]);
+			if (property == null) {
+				throw new RecordException(ErrorCode.RE17, "Not found field with name " + names[i] + " in the type (and super type) " + clazz.getName());
+			}
+
+			Class<?> valueClass = property.list ? listElementClass(property) : property.field.getType();
+			steps[i] = new BeanPathStep(property.field, property.list, valueClass, fieldOccurs[i] - 1);
+			clazz = valueClass;
+		}
+
+		return new BeanPath(steps);
+	}
+
+	private Class<?> listElementClass(BeanProperty property) {
+		if (property.elementClass == null) {
+			throw new RecordException(ErrorCode.RE34, "The field " + property.name + " must be a parameterized " + List.class.getName());
+		}
+
+		return property.elementClass;
+	}
+
+	private static <C> Constructor<C> constructorForBeanClass(Class<C> beanClass) {
+		try {
+			Constructor<C> constructor = beanClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (Exception e) {
+			throw new RecordException(ErrorCode.RE40, "The class " + beanClass.getName() + " must have a no-arg constructor", e);
+		}
+	}
+
+	private static Object newInstance(Class<?> clazz) {
+		try {
+			return constructorForBeanClass(clazz).newInstance();
+		} catch (RecordException re) {
+			throw re;
+		} catch (Exception e) {
+			throw new RecordException(ErrorCode.RE40, "Cannot create a new instance of " + clazz.getName(), e);
+		}
+	}
+
+	/**
+	 * The kind of fast path of a field
+	 */
+	private enum FastPath {
+		NONE, NUMBER, STRING
+	}
+
+	/**
+	 * The compiled field: the record field of the template, its offset inside the record and the path
+	 * of the relative bean property. The numeric fields of type <code>Integer</code> and <code>Long</code> and the
+	 * string fields with the default pad and without custom format, fixed values or validator are encoded straight
+	 * into the buffer, without the formatting of the record field
+	 */
+	static class FieldCodec {
+		private final String key;
+		private final Field field;
+		private final int offset;
+		private final int len;
+		private final boolean mandatory;
+		private final String initialValue;
+		private BeanPath path;
+		private ValueType valueType;
+		private FastPath fastPath = FastPath.NONE;
+		private boolean projected;
+
+		private FieldCodec(String key, Field field, int offset, String initialValue) {
+			this.key = key;
+			this.field = field;
+			this.offset = offset;
+			this.len = field.getLen();
+			this.mandatory = field.isMandatory();
+			this.initialValue = initialValue;
+		}
+
+		/**
+		 * @return true if the field is decoded, false if it's not in the projection of the codec
+		 */
+		boolean isProjected() {
+			return projected;
+		}
+
+		/**
+		 * @return the key of the field in the fields map of the template
+		 */
+		String getKey() {
+			return key;
+		}
+
+		/**
+		 * @return the record field of the template
+		 */
+		Field getField() {
+			return field;
+		}
+
+		/**
+		 * @return the offset of the field inside the record
+		 */
+		int getOffset() {
+			return offset;
+		}
+
+		/**
+		 * @return the len of the field
+		 */
+		int getLen() {
+			return len;
+		}
+
+		/**
+		 * @return the java type of the bean property, or null for the final filler
+		 */
+		ValueType getValueType() {
+			return valueType;
+		}
+
+		/**
+		 * @param bean the root bean
+		 * @return the value of the bean property, or null if the value or a composite along the path is null
+		 */
+		Object getFromBean(Object bean) {
+			return path != null ? path.get(bean) : null;
+		}
+
+		/**
+		 * @param bean the root bean
+		 * @param value the value to set to the bean property
+		 */
+		void setToBean(Object bean, Object value) {
+			if (path != null) {
+				path.set(bean, value);
+			}
+		}
+
+		/**
+		 * Encode the value of the field by the fast path
+		 *
+		 * @param value the value of the bean property
+		 * @param buffer the buffer to write the record
+		 * @param start the offset of the field inside the buffer
+		 * @return true if the value has been encoded, false if the value must be formatted by the record field
+		 */
+		private boolean encode(Object value, char[] buffer, int start) {
+			if (value == null) {
+				return false;
+			}
+
+			switch (fastPath) {
+			case NUMBER:
+				return encodeNumber(((Number) value).longValue(), buffer, start);
+			case STRING:
+				return encodeString((String) value, buffer, start);
+			default:
+				return false;
+			}
+		}
+
+		private boolean encodeNumber(long value, char[] buffer, int start) {
+			if (value < 0 || (value == 0 && mandatory)) {
+				return false;
+			}
+
+			int digits = 0;
+			for (long v = value; v > 0; v /= 10) {
+				digits++;
+			}
+
+			if (digits > len) {
+				return false;
+			}
+
+			int i = start + len - 1;
+			for (long v = value; v > 0; v /= 10) {
+				buffer[i--] = (char) (ZERO + (int) (v % 10));
+			}
+
+			while (i >= start) {
+				buffer[i--] = ZERO;
+			}
+
+			return true;
+		}
+
+		private boolean encodeString(String value, char[] buffer, int start) {
+			int end = value.length();
+			while (end > 0 && value.charAt(end - 1) == SPACE) {
+				end--;
+			}
+
+			if (end > len || (end == 0 && mandatory)) {
+				return false;
+			}
+
+			value.getChars(0, end, buffer, start);
+			for (int i = start + end; i < start + len; i++) {
+				buffer[i] = SPACE;
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * The path from the root bean to the bean property of a field. Every composite (or list of composite) bean property
+	 * along the path is created if missing
+	 */
+	private static class BeanPath {
+		private final BeanPathStep[] steps;
+
+		private BeanPath(BeanPathStep[] steps) {
+			this.steps = steps;
+		}
+
+		private Class<?> valueClass() {
+			return steps[steps.length - 1].valueClass;
+		}
+
+		private void set(Object bean, Object value) {
+			Object target = bean;
+			for (int i = 0; i < steps.length - 1; i++) {
+				target = steps[i].getOrCreate(target);
+			}
+
+			steps[steps.length - 1].set(target, value);
+		}
+
+		private Object get(Object bean) {
+			Object value = bean;
+			for (int i = 0; i < steps.length && value != null; i++) {
+				value = steps[i].get(value);
+			}
+
+			return value;
+		}
+	}
+
+	/**
+	 * A step of a <code>BeanPath</code>: the bean property and, if the property is a list, the index of the element
+	 */
+	private static class BeanPathStep {
+		private final java.lang.reflect.Field beanField;
+		private final boolean list;
+		private final Class<?> valueClass;
+		private final int index;
+
+		private BeanPathStep(java.lang.reflect.Field beanField, boolean list, Class<?> valueClass, int index) {
+			this.beanField = beanField;
+			this.list = list;
+			this.valueClass = valueClass;
+			this.index = index;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private List listFor(Object target) throws IllegalAccessException {
+			List values = (List) beanField.get(target);
+			if (values == null) {
+				values = new ArrayList();
+				beanField.set(target, values);
+			}
+
+			while (values.size() <= index) {
+				values.add(null);
+			}
+
+			return values;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object getOrCreate(Object target) {
+			try {
+				if (list) {
+					List values = listFor(target);
+					Object value = values.get(index);
+					if (value == null) {
+						value = newInstance(valueClass);
+						values.set(index, value);
+					}
+
+					return value;
+				} else {
+					Object value = beanField.get(target);
+					if (value == null) {
+						value = newInstance(valueClass);
+						beanField.set(target, value);
+					}
+
+					return value;
+				}
+			} catch (IllegalAccessException e) {
+				throw new RecordException(ErrorCode.RE3, e);
+			}
+		}
+
+		@SuppressWarnings("rawtypes")
+		private Object get(Object target) {
+			try {
+				Object value = beanField.get(target);
+				if (list && value != null) {
+					List values = (List) value;
+					value = values.size() > index ? values.get(index) : null;
+				}
+
+				return value;
+			} catch (Exception e) {
+				throw new RecordException(ErrorCode.RE4, e);
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private void set(Object target, Object value) {
+			try {
+				if (list) {
+					List values = listFor(target);
+					values.set(index, value);
+				} else {
+					beanField.set(target, value);
+				}
+			} catch (Exception e) {
+				throw new RecordException(ErrorCode.RE3, e);
+			}
+		}
+	}
+
+	/**
+	 * The java type of a bean property, resolved once for every field of the compiled layout
+	 */
+	enum ValueType {
+		STRING {
+			boolean isValidFor(Field field) { return field.isString(); }
+			Object get(Field field) { return field.getValueAsString(); }
+			void set(Field field, Object value) { field.setValue((String) value, true); }
+		},
+		DATE {
+			boolean isValidFor(Field field) { return field.isDate(); }
+			Object get(Field field) { return field.getValueAsDate(); }
+			void set(Field field, Object value) { field.setValue((Date) value); }
+		},
+		BOOLEAN {
+			boolean isValidFor(Field field) { return field.isBoolean(); }
+			Object get(Field field) { return field.getValueAsBoolean(); }
+			void set(Field field, Object value) { field.setValue((Boolean) value); }
+		},
+		FLOAT {
+			boolean isValidFor(Field field) { return field.isFloat(); }
+			Object get(Field field) { return field.getValueAsFloat(); }
+			void set(Field field, Object value) { field.setValue((Float) value); }
+		},
+		DOUBLE {
+			boolean isValidFor(Field field) { return field.isDouble() || field.isLenNormalized(); }
+			Object get(Field field) { return field.getValueAsDouble(); }
+			void set(Field field, Object value) { field.setValue((Double) value); }
+		},
+		INTEGER {
+			boolean isValidFor(Field field) { return field.isInteger(); }
+			Object get(Field field) { return field.getValueAsInteger(); }
+			void set(Field field, Object value) { field.setValue((Integer) value); }
+		},
+		LONG {
+			boolean isValidFor(Field field) { return field.isLong() || field.isLenNormalized(); }
+			Object get(Field field) { return field.getValueAsLong(); }
+			void set(Field field, Object value) { field.setValue((Long) value); }
+		},
+		BIG_DECIMAL {
+			boolean isValidFor(Field field) { return field.isBigDecimal(); }
+			Object get(Field field) { return field.getValueAsBigDecimal(); }
+			void set(Field field, Object value) { field.setValue((BigDecimal) value); }
+		};
+
+		abstract boolean isValidFor(Field field);
+
+		abstract Object get(Field field) throws FieldException;
+
+		abstract void set(Field field, Object value) throws FieldException;
+
+		/**
+		 * @param typeName the name of the java type
+		 * @return the value type of the java type, or null if the java type is not supported
+		 */
+		static ValueType of(String typeName) {
+			ValueType valueType = null;
+			if (String.class.getName().equals(typeName)) {
+				valueType = STRING;
+			} else if (Date.class.getName().equals(typeName)) {
+				valueType = DATE;
+			} else if (Boolean.class.getName().equals(typeName) || boolean.class.getName().equals(typeName)) {
+				valueType = BOOLEAN;
+			} else if (Float.class.getName().equals(typeName) || float.class.getName().equals(typeName)) {
+				valueType = FLOAT;
+			} else if (Double.class.getName().equals(typeName) || double.class.getName().equals(typeName)) {
+				valueType = DOUBLE;
+			} else if (Integer.class.getName().equals(typeName) || int.class.getName().equals(typeName)) {
+				valueType = INTEGER;
+			} else if (Long.class.getName().equals(typeName) || long.class.getName().equals(typeName)) {
+				valueType = LONG;
+			} else if (BigDecimal.class.getName().equals(typeName)) {
+				valueType = BIG_DECIMAL;
+			}
+
+			return valueType;
+		}
+
+		static ValueType forTypeName(String typeName, Field field) {
+			ValueType valueType = of(typeName);
+			if (valueType == null || !valueType.isValidFor(field)) {
+				throw new RecordException(ErrorCode.RE2, "Cannot retrieve value for the given java type name " + typeName + " from " + field.toString());
+			}
+
+			return valueType;
+		}
+	}
+}
@@ -0,0 +1,839 @@
+package com.github.parmag.fixefid.record;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec.FieldCodec;
+import com.github.parmag.fixefid.record.BeanRecordCodec.ValueType;
+import com.github.parmag.fixefid.record.field.BinaryNumber;
+import com.github.parmag.fixefid.record.field.Field;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.field.FieldType;
+
+/**
+ * The <code>ByteRecordCodec</code> decodes and encodes the records of a java bean annotated with <code>FixefidRecord.class</code>
+ * straight from and to bytes. The len of every field is the number of bytes of the field in the configured charset, so
+ * the record len is in bytes too, and every field is read and written at its precomputed offset.
+ * <p>
+ * For the single byte charsets (for instance ISO-8859-1 or the EBCDIC Cp037 and Cp1047) the numeric fields of type
+ * <code>Integer</code> and <code>Long</code>, the boolean fields and the string fields with the default pad and without
+ * custom format, fixed values or validator, are decoded and encoded without intermediate strings. All the other fields
+ * (and the values not valid for the fast path) are decoded and encoded by the record fields of the compiled layout
+ * (see {@link BeanRecordCodec}), so the result is always the same of a <code>BeanRecord</code>.
+ * <p>
+ * For the multi byte charsets (for instance UTF-8) every field is decoded and encoded by the record fields, and only the
+ * bytes of the field are converted, with a cached decoder and encoder of the charset. A decoded value with less chars
+ * than the field len is padded with the pad of the field, and an encoded value is padded with the bytes of the pad. A
+ * value with more bytes than the field len is not valid.
+ * <p>
+ * The packed decimal and binary fields (see {@link BinaryNumber}) don't depend on the charset: they are decoded straight
+ * from the bytes into <code>Integer</code>, <code>Long</code> or <code>BigDecimal</code> (with the implied scale), and
+ * encoded straight into the bytes.
+ * <p>
+ * An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class ByteRecordCodec<T> {
+	private static final char SPACE = ' ';
+	private static final char ZERO = '0';
+	private static final int MAX_INTEGER_DIGITS = 9;
+	private static final int MAX_LONG_DIGITS = 18;
+	private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+	private final BeanRecordCodec<T> codec;
+	private final Charset charset;
+	private final int recordLen;
+	private final boolean singleByte;
+	private final char[] decodingTable;
+	private final byte[] encodingTable;
+	private final CharsetDecoder decoder;
+	private final CharsetEncoder encoder;
+	private final ByteFieldCodec[] byteFieldCodecs;
+	private final boolean binaryFields;
+	private final Object[] values;
+	private final char[] chars;
+	private final byte[] bytes;
+	private final byte[] encodedBytes;
+
+	/**
+	 * Create a new <code>ByteRecordCodec</code> for the java bean class indicated by the <code>beanClass</code> param
+	 *
+	 * @param beanClass the class of the java bean
+	 * @param charset the charset of the records
+	 */
+	public ByteRecordCodec(Class<T> beanClass, Charset charset) {
+		this(new BeanRecordCodec<T>(beanClass), charset);
+	}
+
+	/**
+	 * Create a new <code>ByteRecordCodec</code> with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param codec the compiled layout of the java bean
+	 * @param charset the charset of the records
+	 */
+	public ByteRecordCodec(BeanRecordCodec<T> codec, Charset charset) {
+		this.codec = codec;
+		this.charset = charset;
+		this.recordLen = codec.getRecordLen();
+		this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+		this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+		this.singleByte = encoder.maxBytesPerChar() == 1.0f;
+		this.decodingTable = singleByte ? decodingTableForCharset(charset) : null;
+		this.encodingTable = singleByte ? encodingTableForCharset(charset, decodingTable) : null;
+		this.values = new Object[codec.getFieldCodecs().length];
+		this.chars = new char[Math.max(recordLen, (int) Math.ceil(recordLen * decoder.maxCharsPerByte()))];
+		this.bytes = new byte[recordLen];
+		this.encodedBytes = new byte[recordLen];
+		this.byteFieldCodecs = compileByteFieldCodecs();
+		this.binaryFields = hasBinaryFields();
+	}
+
+	private static char[] decodingTableForCharset(Charset charset) {
+		byte[] allBytes = new byte[256];
+		for (int i = 0; i < allBytes.length; i++) {
+			allBytes[i] = (byte) i;
+		}
+
+		return new String(allBytes, charset).toCharArray();
+	}
+
+	/**
+	 * The chars not mappable in the charset are encoded with the replacement byte, that doesn't decode back to them,
+	 * so they are detected by <code>isMappable</code> and reported as the <code>CharsetEncoder</code> does
+	 */
+	private static byte[] encodingTableForCharset(Charset charset, char[] decodingTable) {
+		byte[] encodingTable = new byte[Character.MAX_VALUE + 1];
+		byte replacement = charset.newEncoder().replacement()[0];
+		for (int i = 0; i < encodingTable.length; i++) {
+			encodingTable[i] = replacement;
+		}
+
+		for (int i = decodingTable.length - 1; i >= 0; i--) {
+			if (decodingTable[i] != REPLACEMENT_CHAR) {
+				encodingTable[decodingTable[i]] = (byte) i;
+			}
+		}
+
+		return encodingTable;
+	}
+
+	/**
+	 * Create a new <code>ByteRecordCodec</code> with a copy of the compiled layout and the same charset of this codec.
+	 * Every thread that decodes or encodes the records concurrently must use its own codec
+	 *
+	 * @return the new <code>ByteRecordCodec</code>
+	 */
+	public ByteRecordCodec<T> copy() {
+		return new ByteRecordCodec<T>(codec.copy(), charset);
+	}
+
+	/**
+	 * @return the compiled layout of the java bean
+	 */
+	public BeanRecordCodec<T> getCodec() {
+		return codec;
+	}
+
+	/**
+	 * @return the charset of the records
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * @return true if the charset of the records is single byte, so the fields can be decoded and encoded by the fast path
+	 */
+	public boolean isSingleByte() {
+		return singleByte;
+	}
+
+	/**
+	 * @return the record len, in bytes
+	 */
+	public int getRecordLen() {
+		return recordLen;
+	}
+
+	/**
+	 * Decode the record present in the <code>bytes</code> param, starting from the <code>offset</code> param,
+	 * into a new instance of the java bean
+	 *
+	 * @param bytes the bytes with the record
+	 * @param offset the offset of the record inside the bytes
+	 * @return the new instance of the java bean
+	 * @throws RecordException if a field has error status
+	 */
+	public T decode(byte[] bytes, int offset) throws RecordException {
+		return decode(bytes, offset, codec.newBean());
+	}
+
+	/**
+	 * Decode the record present in the <code>buffer</code> param, starting from the absolute <code>offset</code> param,
+	 * into the <code>bean</code> param. The position of the buffer is not changed
+	 *
+	 * @param buffer the buffer with the record
+	 * @param offset the absolute offset of the record inside the buffer
+	 * @param bean the bean to fill
+	 * @return the <code>bean</code> param
+	 * @throws RecordException if a field has error status
+	 */
+	public T decode(ByteBuffer buffer, int offset, T bean) throws RecordException {
+		if (buffer.hasArray()) {
+			return decode(buffer.array(), buffer.arrayOffset() + offset, bean);
+		}
+
+		for (int i = 0; i < recordLen; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+
+		return decode(bytes, 0, bean);
+	}
+
+	/**
+	 * Decode the record present in the <code>bytes</code> param, starting from the <code>offset</code> param,
+	 * into the <code>bean</code> param. The bytes must contain at least record len bytes starting from the offset
+	 *
+	 * @param bytes the bytes with the record
+	 * @param offset the offset of the record inside the bytes
+	 * @param bean the bean to fill
+	 * @return the <code>bean</code> param
+	 * @throws RecordException if a field has error status
+	 */
+	public T decode(byte[] bytes, int offset, T bean) throws RecordException {
+		codec.resetErrors();
+		for (int i = 0; i < byteFieldCodecs.length; i++) {
+			ByteFieldCodec bfc = byteFieldCodecs[i];
+			if (!bfc.fc.isProjected()) {
+				continue;
+			}
+
+			Object value = bfc.decode(bytes, offset + bfc.offset);
+			if (value == bfc) {
+				String formattedValue = decodeField(bfc, bytes, offset + bfc.offset);
+				if (formattedValue != null) {
+					codec.fill(bfc.fc, formattedValue);
+				}
+			}
+
+			values[i] = value;
+		}
+
+		codec.checkErrors(ErrorCode.RE39);
+
+		for (int i = 0; i < byteFieldCodecs.length; i++) {
+			if (values[i] == byteFieldCodecs[i]) {
+				values[i] = codec.valueOf(byteFieldCodecs[i].fc);
+			}
+		}
+
+		codec.checkErrors(ErrorCode.RE39);
+
+		for (int i = 0; i < byteFieldCodecs.length; i++) {
+			if (byteFieldCodecs[i].fc.isProjected()) {
+				byteFieldCodecs[i].fc.setToBean(bean, values[i]);
+				values[i] = null;
+			}
+		}
+
+		return bean;
+	}
+
+	/**
+	 * Returns the formatted record present in the <code>bytes</code> param, starting from the <code>offset</code> param.
+	 * For the multi byte charsets every field is decoded and padded to the field len, so the formatted record
+	 * can be used to create a new <code>BeanRecord</code>
+	 *
+	 * @param bytes the bytes with the record
+	 * @param offset the offset of the record inside the bytes
+	 * @return the formatted record
+	 * @throws RecordException if the bytes of a field are not valid for the charset
+	 */
+	public String recordAsString(byte[] bytes, int offset) throws RecordException {
+		if (singleByte && !binaryFields) {
+			return decodeString(bytes, offset, recordLen);
+		}
+
+		codec.resetErrors();
+		StringBuilder record = new StringBuilder(recordLen);
+		for (ByteFieldCodec bfc : byteFieldCodecs) {
+			String formattedValue = decodeField(bfc, bytes, offset + bfc.offset);
+			if (formattedValue != null) {
+				record.append(formattedValue);
+			}
+		}
+
+		codec.checkErrors(ErrorCode.RE39);
+		return record.toString();
+	}
+
+	/**
+	 * Encode the <code>bean</code> param into a new array of bytes
+	 *
+	 * @param bean the bean to encode
+	 * @return the record as array of bytes
+	 * @throws RecordException if a field has error status
+	 */
+	public byte[] encode(T bean) throws RecordException {
+		byte[] result = new byte[recordLen];
+		encode(bean, result, 0, true);
+		return result;
+	}
+
+	/**
+	 * Encode the <code>bean</code> param into the <code>buffer</code> param, starting from the absolute <code>offset</code> param.
+	 * The position of the buffer is not changed
+	 *
+	 * @param bean the bean to encode
+	 * @param buffer the buffer to write the record
+	 * @param offset the absolute offset of the record inside the buffer
+	 * @throws RecordException if a field has error status
+	 */
+	public void encode(T bean, ByteBuffer buffer, int offset) throws RecordException {
+		encode(bean, buffer, offset, true);
+	}
+
+	/**
+	 * Encode the <code>bean</code> param into the record present in the <code>buffer</code> param, starting from the absolute
+	 * <code>offset</code> param, as {@link #update(Object, byte[], int)} does. The position of the buffer is not changed
+	 *
+	 * @param bean the bean to encode
+	 * @param buffer the buffer with the record
+	 * @param offset the absolute offset of the record inside the buffer
+	 * @throws RecordException if a field has error status
+	 */
+	public void update(T bean, ByteBuffer buffer, int offset) throws RecordException {
+		encode(bean, buffer, offset, false);
+	}
+
+	private void encode(T bean, ByteBuffer buffer, int offset, boolean allFields) throws RecordException {
+		if (buffer.hasArray()) {
+			encode(bean, buffer.array(), buffer.arrayOffset() + offset, allFields);
+		} else {
+			if (!allFields && codec.getProjection() != null) {
+				for (int i = 0; i < recordLen; i++) {
+					bytes[i] = buffer.get(offset + i);
+				}
+			}
+
+			encode(bean, bytes, 0, allFields);
+			for (int i = 0; i < recordLen; i++) {
+				buffer.put(offset + i, bytes[i]);
+			}
+		}
+	}
+
+	/**
+	 * Encode the <code>bean</code> param into the <code>bytes</code> param, starting from the <code>offset</code> param.
+	 * The bytes must have room for at least record len bytes starting from the offset. The fields with a null value
+	 * in the bean are encoded with their initial value, as a new <code>BeanRecord</code> does. All the fields are encoded,
+	 * also if the codec has a projection
+	 *
+	 * @param bean the bean to encode
+	 * @param bytes the bytes to write the record
+	 * @param offset the offset of the record inside the bytes
+	 * @throws RecordException if a field has error status
+	 */
+	public void encode(T bean, byte[] bytes, int offset) throws RecordException {
+		encode(bean, bytes, offset, true);
+	}
+
+	/**
+	 * Encode the <code>bean</code> param into the record present in the <code>bytes</code> param, starting from the
+	 * <code>offset</code> param. If the codec has a projection, only the fields of the projection are encoded and the other
+	 * fields are left unchanged in the bytes. Without a projection, this method is the same of {@link #encode(Object, byte[], int)}
+	 *
+	 * @param bean the bean to encode
+	 * @param bytes the bytes with the record
+	 * @param offset the offset of the record inside the bytes
+	 * @throws RecordException if a field has error status
+	 */
+	public void update(T bean, byte[] bytes, int offset) throws RecordException {
+		encode(bean, bytes, offset, false);
+	}
+
+	private void encode(T bean, byte[] bytes, int offset, boolean allFields) throws RecordException {
+		codec.resetErrors();
+		for (ByteFieldCodec bfc : byteFieldCodecs) {
+			if (!bfc.fc.isProjected() && !allFields) {
+				continue;
+			}
+
+			Object value = bfc.fc.getFromBean(bean);
+			if (!bfc.encode(value, bytes, offset + bfc.offset)) {
+				String formattedValue = codec.format(bfc.fc, value);
+				if (formattedValue != null) {
+					encodeField(bfc, formattedValue, bytes, offset + bfc.offset);
+				}
+			}
+		}
+
+		codec.checkErrors(ErrorCode.RE10);
+	}
+
+	private String decodeField(ByteFieldCodec bfc, byte[] bytes, int start) {
+		if (bfc.binary) {
+			for (int i = 0; i < bfc.len; i++) {
+				chars[i] = (char) (bytes[start + i] & 0xFF);
+			}
+
+			return new String(chars, 0, bfc.len);
+		} else if (singleByte) {
+			return decodeString(bytes, start, bfc.len);
+		}
+
+		decoder.reset();
+		ByteBuffer in = ByteBuffer.wrap(bytes, start, bfc.len);
+		CharBuffer out = CharBuffer.wrap(chars);
+		CoderResult result = decoder.decode(in, out, true);
+		if (!result.isError()) {
+			result = decoder.flush(out);
+		}
+
+		if (result.isError()) {
+			codec.appendError(bfc.fc, "Not valid bytes at offset=[" + (bfc.offset + ((Buffer) in).position() - start) + "] for charset " + charset.name());
+			return null;
+		}
+
+		int charLen = ((Buffer) out).position();
+		if (charLen >= bfc.len) {
+			return new String(chars, 0, charLen);
+		}
+
+		int padLen = bfc.len - charLen;
+		if (bfc.rpad) {
+			for (int i = charLen; i < bfc.len; i++) {
+				chars[i] = bfc.padChar;
+			}
+		} else {
+			System.arraycopy(chars, 0, chars, padLen, charLen);
+			for (int i = 0; i < padLen; i++) {
+				chars[i] = bfc.padChar;
+			}
+		}
+
+		return new String(chars, 0, bfc.len);
+	}
+
+	private void encodeField(ByteFieldCodec bfc, String value, byte[] bytes, int start) {
+		if (bfc.binary) {
+			for (int i = 0; i < value.length(); i++) {
+				bytes[start + i] = (byte) value.charAt(i);
+			}
+
+			return;
+		} else if (singleByte) {
+			if (!encodeString(value, bytes, start)) {
+				codec.appendError(bfc.fc, "Not valid value=[" + value + "] for charset " + charset.name());
+			}
+			return;
+		}
+
+		int from = 0;
+		int to = value.length();
+		if (bfc.rpad) {
+			while (to > from && value.charAt(to - 1) == bfc.padChar) {
+				to--;
+			}
+		} else {
+			while (from < to && value.charAt(from) == bfc.padChar) {
+				from++;
+			}
+		}
+
+		encoder.reset();
+		ByteBuffer out = ByteBuffer.wrap(encodedBytes, 0, bfc.len);
+		CoderResult result = encoder.encode(CharBuffer.wrap(value, from, to), out, true);
+		if (result.isUnderflow()) {
+			result = encoder.flush(out);
+		}
+
+		if (result.isOverflow()) {
+			codec.appendError(bfc.fc, "Not valid value=[" + value + "]. The len in bytes for charset " + charset.name() +
+				" is greater than len=[" + bfc.len + "]");
+			return;
+		} else if (result.isError()) {
+			codec.appendError(bfc.fc, "Not valid value=[" + value + "] for charset " + charset.name());
+			return;
+		}
+
+		int byteLen = ((Buffer) out).position();
+		int padLen = bfc.len - byteLen;
+		if (padLen % bfc.padBytes.length != 0) {
+			codec.appendError(bfc.fc, "Not valid value=[" + value + "]. The pad can't fill " + padLen + " bytes");
+			return;
+		}
+
+		int valueStart = bfc.rpad ? start : start + padLen;
+		int padStart = bfc.rpad ? start + byteLen : start;
+		System.arraycopy(encodedBytes, 0, bytes, valueStart, byteLen);
+		for (int i = 0; i < padLen; i++) {
+			bytes[padStart + i] = bfc.padBytes[i % bfc.padBytes.length];
+		}
+	}
+
+	private String decodeString(byte[] bytes, int offset, int len) {
+		for (int i = 0; i < len; i++) {
+			chars[i] = decodingTable[bytes[offset + i] & 0xFF];
+		}
+
+		return new String(chars, 0, len);
+	}
+
+	private boolean encodeString(String value, byte[] bytes, int offset) {
+		for (int i = 0; i < value.length(); i++) {
+			if (!isMappable(value.charAt(i))) {
+				return false;
+			}
+		}
+
+		for (int i = 0; i < value.length(); i++) {
+			bytes[offset + i] = encodingTable[value.charAt(i)];
+		}
+
+		return true;
+	}
+
+	private boolean isMappable(char c) {
+		return decodingTable[encodingTable[c] & 0xFF] == c;
+	}
+
+	private byte[] encodeToBytes(ByteFieldCodec bfc, String value) {
+		byte[] result = new byte[bfc.len];
+		encodeField(bfc, value, result, 0);
+		return result;
+	}
+
+	private ByteFieldCodec[] compileByteFieldCodecs() {
+		FieldCodec[] fieldCodecs = codec.getFieldCodecs();
+		ByteFieldCodec[] result = new ByteFieldCodec[fieldCodecs.length];
+		for (int i = 0; i < fieldCodecs.length; i++) {
+			result[i] = new ByteFieldCodec(this, fieldCodecs[i]);
+		}
+
+		codec.resetErrors();
+		return result;
+	}
+
+	private boolean hasBinaryFields() {
+		for (ByteFieldCodec bfc : byteFieldCodecs) {
+			if (bfc.binary) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * The kind of fast path of a field
+	 */
+	private enum FastPath {
+		NONE, INTEGER, LONG, BOOLEAN, STRING, BINARY
+	}
+
+	/**
+	 * The compiled field with the precomputed bytes of its fast path. When the fast path can't decode or encode a value,
+	 * the value is decoded or encoded by the record field of the compiled layout
+	 */
+	private static class ByteFieldCodec {
+		private final ByteRecordCodec<?> owner;
+		private final FieldCodec fc;
+		private final int offset;
+		private final int len;
+		private final boolean mandatory;
+		private final boolean binary;
+		private final FieldType type;
+		private final int scale;
+		private final ValueType valueType;
+		private final boolean rpad;
+		private final char padChar;
+		private final byte[] padBytes;
+		private final byte[] initialBytes;
+		private FastPath fastPath = FastPath.NONE;
+		private byte[] trueBytes;
+		private byte[] falseBytes;
+		private Boolean trueValue;
+		private Boolean falseValue;
+
+		private ByteFieldCodec(ByteRecordCodec<?> owner, FieldCodec fc) {
+			this.owner = owner;
+			this.fc = fc;
+			this.offset = fc.getOffset();
+			this.len = fc.getLen();
+			Field field = fc.getField();
+			this.mandatory = field.isMandatory();
+			this.binary = field.isBinary();
+			this.type = field.getType();
+			this.scale = field.getScale();
+			this.valueType = fc.getValueType();
+			this.rpad = FieldExtendedPropertyType.RPAD.equals(field.getPad());
+			this.padChar = field.getPadStr().charAt(0);
+			this.padBytes = String.valueOf(padChar).getBytes(owner.charset);
+			String initialValue = owner.codec.format(fc, null);
+			this.initialBytes = initialValue != null ? owner.encodeToBytes(this, initialValue) : null;
+
+			if (valueType == null || field.isLenNormalized() || !field.getFixedValues().isEmpty() ||
+					BeanRecordCodec.hasFieldExtendedProperty(field, FieldExtendedPropertyType.VALIDATOR)) {
+				return;
+			}
+
+			if (binary) {
+				fastPath = FastPath.BINARY;
+				return;
+			}
+
+			if (!owner.singleByte || BeanRecordCodec.hasFieldExtendedProperty(field, FieldExtendedPropertyType.LPAD) ||
+					BeanRecordCodec.hasFieldExtendedProperty(field, FieldExtendedPropertyType.RPAD)) {
+				return;
+			}
+
+			if (ValueType.INTEGER.equals(valueType) && FieldType.N.equals(field.getType()) && len <= MAX_INTEGER_DIGITS) {
+				fastPath = FastPath.INTEGER;
+			} else if (ValueType.LONG.equals(valueType) && field.isLong() && len <= MAX_LONG_DIGITS) {
+				fastPath = FastPath.LONG;
+			} else if (ValueType.STRING.equals(valueType) && FieldType.AN.equals(field.getType()) &&
+					!BeanRecordCodec.hasFieldExtendedProperty(field, FieldExtendedPropertyType.CUSTOM_FORMAT)) {
+				fastPath = FastPath.STRING;
+			} else if (ValueType.BOOLEAN.equals(valueType)) {
+				initBooleanFastPath();
+			}
+		}
+
+		private void initBooleanFastPath() {
+			String trueFormattedValue = owner.codec.format(fc, Boolean.TRUE);
+			String falseFormattedValue = owner.codec.format(fc, Boolean.FALSE);
+			if (trueFormattedValue == null || falseFormattedValue == null || trueFormattedValue.equals(falseFormattedValue)) {
+				return;
+			}
+
+			owner.codec.fill(fc, trueFormattedValue);
+			trueValue = (Boolean) owner.codec.valueOf(fc);
+			owner.codec.fill(fc, falseFormattedValue);
+			falseValue = (Boolean) owner.codec.valueOf(fc);
+			trueBytes = owner.encodeToBytes(this, trueFormattedValue);
+			falseBytes = owner.encodeToBytes(this, falseFormattedValue);
+			fastPath = FastPath.BOOLEAN;
+		}
+
+		/**
+		 * Decode the value of the field by the fast path
+		 *
+		 * @param bytes the bytes with the record
+		 * @param start the offset of the field inside the bytes
+		 * @return the decoded value, or this <code>ByteFieldCodec</code> if the value can't be decoded by the fast path
+		 */
+		private Object decode(byte[] bytes, int start) {
+			switch (fastPath) {
+			case INTEGER:
+			case LONG:
+				return decodeNumber(bytes, start);
+			case BOOLEAN:
+				if (equalsBytes(trueBytes, bytes, start)) {
+					return trueValue;
+				} else if (equalsBytes(falseBytes, bytes, start)) {
+					return falseValue;
+				}
+				return this;
+			case STRING:
+				return decodeStringValue(bytes, start);
+			case BINARY:
+				return decodeBinaryValue(bytes, start);
+			default:
+				return this;
+			}
+		}
+
+		private Object decodeNumber(byte[] bytes, int start) {
+			int spaces = 0;
+			long value = 0;
+			for (int i = start; i < start + len; i++) {
+				char c = owner.decodingTable[bytes[i] & 0xFF];
+				if (c <= SPACE) {
+					spaces++;
+				} else if (c >= ZERO && c <= '9') {
+					value = value * 10 + (c - ZERO);
+				} else {
+					return this;
+				}
+			}
+
+			if (spaces == len) {
+				return mandatory ? this : null;
+			} else if (spaces > 0) {
+				return this;
+			} else if (value == 0) {
+				return mandatory ? this : null;
+			}
+
+			if (FastPath.INTEGER.equals(fastPath)) {
+				return Integer.valueOf((int) value);
+			}
+
+			return Long.valueOf(value);
+		}
+
+		private Object decodeBinaryValue(byte[] bytes, int start) {
+			long value;
+			try {
+				value = BinaryNumber.decode(type, bytes, start, len);
+			} catch (NumberFormatException e) {
+				return this;
+			}
+
+			if (ValueType.BIG_DECIMAL.equals(valueType)) {
+				return BigDecimal.valueOf(value, scale);
+			} else if (ValueType.INTEGER.equals(valueType)) {
+				return Integer.valueOf((int) value);
+			}
+
+			return Long.valueOf(value);
+		}
+
+		private Object decodeStringValue(byte[] bytes, int start) {
+			int end = start + len;
+			while (end > start && owner.decodingTable[bytes[end - 1] & 0xFF] == SPACE) {
+				end--;
+			}
+
+			if (end == start) {
+				return mandatory ? this : "";
+			}
+
+			for (int i = start; i < end; i++) {
+				owner.chars[i - start] = owner.decodingTable[bytes[i] & 0xFF];
+			}
+
+			return new String(owner.chars, 0, end - start);
+		}
+
+		private boolean equalsBytes(byte[] expected, byte[] bytes, int start) {
+			for (int i = 0; i < len; i++) {
+				if (expected[i] != bytes[start + i]) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Encode the value of the field by the fast path
+		 *
+		 * @param value the value of the bean property
+		 * @param bytes the bytes to write the record
+		 * @param start the offset of the field inside the bytes
+		 * @return true if the value has been encoded, false if the value can't be encoded by the fast path
+		 */
+		private boolean encode(Object value, byte[] bytes, int start) {
+			if (value == null) {
+				if (initialBytes == null) {
+					return false;
+				}
+
+				System.arraycopy(initialBytes, 0, bytes, start, len);
+				return true;
+			}
+
+			switch (fastPath) {
+			case INTEGER:
+			case LONG:
+				return encodeNumber(((Number) value).longValue(), bytes, start);
+			case BOOLEAN:
+				System.arraycopy(((Boolean) value).booleanValue() ? trueBytes : falseBytes, 0, bytes, start, len);
+				return true;
+			case STRING:
+				return encodeStringValue((String) value, bytes, start);
+			case BINARY:
+				return encodeBinaryValue(value, bytes, start);
+			default:
+				return false;
+			}
+		}
+
+		private boolean encodeNumber(long value, byte[] bytes, int start) {
+			if (value < 0 || (value == 0 && mandatory)) {
+				return false;
+			}
+
+			int digits = 0;
+			for (long v = value; v > 0; v /= 10) {
+				digits++;
+			}
+
+			if (digits > len) {
+				return false;
+			}
+
+			int i = start + len - 1;
+			for (long v = value; v > 0; v /= 10) {
+				bytes[i--] = owner.encodingTable[ZERO + (int) (v % 10)];
+			}
+
+			byte zero = owner.encodingTable[ZERO];
+			while (i >= start) {
+				bytes[i--] = zero;
+			}
+
+			return true;
+		}
+
+		private boolean encodeBinaryValue(Object value, byte[] bytes, int start) {
+			long unscaledValue;
+			if (value instanceof BigDecimal) {
+				BigInteger unscaled = ((BigDecimal) value).setScale(scale, RoundingMode.HALF_EVEN).unscaledValue();
+				if (unscaled.bitLength() > 63) {
+					return false;
+				}
+
+				unscaledValue = unscaled.longValue();
+			} else {
+				unscaledValue = ((Number) value).longValue();
+			}
+
+			return BinaryNumber.encode(type, unscaledValue, bytes, start, len);
+		}
+
+		private boolean encodeStringValue(String value, byte[] bytes, int start) {
+			int end = value.length();
+			while (end > 0 && value.charAt(end - 1) == SPACE) {
+				end--;
+			}
+
+			if (end > len || (end == 0 && mandatory)) {
+				return false;
+			}
+
+			for (int i = 0; i < end; i++) {
+				if (!owner.isMappable(value.charAt(i))) {
+					return false;
+				}
+			}
+
+			for (int i = 0; i < end; i++) {
+				bytes[start + i] = owner.encodingTable[value.charAt(i)];
+			}
+
+			byte space = owner.encodingTable[SPACE];
+			for (int i = start + end; i < start + len; i++) {
+				bytes[i] = space;
+			}
+
+			return true;
+		}
+	}
+}
@@ -165,6 +165,62 @@ public enum ErrorCode {
 	 * If the initialization of a custom format fails
 	 */
 	RE38,
+	/**
+	 * Decode record error cause one or more fields with error status
+	 */
+	RE39,
+	/**
+	 * Error to create a new instance of the java bean by reflection
+	 */
+	RE40,
+	/**
+	 * Read record error: the record number and the offset of the record are present in the message
+	 */
+	RE41,
+	/**
+	 * Write record error: the record number is present in the message
+	 */
+	RE42,
+	/**
+	 * Not valid file for random access: the file must contain only whole records, with the same new line
+	 */
+	RE43,
+	/**
+	 * Not valid charset for the parallel CSV reading: the new line, the separator and the enclosing char must be single bytes
+	 */
+	RE44,
+	/**
+	 * Not valid discriminator of a record type: it must be inside the record and unique
+	 */
+	RE45,
+	/**
+	 * Not valid group of records: the number of the detail records of the group is greater than the max
+	 */
+	RE46,
+	/**
+	 * Not valid key index file: it must be built from the same data file with the same layout
+	 */
+	RE47,
+	/**
+	 * Not valid join: the key fields of the two layouts must have the same lens and the records must be sorted by the key fields
+	 */
+	RE48,
+	/**
+	 * Not valid checkpoint file: it must be written by the reading of the same data file with the same layout
+	 */
+	RE49,
+	/**
+	 * Not valid column: the column must be of the type of the field and the file must have at most Integer.MAX_VALUE records
+	 */
+	RE50,
+	/**
+	 * Not valid aggregation: the values must be numbers and the aggregations must not overflow the long range
+	 */
+	RE51,
+	/**
+	 * Not valid layout for a writer of chars: the packed decimal and binary fields must be written as bytes
+	 */
+	RE52,
 	
 	/**
 	 * NOT USED
@@ -325,5 +381,9 @@ public enum ErrorCode {
 	/**
 	 * Setting Boolean value error
 	 */
-	FE40
+	FE40,
+	/**
+	 * Field packed decimal or binary error
+	 */
+	FE41
 }
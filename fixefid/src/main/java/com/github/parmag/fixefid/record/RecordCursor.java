@@ -0,0 +1,617 @@
+package com.github.parmag.fixefid.record;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.text.DecimalFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec.FieldCodec;
+import com.github.parmag.fixefid.record.field.BinaryNumber;
+import com.github.parmag.fixefid.record.field.Field;
+import com.github.parmag.fixefid.record.field.FieldException;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.field.FieldType;
+import com.github.parmag.fixefid.record.field.FieldValidationInfo;
+
+/**
+ * The <code>RecordCursor</code> is a read-only view of a formatted record inside a buffer of chars or bytes, with the
+ * compiled layout of a {@link BeanRecordCodec}. The cursor is positioned over a record, and the value of a field is
+ * computed only when it's requested, from the offset and the len of the field precomputed by the layout. No java bean
+ * is created and no field is decoded when the cursor is moved to the next record, so the same cursor can scan millions
+ * of records without allocations (see {@link com.github.parmag.fixefid.record.io.FixefidReader#next(RecordCursor)}).
+ * <p>
+ * The numeric fields without formats and the decimal fields with a decimal format that removes the decimal separator are
+ * parsed straight from the chars of the record, and the numbers are returned as primitives: an empty value is returned as 0.
+ * The other fields, and the values the fast paths can't parse, are decoded by the record field of the layout, with the same
+ * validations and formats of a <code>BeanRecord</code>. A value not valid throws a <code>RecordException</code> with error
+ * code <code>ErrorCode.RE39</code>.
+ * <p>
+ * The cursor can be positioned over a buffer of bytes only if it has been created with a charset that has single byte chars.
+ * The cursor uses the record fields of the codec, so an instance of this class is not thread safe and the codec must not
+ * be used by another thread.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public class RecordCursor {
+	private static final char SPACE = ' ';
+	private static final char ZERO = '0';
+	private static final int MAX_LONG_DIGITS = 18;
+
+	private final BeanRecordCodec<?> codec;
+	private final FieldCodec[] fieldCodecs;
+	private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+	private final int[] offsets;
+	private final int[] lens;
+	private final FastPath[] fastPaths;
+	private final int[] scales;
+	private final char[] decodingTable;
+	private final char[] chars;
+	private char[] buffer;
+	private byte[] bytes;
+	private int start;
+
+	/**
+	 * Create a new <code>RecordCursor</code> over buffers of chars, with the compiled layout indicated by the
+	 * <code>codec</code> param
+	 *
+	 * @param codec the compiled layout of the records
+	 */
+	public RecordCursor(BeanRecordCodec<?> codec) {
+		this(codec, null);
+	}
+
+	/**
+	 * Create a new <code>RecordCursor</code> over buffers of chars or of bytes encoded with the charset indicated by
+	 * the <code>charset</code> param, with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param codec the compiled layout of the records
+	 * @param charset the charset of the buffers of bytes, with single byte chars, or null if the cursor is positioned only over chars
+	 * @throws IllegalArgumentException if the charset doesn't have single byte chars
+	 */
+	public RecordCursor(BeanRecordCodec<?> codec, Charset charset) {
+		if (charset != null && charset.newEncoder().maxBytesPerChar() != 1.0f) {
+			throw new IllegalArgumentException("Not valid charset=[" + charset.name() + "]: the chars must be single bytes");
+		}
+
+		this.codec = codec;
+		this.fieldCodecs = codec.getFieldCodecs();
+		this.offsets = new int[fieldCodecs.length];
+		this.lens = new int[fieldCodecs.length];
+		this.fastPaths = new FastPath[fieldCodecs.length];
+		this.scales = new int[fieldCodecs.length];
+		this.decodingTable = charset != null ? decodingTableForCharset(charset) : null;
+		int maxLen = 0;
+		for (int i = 0; i < fieldCodecs.length; i++) {
+			FieldCodec fc = fieldCodecs[i];
+			offsets[i] = fc.getOffset();
+			lens[i] = fc.getLen();
+			maxLen = Math.max(maxLen, lens[i]);
+			indexes.put(fc.getKey(), i);
+			if (!AbstractRecord.FINAL_FILLER_NAME.equals(fc.getKey())) {
+				String fieldName = codec.fieldNameForKey(fc.getKey());
+				if (fc.getKey().equals(codec.keyForFieldName(fieldName))) {
+					indexes.put(fieldName, i);
+				}
+			}
+
+			compileFastPath(i, fc.getField());
+		}
+
+		this.chars = new char[maxLen];
+	}
+
+	private void compileFastPath(int i, Field field) {
+		fastPaths[i] = FastPath.NONE;
+		if (field.isBinary()) {
+			fastPaths[i] = FastPath.BINARY;
+			scales[i] = field.getScale();
+			return;
+		}
+
+		if (field.isLenNormalized() || !field.getFixedValues().isEmpty() ||
+				fieldExtendedProperty(field, FieldExtendedPropertyType.VALIDATOR) != null ||
+				fieldExtendedProperty(field, FieldExtendedPropertyType.CUSTOM_FORMAT) != null) {
+			return;
+		}
+
+		boolean zeroLPad = FieldExtendedPropertyType.LPAD.equals(field.getPad()) && String.valueOf(ZERO).equals(field.getPadStr());
+		boolean spaceRPad = FieldExtendedPropertyType.RPAD.equals(field.getPad()) && String.valueOf(SPACE).equals(field.getPadStr());
+		if (field.isInteger() || field.isLong()) {
+			if (zeroLPad && field.getLen() <= MAX_LONG_DIGITS) {
+				fastPaths[i] = FastPath.DIGITS;
+			}
+		} else if (field.isBigDecimal()) {
+			FieldExtendedProperty decimalFormat = fieldExtendedProperty(field, FieldExtendedPropertyType.DECIMAL_FORMAT);
+			FieldExtendedProperty removeDecimalSeparator = fieldExtendedProperty(field, FieldExtendedPropertyType.REMOVE_DECIMAL_SEPARATOR);
+			if (zeroLPad && field.getLen() <= MAX_LONG_DIGITS && decimalFormat != null && removeDecimalSeparator != null &&
+					Boolean.valueOf(removeDecimalSeparator.getValue().toString())) {
+				DecimalFormat df = (DecimalFormat) decimalFormat.getValue();
+				if (df.getMinimumFractionDigits() == df.getMaximumFractionDigits()) {
+					fastPaths[i] = FastPath.DECIMAL;
+					scales[i] = df.getMaximumFractionDigits();
+				}
+			}
+		} else if (field.isString() && spaceRPad && !field.isDate() && !field.isBoolean()) {
+			fastPaths[i] = FastPath.STRING;
+		}
+	}
+
+	private static FieldExtendedProperty fieldExtendedProperty(Field field, FieldExtendedPropertyType type) {
+		List<FieldExtendedProperty> feps = field.getFieldExtendedProperties();
+		if (feps != null) {
+			for (FieldExtendedProperty fep : feps) {
+				if (type.equals(fep.getType())) {
+					return fep;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private static char[] decodingTableForCharset(Charset charset) {
+		byte[] allBytes = new byte[256];
+		for (int i = 0; i < allBytes.length; i++) {
+			allBytes[i] = (byte) i;
+		}
+
+		return new String(allBytes, charset).toCharArray();
+	}
+
+	/**
+	 * @return the record len
+	 */
+	public int getRecordLen() {
+		return codec.getRecordLen();
+	}
+
+	/**
+	 * Position this cursor over the record present in the <code>buffer</code> param, starting from the <code>offset</code> param.
+	 * The buffer must contain at least record len chars starting from the offset, and it's not copied
+	 *
+	 * @param buffer the buffer with the record
+	 * @param offset the offset of the record inside the buffer
+	 * @return this cursor
+	 */
+	public RecordCursor position(char[] buffer, int offset) {
+		this.buffer = buffer;
+		this.bytes = null;
+		this.start = offset;
+		return this;
+	}
+
+	/**
+	 * Position this cursor over the record present in the <code>bytes</code> param, starting from the <code>offset</code> param.
+	 * The bytes must contain at least record len bytes starting from the offset, and they are not copied
+	 *
+	 * @param bytes the bytes with the record
+	 * @param offset the offset of the record inside the bytes
+	 * @return this cursor
+	 * @throws IllegalStateException if this cursor has been created without a charset
+	 */
+	public RecordCursor position(byte[] bytes, int offset) {
+		if (decodingTable == null) {
+			throw new IllegalStateException("The cursor has been created without a charset");
+		}
+
+		this.bytes = bytes;
+		this.buffer = null;
+		this.start = offset;
+		return this;
+	}
+
+	/**
+	 * Returns the index of the field represented by the <code>fieldName</code> and <code>fieldOccur</code> params,
+	 * to get its value without looking up the field name for every record
+	 *
+	 * @param fieldName the field name
+	 * @param fieldOccur the field occur, or nothing for the default occurs
+	 * @return the index of the field
+	 * @throws RecordException if the <code>fieldName</code> param doesn't represent any field of the record
+	 */
+	public int fieldIndex(String fieldName, int... fieldOccur) throws RecordException {
+		Integer index = fieldOccur.length == 0 ? indexes.get(fieldName) : null;
+		if (index == null) {
+			index = indexes.get(codec.keyForFieldName(fieldName, fieldOccur));
+		}
+
+		if (index == null) {
+			throw new RecordException(ErrorCode.RE9, "Unknown fieldName=[" + fieldName + "]");
+		}
+
+		return index;
+	}
+
+	/**
+	 * Returns the value of the field represented by the <code>fieldName</code> param as int
+	 *
+	 * @param fieldName the field name
+	 * @return the value of the field, or 0 if the field is empty
+	 * @throws RecordException if the field is unknown or its value is not a valid int
+	 */
+	public int getInt(String fieldName) throws RecordException {
+		return getInt(fieldIndex(fieldName));
+	}
+
+	/**
+	 * Returns the value of the field with the <code>fieldIndex</code> param as int
+	 *
+	 * @param fieldIndex the index of the field (see {@link #fieldIndex(String, int...)})
+	 * @return the value of the field, or 0 if the field is empty
+	 * @throws RecordException if the value of the field is not a valid int
+	 */
+	public int getInt(int fieldIndex) throws RecordException {
+		long value = getLong(fieldIndex);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw notValidValue(fieldIndex, "the value=[" + value + "] is not an int", null);
+		}
+
+		return (int) value;
+	}
+
+	/**
+	 * Returns the value of the field represented by the <code>fieldName</code> param as long
+	 *
+	 * @param fieldName the field name
+	 * @return the value of the field, or 0 if the field is empty
+	 * @throws RecordException if the field is unknown or its value is not a valid long
+	 */
+	public long getLong(String fieldName) throws RecordException {
+		return getLong(fieldIndex(fieldName));
+	}
+
+	/**
+	 * Returns the value of the field with the <code>fieldIndex</code> param as long
+	 *
+	 * @param fieldIndex the index of the field (see {@link #fieldIndex(String, int...)})
+	 * @return the value of the field, or 0 if the field is empty
+	 * @throws RecordException if the value of the field is not a valid long
+	 */
+	public long getLong(int fieldIndex) throws RecordException {
+		if (FastPath.DIGITS.equals(fastPaths[fieldIndex])) {
+			long value = parseDigits(fieldIndex);
+			if (value >= 0) {
+				return value;
+			}
+		} else if (FastPath.BINARY.equals(fastPaths[fieldIndex]) && bytes != null && scales[fieldIndex] == 0) {
+			return decodeBinary(fieldIndex);
+		}
+
+		Field field = fill(fieldIndex);
+		try {
+			Number value = field.isInteger() ? field.getValueAsInteger() : field.getValueAsLong();
+			return value != null ? value.longValue() : 0;
+		} catch (FieldException fe) {
+			throw notValidValue(fieldIndex, fe.getMessage(), fe);
+		}
+	}
+
+	/**
+	 * Returns the value of the field represented by the <code>fieldName</code> param as BigDecimal
+	 *
+	 * @param fieldName the field name
+	 * @return the value of the field, or null if the field is empty
+	 * @throws RecordException if the field is unknown or its value is not a valid number
+	 */
+	public BigDecimal getDecimal(String fieldName) throws RecordException {
+		return getDecimal(fieldIndex(fieldName));
+	}
+
+	/**
+	 * Returns the value of the field with the <code>fieldIndex</code> param as BigDecimal
+	 *
+	 * @param fieldIndex the index of the field (see {@link #fieldIndex(String, int...)})
+	 * @return the value of the field, or null if the field is empty
+	 * @throws RecordException if the value of the field is not a valid number
+	 */
+	public BigDecimal getDecimal(int fieldIndex) throws RecordException {
+		FastPath fastPath = fastPaths[fieldIndex];
+		if (FastPath.DECIMAL.equals(fastPath) || FastPath.DIGITS.equals(fastPath)) {
+			long value = parseDigits(fieldIndex);
+			if (value > 0) {
+				return BigDecimal.valueOf(value, scales[fieldIndex]);
+			} else if (value == 0) {
+				return null;
+			}
+		} else if (FastPath.BINARY.equals(fastPath) && bytes != null) {
+			return BigDecimal.valueOf(decodeBinary(fieldIndex), scales[fieldIndex]);
+		}
+
+		Field field = fill(fieldIndex);
+		try {
+			if (field.isBigDecimal()) {
+				return field.getValueAsBigDecimal();
+			}
+
+			Number value = field.isInteger() ? field.getValueAsInteger() : field.getValueAsLong();
+			return value != null ? BigDecimal.valueOf(value.longValue()) : null;
+		} catch (FieldException fe) {
+			throw notValidValue(fieldIndex, fe.getMessage(), fe);
+		}
+	}
+
+	/**
+	 * Returns the scale of the values as BigDecimal of the field with the <code>fieldIndex</code> param: the scale of a binary
+	 * field, the max fraction digits of the decimal format of a decimal field, or 0 for the other fields
+	 *
+	 * @param fieldIndex the index of the field (see {@link #fieldIndex(String, int...)})
+	 * @return the scale of the values of the field
+	 */
+	public int getScale(int fieldIndex) {
+		FastPath fastPath = fastPaths[fieldIndex];
+		if (FastPath.BINARY.equals(fastPath) || FastPath.DECIMAL.equals(fastPath)) {
+			return scales[fieldIndex];
+		}
+
+		FieldExtendedProperty decimalFormat = fieldExtendedProperty(fieldCodecs[fieldIndex].getField(), FieldExtendedPropertyType.DECIMAL_FORMAT);
+		return decimalFormat != null ? ((DecimalFormat) decimalFormat.getValue()).getMaximumFractionDigits() : 0;
+	}
+
+	/**
+	 * Returns the value of the numeric field with the <code>fieldIndex</code> param as unscaled long, with the scale returned
+	 * by {@link #getScale(int)}: for instance 1.86 is returned as 186 if the scale is 2
+	 *
+	 * @param fieldIndex the index of the field (see {@link #fieldIndex(String, int...)})
+	 * @return the unscaled value of the field, or 0 if the field is empty
+	 * @throws RecordException if the value of the field is not a valid number or the unscaled value is not a long
+	 */
+	public long getUnscaled(int fieldIndex) throws RecordException {
+		FastPath fastPath = fastPaths[fieldIndex];
+		if (FastPath.DECIMAL.equals(fastPath) || FastPath.DIGITS.equals(fastPath)) {
+			long value = parseDigits(fieldIndex);
+			if (value >= 0) {
+				return value;
+			}
+		} else if (FastPath.BINARY.equals(fastPath) && bytes != null) {
+			return decodeBinary(fieldIndex);
+		}
+
+		BigDecimal value = getDecimal(fieldIndex);
+		if (value == null) {
+			return 0;
+		}
+
+		try {
+			return value.setScale(getScale(fieldIndex), RoundingMode.HALF_UP).unscaledValue().longValueExact();
+		} catch (ArithmeticException e) {
+			throw notValidValue(fieldIndex, "the value=[" + value + "] is not a long", e);
+		}
+	}
+
+	/**
+	 * Returns the type of the values of the field with the <code>fieldIndex</code> param, according the layout: <code>Integer.class</code>
+	 * and <code>Long.class</code> for the numeric fields without decimal format, <code>BigDecimal.class</code> for the numeric fields
+	 * with decimal format (the Double and Float fields too) and the binary fields with decimals, and <code>String.class</code>
+	 * for the alphanumeric fields
+	 *
+	 * @param fieldIndex the index of the field (see {@link #fieldIndex(String, int...)})
+	 * @return the type of the values of the field
+	 */
+	public Class<?> getValueType(int fieldIndex) {
+		Field field = fieldCodecs[fieldIndex].getField();
+		if (field.isInteger()) {
+			return Integer.class;
+		} else if (field.isLong()) {
+			return Long.class;
+		} else if (field.isDouble() || field.isFloat() || field.isBigDecimal()) {
+			return BigDecimal.class;
+		} else if (FieldType.N.equals(field.getType())) {
+			return Long.class;
+		}
+
+		return String.class;
+	}
+
+	/**
+	 * Returns the value of the field represented by the <code>fieldName</code> param as String, without the pad
+	 *
+	 * @param fieldName the field name
+	 * @return the value of the field
+	 * @throws RecordException if the field is unknown or its value is not valid
+	 */
+	public String getString(String fieldName) throws RecordException {
+		return getString(fieldIndex(fieldName));
+	}
+
+	/**
+	 * Returns the value of the field with the <code>fieldIndex</code> param as String, without the pad
+	 *
+	 * @param fieldIndex the index of the field (see {@link #fieldIndex(String, int...)})
+	 * @return the value of the field
+	 * @throws RecordException if the value of the field is not valid
+	 */
+	public String getString(int fieldIndex) throws RecordException {
+		if (FastPath.STRING.equals(fastPaths[fieldIndex])) {
+			int len = lens[fieldIndex];
+			while (len > 0 && charAt(offsets[fieldIndex] + len - 1) == SPACE) {
+				len--;
+			}
+
+			if (len > 0 || !fieldCodecs[fieldIndex].getField().isMandatory()) {
+				return toString(fieldIndex, len);
+			}
+		}
+
+		Field field = fill(fieldIndex);
+		try {
+			return field.isString() ? field.getValueAsString() : field.getValueWithNoPAD();
+		} catch (FieldException fe) {
+			throw notValidValue(fieldIndex, fe.getMessage(), fe);
+		}
+	}
+
+	/**
+	 * Returns the value of the field represented by the <code>fieldName</code> param as Date
+	 *
+	 * @param fieldName the field name
+	 * @return the value of the field, or null if the field is empty
+	 * @throws RecordException if the field is unknown or its value is not a valid date
+	 */
+	public Date getDate(String fieldName) throws RecordException {
+		return getDate(fieldIndex(fieldName));
+	}
+
+	/**
+	 * Returns the value of the field with the <code>fieldIndex</code> param as Date
+	 *
+	 * @param fieldIndex the index of the field (see {@link #fieldIndex(String, int...)})
+	 * @return the value of the field, or null if the field is empty
+	 * @throws RecordException if the value of the field is not a valid date
+	 */
+	public Date getDate(int fieldIndex) throws RecordException {
+		Field field = fill(fieldIndex);
+		try {
+			return field.getValueAsDate();
+		} catch (FieldException fe) {
+			throw notValidValue(fieldIndex, fe.getMessage(), fe);
+		}
+	}
+
+	/**
+	 * Returns the scale of the value of the field with the <code>fieldIndex</code> param, if its digits are parsed straight
+	 * from the record (see {@link #getDigits(int)})
+	 *
+	 * @param fieldIndex the index of the field
+	 * @return the scale of the value, or -1 if the digits of the field are not parsed straight from the record
+	 */
+	int getDigitsScale(int fieldIndex) {
+		FastPath fastPath = fastPaths[fieldIndex];
+		return FastPath.DIGITS.equals(fastPath) ? 0 : (FastPath.DECIMAL.equals(fastPath) ? scales[fieldIndex] : -1);
+	}
+
+	/**
+	 * Returns the unscaled value of the field with the <code>fieldIndex</code> param, parsed straight from the record.
+	 * The field must have a digits scale (see {@link #getDigitsScale(int)})
+	 *
+	 * @param fieldIndex the index of the field
+	 * @return the unscaled value, or -1 if the field doesn't contain only digits
+	 */
+	long getDigits(int fieldIndex) {
+		return parseDigits(fieldIndex);
+	}
+
+	/**
+	 * @param fieldIndex the index of the field
+	 * @return the len of the field
+	 */
+	int getFieldLen(int fieldIndex) {
+		return lens[fieldIndex];
+	}
+
+	/**
+	 * @param fieldIndex the index of the field
+	 * @return true if the field is an alphanumeric field right padded with spaces, whose value is the text in the record
+	 */
+	boolean isText(int fieldIndex) {
+		return FastPath.STRING.equals(fastPaths[fieldIndex]);
+	}
+
+	/**
+	 * Returns true if the chars of the field with the <code>fieldIndex</code> param start with the <code>value</code> param
+	 *
+	 * @param fieldIndex the index of the field
+	 * @param value the chars to compare, at most field len chars
+	 * @return true if the field starts with the chars of the <code>value</code> param
+	 */
+	boolean regionMatches(int fieldIndex, char[] value) {
+		int offset = offsets[fieldIndex];
+		for (int i = 0; i < value.length; i++) {
+			if (charAt(offset + i) != value[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Encode the <code>value</code> param into the formatted value of the field represented by the <code>fieldName</code> param
+	 * (see {@link BeanRecordCodec#encodeField(String, Object)})
+	 *
+	 * @param fieldName the field name
+	 * @param value the value to encode, of the type of the relative bean property
+	 * @return the formatted value of the field
+	 * @throws RecordException if the field is unknown or the value can't be formatted
+	 */
+	String encodeField(String fieldName, Object value) throws RecordException {
+		return codec.encodeField(fieldName, value);
+	}
+
+	/**
+	 * Parse the digits of the field, left padded with zeros
+	 *
+	 * @return the value of the field, or -1 if the field doesn't contain only digits
+	 */
+	private long parseDigits(int fieldIndex) {
+		int offset = offsets[fieldIndex];
+		long value = 0;
+		for (int i = offset; i < offset + lens[fieldIndex]; i++) {
+			char c = charAt(i);
+			if (c < ZERO || c > '9') {
+				return -1;
+			}
+
+			value = value * 10 + (c - ZERO);
+		}
+
+		return value;
+	}
+
+	private long decodeBinary(int fieldIndex) {
+		try {
+			return BinaryNumber.decode(fieldCodecs[fieldIndex].getField().getType(), bytes, start + offsets[fieldIndex], lens[fieldIndex]);
+		} catch (NumberFormatException e) {
+			throw notValidValue(fieldIndex, e.getMessage(), e);
+		}
+	}
+
+	private char charAt(int offset) {
+		return bytes != null ? decodingTable[bytes[start + offset] & 0xFF] : buffer[start + offset];
+	}
+
+	private String toString(int fieldIndex, int len) {
+		if (bytes == null) {
+			return new String(buffer, start + offsets[fieldIndex], len);
+		}
+
+		int offset = offsets[fieldIndex];
+		boolean binary = FastPath.BINARY.equals(fastPaths[fieldIndex]);
+		for (int i = 0; i < len; i++) {
+			chars[i] = binary ? (char) (bytes[start + offset + i] & 0xFF) : charAt(offset + i);
+		}
+
+		return new String(chars, 0, len);
+	}
+
+	/**
+	 * Set the value of the field present in the record to the record field of the layout
+	 */
+	private Field fill(int fieldIndex) {
+		Field field = fieldCodecs[fieldIndex].getField();
+		field.setValue(toString(fieldIndex, lens[fieldIndex]), false);
+		FieldValidationInfo vi = field.getValidationInfo();
+		if (FieldValidationInfo.RecordFieldValidationStatus.ERROR.equals(vi.getValidationStatus())) {
+			throw notValidValue(fieldIndex, vi.getValidationMessage(), null);
+		}
+
+		return field;
+	}
+
+	private RecordException notValidValue(int fieldIndex, String cause, Throwable t) {
+		return new RecordException(ErrorCode.RE39, "Not valid value of field=[" + fieldCodecs[fieldIndex].getKey() + "]. Cause: " + cause, t);
+	}
+
+	/**
+	 * The kind of fast path of a field
+	 */
+	private enum FastPath {
+		NONE, DIGITS, DECIMAL, STRING, BINARY
+	}
+}
@@ -0,0 +1,371 @@
+package com.github.parmag.fixefid.record;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Predicate;
+
+/**
+ * The <code>RecordFilter</code> is a condition on the fields of a formatted record, built with the names of the fields
+ * (the same names used by a <code>BeanRecord</code>) and compiled with the layout of a {@link RecordCursor}. The compiled
+ * condition is evaluated on the chars of the record, before the record is decoded, so the rejected records are never
+ * decoded, validated or set to a java bean (see {@link com.github.parmag.fixefid.record.io.FixefidReader#setFilter(RecordFilter)}).
+ * For example:
+ * <pre>
+ * RecordFilter filter = RecordFilter.equalTo("recordType", "D").and(RecordFilter.greaterThan("amount", 1000));
+ * </pre>
+ * <p>
+ * The equality compares the chars of the field with the value formatted as the field is formatted in the record, with
+ * its pad. The prefix match compares the first chars of the alphanumeric fields right padded with spaces. The numeric
+ * range compares the digits of the numeric fields without formats, or with a decimal format that removes the decimal
+ * separator. The conditions on the other fields decode only the field of the condition (see {@link RecordCursor}).
+ * An empty numeric field doesn't match any range.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public abstract class RecordFilter {
+	private static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+	private static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+	RecordFilter() {
+	}
+
+	/**
+	 * Returns a filter that matches the records with the field represented by the <code>fieldName</code> param equal
+	 * to the <code>value</code> param
+	 *
+	 * @param fieldName the field name
+	 * @param value the value, of the type of the relative bean property
+	 * @return the filter
+	 */
+	public static RecordFilter equalTo(final String fieldName, final Object value) {
+		checkFieldName(fieldName);
+		if (value == null) {
+			throw new IllegalArgumentException("Not valid null value for field=[" + fieldName + "]");
+		}
+
+		return new RecordFilter() {
+			@Override
+			Predicate<RecordCursor> compileFor(RecordCursor cursor) {
+				final int index = cursor.fieldIndex(fieldName);
+				final char[] formattedValue = cursor.encodeField(fieldName, value).toCharArray();
+				return c -> c.regionMatches(index, formattedValue);
+			}
+
+			@Override
+			public String toString() {
+				return fieldName + " == " + value;
+			}
+		};
+	}
+
+	/**
+	 * Returns a filter that matches the records with the value of the field represented by the <code>fieldName</code> param
+	 * that starts with the <code>prefix</code> param
+	 *
+	 * @param fieldName the field name
+	 * @param prefix the prefix
+	 * @return the filter
+	 */
+	public static RecordFilter startsWith(final String fieldName, final String prefix) {
+		checkFieldName(fieldName);
+		if (prefix == null) {
+			throw new IllegalArgumentException("Not valid null prefix for field=[" + fieldName + "]");
+		}
+
+		return new RecordFilter() {
+			@Override
+			Predicate<RecordCursor> compileFor(RecordCursor cursor) {
+				final int index = cursor.fieldIndex(fieldName);
+				if (cursor.isText(index)) {
+					final char[] chars = prefix.toCharArray();
+					if (chars.length > cursor.getFieldLen(index)) {
+						return c -> false;
+					}
+
+					return c -> c.regionMatches(index, chars);
+				}
+
+				return c -> {
+					String value = c.getString(index);
+					return value != null && value.startsWith(prefix);
+				};
+			}
+
+			@Override
+			public String toString() {
+				return fieldName + " startsWith " + prefix;
+			}
+		};
+	}
+
+	/**
+	 * Returns a filter that matches the records with the numeric field represented by the <code>fieldName</code> param
+	 * between the <code>min</code> and <code>max</code> params, both included
+	 *
+	 * @param fieldName the field name
+	 * @param min the min value
+	 * @param max the max value
+	 * @return the filter
+	 */
+	public static RecordFilter between(String fieldName, long min, long max) {
+		return range(fieldName, BigDecimal.valueOf(min), true, BigDecimal.valueOf(max), true);
+	}
+
+	/**
+	 * Returns a filter that matches the records with the numeric field represented by the <code>fieldName</code> param
+	 * between the <code>min</code> and <code>max</code> params, both included
+	 *
+	 * @param fieldName the field name
+	 * @param min the min value
+	 * @param max the max value
+	 * @return the filter
+	 */
+	public static RecordFilter between(String fieldName, BigDecimal min, BigDecimal max) {
+		return range(fieldName, min, true, max, true);
+	}
+
+	/**
+	 * Returns a filter that matches the records with the numeric field represented by the <code>fieldName</code> param
+	 * greater than the <code>value</code> param
+	 *
+	 * @param fieldName the field name
+	 * @param value the value
+	 * @return the filter
+	 */
+	public static RecordFilter greaterThan(String fieldName, long value) {
+		return range(fieldName, BigDecimal.valueOf(value), false, null, false);
+	}
+
+	/**
+	 * Returns a filter that matches the records with the numeric field represented by the <code>fieldName</code> param
+	 * greater than the <code>value</code> param
+	 *
+	 * @param fieldName the field name
+	 * @param value the value
+	 * @return the filter
+	 */
+	public static RecordFilter greaterThan(String fieldName, BigDecimal value) {
+		return range(fieldName, value, false, null, false);
+	}
+
+	/**
+	 * Returns a filter that matches the records with the numeric field represented by the <code>fieldName</code> param
+	 * less than the <code>value</code> param
+	 *
+	 * @param fieldName the field name
+	 * @param value the value
+	 * @return the filter
+	 */
+	public static RecordFilter lessThan(String fieldName, long value) {
+		return range(fieldName, null, false, BigDecimal.valueOf(value), false);
+	}
+
+	/**
+	 * Returns a filter that matches the records with the numeric field represented by the <code>fieldName</code> param
+	 * less than the <code>value</code> param
+	 *
+	 * @param fieldName the field name
+	 * @param value the value
+	 * @return the filter
+	 */
+	public static RecordFilter lessThan(String fieldName, BigDecimal value) {
+		return range(fieldName, null, false, value, false);
+	}
+
+	private static RecordFilter range(final String fieldName, final BigDecimal min, final boolean minIncluded,
+			final BigDecimal max, final boolean maxIncluded) {
+		checkFieldName(fieldName);
+		return new RecordFilter() {
+			@Override
+			Predicate<RecordCursor> compileFor(RecordCursor cursor) {
+				final int index = cursor.fieldIndex(fieldName);
+				final Predicate<BigDecimal> decimalRange = value -> value != null &&
+					(min == null || (minIncluded ? value.compareTo(min) >= 0 : value.compareTo(min) > 0)) &&
+					(max == null || (maxIncluded ? value.compareTo(max) <= 0 : value.compareTo(max) < 0));
+
+				int scale = cursor.getDigitsScale(index);
+				if (scale < 0) {
+					return c -> decimalRange.test(c.getDecimal(index));
+				}
+
+				final long unscaledMin = min == null ? 0 : toLong(min.movePointRight(scale), minIncluded ? RoundingMode.CEILING : RoundingMode.FLOOR) +
+					(minIncluded ? 0 : 1);
+				final long unscaledMax = max == null ? Long.MAX_VALUE : toLong(max.movePointRight(scale), maxIncluded ? RoundingMode.FLOOR : RoundingMode.CEILING) -
+					(maxIncluded ? 0 : 1);
+				return c -> {
+					long value = c.getDigits(index);
+					if (value < 0) {
+						return decimalRange.test(c.getDecimal(index));
+					}
+
+					return value >= unscaledMin && value <= unscaledMax;
+				};
+			}
+
+			@Override
+			public String toString() {
+				return (min != null ? min + (minIncluded ? " <= " : " < ") : "") + fieldName + (max != null ? (maxIncluded ? " <= " : " < ") + max : "");
+			}
+		};
+	}
+
+	private static long toLong(BigDecimal value, RoundingMode roundingMode) {
+		BigDecimal rounded = value.setScale(0, roundingMode);
+		if (rounded.compareTo(MAX_LONG) >= 0) {
+			return Long.MAX_VALUE - 1;
+		} else if (rounded.compareTo(MIN_LONG) <= 0) {
+			return Long.MIN_VALUE + 1;
+		}
+
+		return rounded.longValue();
+	}
+
+	/**
+	 * Returns a filter that matches the records matched by all the <code>filters</code> params
+	 *
+	 * @param filters the filters
+	 * @return the filter
+	 */
+	public static RecordFilter allOf(final RecordFilter... filters) {
+		checkFilters(filters);
+		return new RecordFilter() {
+			@Override
+			Predicate<RecordCursor> compileFor(RecordCursor cursor) {
+				Predicate<RecordCursor> predicate = filters[0].compileFor(cursor);
+				for (int i = 1; i < filters.length; i++) {
+					predicate = predicate.and(filters[i].compileFor(cursor));
+				}
+
+				return predicate;
+			}
+
+			@Override
+			public String toString() {
+				return join(" and ", filters);
+			}
+		};
+	}
+
+	/**
+	 * Returns a filter that matches the records matched by at least one of the <code>filters</code> params
+	 *
+	 * @param filters the filters
+	 * @return the filter
+	 */
+	public static RecordFilter anyOf(final RecordFilter... filters) {
+		checkFilters(filters);
+		return new RecordFilter() {
+			@Override
+			Predicate<RecordCursor> compileFor(RecordCursor cursor) {
+				Predicate<RecordCursor> predicate = filters[0].compileFor(cursor);
+				for (int i = 1; i < filters.length; i++) {
+					predicate = predicate.or(filters[i].compileFor(cursor));
+				}
+
+				return predicate;
+			}
+
+			@Override
+			public String toString() {
+				return join(" or ", filters);
+			}
+		};
+	}
+
+	/**
+	 * Returns a filter that matches the records not matched by the <code>filter</code> param
+	 *
+	 * @param filter the filter
+	 * @return the filter
+	 */
+	public static RecordFilter not(final RecordFilter filter) {
+		checkFilters(filter);
+		return new RecordFilter() {
+			@Override
+			Predicate<RecordCursor> compileFor(RecordCursor cursor) {
+				return filter.compileFor(cursor).negate();
+			}
+
+			@Override
+			public String toString() {
+				return "not (" + filter + ")";
+			}
+		};
+	}
+
+	/**
+	 * Returns a filter that matches the records matched by this filter and by the <code>other</code> param. The other
+	 * filter is evaluated only if this filter matches
+	 *
+	 * @param other the other filter
+	 * @return the filter
+	 */
+	public RecordFilter and(RecordFilter other) {
+		return allOf(this, other);
+	}
+
+	/**
+	 * Returns a filter that matches the records matched by this filter or by the <code>other</code> param. The other
+	 * filter is evaluated only if this filter doesn't match
+	 *
+	 * @param other the other filter
+	 * @return the filter
+	 */
+	public RecordFilter or(RecordFilter other) {
+		return anyOf(this, other);
+	}
+
+	/**
+	 * Compile this filter with the layout of the <code>cursor</code> param. The returned predicate tests the record
+	 * the cursor is positioned over, and it can be used only with the cursor it has been compiled for
+	 *
+	 * @param cursor the cursor
+	 * @return the compiled filter
+	 * @throws RecordException if a field of the filter is unknown or a value of the filter can't be formatted
+	 */
+	public Predicate<RecordCursor> compile(RecordCursor cursor) throws RecordException {
+		final Predicate<RecordCursor> predicate = compileFor(cursor);
+		return c -> {
+			if (c != cursor) {
+				throw new IllegalArgumentException("Not valid cursor: the filter has been compiled for another cursor");
+			}
+
+			return predicate.test(c);
+		};
+	}
+
+	abstract Predicate<RecordCursor> compileFor(RecordCursor cursor);
+
+	private static void checkFieldName(String fieldName) {
+		if (fieldName == null) {
+			throw new IllegalArgumentException("Not valid null fieldName");
+		}
+	}
+
+	private static void checkFilters(RecordFilter... filters) {
+		if (filters == null || filters.length == 0) {
+			throw new IllegalArgumentException("Not valid empty filters");
+		}
+
+		for (RecordFilter filter : filters) {
+			if (filter == null) {
+				throw new IllegalArgumentException("Not valid null filter");
+			}
+		}
+	}
+
+	private static String join(String operator, RecordFilter... filters) {
+		StringBuilder sb = new StringBuilder();
+		for (RecordFilter filter : filters) {
+			if (sb.length() > 0) {
+				sb.append(operator);
+			}
+
+			sb.append('(').append(filter).append(')');
+		}
+
+		return sb.toString();
+	}
+}
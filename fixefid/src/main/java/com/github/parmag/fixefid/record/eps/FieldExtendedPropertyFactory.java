@@ -2,8 +2,13 @@ package com.github.parmag.fixefid.record.eps;
 
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.text.Format;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import com.github.parmag.fixefid.record.ErrorCode;
 import com.github.parmag.fixefid.record.RecordException;
@@ -138,6 +143,19 @@ public class FieldExtendedPropertyFactory {
 		} 
 	}
 	
+	/**
+	 * Create a <code>FieldExtendedProperty</code> with type <code>FieldExtendedPropertyType.SCALE</code>
+	 * and value the given <code>scale</code>
+	 * 
+	 * @param scale the implied scale
+	 * 
+	 * @return a <code>FieldExtendedProperty</code> with type <code>FieldExtendedPropertyType.SCALE</code>
+	 * and value the given <code>scale</code>
+	 */
+	public static FieldExtendedProperty createScale(Integer scale) {
+		return new FieldExtendedProperty(FieldExtendedPropertyType.SCALE, scale);
+	}
+	
 	/**
 	 * Create a <code>FieldExtendedProperty</code> with type <code>FieldExtendedPropertyType.VALIDATOR</code>
 	 * and value an implementation of the interface <code>com.github.parmag.fixefid.record.field.FieldValidator</code>
@@ -157,4 +175,55 @@ public class FieldExtendedPropertyFactory {
 		} 
 	}
 
+	/**
+	 * Create a copy of the extended properties present in the <code>fieldExtendedProperties</code> param. Every value
+	 * of type <code>java.text.Format</code> is cloned, cause the formats are not thread safe: the copy can be used by another thread
+	 * 
+	 * @param fieldExtendedProperties the extended properties to copy, or null
+	 * 
+	 * @return the copy of the extended properties, or null if the <code>fieldExtendedProperties</code> param is null
+	 * 
+	 * @since 3.1.0
+	 */
+	public static List<FieldExtendedProperty> copyOf(List<FieldExtendedProperty> fieldExtendedProperties) {
+		if (fieldExtendedProperties == null) {
+			return null;
+		}
+		
+		List<FieldExtendedProperty> copy = new ArrayList<FieldExtendedProperty>(fieldExtendedProperties.size());
+		for (FieldExtendedProperty fieldExtendedProperty : fieldExtendedProperties) {
+			Object value = fieldExtendedProperty.getValue();
+			if (value instanceof Format) {
+				value = ((Format) value).clone();
+			}
+			
+			copy.add(new FieldExtendedProperty(fieldExtendedProperty.getType(), value));
+		}
+		
+		return copy;
+	}
+	
+	/**
+	 * Create a copy of the extended properties of every field present in the <code>mapFieldExtendedProperties</code> param. 
+	 * Every value of type <code>java.text.Format</code> is cloned (see {@link #copyOf(List)})
+	 * 
+	 * @param mapFieldExtendedProperties the extended properties of fields to copy, or null
+	 * 
+	 * @return the copy of the extended properties of fields, or null if the <code>mapFieldExtendedProperties</code> param is null
+	 * 
+	 * @since 3.1.0
+	 */
+	public static Map<String, List<FieldExtendedProperty>> copyOf(Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties) {
+		if (mapFieldExtendedProperties == null) {
+			return null;
+		}
+		
+		Map<String, List<FieldExtendedProperty>> copy = new HashMap<String, List<FieldExtendedProperty>>();
+		for (Map.Entry<String, List<FieldExtendedProperty>> entry : mapFieldExtendedProperties.entrySet()) {
+			copy.put(entry.getKey(), copyOf(entry.getValue()));
+		}
+		
+		return copy;
+	}
+
 }
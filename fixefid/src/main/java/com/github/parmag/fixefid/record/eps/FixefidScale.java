@@ -0,0 +1,24 @@
+package com.github.parmag.fixefid.record.eps;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Configures a Fixefid extended property of type <code>FieldExtendedPropertyType.SCALE</code>
+ * 
+ * @author Giancarlo Parma
+ * 
+ * @since 3.1.0
+ *
+ */
+@Retention(RUNTIME)
+@Target({ FIELD })
+public @interface FixefidScale {
+	/**
+	 * @return the implied scale
+	 */
+	public int scale() default 0;
+}
@@ -0,0 +1,165 @@
+package com.github.parmag.fixefid.record.field;
+
+/**
+ * The <code>BinaryNumber</code> decodes and encodes the unscaled value of a field of type <code>FieldType.PD</code>
+ * (packed decimal, COMP-3) or <code>FieldType.BIN</code> (big-endian binary, COMP and COMP-5) straight from and to bytes.
+ * <p>
+ * A packed decimal of len n bytes has <code>2 * n - 1</code> digits, two digits per byte, and the sign in the low nibble
+ * of the last byte (<code>0xC</code>, <code>0xA</code>, <code>0xE</code> or <code>0xF</code> positive, <code>0xD</code>
+ * or <code>0xB</code> negative). It's encoded with the sign <code>0xC</code> or <code>0xD</code>.
+ * <p>
+ * A binary of len n bytes is a signed two's complement number, with the most significant byte first.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public final class BinaryNumber {
+	/**
+	 * The max len, in bytes, of a packed decimal
+	 */
+	public static final int MAX_PD_LEN = 10;
+	/**
+	 * The max len, in bytes, of a binary
+	 */
+	public static final int MAX_BIN_LEN = 8;
+
+	private static final int SIGN_POSITIVE = 0x0C;
+	private static final int SIGN_NEGATIVE = 0x0D;
+
+	private BinaryNumber() {
+	}
+
+	/**
+	 * Returns true if the <code>type</code> param is <code>FieldType.PD</code> or <code>FieldType.BIN</code>
+	 *
+	 * @param type the type of the field
+	 * @return true if the type is a packed decimal or a binary
+	 */
+	public static boolean isBinary(FieldType type) {
+		return FieldType.PD.equals(type) || FieldType.BIN.equals(type);
+	}
+
+	/**
+	 * Returns the max len, in bytes, of a field of the <code>type</code> param
+	 *
+	 * @param type the type of the field, <code>FieldType.PD</code> or <code>FieldType.BIN</code>
+	 * @return the max len, in bytes
+	 */
+	public static int maxLen(FieldType type) {
+		return FieldType.PD.equals(type) ? MAX_PD_LEN : MAX_BIN_LEN;
+	}
+
+	/**
+	 * Returns true if every value of a field of the <code>type</code> param and <code>len</code> param fits in an <code>Integer</code>
+	 *
+	 * @param type the type of the field, <code>FieldType.PD</code> or <code>FieldType.BIN</code>
+	 * @param len the len of the field, in bytes
+	 * @return true if every value fits in an <code>Integer</code>
+	 */
+	public static boolean fitsInteger(FieldType type, int len) {
+		return FieldType.PD.equals(type) ? 2 * len - 1 < 10 : len <= 4;
+	}
+
+	/**
+	 * Decode the unscaled value present in the <code>bytes</code> param, starting from the <code>offset</code> param
+	 *
+	 * @param type the type of the field, <code>FieldType.PD</code> or <code>FieldType.BIN</code>
+	 * @param bytes the bytes with the value
+	 * @param offset the offset of the value inside the bytes
+	 * @param len the len of the value, in bytes
+	 * @return the unscaled value
+	 * @throws NumberFormatException if the bytes are not a valid packed decimal
+	 */
+	public static long decode(FieldType type, byte[] bytes, int offset, int len) {
+		return FieldType.PD.equals(type) ? decodePacked(bytes, offset, len) : decodeBinary(bytes, offset, len);
+	}
+
+	/**
+	 * Encode the unscaled <code>value</code> param into the <code>bytes</code> param, starting from the <code>offset</code> param
+	 *
+	 * @param type the type of the field, <code>FieldType.PD</code> or <code>FieldType.BIN</code>
+	 * @param value the unscaled value
+	 * @param bytes the bytes to write the value
+	 * @param offset the offset of the value inside the bytes
+	 * @param len the len of the value, in bytes
+	 * @return true if the value has been encoded, false if the value doesn't fit in the len
+	 */
+	public static boolean encode(FieldType type, long value, byte[] bytes, int offset, int len) {
+		return FieldType.PD.equals(type) ? encodePacked(value, bytes, offset, len) : encodeBinary(value, bytes, offset, len);
+	}
+
+	private static long decodePacked(byte[] bytes, int offset, int len) {
+		long result = 0;
+		int digits = 2 * len - 1;
+		for (int i = 0; i < digits; i++) {
+			int b = bytes[offset + i / 2] & 0xFF;
+			int digit = i % 2 == 0 ? b >> 4 : b & 0x0F;
+			if (digit > 9) {
+				throw new NumberFormatException("Not valid packed decimal digit=[" + Integer.toHexString(digit) + "]");
+			} else if (result < (Long.MIN_VALUE + digit) / 10) {
+				throw new NumberFormatException("Not valid packed decimal. Out of range of Long");
+			}
+
+			result = result * 10 - digit;
+		}
+
+		int sign = bytes[offset + len - 1] & 0x0F;
+		if (sign == SIGN_NEGATIVE || sign == 0x0B) {
+			return result;
+		} else if (sign == SIGN_POSITIVE || sign == 0x0A || sign == 0x0E || sign == 0x0F) {
+			if (result == Long.MIN_VALUE) {
+				throw new NumberFormatException("Not valid packed decimal. Out of range of Long");
+			}
+
+			return -result;
+		} else {
+			throw new NumberFormatException("Not valid packed decimal sign=[" + Integer.toHexString(sign) + "]");
+		}
+	}
+
+	private static boolean encodePacked(long value, byte[] bytes, int offset, int len) {
+		long v = value;
+		for (int i = len - 1; i >= 0; i--) {
+			int lowNibble;
+			if (i == len - 1) {
+				lowNibble = value < 0 ? SIGN_NEGATIVE : SIGN_POSITIVE;
+			} else {
+				lowNibble = (int) Math.abs(v % 10);
+				v /= 10;
+			}
+
+			int highNibble = (int) Math.abs(v % 10);
+			v /= 10;
+			bytes[offset + i] = (byte) (highNibble << 4 | lowNibble);
+		}
+
+		return v == 0;
+	}
+
+	private static long decodeBinary(byte[] bytes, int offset, int len) {
+		long result = bytes[offset];
+		for (int i = 1; i < len; i++) {
+			result = result << 8 | (bytes[offset + i] & 0xFF);
+		}
+
+		return result;
+	}
+
+	private static boolean encodeBinary(long value, byte[] bytes, int offset, int len) {
+		if (len < MAX_BIN_LEN) {
+			long max = (1L << (8 * len - 1)) - 1;
+			if (value > max || value < -max - 1) {
+				return false;
+			}
+		}
+
+		long v = value;
+		for (int i = len - 1; i >= 0; i--) {
+			bytes[offset + i] = (byte) v;
+			v >>= 8;
+		}
+
+		return true;
+	}
+}
@@ -1,6 +1,7 @@
 package com.github.parmag.fixefid.record.field;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.nio.charset.Charset;
 import java.text.DateFormat;
@@ -55,6 +56,7 @@ public class Field {
 	private int padStrNum;
 	private FieldExtendedPropertyType pad;
 	private String padStr;
+	private int scale;
 	private List<FieldExtendedProperty> fieldExtendedProperties;
 	private boolean lenNormalized;
 	private String displayName;
@@ -108,7 +110,14 @@ public class Field {
 			throw new FieldException(name, ErrorCode.FE12, "The field name=[" + name + "] type=[" + type.name() + "] has wrong length=[" + len + "]. Len <= 19 expected.");
 		}
 		
-		if (defaultValue != null) {
+		if (isBinary() && (len < 1 || len > BinaryNumber.maxLen(type))) {
+			throw new FieldException(name, ErrorCode.FE41, "The field name=[" + name + "] type=[" + type.name() + "] has wrong length=[" + len + 
+				"]. Len from 1 to " + BinaryNumber.maxLen(type) + " expected.");
+		}
+		
+		if (isBinary()) {
+			// the default value of a packed decimal or binary field depends on the scale, so it's set after the extended properties
+		} else if (defaultValue != null) {
 			setValue(defaultValue, false);
 		} else if (!isMandatory()) {
 			setValue(FieldType.AN.equals(type) ? DEFAULT_AN_VALUE : DEFAULT_N_VALUE, false);
@@ -134,6 +143,8 @@ public class Field {
 					this.padStr = (String) fieldExtendedProperty.getValue();
 				} else if (FieldExtendedPropertyType.VALIDATOR.equals(fieldExtendedProperty.getType())) {
 					this.validator = (FieldValidator) fieldExtendedProperty.getValue();
+				} else if (FieldExtendedPropertyType.SCALE.equals(fieldExtendedProperty.getType())) {
+					this.scale = (Integer) fieldExtendedProperty.getValue();
 				}
 			}
 		}
@@ -170,6 +181,16 @@ public class Field {
 					padStr + "] . Pad String Len=[1} is expected.");
 		}
 		
+		if (scale != 0 && (!isBinary() || scale < 0 || scale > 18)) {
+			throw new FieldException(name, ErrorCode.FE41, "The field name=[" + name + "] type=[" + type.name() + " has wrong extended property=[" + 
+				FieldExtendedPropertyType.SCALE + "] with scale=[" + scale + "]. Type " + FieldType.PD.name() + " or " + FieldType.BIN.name() + 
+					" and scale from 0 to 18 expected.");
+		}
+		
+		if (isBinary()) {
+			initBinaryValue();
+		}
+		
 		LOG.debug("Created field {}", toString());
 	}
 
@@ -225,7 +246,13 @@ public class Field {
 	public Long getValueAsLong() throws FieldException {
 		checkValidationInfo();
 		
-		if (isNumericSpace(value)) {
+		if (isBinary()) {
+			if (isLong()) {
+				return binaryValue(ErrorCode.FE21, "Long");
+			} else {
+				throw new FieldException(name, ErrorCode.FE22, parseTypeErrorMessage("Long"));
+			}
+		} else if (isNumericSpace(value)) {
 			return null;
 		} else {
 			if (isLong() || isLenNormalized()) {
@@ -254,7 +281,13 @@ public class Field {
 	public Integer getValueAsInteger() throws FieldException {
 		checkValidationInfo();
 		
-		if (isNumericSpace(value)) {
+		if (isBinary()) {
+			if (isInteger()) {
+				return (int) binaryValue(ErrorCode.FE23, "Integer");
+			} else {
+				throw new FieldException(name, ErrorCode.FE24, parseTypeErrorMessage("Integer"));
+			}
+		} else if (isNumericSpace(value)) {
 			return null;
 		} else {
 			if (isInteger()) {
@@ -359,7 +392,9 @@ public class Field {
 	public BigDecimal getValueAsBigDecimal() throws FieldException {
 		checkValidationInfo();
 		
-		if (isNumericSpace(value)) {
+		if (isBinary()) {
+			return BigDecimal.valueOf(binaryValue(ErrorCode.FE29, "BigDecimal"), scale);
+		} else if (isNumericSpace(value)) {
 			return null;
 		} else {
 			if (isBigDecimal()) {
@@ -469,6 +504,15 @@ public class Field {
 			return;
 		}
 		
+		if (isBinary()) {
+			if (isLong()) {
+				setBinaryValue(value.longValue());
+				return;
+			} else {
+				throw new FieldException(name, ErrorCode.FE34, parseTypeErrorMessage("Long"));
+			}
+		}
+		
 		String valueAsString = String.valueOf(value);
 		if (isLenToNormalize()) {
 			doLenNormalization(valueAsString);
@@ -492,6 +536,15 @@ public class Field {
 			return;
 		}
 		
+		if (isBinary()) {
+			if (isInteger()) {
+				setBinaryValue(value.longValue());
+				return;
+			} else {
+				throw new FieldException(name, ErrorCode.FE35, parseTypeErrorMessage("Integer"));
+			}
+		}
+		
 		String valueAsString = String.valueOf(value);
 		if (isLenToNormalize()) {
 			doLenNormalization(valueAsString);
@@ -575,6 +628,11 @@ public class Field {
 			return;
 		}
 		
+		if (isBinary()) {
+			setBinaryValue(value);
+			return;
+		}
+		
 		String valueAsString = null;
 		if (removeDecimalSeparator && decimalFormat != null) {
 			char decimalSeparator = decimalFormat.getDecimalFormatSymbols().getDecimalSeparator();
@@ -669,6 +727,27 @@ public class Field {
 		return len;
 	}
 	
+	/**
+	 * @return the pad of this <code>Field</code>, FieldExtendedPropertyType.LPAD or FieldExtendedPropertyType.RPAD
+	 */
+	public FieldExtendedPropertyType getPad() {
+		return pad;
+	}
+
+	/**
+	 * @return the pad string of this <code>Field</code>
+	 */
+	public String getPadStr() {
+		return padStr;
+	}
+
+	/**
+	 * @return the mandatory type of this <code>Field</code>
+	 */
+	public FieldMandatory getMandatory() {
+		return mandatory;
+	}
+
 	/**
 	 * Returns true if this <code>Field</code> is mandatory. This field is mandatory if
 	 * <ul>
@@ -731,23 +810,26 @@ public class Field {
 	/**
 	 * Returns true if this field is a Long. This field is a Long if
 	 * <p>
-	 * FieldType.N and decimal format is not present and <code>len &ge; 10</code>
+	 * FieldType.N and decimal format is not present and <code>len &ge; 10</code>, or FieldType.PD or FieldType.BIN 
+	 * and scale is zero
 	 * 
 	 * @return true if this field is a Long. 
 	 */
 	public boolean isLong() {
-		return FieldType.N.equals(type) && decimalFormat == null && len >= 10;
+		return (FieldType.N.equals(type) && decimalFormat == null && len >= 10) || (isBinary() && scale == 0);
 	}
 	
 	/**
 	 * Returns true if this field is a Integer. This field is a Integer if
 	 * <p>
-	 * FieldType.N and decimal format is not present and <code>len &lt; 10</code>
+	 * FieldType.N and decimal format is not present and <code>len &lt; 10</code>, or FieldType.PD or FieldType.BIN 
+	 * and scale is zero and every value fits in an Integer
 	 * 
 	 * @return true if this field is a Integer. 
 	 */
 	public boolean isInteger() {
-		return FieldType.N.equals(type) && decimalFormat == null && len < 10;
+		return (FieldType.N.equals(type) && decimalFormat == null && len < 10) || 
+			(isBinary() && scale == 0 && BinaryNumber.fitsInteger(type, len));
 	}
 	
 	/**
@@ -797,12 +879,30 @@ public class Field {
 	/**
 	 * Returns true if this field is a BigDecimal. This field is a BigDecimal if
 	 * <p>
-	 * FieldType.N and decimal format is present
+	 * FieldType.N and decimal format is present, or FieldType.PD or FieldType.BIN
 	 * 
 	 * @return true if this field is a BigDecimal. 
 	 */
 	public boolean isBigDecimal() {
-		return isDouble() || isFloat();
+		return isDouble() || isFloat() || isBinary();
+	}
+	
+	/**
+	 * Returns true if this field is a packed decimal or a binary. This field is a packed decimal or a binary if
+	 * <p>
+	 * FieldType.PD or FieldType.BIN
+	 * 
+	 * @return true if this field is a packed decimal or a binary
+	 */
+	public boolean isBinary() {
+		return BinaryNumber.isBinary(type);
+	}
+	
+	/**
+	 * @return the implied scale of this field, if this field is a packed decimal or a binary
+	 */
+	public int getScale() {
+		return scale;
 	}
 	
 	/**
@@ -879,6 +979,10 @@ public class Field {
 		String result = null;
 		padStrNum = 0;
 		
+		if (isBinary()) {
+			return value == null || value.isEmpty() ? binaryZeroImage() : value;
+		}
+		
 		if (isNumericSpace(value)) { 
 			result = String.format("%-" + getLen() + "s", value);
 		} else {
@@ -983,6 +1087,16 @@ public class Field {
 					}
 				}
 			}
+		} else if (isBinary()) {
+			if (validator != null) {
+				validationInfo = validator.valid(name, index, subIndex, occurIndex, type, mandatory, value, fieldExtendedProperties, fixedValues);
+			} else {
+				try {
+					binaryValue(ErrorCode.FE41, FieldType.PD.equals(type) ? "packed decimal" : "binary");
+				} catch (FieldException rfe) {
+					notValidMsg = rfe.getMessage();
+				}
+			}
 		} else if (FieldType.AN.equals(type)) {
 			if (validator != null) {
 				validationInfo = validator.valid(name, index, subIndex, occurIndex, type, mandatory, value, fieldExtendedProperties, fixedValues);
@@ -1218,6 +1332,77 @@ public class Field {
 		return value.substring(0, value.length() - fractionDigits) + "." + value.substring(value.length() - fractionDigits);
 	}
 	
+	private void initBinaryValue() {
+		if (defaultValue != null && !defaultValue.isEmpty()) {
+			try {
+				setBinaryValue(new BigDecimal(defaultValue.trim()));
+			} catch (NumberFormatException e) {
+				throw new FieldException(name, ErrorCode.FE41, "The field name=[" + name + "] type=[" + type.name() + "] has wrong default value=[" + 
+					defaultValue + "]. Number expected.");
+			}
+		} else if (!isMandatory()) {
+			setValue(DEFAULT_N_VALUE, false);
+		}
+	}
+	
+	private long binaryValue(ErrorCode errorCode, String typeName) throws FieldException {
+		byte[] bytes = new byte[len];
+		for (int i = 0; i < len; i++) {
+			char c = value.charAt(i);
+			if (c > 0xFF) {
+				throw new FieldException(name, errorCode, parseTypeErrorMessage(typeName));
+			}
+			
+			bytes[i] = (byte) c;
+		}
+		
+		try {
+			return BinaryNumber.decode(type, bytes, 0, len);
+		} catch (NumberFormatException e) {
+			throw new FieldException(name, errorCode, parseTypeErrorMessage(typeName) + ". Cause: " + e.getMessage());
+		}
+	}
+	
+	private void setBinaryValue(BigDecimal value) {
+		BigInteger unscaledValue = value.setScale(scale, RoundingMode.HALF_EVEN).unscaledValue();
+		if (unscaledValue.bitLength() > 63) {
+			setBinaryOutOfRange(value.toPlainString());
+		} else {
+			setBinaryValue(unscaledValue.longValue());
+		}
+	}
+	
+	private void setBinaryValue(long unscaledValue) {
+		byte[] bytes = new byte[len];
+		if (BinaryNumber.encode(type, unscaledValue, bytes, 0, len)) {
+			setValue(binaryImage(bytes), false);
+		} else {
+			setBinaryOutOfRange(scale == 0 ? String.valueOf(unscaledValue) : BigDecimal.valueOf(unscaledValue, scale).toPlainString());
+		}
+	}
+	
+	private void setBinaryOutOfRange(String valueAsString) {
+		resetStatus();
+		validationInfo.setValidationStatus(RecordFieldValidationStatus.ERROR);
+		validationInfo.setValidationMessage(name + "=[" + valueAsString + "] not valid. Out of range for type=[" + type.name() + "] with lenght=[" + 
+			len + "] and scale=[" + scale + "].");
+	}
+	
+	private String binaryZeroImage() {
+		byte[] bytes = new byte[len];
+		BinaryNumber.encode(type, 0, bytes, 0, len);
+		return binaryImage(bytes);
+	}
+	
+	private String binaryImage(byte[] bytes) {
+		char[] chars = new char[bytes.length];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[i] = (char) (bytes[i] & 0xFF);
+		}
+		
+		return new String(chars);
+	}
+	
 	private boolean isLenToNormalize() {
 		return len < 1 || lenNormalized;
 	}
@@ -59,5 +59,15 @@ public enum FieldExtendedPropertyType {
 	/**
 	 * Used to get control of the field validation. The value must be a <code>org.fixefid.record.field.FieldValidator</code>
 	 */
-	VALIDATOR;
+	VALIDATOR,
+	/**
+	 * Used to get control of the implied scale of a packed decimal or binary field. The unscaled value of the field
+	 * is divided by 10 raised to the scale.
+	 * <p>
+	 * It's valid only when the field is of type <code>FieldType.PD</code> or <code>FieldType.BIN</code>. The value must be
+	 * a <code>java.lang.Integer</code>
+	 * 
+	 * @since 3.1.0
+	 */
+	SCALE;
 }
@@ -1,8 +1,12 @@
 package com.github.parmag.fixefid.record.field;
 
 /**
- * The enum that represents the field type. A field can be alphanumeric, numeric, composite or list.
- * The composite and list types can be used only with a bean record
+ * The enum that represents the field type. A field can be alphanumeric, numeric, packed decimal, binary, composite or list.
+ * The composite and list types can be used only with a bean record. The len of the packed decimal and binary types is
+ * in bytes, and their value is the image of the bytes, one char (from <code>0x00</code> to <code>0xFF</code>)
+ * for every byte (see {@link BinaryNumber}). A record with packed decimal or binary fields must be read and written as bytes
+ * (see <code>ByteRecordCodec</code>): a writer of chars with a charset that doesn't map every char to the byte with the same
+ * value (for instance Cp037) corrupts the image
  * 
  * @author Giancarlo Parma
  *
@@ -24,5 +28,17 @@ public enum FieldType {
 	/**
 	 * the list type
 	 */
-	LIST 
+	LIST,
+	/**
+	 * the packed decimal type (COMP-3), with len from 1 to 10 bytes
+	 * 
+	 * @since 3.1.0
+	 */
+	PD,
+	/**
+	 * the big-endian binary type (COMP and COMP-5), with len from 1 to 8 bytes
+	 * 
+	 * @since 3.1.0
+	 */
+	BIN
 }
@@ -0,0 +1,87 @@
+package com.github.parmag.fixefid.record.flow;
+
+/**
+ * The interfaces of the reactive streams with backpressure, with the same methods of <code>java.util.concurrent.Flow</code>
+ * (available from Java 9). On Java 9 and later a publisher or a subscriber of this class is adapted to the relative
+ * interface of <code>java.util.concurrent.Flow</code> with a few method references.
+ * <p>
+ * A <code>Publisher</code> delivers the items to a <code>Subscriber</code> only when requested, through the
+ * <code>Subscription</code> given to the subscriber: so a slow subscriber throttles the publisher.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ */
+public final class Flow {
+
+	private Flow() {
+	}
+
+	/**
+	 * A producer of items received by the subscribers
+	 *
+	 * @param <T> the type of the items
+	 */
+	public static interface Publisher<T> {
+		/**
+		 * Adds the <code>subscriber</code> param. The method <code>onSubscribe</code> of the subscriber is invoked with
+		 * a new <code>Subscription</code>, or the method <code>onError</code> if the subscriber can't be added
+		 *
+		 * @param subscriber the subscriber
+		 */
+		public void subscribe(Subscriber<? super T> subscriber);
+	}
+
+	/**
+	 * A receiver of items. The methods are invoked in order: <code>onSubscribe</code>, then <code>onNext</code>
+	 * no more than the requested times, then <code>onComplete</code> or <code>onError</code>
+	 *
+	 * @param <T> the type of the items
+	 */
+	public static interface Subscriber<T> {
+		/**
+		 * Invoked before any other method, with the subscription to request the items
+		 *
+		 * @param subscription the subscription
+		 */
+		public void onSubscribe(Subscription subscription);
+
+		/**
+		 * Invoked with the next item
+		 *
+		 * @param item the item
+		 */
+		public void onNext(T item);
+
+		/**
+		 * Invoked when the publisher has an error. No other method is invoked after it
+		 *
+		 * @param throwable the error
+		 */
+		public void onError(Throwable throwable);
+
+		/**
+		 * Invoked when there are no more items. No other method is invoked after it
+		 */
+		public void onComplete();
+	}
+
+	/**
+	 * The link between a publisher and a subscriber
+	 */
+	public static interface Subscription {
+		/**
+		 * Adds the <code>n</code> param to the number of the items requested by the subscriber. If the <code>n</code>
+		 * param is not positive, the method <code>onError</code> of the subscriber is invoked with an <code>IllegalArgumentException</code>
+		 *
+		 * @param n the number of the items to add to the requested items
+		 */
+		public void request(long n);
+
+		/**
+		 * Stops the delivery of the items to the subscriber
+		 */
+		public void cancel();
+	}
+}
@@ -0,0 +1,177 @@
+package com.github.parmag.fixefid.record.flow;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.parmag.fixefid.record.io.FixefidReader;
+
+/**
+ * The <code>RecordPublisher</code> publishes the java beans read by a {@link FixefidReader}, only when requested by its
+ * subscriber: a record is read and decoded only if there is demand, so a slow subscriber throttles the reading and the beans
+ * never pile up on the heap.
+ * <p>
+ * The publisher accepts only one subscriber. The records are read and delivered by a task of the executor (by default the
+ * <code>ForkJoinPool.commonPool()</code>), that stops when the demand is exhausted and restarts on the next request, so
+ * the methods of the subscriber are never invoked concurrently. The reader is closed when the subscriber is completed,
+ * has an error or cancels the subscription. A not valid record or an I/O error are delivered with <code>onError</code>.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class RecordPublisher<T> implements Flow.Publisher<T> {
+	private final FixefidReader<T> reader;
+	private final Executor executor;
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	/**
+	 * Create a new <code>RecordPublisher</code> of the java beans read by the <code>reader</code> param, delivered
+	 * by the <code>ForkJoinPool.commonPool()</code>
+	 *
+	 * @param reader the reader of the records
+	 */
+	public RecordPublisher(FixefidReader<T> reader) {
+		this(reader, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Create a new <code>RecordPublisher</code> of the java beans read by the <code>reader</code> param, delivered
+	 * by the <code>executor</code> param
+	 *
+	 * @param reader the reader of the records
+	 * @param executor the executor of the task that reads and delivers the records
+	 */
+	public RecordPublisher(FixefidReader<T> reader, Executor executor) {
+		this.reader = reader;
+		this.executor = executor;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber");
+		}
+
+		if (!subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscriber.onError(new IllegalStateException("The RecordPublisher accepts only one subscriber"));
+			return;
+		}
+
+		subscriber.onSubscribe(new RecordSubscription(subscriber));
+	}
+
+	/**
+	 * The subscription that delivers the records to the subscriber. The requests and the cancel only update the state
+	 * and schedule the drain task, which is never executed concurrently
+	 */
+	private class RecordSubscription implements Flow.Subscription, Runnable {
+		private final Flow.Subscriber<? super T> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+		private volatile boolean cancelled;
+		private volatile IllegalArgumentException badRequest;
+		private boolean done;
+
+		private RecordSubscription(Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				badRequest = new IllegalArgumentException("Not valid request=[" + n + "]. Must be greater than zero");
+			} else {
+				long current;
+				long next;
+				do {
+					current = demand.get();
+					next = current + n < 0 ? Long.MAX_VALUE : current + n;
+				} while (!demand.compareAndSet(current, next));
+			}
+
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if (wip.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			while (!done) {
+				if (cancelled) {
+					finish();
+					return;
+				} else if (badRequest != null) {
+					finish();
+					subscriber.onError(badRequest);
+					return;
+				}
+
+				long requested = demand.get();
+				long emitted = 0;
+				while (emitted != requested && !cancelled) {
+					T bean;
+					try {
+						bean = reader.read();
+					} catch (IOException | RuntimeException e) {
+						finish();
+						subscriber.onError(e);
+						return;
+					}
+
+					if (bean == null) {
+						finish();
+						subscriber.onComplete();
+						return;
+					}
+
+					subscriber.onNext(bean);
+					emitted++;
+				}
+
+				if (emitted > 0 && requested != Long.MAX_VALUE) {
+					demand.addAndGet(-emitted);
+				}
+
+				missed = wip.addAndGet(-missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+
+		private void finish() {
+			done = true;
+			try {
+				reader.close();
+			} catch (IOException e) {
+				// the reader is no more used
+			}
+		}
+	}
+}
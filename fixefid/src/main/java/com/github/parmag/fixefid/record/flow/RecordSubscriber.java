@@ -0,0 +1,129 @@
+package com.github.parmag.fixefid.record.flow;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import com.github.parmag.fixefid.record.io.FixefidWriter;
+
+/**
+ * The <code>RecordSubscriber</code> writes the java beans received from a publisher with a {@link FixefidWriter}.
+ * The beans are requested in batches: at the start the subscriber requests a batch, then it requests half a batch every
+ * time half a batch has been written, so at most a batch of beans is pending and the publisher is throttled by the writing.
+ * <p>
+ * The writer is closed when the publisher completes or has an error. If a bean can't be written, the subscription is
+ * cancelled and the writer is closed. The result completes with the number of the written records, or exceptionally
+ * with the error.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class RecordSubscriber<T> implements Flow.Subscriber<T> {
+	/**
+	 * The default number of the beans requested in a batch
+	 */
+	public static final int DEF_BATCH_SIZE = 256;
+
+	private final FixefidWriter<T> writer;
+	private final int batchSize;
+	private final int replenish;
+	private final CompletableFuture<Long> result = new CompletableFuture<Long>();
+	private Flow.Subscription subscription;
+	private int received;
+
+	/**
+	 * Create a new <code>RecordSubscriber</code> that writes the java beans with the <code>writer</code> param,
+	 * requested in batches of <code>DEF_BATCH_SIZE</code> beans
+	 *
+	 * @param writer the writer of the records
+	 */
+	public RecordSubscriber(FixefidWriter<T> writer) {
+		this(writer, DEF_BATCH_SIZE);
+	}
+
+	/**
+	 * Create a new <code>RecordSubscriber</code> that writes the java beans with the <code>writer</code> param,
+	 * requested in batches of <code>batchSize</code> beans
+	 *
+	 * @param writer the writer of the records
+	 * @param batchSize the number of the beans requested in a batch
+	 */
+	public RecordSubscriber(FixefidWriter<T> writer, int batchSize) {
+		this.writer = writer;
+		this.batchSize = Math.max(1, batchSize);
+		this.replenish = Math.max(1, this.batchSize / 2);
+	}
+
+	/**
+	 * @return the result, completed with the number of the written records when the publisher completes
+	 */
+	public CompletableFuture<Long> getResult() {
+		return result;
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		if (this.subscription != null) {
+			subscription.cancel();
+			return;
+		}
+
+		this.subscription = subscription;
+		subscription.request(batchSize);
+	}
+
+	@Override
+	public void onNext(T item) {
+		if (result.isDone()) {
+			return;
+		}
+
+		try {
+			writer.write(item);
+		} catch (IOException | RuntimeException e) {
+			subscription.cancel();
+			fail(e);
+			return;
+		}
+
+		if (++received == replenish) {
+			received = 0;
+			subscription.request(replenish);
+		}
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		fail(throwable);
+	}
+
+	@Override
+	public void onComplete() {
+		if (result.isDone()) {
+			return;
+		}
+
+		try {
+			writer.close();
+			result.complete(writer.getRecordNumber());
+		} catch (IOException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	private void fail(Throwable throwable) {
+		if (result.isDone()) {
+			return;
+		}
+
+		try {
+			writer.close();
+		} catch (IOException e) {
+			throwable.addSuppressed(e);
+		}
+
+		result.completeExceptionally(throwable);
+	}
+}
@@ -0,0 +1,66 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The <code>AggregateGroup</code> is a group of records computed by a {@link FixefidAggregator}: the values of the key
+ * fields of the group, the number of its records and the values of the aggregations, in the order of the aggregations
+ * of the aggregator.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public final class AggregateGroup {
+	private final String[] keys;
+	private final long count;
+	private final BigDecimal[] values;
+
+	AggregateGroup(String[] keys, long count, BigDecimal[] values) {
+		this.keys = keys;
+		this.count = count;
+		this.values = values;
+	}
+
+	/**
+	 * Returns the value of the key field with the <code>keyIndex</code> param
+	 *
+	 * @param keyIndex the index of the key field, in the order of the key fields of the aggregator
+	 * @return the value of the key field, without the pad
+	 */
+	public String getKey(int keyIndex) {
+		return keys[keyIndex];
+	}
+
+	/**
+	 * @return the values of the key fields, without the pad
+	 */
+	public List<String> getKeys() {
+		return Collections.unmodifiableList(Arrays.asList(keys));
+	}
+
+	/**
+	 * @return the number of the records of the group
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the value of the aggregation with the <code>aggregationIndex</code> param
+	 *
+	 * @param aggregationIndex the index of the aggregation, in the order of the aggregations of the aggregator
+	 * @return the value of the aggregation
+	 */
+	public BigDecimal getValue(int aggregationIndex) {
+		return values[aggregationIndex];
+	}
+
+	@Override
+	public String toString() {
+		return "AggregateGroup [keys=" + Arrays.toString(keys) + ", count=" + count + ", values=" + Arrays.toString(values) + "]";
+	}
+}
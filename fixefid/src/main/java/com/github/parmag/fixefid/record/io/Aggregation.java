@@ -0,0 +1,107 @@
+package com.github.parmag.fixefid.record.io;
+
+/**
+ * The <code>Aggregation</code> is a function computed by a {@link FixefidAggregator} on the records of every group:
+ * the count of the records, or the sum, the min, the max or the average of the values of a numeric field.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public final class Aggregation {
+	/**
+	 * The functions of the aggregations
+	 */
+	public enum Function {
+		/**
+		 * The count of the records
+		 */
+		COUNT,
+		/**
+		 * The sum of the values
+		 */
+		SUM,
+		/**
+		 * The min value
+		 */
+		MIN,
+		/**
+		 * The max value
+		 */
+		MAX,
+		/**
+		 * The average of the values
+		 */
+		AVG
+	}
+
+	private final Function function;
+	private final String fieldName;
+
+	private Aggregation(Function function, String fieldName) {
+		if (!Function.COUNT.equals(function) && fieldName == null) {
+			throw new IllegalArgumentException("Not valid null fieldName for function=[" + function + "]");
+		}
+
+		this.function = function;
+		this.fieldName = fieldName;
+	}
+
+	/**
+	 * @return the aggregation that counts the records of every group
+	 */
+	public static Aggregation count() {
+		return new Aggregation(Function.COUNT, null);
+	}
+
+	/**
+	 * @param fieldName the name of the numeric field
+	 * @return the aggregation that sums the values of the field
+	 */
+	public static Aggregation sum(String fieldName) {
+		return new Aggregation(Function.SUM, fieldName);
+	}
+
+	/**
+	 * @param fieldName the name of the numeric field
+	 * @return the aggregation that computes the min value of the field
+	 */
+	public static Aggregation min(String fieldName) {
+		return new Aggregation(Function.MIN, fieldName);
+	}
+
+	/**
+	 * @param fieldName the name of the numeric field
+	 * @return the aggregation that computes the max value of the field
+	 */
+	public static Aggregation max(String fieldName) {
+		return new Aggregation(Function.MAX, fieldName);
+	}
+
+	/**
+	 * @param fieldName the name of the numeric field
+	 * @return the aggregation that computes the average of the values of the field
+	 */
+	public static Aggregation avg(String fieldName) {
+		return new Aggregation(Function.AVG, fieldName);
+	}
+
+	/**
+	 * @return the function of this aggregation
+	 */
+	public Function getFunction() {
+		return function;
+	}
+
+	/**
+	 * @return the name of the numeric field, or null for the count
+	 */
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	@Override
+	public String toString() {
+		return function.name().toLowerCase() + "(" + (fieldName != null ? fieldName : "*") + ")";
+	}
+}
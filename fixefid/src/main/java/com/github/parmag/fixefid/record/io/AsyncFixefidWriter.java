@@ -0,0 +1,355 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.bean.FixefidRecord;
+import com.github.parmag.fixefid.record.csv.CSVBeanRecord;
+import com.github.parmag.fixefid.record.csv.FixefidCSVRecord;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+
+/**
+ * The <code>AsyncFixefidWriter</code> writes the records of a java bean annotated with <code>FixefidRecord.class</code>
+ * (a fixed-length record) or with <code>FixefidCSVRecord.class</code> (a CSV record) with an
+ * <code>AsynchronousFileChannel</code>, so the formatting of the records and the writing overlap.
+ * <p>
+ * The records are formatted into a buffer; when the buffer is full it's written asynchronously and the next records are
+ * formatted into another buffer. At most <code>inFlightBuffers</code> buffers are written at the same time: when all of
+ * them are in flight, the method <code>write</code> waits that one of them is written, so the formatting is throttled by the I/O.
+ * The buffers are reused.
+ * <p>
+ * The fixed-length records are encoded straight into the buffer (see {@link ByteRecordCodec}), the CSV records are formatted
+ * with a <code>CSVBeanRecord</code> and always terminated by a new line. If a bean can't be formatted, a <code>RecordException</code>
+ * with error code <code>ErrorCode.RE42</code> is thrown, with the record number, and nothing is written for that bean.
+ * An error of an asynchronous write is thrown by the next call of <code>write</code>, <code>flush</code> or <code>close</code>.
+ * <p>
+ * An instance of this class is not thread safe: the records must be written by one thread at a time.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class AsyncFixefidWriter<T> implements Closeable {
+	/**
+	 * The default size of a buffer, in bytes
+	 */
+	public static final int DEF_BUFFER_SIZE = 256 * 1024;
+	/**
+	 * The default number of the buffers written at the same time
+	 */
+	public static final int DEF_IN_FLIGHT_BUFFERS = 2;
+
+	private static final byte NEW_LINE = '\n';
+
+	private final AsynchronousFileChannel channel;
+	private final Charset charset;
+	private final ByteRecordCodec<T> byteCodec;
+	private final List<FieldExtendedProperty> fieldExtendedProperties;
+	private final Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties;
+	private final boolean newLine;
+	private final int bufferSize;
+	private final Semaphore inFlight;
+	private final int inFlightBuffers;
+	private final Queue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+	private final AtomicInteger pendingWrites = new AtomicInteger();
+	private final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+	private final AtomicBoolean completed = new AtomicBoolean();
+	private final CompletableFuture<Long> completion = new CompletableFuture<Long>();
+	private volatile boolean closing;
+	private ByteBuffer buffer;
+	private long position;
+	private long recordNumber;
+
+	/**
+	 * Create a new <code>AsyncFixefidWriter</code> of the file indicated by the <code>path</code> param, for the java bean class
+	 * indicated by the <code>beanClass</code> param, with the records terminated by a new line. The file is created or truncated
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the bean is not annotated with <code>FixefidRecord.class</code> or <code>FixefidCSVRecord.class</code>
+	 */
+	public AsyncFixefidWriter(Path path, Charset charset, Class<T> beanClass) throws IOException, RecordException {
+		this(path, charset, beanClass, null, null, RecordDelimiter.NEWLINE, DEF_BUFFER_SIZE, DEF_IN_FLIGHT_BUFFERS);
+	}
+
+	/**
+	 * Create a new <code>AsyncFixefidWriter</code> of the file indicated by the <code>path</code> param, for the java bean class
+	 * indicated by the <code>beanClass</code> param. The file is created or truncated
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @param fieldExtendedProperties the extended properties of field applied to every fields of the record
+	 * @param mapFieldExtendedProperties the extended properties of fields to override the relative property at record level
+	 * @param recordDelimiter how the fixed-length records are delimited. The CSV records are always terminated by a new line
+	 * @param bufferSize the size of a buffer, in bytes. It's extended to contain at least a fixed-length record with its delimiter
+	 * @param inFlightBuffers the max number of the buffers written at the same time
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the bean is not annotated with <code>FixefidRecord.class</code> or <code>FixefidCSVRecord.class</code>
+	 */
+	public AsyncFixefidWriter(Path path, Charset charset, Class<T> beanClass, List<FieldExtendedProperty> fieldExtendedProperties,
+			Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties, RecordDelimiter recordDelimiter, int bufferSize,
+			int inFlightBuffers) throws IOException, RecordException {
+		if (beanClass.isAnnotationPresent(FixefidRecord.class)) {
+			this.byteCodec = new ByteRecordCodec<T>(new BeanRecordCodec<T>(beanClass, fieldExtendedProperties, mapFieldExtendedProperties, null),
+				charset);
+			this.newLine = !RecordDelimiter.NONE.equals(recordDelimiter);
+			this.bufferSize = Math.max(bufferSize, byteCodec.getRecordLen() + 1);
+		} else if (beanClass.isAnnotationPresent(FixefidCSVRecord.class)) {
+			this.byteCodec = null;
+			this.newLine = true;
+			this.bufferSize = Math.max(bufferSize, 1);
+		} else {
+			throw new RecordException(ErrorCode.RE24, "The class " + beanClass.getSimpleName() + " is not annotated with FixefidRecord or FixefidCSVRecord");
+		}
+
+		this.charset = charset;
+		this.fieldExtendedProperties = fieldExtendedProperties;
+		this.mapFieldExtendedProperties = mapFieldExtendedProperties;
+		this.inFlightBuffers = Math.max(1, inFlightBuffers);
+		this.inFlight = new Semaphore(this.inFlightBuffers);
+		this.buffer = ByteBuffer.allocate(this.bufferSize);
+		this.channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * @return the number of the records written, starting from 1
+	 */
+	public long getRecordNumber() {
+		return recordNumber;
+	}
+
+	/**
+	 * @return the completion of the writer, completed with the number of the written bytes when all the buffers are written
+	 * and the file is closed, or exceptionally with the error of a write
+	 */
+	public CompletableFuture<Long> getCompletion() {
+		return completion;
+	}
+
+	/**
+	 * Format the <code>bean</code> param as the next record. If the buffer is full, it's written asynchronously
+	 *
+	 * @param bean the bean to write
+	 * @throws IOException if a previous write has failed or the thread has been interrupted
+	 * @throws RecordException if the bean can't be formatted
+	 */
+	public void write(T bean) throws IOException, RecordException {
+		checkError();
+		if (closing) {
+			throw new IOException("The writer is closed");
+		}
+
+		if (byteCodec != null) {
+			int len = byteCodec.getRecordLen() + (newLine ? 1 : 0);
+			if (buffer.remaining() < len) {
+				submitBuffer();
+			}
+
+			try {
+				byteCodec.encode(bean, buffer, buffer.position());
+			} catch (RecordException re) {
+				throw notValidRecord(re);
+			}
+
+			((Buffer) buffer).position(buffer.position() + byteCodec.getRecordLen());
+		} else {
+			byte[] bytes;
+			try {
+				bytes = new CSVBeanRecord(bean, null, fieldExtendedProperties, mapFieldExtendedProperties).toString().getBytes(charset);
+			} catch (RuntimeException re) {
+				throw notValidRecord(re);
+			}
+
+			if (buffer.remaining() < bytes.length + 1) {
+				submitBuffer();
+			}
+
+			if (buffer.remaining() < bytes.length + 1) {
+				ByteBuffer large = ByteBuffer.allocate(bytes.length + 1);
+				large.put(bytes);
+				large.put(NEW_LINE);
+				submit(large);
+				recordNumber++;
+				return;
+			}
+
+			buffer.put(bytes);
+		}
+
+		if (newLine) {
+			buffer.put(NEW_LINE);
+		}
+
+		recordNumber++;
+	}
+
+	private RecordException notValidRecord(RuntimeException re) {
+		return new RecordException(ErrorCode.RE42, "Not valid record number=[" + (recordNumber + 1) + "]. Cause: " + re.getMessage(), re);
+	}
+
+	private void submitBuffer() throws IOException {
+		if (buffer.position() == 0) {
+			return;
+		}
+
+		submit(buffer);
+		ByteBuffer next = freeBuffers.poll();
+		buffer = next != null ? next : ByteBuffer.allocate(bufferSize);
+	}
+
+	private void submit(ByteBuffer toWrite) throws IOException {
+		((Buffer) toWrite).flip();
+		try {
+			inFlight.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting a buffer");
+		}
+
+		pendingWrites.incrementAndGet();
+		long writePosition = position;
+		position += toWrite.remaining();
+		channel.write(toWrite, writePosition, writePosition, new CompletionHandler<Integer, Long>() {
+			@Override
+			public void completed(Integer written, Long attachment) {
+				if (toWrite.hasRemaining()) {
+					long next = attachment + written;
+					channel.write(toWrite, next, next, this);
+				} else {
+					if (toWrite.capacity() == bufferSize) {
+						((Buffer) toWrite).clear();
+						freeBuffers.add(toWrite);
+					}
+
+					writeDone();
+				}
+			}
+
+			@Override
+			public void failed(Throwable exc, Long attachment) {
+				error.compareAndSet(null, exc);
+				writeDone();
+			}
+		});
+	}
+
+	private void writeDone() {
+		inFlight.release();
+		pendingWrites.decrementAndGet();
+		tryComplete();
+	}
+
+	private void tryComplete() {
+		if (closing && pendingWrites.get() == 0 && completed.compareAndSet(false, true)) {
+			Throwable t = error.get();
+			try {
+				channel.close();
+			} catch (IOException e) {
+				if (t == null) {
+					t = e;
+				}
+			}
+
+			if (t != null) {
+				completion.completeExceptionally(t);
+			} else {
+				completion.complete(position);
+			}
+		}
+	}
+
+	private void checkError() throws IOException {
+		Throwable t = error.get();
+		if (t != null) {
+			throw new IOException("Asynchronous write failed", t);
+		}
+	}
+
+	/**
+	 * Write the buffered records and wait that all the buffers are written
+	 *
+	 * @throws IOException if a write has failed or the thread has been interrupted
+	 */
+	public void flush() throws IOException {
+		checkError();
+		submitBuffer();
+		try {
+			inFlight.acquire(inFlightBuffers);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting the buffers");
+		}
+
+		inFlight.release(inFlightBuffers);
+		checkError();
+	}
+
+	/**
+	 * Write the buffered records and close the file when all the buffers are written, without waiting
+	 *
+	 * @return the completion of the writer (see {@link #getCompletion()})
+	 * @throws IOException if the thread has been interrupted while waiting a buffer
+	 */
+	public CompletableFuture<Long> closeAsync() throws IOException {
+		if (!closing) {
+			if (error.get() == null) {
+				submitBuffer();
+			}
+
+			closing = true;
+			tryComplete();
+		}
+
+		return completion;
+	}
+
+	/**
+	 * Write the buffered records, wait that all the buffers are written and close the file
+	 *
+	 * @throws IOException if a write has failed or the thread has been interrupted
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			closeAsync().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while closing the writer");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+
+			throw new IOException("Asynchronous write failed", cause);
+		}
+	}
+}
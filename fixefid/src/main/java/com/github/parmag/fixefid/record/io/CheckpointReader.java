@@ -0,0 +1,207 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>CheckpointReader</code> reads the records of a fixed-length file as a {@link FixefidReader}, saving a
+ * {@link FixefidCheckpoint} into a checkpoint file every <code>checkpointInterval</code> records, so a long reading that
+ * fails can be resumed from the last checkpoint instead of from the beginning of the file.
+ * <p>
+ * Every checkpoint contains the offset of the next record, the number of the records already read and the state returned
+ * by the state supplier, for instance the totals computed with the records already read. A checkpoint is saved before a
+ * record is read, so the state must contain the processing of all the records returned until then. When the reader is
+ * created and the checkpoint file exists, the reading starts from the offset of the checkpoint and the state of the checkpoint
+ * is returned by {@link #getResumedCheckpoint()}, to restore the processing. If the charset has single byte chars, the offset
+ * of the checkpoint is the position in the file, so the file is read from there without reading the previous records,
+ * otherwise the previous chars are skipped without decoding them.
+ * <p>
+ * When the processing of all the records is completed, the checkpoint file must be deleted with {@link #deleteCheckpoint()},
+ * otherwise the next reading is resumed from the last checkpoint. A checkpoint file not valid for the data file throws a
+ * <code>RecordException</code> with error code <code>ErrorCode.RE49</code>. An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ * @param <S> the type of the state of the processing of the records
+ */
+public class CheckpointReader<T, S extends Serializable> implements Closeable {
+	/**
+	 * The default number of the records read between two checkpoints
+	 */
+	public static final long DEF_CHECKPOINT_INTERVAL = 100000;
+
+	private final FixefidReader<T> reader;
+	private final Path checkpointPath;
+	private final long checkpointInterval;
+	private final Supplier<? extends S> stateSupplier;
+	private final FixefidCheckpoint<S> resumedCheckpoint;
+	private long checkpointRecordNumber;
+
+	/**
+	 * Create a new <code>CheckpointReader</code> for the java bean class indicated by the <code>beanClass</code> param,
+	 * with the records terminated by a new line and the default checkpoint interval
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @param checkpointPath the path of the checkpoint file
+	 * @param stateSupplier the supplier of the state saved with every checkpoint, or null
+	 * @throws IOException if a file can't be read
+	 * @throws RecordException if the checkpoint file is not valid
+	 */
+	public CheckpointReader(Path path, Charset charset, Class<T> beanClass, Path checkpointPath, Supplier<? extends S> stateSupplier)
+			throws IOException, RecordException {
+		this(path, charset, new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE, checkpointPath, DEF_CHECKPOINT_INTERVAL, stateSupplier);
+	}
+
+	/**
+	 * Create a new <code>CheckpointReader</code> with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param checkpointPath the path of the checkpoint file
+	 * @param checkpointInterval the number of the records read between two checkpoints
+	 * @param stateSupplier the supplier of the state saved with every checkpoint, or null
+	 * @throws IOException if a file can't be read
+	 * @throws RecordException if the checkpoint file is not valid
+	 */
+	public CheckpointReader(Path path, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter, Path checkpointPath,
+			long checkpointInterval, Supplier<? extends S> stateSupplier) throws IOException, RecordException {
+		if (checkpointInterval < 1) {
+			throw new IllegalArgumentException("Not valid checkpoint interval=[" + checkpointInterval + "]");
+		}
+
+		this.checkpointPath = checkpointPath;
+		this.checkpointInterval = checkpointInterval;
+		this.stateSupplier = stateSupplier;
+		this.resumedCheckpoint = FixefidCheckpoint.<S>load(checkpointPath, codec.getRecordLen());
+
+		long offset = resumedCheckpoint != null ? resumedCheckpoint.getOffset() : 0;
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			if (offset > channel.size()) {
+				throw FixefidCheckpoint.notValidCheckpoint(checkpointPath, "offset=[" + offset + "] beyond the end of the file " + path, null);
+			}
+
+			boolean singleByte = charset.newEncoder().maxBytesPerChar() == 1;
+			if (singleByte) {
+				channel.position(offset);
+			}
+
+			Reader in = Channels.newReader(channel, charset.newDecoder(), -1);
+			if (!singleByte) {
+				skipFully(in, offset, checkpointPath);
+			}
+
+			this.reader = new FixefidReader<T>(in, codec, recordDelimiter);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+
+		if (resumedCheckpoint != null) {
+			reader.resumeAt(offset, resumedCheckpoint.getRecordNumber());
+			checkpointRecordNumber = resumedCheckpoint.getRecordNumber();
+		}
+	}
+
+	private static void skipFully(Reader in, long chars, Path checkpointPath) throws IOException {
+		long remaining = chars;
+		while (remaining > 0) {
+			long skipped = in.skip(remaining);
+			if (skipped <= 0) {
+				throw FixefidCheckpoint.notValidCheckpoint(checkpointPath, "offset=[" + chars + "] beyond the end of the file", null);
+			}
+
+			remaining -= skipped;
+		}
+	}
+
+	/**
+	 * @return the checkpoint the reading has been resumed from, or null if the reading started from the beginning of the file
+	 */
+	public FixefidCheckpoint<S> getResumedCheckpoint() {
+		return resumedCheckpoint;
+	}
+
+	/**
+	 * @return the number of the last read record, starting from 1, counting the records read before the resumed checkpoint
+	 */
+	public long getRecordNumber() {
+		return reader.getRecordNumber();
+	}
+
+	/**
+	 * @return the offset, in chars, of the last read record
+	 */
+	public long getRecordOffset() {
+		return reader.getRecordOffset();
+	}
+
+	/**
+	 * Read the next record into a new instance of the java bean. If <code>checkpointInterval</code> records have been
+	 * read since the last checkpoint, a new checkpoint is saved before reading the record
+	 *
+	 * @return the new instance of the java bean, or null if the end of the file has been reached
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the record is not valid
+	 */
+	public T read() throws IOException, RecordException {
+		if (reader.getRecordNumber() - checkpointRecordNumber >= checkpointInterval) {
+			checkpoint();
+		}
+
+		return reader.read();
+	}
+
+	/**
+	 * Save a new checkpoint, with the offset of the next record and the state returned by the state supplier
+	 *
+	 * @return the saved checkpoint
+	 * @throws IOException if the checkpoint file can't be written
+	 */
+	public FixefidCheckpoint<S> checkpoint() throws IOException {
+		FixefidCheckpoint<S> checkpoint = new FixefidCheckpoint<S>(reader.getOffset(), reader.getRecordNumber(),
+			stateSupplier != null ? stateSupplier.get() : null);
+		checkpoint.save(checkpointPath, reader.getCodec().getRecordLen());
+		checkpointRecordNumber = checkpoint.getRecordNumber();
+		return checkpoint;
+	}
+
+	/**
+	 * Delete the checkpoint file, when the processing of all the records has been completed, so the next reading starts
+	 * from the beginning of the file
+	 *
+	 * @throws IOException if the checkpoint file can't be deleted
+	 */
+	public void deleteCheckpoint() throws IOException {
+		Files.deleteIfExists(checkpointPath);
+	}
+
+	/**
+	 * Close the file of the records. No checkpoint is saved
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,53 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.math.BigDecimal;
+
+/**
+ * The <code>DecimalColumn</code> contains the values of a numeric field with decimals of all the records of a file
+ * (see {@link FixefidColumns}), as unscaled longs with the same scale: for instance 1.86 is stored as 186 if the scale is 2.
+ * An empty value is stored as 0.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public final class DecimalColumn {
+	private final long[] unscaledValues;
+	private final int scale;
+
+	DecimalColumn(long[] unscaledValues, int scale) {
+		this.unscaledValues = unscaledValues;
+		this.scale = scale;
+	}
+
+	/**
+	 * @return the number of the values
+	 */
+	public int size() {
+		return unscaledValues.length;
+	}
+
+	/**
+	 * @return the scale of the values
+	 */
+	public int getScale() {
+		return scale;
+	}
+
+	/**
+	 * @return the unscaled values, in the order of the records. The array is not copied
+	 */
+	public long[] getUnscaledValues() {
+		return unscaledValues;
+	}
+
+	/**
+	 * Returns the value of the record with the <code>index</code> param
+	 *
+	 * @param index the index of the record, starting from 0
+	 * @return the value of the record
+	 */
+	public BigDecimal get(int index) {
+		return BigDecimal.valueOf(unscaledValues[index], scale);
+	}
+}
@@ -0,0 +1,86 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The <code>DictionaryColumn</code> contains the values of an alphanumeric field of all the records of a file
+ * (see {@link FixefidColumns}), encoded with a dictionary: every distinct value is stored only once in the dictionary,
+ * and every record stores the code of its value, that is the index of the value in the dictionary. The codes are assigned
+ * in the order of the first occurrence of the values in the file.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public final class DictionaryColumn {
+	private final int[] codes;
+	private final String[] dictionary;
+	private Map<String, Integer> codesByValue;
+
+	DictionaryColumn(int[] codes, String[] dictionary) {
+		this.codes = codes;
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * @return the number of the values
+	 */
+	public int size() {
+		return codes.length;
+	}
+
+	/**
+	 * @return the codes of the values, in the order of the records. The array is not copied
+	 */
+	public int[] getCodes() {
+		return codes;
+	}
+
+	/**
+	 * @return the number of the distinct values
+	 */
+	public int getDictionarySize() {
+		return dictionary.length;
+	}
+
+	/**
+	 * Returns the value with the <code>code</code> param
+	 *
+	 * @param code the code of the value
+	 * @return the value
+	 */
+	public String getValue(int code) {
+		return dictionary[code];
+	}
+
+	/**
+	 * Returns the code of the <code>value</code> param, to compare the codes of the records instead of their values
+	 *
+	 * @param value the value
+	 * @return the code of the value, or -1 if no record has the value
+	 */
+	public int codeOf(String value) {
+		if (codesByValue == null) {
+			Map<String, Integer> map = new HashMap<String, Integer>(dictionary.length * 2);
+			for (int i = 0; i < dictionary.length; i++) {
+				map.put(dictionary[i], i);
+			}
+
+			codesByValue = map;
+		}
+
+		Integer code = codesByValue.get(value);
+		return code != null ? code : -1;
+	}
+
+	/**
+	 * Returns the value of the record with the <code>index</code> param
+	 *
+	 * @param index the index of the record, starting from 0
+	 * @return the value of the record
+	 */
+	public String get(int index) {
+		return dictionary[codes[index]];
+	}
+}
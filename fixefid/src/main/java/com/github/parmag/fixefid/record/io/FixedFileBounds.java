@@ -0,0 +1,110 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The bounds of the records of a fixed-length file: every record has the same len, so the record with index n starts at
+ * the byte <code>n * (recordLen + eol)</code>, where <code>eol</code> is the len of the new line (0, 1 or 2 bytes) detected
+ * from the first record. The last record may have no new line.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+final class FixedFileBounds {
+	private static final byte NEW_LINE = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+
+	private final long size;
+	private final int recordLen;
+	private final int eolLen;
+	private final long recordCount;
+
+	/**
+	 * Detect the bounds of the records of the file opened by the <code>channel</code> param
+	 *
+	 * @param channel the channel of the file
+	 * @param path the path of the file, for the error messages
+	 * @param recordLen the record len, in bytes
+	 * @param recordDelimiter how the records are delimited
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	FixedFileBounds(FileChannel channel, Path path, int recordLen, RecordDelimiter recordDelimiter) throws IOException, RecordException {
+		this.size = channel.size();
+		this.recordLen = recordLen;
+		this.eolLen = RecordDelimiter.NONE.equals(recordDelimiter) ? 0 : detectEolLen(channel);
+		int stride = recordLen + eolLen;
+		long wholeRecords = size / stride;
+		long rest = size % stride;
+		if (rest == 0) {
+			this.recordCount = wholeRecords;
+		} else if (rest == recordLen) {
+			this.recordCount = wholeRecords + 1;
+		} else {
+			throw new RecordException(ErrorCode.RE43, "Not valid size=[" + size + "] of file " + path + ". Expected a multiple of record len=[" +
+				recordLen + "] plus new line len=[" + eolLen + "]");
+		}
+	}
+
+	private int detectEolLen(FileChannel channel) throws IOException {
+		if (size <= recordLen) {
+			return 1;
+		}
+
+		ByteBuffer eol = ByteBuffer.allocate(1);
+		channel.read(eol, recordLen);
+		byte b = eol.get(0);
+		if (b == NEW_LINE) {
+			return 1;
+		} else if (b == CARRIAGE_RETURN) {
+			return 2;
+		} else {
+			throw new RecordException(ErrorCode.RE43, "Not found new line after the first record. Expected record len=[" + recordLen + "]");
+		}
+	}
+
+	/**
+	 * @return the size of the file, in bytes
+	 */
+	long getSize() {
+		return size;
+	}
+
+	/**
+	 * @return the len of the new line, in bytes
+	 */
+	int getEolLen() {
+		return eolLen;
+	}
+
+	/**
+	 * @return the record len plus the new line len, in bytes
+	 */
+	int getStride() {
+		return recordLen + eolLen;
+	}
+
+	/**
+	 * @return the number of the records of the file
+	 */
+	long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Returns the offset, in bytes, of the record indicated by the <code>index</code> param
+	 *
+	 * @param index the index of the record, starting from 0
+	 * @return the offset, in bytes, of the record
+	 */
+	long getRecordOffset(long index) {
+		return index * getStride();
+	}
+}
@@ -0,0 +1,133 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>FixedFileSpliterator</code> traverses a range of the records of a fixed-length file. The size of the range is
+ * known, so the spliterator is <code>SIZED</code> and <code>SUBSIZED</code>, and it's split in halves by record count.
+ * The records are read in blocks of whole records with positional reads, only when they are consumed.
+ * <p>
+ * Every spliterator decodes with its own copy of the compiled layout, created when the spliterator is split.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+final class FixedFileSpliterator<T> implements Spliterator<T> {
+	private static final int MIN_SPLIT_RECORDS = 1024;
+
+	private final FileChannel channel;
+	private final FixedFileBounds bounds;
+	private final ByteRecordCodec<T> byteCodec;
+	private final int blockSize;
+	private long index;
+	private final long end;
+	private ByteBuffer block;
+	private long blockIndex;
+	private int blockRecords;
+
+	/**
+	 * Create a new <code>FixedFileSpliterator</code> for the records with index from the <code>index</code> param (inclusive)
+	 * to the <code>end</code> param (exclusive)
+	 *
+	 * @param channel the channel of the file
+	 * @param bounds the bounds of the records of the file
+	 * @param byteCodec the compiled layout used only by this spliterator
+	 * @param blockSize the size of a block, in bytes. It's extended to contain at least a record
+	 * @param index the index of the first record
+	 * @param end the index after the last record
+	 */
+	FixedFileSpliterator(FileChannel channel, FixedFileBounds bounds, ByteRecordCodec<T> byteCodec, int blockSize, long index, long end) {
+		this.channel = channel;
+		this.bounds = bounds;
+		this.byteCodec = byteCodec;
+		this.blockSize = blockSize;
+		this.index = index;
+		this.end = end;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (index >= end) {
+			return false;
+		}
+
+		if (block == null || index >= blockIndex + blockRecords) {
+			readBlock();
+		}
+
+		int offset = (int) (index - blockIndex) * bounds.getStride();
+		T bean;
+		try {
+			bean = byteCodec.decode(block, offset, byteCodec.getCodec().newBean());
+		} catch (RecordException re) {
+			throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (index + 1) + "] at offset=[" +
+				bounds.getRecordOffset(index) + "]. Cause: " + re.getMessage(), re);
+		}
+
+		index++;
+		action.accept(bean);
+		return true;
+	}
+
+	private void readBlock() {
+		int stride = bounds.getStride();
+		int records = (int) Math.min(Math.max(1, blockSize / stride), end - index);
+		long position = bounds.getRecordOffset(index);
+		int len = (int) Math.min((long) records * stride, bounds.getSize() - position);
+		if (block == null || block.capacity() < len) {
+			block = ByteBuffer.allocate(len);
+		}
+
+		((Buffer) block).clear();
+		((Buffer) block).limit(len);
+		try {
+			while (block.hasRemaining()) {
+				if (channel.read(block, position + block.position()) < 0) {
+					throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (index + 1) + "] at offset=[" + position +
+						"]. Cause: unexpected end of file");
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		blockIndex = index;
+		blockRecords = records;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		long remaining = end - index;
+		if (remaining < 2 * MIN_SPLIT_RECORDS) {
+			return null;
+		}
+
+		long mid = index + remaining / 2;
+		FixedFileSpliterator<T> prefix = new FixedFileSpliterator<T>(channel, bounds, byteCodec.copy(), blockSize, index, mid);
+		index = mid;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	}
+}
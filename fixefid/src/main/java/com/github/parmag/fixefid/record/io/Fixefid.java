@@ -0,0 +1,110 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>Fixefid</code> gives the records of a fixed-length file as a <code>java.util.stream.Stream</code> of java beans.
+ * <p>
+ * Every record has the same len, so the stream is backed by a spliterator that knows the number of the records
+ * (<code>SIZED</code> and <code>SUBSIZED</code>) and is split by record count: a parallel stream divides the file between
+ * the threads of the <code>ForkJoinPool.commonPool()</code> without scanning it. The records are read in blocks only when
+ * they are consumed, so an operation like <code>limit</code> or <code>findFirst</code> stops the reading early.
+ * <p>
+ * The layout of the java bean is compiled only once (see {@link BeanRecordCodec}) and every split of the stream decodes
+ * the records straight from the bytes with its own copy of the layout (see {@link ByteRecordCodec}).
+ * <p>
+ * The stream holds the file open, so it must be closed, for instance with a try-with-resources statement.
+ * A not valid record throws a <code>RecordException</code> with error code <code>ErrorCode.RE41</code>, and an
+ * I/O error throws an <code>UncheckedIOException</code>.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public final class Fixefid {
+	/**
+	 * The default size of the blocks read by the stream, in bytes
+	 */
+	public static final int DEF_BLOCK_SIZE = 64 * 1024;
+
+	private Fixefid() {
+	}
+
+	/**
+	 * Returns a stream of the records of the file indicated by the <code>path</code> param, in UTF-8 and terminated by a new line
+	 *
+	 * @param <T> the type of the java bean
+	 * @param path the path of the file of the records
+	 * @param beanClass the class of the java bean
+	 * @return the stream of the java beans, to close after the use
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public static <T> Stream<T> stream(Path path, Class<T> beanClass) throws IOException, RecordException {
+		return stream(path, StandardCharsets.UTF_8, beanClass);
+	}
+
+	/**
+	 * Returns a stream of the records of the file indicated by the <code>path</code> param, terminated by a new line
+	 *
+	 * @param <T> the type of the java bean
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @return the stream of the java beans, to close after the use
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public static <T> Stream<T> stream(Path path, Charset charset, Class<T> beanClass) throws IOException, RecordException {
+		return stream(path, charset, new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE);
+	}
+
+	/**
+	 * Returns a stream of the records of the file indicated by the <code>path</code> param, with the compiled layout
+	 * indicated by the <code>codec</code> param
+	 *
+	 * @param <T> the type of the java bean
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @return the stream of the java beans, to close after the use
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public static <T> Stream<T> stream(Path path, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter)
+			throws IOException, RecordException {
+		ByteRecordCodec<T> byteCodec = new ByteRecordCodec<T>(codec, charset);
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			FixedFileBounds bounds = new FixedFileBounds(channel, path, codec.getRecordLen(), recordDelimiter);
+			FixedFileSpliterator<T> spliterator = new FixedFileSpliterator<T>(channel, bounds, byteCodec, DEF_BLOCK_SIZE, 0,
+				bounds.getRecordCount());
+			return StreamSupport.stream(spliterator, false).onClose(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						channel.close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+			});
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,713 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordCursor;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>FixefidAggregator</code> groups the records by the values of the key fields and computes the aggregations
+ * (count, sum, min, max and average, see {@link Aggregation}) of every group, reading the records as a stream, without
+ * creating a java bean for every record. For example:
+ * <pre>
+ * try (FixefidAggregator aggregator = new FixefidAggregator(Arrays.asList("branch"), Arrays.asList(Aggregation.count(), Aggregation.sum("amount")));
+ *         FixefidReader&lt;Movement&gt; reader = new FixefidReader&lt;Movement&gt;(path, StandardCharsets.ISO_8859_1, Movement.class)) {
+ *     aggregator.aggregate(reader);
+ *     aggregator.forEachGroup(group -&gt; System.out.println(group.getKey(0) + " " + group.getValue(1)));
+ * }
+ * </pre>
+ * <p>
+ * The records of a fixed-length file are read from the buffer of a {@link FixefidReader}, without decoding them: the key
+ * is the chars of the key fields, and the values of the numeric fields are read as unscaled longs with a {@link RecordCursor}.
+ * The records of a CSV file are read as java beans from a {@link ParallelCSVReader}, because the fields of a CSV record have
+ * no fixed offsets: the key is the values of the key properties, and the scale of the values of a numeric property is the
+ * scale of its field (see {@link ParallelCSVReader#getFieldScale(String)}). An empty value is aggregated as 0.
+ * <p>
+ * The groups are kept in a hash table with open addressing. When the number of the groups is greater than
+ * <code>maxGroups</code>, the groups are spilled with their partial aggregations to temporary files, partitioned by the hash
+ * of the key, and every partition is aggregated alone when the groups are delivered (partitioned again if it has still too
+ * many groups). An overflow of a sum throws a <code>RecordException</code> with error code <code>ErrorCode.RE51</code>.
+ * An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public class FixefidAggregator implements Closeable {
+	/**
+	 * The default max number of the groups kept in memory
+	 */
+	public static final int DEF_MAX_GROUPS = 1024 * 1024;
+
+	private static final int PARTITION_BITS = 4;
+	private static final int PARTITIONS = 1 << PARTITION_BITS;
+	private static final int MAX_LEVEL = 32 / PARTITION_BITS - 2;
+	private static final int SPILL_BUFFER_SIZE = 64 * 1024;
+	private static final char SPACE = ' ';
+
+	private final List<String> keyFieldNames;
+	private final List<Aggregation> aggregations;
+	private final int maxGroups;
+	private final Path tempDir;
+	private final GroupTable table;
+	private final int[] scales;
+	private final long[] values;
+	private char[] key = new char[64];
+	private int keyLen;
+	private PartitionFiles partitions;
+
+	private BeanRecordCodec<?> codec;
+	private RecordCursor cursor;
+	private int[] keyFieldIndexes;
+	private int[] keyOffsets;
+	private int[] keyLens;
+	private int[] measureIndexes;
+	private char[] keyRecord;
+
+	private Class<?> beanClass;
+	private java.lang.reflect.Field[] keyProperties;
+	private java.lang.reflect.Field[] measureProperties;
+
+	/**
+	 * Create a new <code>FixefidAggregator</code> with at most <code>DEF_MAX_GROUPS</code> groups in memory
+	 *
+	 * @param keyFieldNames the names of the key fields
+	 * @param aggregations the aggregations computed for every group
+	 */
+	public FixefidAggregator(List<String> keyFieldNames, List<Aggregation> aggregations) {
+		this(keyFieldNames, aggregations, DEF_MAX_GROUPS, null);
+	}
+
+	/**
+	 * Create a new <code>FixefidAggregator</code>
+	 *
+	 * @param keyFieldNames the names of the key fields
+	 * @param aggregations the aggregations computed for every group
+	 * @param maxGroups the max number of the groups kept in memory
+	 * @param tempDir the directory of the temporary files, or null for the default temporary directory
+	 */
+	public FixefidAggregator(List<String> keyFieldNames, List<Aggregation> aggregations, int maxGroups, Path tempDir) {
+		if (keyFieldNames == null || keyFieldNames.isEmpty() || aggregations == null || aggregations.isEmpty()) {
+			throw new IllegalArgumentException("Not valid aggregator: the key fields and the aggregations must not be empty");
+		}
+
+		this.keyFieldNames = new ArrayList<String>(keyFieldNames);
+		this.aggregations = new ArrayList<Aggregation>(aggregations);
+		this.maxGroups = Math.max(1, maxGroups);
+		this.tempDir = tempDir;
+		this.table = new GroupTable(1 + aggregations.size());
+		this.scales = new int[aggregations.size()];
+		this.values = new long[aggregations.size()];
+		Arrays.fill(scales, -1);
+	}
+
+	/**
+	 * @return the names of the key fields
+	 */
+	public List<String> getKeyFieldNames() {
+		return Collections.unmodifiableList(keyFieldNames);
+	}
+
+	/**
+	 * @return the aggregations computed for every group
+	 */
+	public List<Aggregation> getAggregations() {
+		return Collections.unmodifiableList(aggregations);
+	}
+
+	/**
+	 * Aggregate all the remaining records of the <code>reader</code> param. The records skipped by the filter of the reader
+	 * are not aggregated (see {@link FixefidReader#setFilter(com.github.parmag.fixefid.record.RecordFilter)})
+	 *
+	 * @param reader the reader of the records
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a field is unknown or a record is not valid
+	 */
+	public void aggregate(FixefidReader<?> reader) throws IOException, RecordException {
+		bindLayout(reader.getCodec());
+		while (reader.next()) {
+			char[] chars = reader.currentChars();
+			int start = reader.currentStart();
+			keyLen = 0;
+			for (int k = 0; k < keyOffsets.length; k++) {
+				appendKey(chars, start + keyOffsets[k], keyLens[k]);
+			}
+
+			cursor.position(chars, start);
+			try {
+				for (int a = 0; a < measureIndexes.length; a++) {
+					values[a] = measureIndexes[a] >= 0 ? cursor.getUnscaled(measureIndexes[a]) : 0;
+				}
+			} catch (RecordException re) {
+				throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + reader.getRecordNumber() + "] at offset=[" +
+					reader.getRecordOffset() + "]. Cause: " + re.getMessage(), re);
+			}
+
+			add();
+		}
+	}
+
+	/**
+	 * Aggregate all the records of the <code>reader</code> param, decoded in parallel and aggregated on the calling thread
+	 * in the order of the file
+	 *
+	 * @param <T> the type of the java bean
+	 * @param reader the reader of the CSV records
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a field is unknown, a value is not a number or a record is not valid
+	 */
+	public <T> void aggregate(ParallelCSVReader<T> reader) throws IOException, RecordException {
+		bindBeanClass(reader);
+		try {
+			reader.forEachOrdered(bean -> {
+				keyLen = 0;
+				for (java.lang.reflect.Field keyProperty : keyProperties) {
+					Object value = propertyValue(keyProperty, bean);
+					String s = value != null ? value.toString() : "";
+					appendKey(s.toCharArray(), 0, s.length());
+				}
+
+				for (int a = 0; a < measureProperties.length; a++) {
+					values[a] = measureProperties[a] != null ? unscaled(a, propertyValue(measureProperties[a], bean)) : 0;
+				}
+
+				try {
+					add();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void bindLayout(BeanRecordCodec<?> codec) {
+		if (beanClass != null || (this.codec != null && this.codec.getRecordLen() != codec.getRecordLen())) {
+			throw new IllegalStateException("Not valid input: the aggregator has already aggregated the records of another layout");
+		}
+
+		RecordCursor cursor = new RecordCursor(codec);
+		int[] keyFieldIndexes = new int[keyFieldNames.size()];
+		for (int k = 0; k < keyFieldIndexes.length; k++) {
+			keyFieldIndexes[k] = cursor.fieldIndex(keyFieldNames.get(k));
+		}
+
+		int[] measureIndexes = new int[aggregations.size()];
+		for (int a = 0; a < measureIndexes.length; a++) {
+			String fieldName = aggregations.get(a).getFieldName();
+			measureIndexes[a] = fieldName != null ? cursor.fieldIndex(fieldName) : -1;
+			scales[a] = fieldName != null ? cursor.getScale(measureIndexes[a]) : 0;
+		}
+
+		this.codec = codec;
+		this.cursor = cursor;
+		this.keyFieldIndexes = keyFieldIndexes;
+		this.keyOffsets = FixefidSorter.keyOffsets(codec, keyFieldNames);
+		this.keyLens = FixefidSorter.keyLens(codec, keyFieldNames);
+		this.measureIndexes = measureIndexes;
+		this.keyRecord = new char[codec.getRecordLen()];
+	}
+
+	private void bindBeanClass(ParallelCSVReader<?> reader) {
+		Class<?> beanClass = reader.getBeanClass();
+		if (codec != null || (this.beanClass != null && !this.beanClass.equals(beanClass))) {
+			throw new IllegalStateException("Not valid input: the aggregator has already aggregated the records of another layout");
+		}
+
+		java.lang.reflect.Field[] keyProperties = new java.lang.reflect.Field[keyFieldNames.size()];
+		for (int k = 0; k < keyProperties.length; k++) {
+			keyProperties[k] = property(beanClass, keyFieldNames.get(k));
+		}
+
+		java.lang.reflect.Field[] measureProperties = new java.lang.reflect.Field[aggregations.size()];
+		for (int a = 0; a < measureProperties.length; a++) {
+			String fieldName = aggregations.get(a).getFieldName();
+			measureProperties[a] = fieldName != null ? property(beanClass, fieldName) : null;
+			scales[a] = fieldName != null ? reader.getFieldScale(fieldName) : 0;
+		}
+
+		this.beanClass = beanClass;
+		this.keyProperties = keyProperties;
+		this.measureProperties = measureProperties;
+	}
+
+	private static java.lang.reflect.Field property(Class<?> beanClass, String fieldName) {
+		for (Class<?> c = beanClass; c != null && !Object.class.equals(c); c = c.getSuperclass()) {
+			try {
+				java.lang.reflect.Field field = c.getDeclaredField(fieldName);
+				field.setAccessible(true);
+				return field;
+			} catch (NoSuchFieldException e) {
+				// look up the superclass
+			}
+		}
+
+		throw new RecordException(ErrorCode.RE9, "Unknown fieldName=[" + fieldName + "] of the class " + beanClass.getName());
+	}
+
+	private static Object propertyValue(java.lang.reflect.Field property, Object bean) {
+		try {
+			return property.get(bean);
+		} catch (IllegalAccessException e) {
+			throw new RecordException(ErrorCode.RE1, "Cannot get the value of the field " + property.getName(), e);
+		}
+	}
+
+	private long unscaled(int aggregationIndex, Object value) {
+		if (value == null) {
+			return 0;
+		} else if (!(value instanceof Number)) {
+			throw new RecordException(ErrorCode.RE51, "Not valid value=[" + value + "] of field=[" +
+				aggregations.get(aggregationIndex).getFieldName() + "]: it's not a number");
+		}
+
+		BigDecimal decimal = value instanceof BigDecimal ? (BigDecimal) value : (value instanceof Double || value instanceof Float ?
+			BigDecimal.valueOf(((Number) value).doubleValue()) : BigDecimal.valueOf(((Number) value).longValue()));
+		try {
+			return decimal.setScale(scales[aggregationIndex], RoundingMode.HALF_UP).unscaledValue().longValueExact();
+		} catch (ArithmeticException e) {
+			throw overflow(aggregationIndex, e);
+		}
+	}
+
+	private void appendKey(char[] chars, int offset, int len) {
+		if (keyLen + len + 1 > key.length) {
+			key = Arrays.copyOf(key, Math.max(key.length * 2, keyLen + len + 1));
+		}
+
+		key[keyLen++] = (char) len;
+		System.arraycopy(chars, offset, key, keyLen, len);
+		keyLen += len;
+	}
+
+	/**
+	 * Add the record with the current key and values to its group
+	 */
+	private void add() throws IOException {
+		int hash = hash(key, 0, keyLen);
+		int group = table.find(key, 0, keyLen, hash);
+		if (group >= 0) {
+			long[] data = table.data;
+			int base = group * table.stride;
+			data[base]++;
+			for (int a = 0; a < values.length; a++) {
+				data[base + 1 + a] = combine(a, data[base + 1 + a], values[a]);
+			}
+
+			return;
+		}
+
+		if (table.size() >= maxGroups) {
+			if (partitions == null) {
+				partitions = new PartitionFiles(0);
+			}
+
+			partitions.write(table);
+			table.clear();
+		}
+
+		group = table.insert(key, 0, keyLen, hash);
+		long[] data = table.data;
+		int base = group * table.stride;
+		data[base] = 1;
+		System.arraycopy(values, 0, data, base + 1, values.length);
+	}
+
+	private long combine(int aggregationIndex, long acc, long value) {
+		switch (aggregations.get(aggregationIndex).getFunction()) {
+		case MIN:
+			return Math.min(acc, value);
+		case MAX:
+			return Math.max(acc, value);
+		case COUNT:
+			return 0;
+		default:
+			try {
+				return Math.addExact(acc, value);
+			} catch (ArithmeticException e) {
+				throw overflow(aggregationIndex, e);
+			}
+		}
+	}
+
+	private RecordException overflow(int aggregationIndex, ArithmeticException e) {
+		return new RecordException(ErrorCode.RE51, "Not valid aggregation=[" + aggregations.get(aggregationIndex) + "]: overflow of long", e);
+	}
+
+	private static int hash(char[] chars, int offset, int len) {
+		int h = 1;
+		for (int i = offset; i < offset + len; i++) {
+			h = 31 * h + chars[i];
+		}
+
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Deliver all the groups to the <code>consumer</code> param, in no particular order. Then the aggregator is empty and
+	 * can aggregate other records
+	 *
+	 * @param consumer the consumer of the groups
+	 * @return the number of the groups
+	 * @throws IOException if a temporary file can't be read
+	 * @throws RecordException if a key is not valid
+	 */
+	public long forEachGroup(Consumer<? super AggregateGroup> consumer) throws IOException, RecordException {
+		try {
+			if (partitions == null) {
+				return emit(consumer);
+			}
+
+			PartitionFiles spilled = partitions;
+			spilled.write(table);
+			table.clear();
+			spilled.close();
+			long groups = 0;
+			for (int p = 0; p < PARTITIONS; p++) {
+				if (spilled.paths[p] != null) {
+					groups += merge(spilled, p, 1, consumer);
+				}
+			}
+
+			return groups;
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Aggregate the partial groups of the partition <code>p</code> of the <code>files</code> param and deliver them
+	 */
+	private long merge(PartitionFiles files, int p, int level, Consumer<? super AggregateGroup> consumer) throws IOException {
+		PartitionFiles subPartitions = null;
+		long[] partial = new long[table.stride];
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(files.paths[p]), SPILL_BUFFER_SIZE))) {
+			while (true) {
+				int len;
+				try {
+					len = in.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+
+				if (len > key.length) {
+					key = Arrays.copyOf(key, Math.max(key.length * 2, len));
+				}
+
+				for (int i = 0; i < len; i++) {
+					key[i] = in.readChar();
+				}
+
+				for (int i = 0; i < partial.length; i++) {
+					partial[i] = in.readLong();
+				}
+
+				int hash = hash(key, 0, len);
+				int group = table.find(key, 0, len, hash);
+				if (group >= 0) {
+					long[] data = table.data;
+					int base = group * table.stride;
+					data[base] = Math.addExact(data[base], partial[0]);
+					for (int a = 0; a < values.length; a++) {
+						data[base + 1 + a] = combine(a, data[base + 1 + a], partial[1 + a]);
+					}
+
+					continue;
+				}
+
+				if (table.size() >= maxGroups && level <= MAX_LEVEL) {
+					if (subPartitions == null) {
+						subPartitions = new PartitionFiles(level);
+					}
+
+					subPartitions.write(table);
+					table.clear();
+				}
+
+				group = table.insert(key, 0, len, hash);
+				System.arraycopy(partial, 0, table.data, group * table.stride, partial.length);
+			}
+		} finally {
+			Files.deleteIfExists(files.paths[p]);
+			files.paths[p] = null;
+		}
+
+		if (subPartitions == null) {
+			return emit(consumer);
+		}
+
+		long groups = 0;
+		try {
+			subPartitions.write(table);
+			table.clear();
+			subPartitions.close();
+			for (int sp = 0; sp < PARTITIONS; sp++) {
+				if (subPartitions.paths[sp] != null) {
+					groups += merge(subPartitions, sp, level + 1, consumer);
+				}
+			}
+		} finally {
+			subPartitions.delete();
+		}
+
+		return groups;
+	}
+
+	/**
+	 * Deliver the groups of the table and clear it
+	 */
+	private long emit(Consumer<? super AggregateGroup> consumer) {
+		int size = table.size();
+		for (int group = 0; group < size; group++) {
+			int base = group * table.stride;
+			long count = table.data[base];
+			BigDecimal[] groupValues = new BigDecimal[values.length];
+			for (int a = 0; a < groupValues.length; a++) {
+				long acc = table.data[base + 1 + a];
+				int scale = Math.max(0, scales[a]);
+				switch (aggregations.get(a).getFunction()) {
+				case COUNT:
+					groupValues[a] = BigDecimal.valueOf(count);
+					break;
+				case AVG:
+					groupValues[a] = BigDecimal.valueOf(acc, scale).divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
+					break;
+				default:
+					groupValues[a] = BigDecimal.valueOf(acc, scale);
+				}
+			}
+
+			consumer.accept(new AggregateGroup(keys(group), count, groupValues));
+		}
+
+		table.clear();
+		return size;
+	}
+
+	private String[] keys(int group) {
+		char[] pool = table.keyPool;
+		int offset = table.keyOffsets[group];
+		String[] keys = new String[keyFieldNames.size()];
+		if (codec != null) {
+			Arrays.fill(keyRecord, SPACE);
+		}
+
+		for (int k = 0; k < keys.length; k++) {
+			int len = pool[offset++];
+			if (codec != null) {
+				System.arraycopy(pool, offset, keyRecord, keyOffsets[k], len);
+			} else {
+				keys[k] = new String(pool, offset, len);
+			}
+
+			offset += len;
+		}
+
+		if (codec != null) {
+			cursor.position(keyRecord, 0);
+			for (int k = 0; k < keys.length; k++) {
+				keys[k] = cursor.getString(keyFieldIndexes[k]);
+			}
+		}
+
+		return keys;
+	}
+
+	/**
+	 * Delete the temporary files and clear the groups
+	 *
+	 * @throws IOException if a temporary file can't be deleted
+	 */
+	@Override
+	public void close() throws IOException {
+		table.clear();
+		PartitionFiles spilled = partitions;
+		partitions = null;
+		if (spilled != null) {
+			spilled.delete();
+		}
+	}
+
+	/**
+	 * The hash table of the groups, with open addressing and linear probing. The keys are stored in a pool of chars and
+	 * the count and the aggregations of every group in an array of longs
+	 */
+	private static final class GroupTable {
+		private final int stride;
+		private int[] slots = new int[64];
+		private int[] hashes = new int[32];
+		private int[] keyOffsets = new int[32];
+		private int[] keyLens = new int[32];
+		private char[] keyPool = new char[1024];
+		private long[] data;
+		private int keyPoolLen;
+		private int size;
+
+		GroupTable(int stride) {
+			this.stride = stride;
+			this.data = new long[32 * stride];
+		}
+
+		int size() {
+			return size;
+		}
+
+		int find(char[] key, int offset, int len, int hash) {
+			int mask = slots.length - 1;
+			for (int i = hash & mask; slots[i] != 0; i = (i + 1) & mask) {
+				int group = slots[i] - 1;
+				if (hashes[group] == hash && equalsKey(group, key, offset, len)) {
+					return group;
+				}
+			}
+
+			return -1;
+		}
+
+		private boolean equalsKey(int group, char[] key, int offset, int len) {
+			if (keyLens[group] != len) {
+				return false;
+			}
+
+			int groupOffset = keyOffsets[group];
+			for (int i = 0; i < len; i++) {
+				if (keyPool[groupOffset + i] != key[offset + i]) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		int insert(char[] key, int offset, int len, int hash) {
+			if (size == hashes.length) {
+				int capacity = hashes.length * 2;
+				hashes = Arrays.copyOf(hashes, capacity);
+				keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+				keyLens = Arrays.copyOf(keyLens, capacity);
+				data = Arrays.copyOf(data, capacity * stride);
+			}
+
+			if (size * 2 >= slots.length) {
+				rehash(slots.length * 2);
+			}
+
+			if (keyPoolLen + len > keyPool.length) {
+				keyPool = Arrays.copyOf(keyPool, Math.max(keyPool.length * 2, keyPoolLen + len));
+			}
+
+			int group = size++;
+			System.arraycopy(key, offset, keyPool, keyPoolLen, len);
+			hashes[group] = hash;
+			keyOffsets[group] = keyPoolLen;
+			keyLens[group] = len;
+			keyPoolLen += len;
+			Arrays.fill(data, group * stride, (group + 1) * stride, 0);
+			slot(group);
+			return group;
+		}
+
+		private void rehash(int capacity) {
+			slots = new int[capacity];
+			for (int group = 0; group < size; group++) {
+				slot(group);
+			}
+		}
+
+		private void slot(int group) {
+			int mask = slots.length - 1;
+			int i = hashes[group] & mask;
+			while (slots[i] != 0) {
+				i = (i + 1) & mask;
+			}
+
+			slots[i] = group + 1;
+		}
+
+		void clear() {
+			Arrays.fill(slots, 0);
+			size = 0;
+			keyPoolLen = 0;
+		}
+	}
+
+	/**
+	 * The temporary files of the partitions of the spilled groups, by the bits of the hash of the key for the level
+	 */
+	private final class PartitionFiles {
+		private final int level;
+		private final Path[] paths = new Path[PARTITIONS];
+		private final DataOutputStream[] outs = new DataOutputStream[PARTITIONS];
+
+		PartitionFiles(int level) {
+			this.level = level;
+		}
+
+		void write(GroupTable table) throws IOException {
+			for (int group = 0; group < table.size(); group++) {
+				int p = (table.hashes[group] >>> (32 - PARTITION_BITS * (level + 1))) & (PARTITIONS - 1);
+				DataOutputStream out = outs[p];
+				if (out == null) {
+					paths[p] = tempDir != null ? Files.createTempFile(tempDir, "fixefid", ".spill") : Files.createTempFile("fixefid", ".spill");
+					out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(paths[p]), SPILL_BUFFER_SIZE));
+					outs[p] = out;
+				}
+
+				int len = table.keyLens[group];
+				int offset = table.keyOffsets[group];
+				out.writeInt(len);
+				for (int i = 0; i < len; i++) {
+					out.writeChar(table.keyPool[offset + i]);
+				}
+
+				int base = group * table.stride;
+				for (int i = 0; i < table.stride; i++) {
+					out.writeLong(table.data[base + i]);
+				}
+			}
+		}
+
+		void close() throws IOException {
+			for (int p = 0; p < PARTITIONS; p++) {
+				if (outs[p] != null) {
+					outs[p].close();
+					outs[p] = null;
+				}
+			}
+		}
+
+		void delete() throws IOException {
+			try {
+				close();
+			} finally {
+				for (int p = 0; p < PARTITIONS; p++) {
+					if (paths[p] != null) {
+						Files.deleteIfExists(paths[p]);
+						paths[p] = null;
+					}
+				}
+			}
+		}
+	}
+}
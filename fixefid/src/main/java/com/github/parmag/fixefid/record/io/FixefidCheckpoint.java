@@ -0,0 +1,177 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>FixefidCheckpoint</code> is the position of a reading of a fixed-length file, with the state of the processing of
+ * the records read until that position: the offset of the next record, the number of the records already read and a
+ * serializable state supplied by the user, for instance the totals computed so far (see {@link CheckpointReader}).
+ * <p>
+ * The checkpoint is saved into a small file: the file is written aside and then moved to its path, so a crash while it's
+ * written leaves the previous checkpoint valid. A file that is not a checkpoint file, or that has been written for a layout
+ * with a different record len, throws a <code>RecordException</code> with error code <code>ErrorCode.RE49</code> when it's loaded.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <S> the type of the state
+ */
+public final class FixefidCheckpoint<S extends Serializable> {
+	private static final int MAGIC = 0x46584350;
+	private static final int VERSION = 1;
+
+	private final long offset;
+	private final long recordNumber;
+	private final S state;
+
+	/**
+	 * Create a new <code>FixefidCheckpoint</code>
+	 *
+	 * @param offset the offset, in chars, of the next record
+	 * @param recordNumber the number of the records already read
+	 * @param state the state of the processing of the records already read, or null
+	 */
+	public FixefidCheckpoint(long offset, long recordNumber, S state) {
+		if (offset < 0 || recordNumber < 0) {
+			throw new IllegalArgumentException("Not valid checkpoint offset=[" + offset + "] and record number=[" + recordNumber + "]");
+		}
+
+		this.offset = offset;
+		this.recordNumber = recordNumber;
+		this.state = state;
+	}
+
+	/**
+	 * @return the offset, in chars, of the next record
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return the number of the records already read
+	 */
+	public long getRecordNumber() {
+		return recordNumber;
+	}
+
+	/**
+	 * @return the state of the processing of the records already read, or null
+	 */
+	public S getState() {
+		return state;
+	}
+
+	/**
+	 * Save this checkpoint into the file indicated by the <code>path</code> param, replacing the previous checkpoint.
+	 * The file is written aside, forced to the storage device and then moved to its path
+	 *
+	 * @param path the path of the checkpoint file
+	 * @param recordLen the len of the records of the data file
+	 * @throws IOException if an I/O error occurs or the state can't be serialized
+	 */
+	public void save(Path path, int recordLen) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(recordLen);
+		out.writeLong(offset);
+		out.writeLong(recordNumber);
+		out.writeBoolean(state != null);
+		if (state != null) {
+			ObjectOutputStream oos = new ObjectOutputStream(out);
+			oos.writeObject(state);
+			oos.flush();
+		}
+
+		out.flush();
+
+		Path absolutePath = path.toAbsolutePath();
+		Path temp = Files.createTempFile(absolutePath.getParent(), "fixefid", ".checkpoint");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+
+				channel.force(true);
+			}
+
+			try {
+				Files.move(temp, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Load the checkpoint saved into the file indicated by the <code>path</code> param
+	 *
+	 * @param <S> the type of the state
+	 * @param path the path of the checkpoint file
+	 * @param recordLen the len of the records of the data file
+	 * @return the checkpoint, or null if the file doesn't exist
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the file is not a checkpoint file written for records with the same len
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S extends Serializable> FixefidCheckpoint<S> load(Path path, int recordLen) throws IOException, RecordException {
+		if (!Files.exists(path)) {
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw notValidCheckpoint(path, "not a checkpoint file", null);
+			}
+
+			if (in.readInt() != recordLen) {
+				throw notValidCheckpoint(path, "not written for records with len=[" + recordLen + "]", null);
+			}
+
+			long offset = in.readLong();
+			long recordNumber = in.readLong();
+			S state = null;
+			if (in.readBoolean()) {
+				state = (S) new ObjectInputStream(in).readObject();
+			}
+
+			return new FixefidCheckpoint<S>(offset, recordNumber, state);
+		} catch (EOFException | ClassNotFoundException | IllegalArgumentException | ClassCastException e) {
+			throw notValidCheckpoint(path, e.toString(), e);
+		}
+	}
+
+	static RecordException notValidCheckpoint(Path path, String cause, Throwable t) {
+		return new RecordException(ErrorCode.RE49, "Not valid checkpoint file " + path + ": " + cause, t);
+	}
+
+	@Override
+	public String toString() {
+		return "FixefidCheckpoint [offset=" + offset + ", recordNumber=" + recordNumber + ", state=" + state + "]";
+	}
+}
@@ -0,0 +1,399 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordCursor;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>FixefidColumns</code> contains the values of some fields of all the records of a fixed-length file, loaded
+ * into a column for every field: an <code>int[]</code> or a <code>long[]</code> for the numeric fields without decimal format,
+ * a {@link DecimalColumn} of unscaled longs for the numeric fields with decimal format (Double and Float fields too) and a
+ * {@link DictionaryColumn} for the alphanumeric fields (see {@link RecordCursor#getValueType(int)}). No java bean is created and the numbers are not boxed, so the memory used is close to the size of the
+ * loaded fields in the file.
+ * <p>
+ * The file is read in chunks of whole records and every chunk is loaded with a {@link RecordCursor}, on the calling thread
+ * or in parallel by the tasks of an executor, every task with its own copy of the compiled layout. With the parallel load,
+ * the values of the dictionary columns are encoded with a dictionary for every chunk, merged in the order of the file.
+ * <p>
+ * The records are read straight from the bytes, so the charset must have single byte chars and the len of the fields
+ * is in bytes. An empty numeric field is loaded as 0. A value not valid throws a <code>RecordException</code> with error
+ * code <code>ErrorCode.RE41</code>, with the record number and the offset (in bytes) of the record.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public final class FixefidColumns {
+	/**
+	 * The default size of a chunk, in bytes
+	 */
+	public static final int DEF_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	private final int recordCount;
+	private final Map<String, Object> columns;
+
+	private FixefidColumns(int recordCount, Map<String, Object> columns) {
+		this.recordCount = recordCount;
+		this.columns = columns;
+	}
+
+	/**
+	 * Load the fields indicated by the <code>fieldNames</code> param of all the records of the file indicated by the
+	 * <code>path</code> param, on the calling thread
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file, with single byte chars
+	 * @param codec the compiled layout of the records
+	 * @param recordDelimiter how the records are delimited
+	 * @param fieldNames the names of the fields to load
+	 * @return the columns of the fields
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a field is unknown, the file doesn't contain only whole records or a record is not valid
+	 */
+	public static FixefidColumns load(Path path, Charset charset, BeanRecordCodec<?> codec, RecordDelimiter recordDelimiter,
+			List<String> fieldNames) throws IOException, RecordException {
+		return load(path, charset, codec, recordDelimiter, fieldNames, null, DEF_CHUNK_SIZE);
+	}
+
+	/**
+	 * Load the fields indicated by the <code>fieldNames</code> param of all the records of the file indicated by the
+	 * <code>path</code> param, in parallel with the tasks of the <code>executor</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file, with single byte chars
+	 * @param codec the compiled layout of the records
+	 * @param recordDelimiter how the records are delimited
+	 * @param fieldNames the names of the fields to load
+	 * @param executor the executor of the tasks that load the chunks, for instance the <code>ForkJoinPool.commonPool()</code>,
+	 * or null to load the chunks on the calling thread
+	 * @param chunkSize the size of a chunk, in bytes. It's extended to contain at least a record
+	 * @return the columns of the fields
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a field is unknown, the file doesn't contain only whole records or a record is not valid
+	 */
+	public static FixefidColumns load(Path path, Charset charset, BeanRecordCodec<?> codec, RecordDelimiter recordDelimiter,
+			List<String> fieldNames, Executor executor, int chunkSize) throws IOException, RecordException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new Loader(channel, path, charset, codec, recordDelimiter, fieldNames, chunkSize).load(executor);
+		}
+	}
+
+	/**
+	 * @return the number of the records of the file
+	 */
+	public int getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * @return the names of the loaded fields
+	 */
+	public List<String> getFieldNames() {
+		return Collections.unmodifiableList(new ArrayList<String>(columns.keySet()));
+	}
+
+	/**
+	 * Returns the column of the numeric field represented by the <code>fieldName</code> param, with the values of type int
+	 *
+	 * @param fieldName the field name
+	 * @return the values of the field, in the order of the records. The array is not copied
+	 * @throws RecordException if the field has not been loaded or it's not a field with values of type int
+	 */
+	public int[] getInts(String fieldName) throws RecordException {
+		return column(fieldName, int[].class);
+	}
+
+	/**
+	 * Returns the column of the numeric field represented by the <code>fieldName</code> param, with the values of type long
+	 *
+	 * @param fieldName the field name
+	 * @return the values of the field, in the order of the records. The array is not copied
+	 * @throws RecordException if the field has not been loaded or it's not a field with values of type long
+	 */
+	public long[] getLongs(String fieldName) throws RecordException {
+		return column(fieldName, long[].class);
+	}
+
+	/**
+	 * Returns the column of the numeric field with decimals represented by the <code>fieldName</code> param
+	 *
+	 * @param fieldName the field name
+	 * @return the column of the field
+	 * @throws RecordException if the field has not been loaded or it's not a numeric field with decimals
+	 */
+	public DecimalColumn getDecimals(String fieldName) throws RecordException {
+		return column(fieldName, DecimalColumn.class);
+	}
+
+	/**
+	 * Returns the column of the alphanumeric field represented by the <code>fieldName</code> param
+	 *
+	 * @param fieldName the field name
+	 * @return the column of the field
+	 * @throws RecordException if the field has not been loaded or it's a numeric field
+	 */
+	public DictionaryColumn getStrings(String fieldName) throws RecordException {
+		return column(fieldName, DictionaryColumn.class);
+	}
+
+	private <C> C column(String fieldName, Class<C> columnClass) {
+		Object column = columns.get(fieldName);
+		if (column == null) {
+			throw new RecordException(ErrorCode.RE9, "Unknown fieldName=[" + fieldName + "]. Loaded fields=" + columns.keySet());
+		} else if (!columnClass.isInstance(column)) {
+			throw new RecordException(ErrorCode.RE50, "Not valid column of fieldName=[" + fieldName + "]: it's a column of type " +
+				column.getClass().getSimpleName());
+		}
+
+		return columnClass.cast(column);
+	}
+
+	/**
+	 * The load of the columns of a file
+	 */
+	private static final class Loader {
+		private final FileChannel channel;
+		private final Charset charset;
+		private final BeanRecordCodec<?> codec;
+		private final FixedFileBounds bounds;
+		private final int recordsPerChunk;
+		private final Queue<RecordCursor> cursors = new ConcurrentLinkedQueue<RecordCursor>();
+		private final List<String> fieldNames;
+		private final int[] fieldIndexes;
+		private final Class<?>[] valueTypes;
+		private final int[] scales;
+		private final Object[] values;
+		private final List<Map<String, Integer>> dictionaryCodes;
+		private final List<List<String>> dictionaries;
+
+		Loader(FileChannel channel, Path path, Charset charset, BeanRecordCodec<?> codec, RecordDelimiter recordDelimiter,
+				List<String> fieldNames, int chunkSize) throws IOException, RecordException {
+			RecordCursor cursor = new RecordCursor(codec.copy(), charset);
+			this.channel = channel;
+			this.charset = charset;
+			this.codec = codec;
+			this.bounds = new FixedFileBounds(channel, path, codec.getRecordLen(), recordDelimiter);
+			if (bounds.getRecordCount() > Integer.MAX_VALUE) {
+				throw new RecordException(ErrorCode.RE50, "Not valid columns of file " + path + ": too many records=[" +
+					bounds.getRecordCount() + "]");
+			}
+
+			this.recordsPerChunk = Math.max(1, chunkSize / bounds.getStride());
+			this.fieldNames = new ArrayList<String>(fieldNames);
+			int count = fieldNames.size();
+			int recordCount = (int) bounds.getRecordCount();
+			this.fieldIndexes = new int[count];
+			this.valueTypes = new Class<?>[count];
+			this.scales = new int[count];
+			this.values = new Object[count];
+			this.dictionaryCodes = new ArrayList<Map<String, Integer>>(count);
+			this.dictionaries = new ArrayList<List<String>>(count);
+			for (int i = 0; i < count; i++) {
+				fieldIndexes[i] = cursor.fieldIndex(this.fieldNames.get(i));
+				valueTypes[i] = cursor.getValueType(fieldIndexes[i]);
+				scales[i] = cursor.getScale(fieldIndexes[i]);
+				boolean dictionary = false;
+				if (Integer.class.equals(valueTypes[i])) {
+					values[i] = new int[recordCount];
+				} else if (Long.class.equals(valueTypes[i]) || BigDecimal.class.equals(valueTypes[i])) {
+					values[i] = new long[recordCount];
+				} else {
+					values[i] = new int[recordCount];
+					dictionary = true;
+				}
+
+				dictionaryCodes.add(dictionary ? new HashMap<String, Integer>() : null);
+				dictionaries.add(dictionary ? new ArrayList<String>() : null);
+			}
+
+			cursors.add(cursor);
+		}
+
+		private long getChunkCount() {
+			return (bounds.getRecordCount() + recordsPerChunk - 1) / recordsPerChunk;
+		}
+
+		FixefidColumns load(Executor executor) throws IOException, RecordException {
+			long chunkCount = getChunkCount();
+			if (executor == null) {
+				for (long chunk = 0; chunk < chunkCount; chunk++) {
+					merge(chunk, loadChunk(chunk));
+				}
+			} else {
+				int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() :
+					Runtime.getRuntime().availableProcessors();
+				int maxPendingChunks = 2 * Math.max(1, parallelism);
+				long nextChunk = 0;
+				long mergedChunk = 0;
+				ArrayDeque<FutureTask<List<List<String>>>> pending = new ArrayDeque<FutureTask<List<List<String>>>>();
+				try {
+					while (nextChunk < chunkCount || !pending.isEmpty()) {
+						while (nextChunk < chunkCount && pending.size() < maxPendingChunks) {
+							FutureTask<List<List<String>>> task = new FutureTask<List<List<String>>>(newChunkTask(nextChunk++));
+							pending.add(task);
+							executor.execute(task);
+						}
+
+						merge(mergedChunk++, ParallelFixefidReader.await(pending.poll()));
+					}
+				} finally {
+					for (Future<List<List<String>>> task : pending) {
+						task.cancel(false);
+					}
+				}
+			}
+
+			Map<String, Object> columns = new LinkedHashMap<String, Object>();
+			for (int i = 0; i < fieldNames.size(); i++) {
+				Object column = values[i];
+				if (BigDecimal.class.equals(valueTypes[i])) {
+					column = new DecimalColumn((long[]) values[i], scales[i]);
+				} else if (dictionaries.get(i) != null) {
+					column = new DictionaryColumn((int[]) values[i], dictionaries.get(i).toArray(new String[dictionaries.get(i).size()]));
+				}
+
+				columns.put(fieldNames.get(i), column);
+			}
+
+			return new FixefidColumns((int) bounds.getRecordCount(), columns);
+		}
+
+		private Callable<List<List<String>>> newChunkTask(final long chunkIndex) {
+			return new Callable<List<List<String>>>() {
+				@Override
+				public List<List<String>> call() throws IOException, RecordException {
+					return loadChunk(chunkIndex);
+				}
+			};
+		}
+
+		/**
+		 * Load the values of the records of the chunk into the columns. The values of the dictionary columns are encoded with
+		 * a dictionary of the chunk
+		 *
+		 * @return the dictionaries of the chunk
+		 */
+		private List<List<String>> loadChunk(long chunkIndex) throws IOException, RecordException {
+			int firstRecord = (int) (chunkIndex * recordsPerChunk);
+			int records = (int) Math.min(recordsPerChunk, bounds.getRecordCount() - firstRecord);
+			long position = bounds.getRecordOffset(firstRecord);
+			int stride = bounds.getStride();
+			ByteBuffer buffer = ByteBuffer.allocate((int) Math.min((long) records * stride, bounds.getSize() - position));
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, position + buffer.position()) < 0) {
+					throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (firstRecord + 1) + "] at offset=[" + position +
+						"]. Cause: unexpected end of file");
+				}
+			}
+
+			((Buffer) buffer).flip();
+			byte[] bytes = buffer.array();
+			RecordCursor cursor = cursors.poll();
+			if (cursor == null) {
+				cursor = new RecordCursor(codec.copy(), charset);
+			}
+
+			List<List<String>> chunkDictionaries = new ArrayList<List<String>>(fieldNames.size());
+			List<Map<String, Integer>> chunkCodes = new ArrayList<Map<String, Integer>>(fieldNames.size());
+			for (int c = 0; c < fieldNames.size(); c++) {
+				boolean dictionary = dictionaries.get(c) != null;
+				chunkDictionaries.add(dictionary ? new ArrayList<String>() : null);
+				chunkCodes.add(dictionary ? new HashMap<String, Integer>() : null);
+			}
+
+			try {
+				for (int i = 0; i < records; i++) {
+					int index = firstRecord + i;
+					cursor.position(bytes, i * stride);
+					try {
+						for (int c = 0; c < fieldIndexes.length; c++) {
+							List<String> chunkDictionary = chunkDictionaries.get(c);
+							if (chunkDictionary != null) {
+								String value = cursor.getString(fieldIndexes[c]);
+								Map<String, Integer> codes = chunkCodes.get(c);
+								Integer code = codes.get(value);
+								if (code == null) {
+									code = chunkDictionary.size();
+									chunkDictionary.add(value);
+									codes.put(value, code);
+								}
+
+								((int[]) values[c])[index] = code;
+							} else if (Integer.class.equals(valueTypes[c])) {
+								((int[]) values[c])[index] = cursor.getInt(fieldIndexes[c]);
+							} else {
+								((long[]) values[c])[index] = cursor.getUnscaled(fieldIndexes[c]);
+							}
+						}
+					} catch (RecordException re) {
+						throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (index + 1) + "] at offset=[" +
+							bounds.getRecordOffset(index) + "]. Cause: " + re.getMessage(), re);
+					}
+				}
+
+				return chunkDictionaries;
+			} finally {
+				cursors.add(cursor);
+			}
+		}
+
+		/**
+		 * Merge the dictionaries of the chunk into the dictionaries of the columns, in the order of the chunks, and replace
+		 * the codes of the chunk with the codes of the columns
+		 */
+		private void merge(long chunkIndex, List<List<String>> chunkDictionaries) {
+			int firstRecord = (int) (chunkIndex * recordsPerChunk);
+			int records = (int) Math.min(recordsPerChunk, bounds.getRecordCount() - firstRecord);
+			for (int c = 0; c < chunkDictionaries.size(); c++) {
+				List<String> chunkDictionary = chunkDictionaries.get(c);
+				if (chunkDictionary == null) {
+					continue;
+				}
+
+				List<String> dictionary = dictionaries.get(c);
+				Map<String, Integer> columnCodes = dictionaryCodes.get(c);
+				int[] codes = new int[chunkDictionary.size()];
+				for (int i = 0; i < codes.length; i++) {
+					String value = chunkDictionary.get(i);
+					Integer code = columnCodes.get(value);
+					if (code == null) {
+						code = dictionary.size();
+						dictionary.add(value);
+						columnCodes.put(value, code);
+					}
+
+					codes[i] = code;
+				}
+
+				int[] column = (int[]) values[c];
+				for (int i = firstRecord; i < firstRecord + records; i++) {
+					column[i] = codes[column[i]];
+				}
+			}
+		}
+	}
+}
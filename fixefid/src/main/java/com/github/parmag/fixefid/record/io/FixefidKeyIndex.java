@@ -0,0 +1,489 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>FixefidKeyIndex</code> finds the records of a fixed-length file by the values of some key fields, with a sidecar
+ * index file built by {@link #build(Path, Path, BeanRecordCodec, RecordDelimiter, List)}.
+ * <p>
+ * The index file contains the keys of all the records, sorted, with the relative record index, and a Bloom filter of the keys.
+ * A key not present in the file is almost always rejected by the Bloom filter, without reading the index. Otherwise the key is
+ * found with a binary search of the index and the record is read with one positional read, because every record has the same len.
+ * <p>
+ * The keys are the bytes of the key fields as they are present in the data file, so the len of the fields is in bytes.
+ * The values of a key are formatted as the relative bean properties (see {@link BeanRecordCodec#encodeField(String, Object)}).
+ * The index file stores the size of the data file: if the data file changes, the index file must be built again, otherwise
+ * a <code>RecordException</code> with error code <code>ErrorCode.RE47</code> is thrown when it's opened.
+ * <p>
+ * An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class FixefidKeyIndex<T> implements Closeable {
+	/**
+	 * The default number of the bits of the Bloom filter for every key
+	 */
+	public static final int DEF_BLOOM_BITS_PER_KEY = 10;
+
+	private static final int MAGIC = 0x46584958;
+	private static final int VERSION = 1;
+	private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final FileChannel dataChannel;
+	private final FileChannel indexChannel;
+	private final ByteRecordCodec<T> byteCodec;
+	private final Charset charset;
+	private final FixedFileBounds bounds;
+	private final List<String> keyFieldNames;
+	private final int[] keyLens;
+	private final int keyLen;
+	private final BloomFilter bloomFilter;
+	private final long entryCount;
+	private final long entriesOffset;
+	private final byte[] key;
+	private final ByteBuffer entryBuffer;
+	private final ByteBuffer recordBuffer;
+
+	/**
+	 * Open the data file and its index file
+	 *
+	 * @param data the path of the data file
+	 * @param index the path of the index file
+	 * @param charset the charset of the data file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param keyFieldNames the names of the key fields, as the index file has been built
+	 * @throws IOException if a file can't be opened
+	 * @throws RecordException if the data file doesn't contain only whole records or the index file is not valid
+	 */
+	public FixefidKeyIndex(Path data, Path index, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter,
+			List<String> keyFieldNames) throws IOException, RecordException {
+		this.byteCodec = new ByteRecordCodec<T>(codec, charset);
+		this.charset = charset;
+		this.keyFieldNames = keyFieldNames;
+		int[] keyOffsets = FixefidSorter.keyOffsets(codec, keyFieldNames);
+		this.keyLens = FixefidSorter.keyLens(codec, keyFieldNames);
+		this.keyLen = sum(keyLens);
+		this.key = new byte[keyLen];
+		this.entryBuffer = ByteBuffer.allocate(keyLen + 8);
+		this.recordBuffer = ByteBuffer.allocate(codec.getRecordLen());
+		this.dataChannel = FileChannel.open(data, StandardOpenOption.READ);
+		try {
+			this.bounds = new FixedFileBounds(dataChannel, data, codec.getRecordLen(), recordDelimiter);
+			this.indexChannel = FileChannel.open(index, StandardOpenOption.READ);
+		} catch (IOException | RuntimeException e) {
+			dataChannel.close();
+			throw e;
+		}
+
+		try {
+			ByteBuffer header = readFully(indexChannel, 0, 24 + keyOffsets.length * 8 + 8);
+			if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != codec.getRecordLen() ||
+					header.getLong() != bounds.getSize() || header.getInt() != keyOffsets.length) {
+				throw notValidIndex(index, "not built from the data file with the layout of " + codec.getBeanClass().getName());
+			}
+
+			for (int i = 0; i < keyOffsets.length; i++) {
+				if (header.getInt() != keyOffsets[i] || header.getInt() != keyLens[i]) {
+					throw notValidIndex(index, "not built with the key fields " + keyFieldNames);
+				}
+			}
+
+			int hashes = header.getInt();
+			int bloomLongs = header.getInt();
+			long position = header.capacity();
+			ByteBuffer bloom = readFully(indexChannel, position, bloomLongs * 8 + 8);
+			long[] bits = new long[bloomLongs];
+			bloom.asLongBuffer().get(bits);
+			this.bloomFilter = new BloomFilter(bits, hashes);
+			this.entryCount = bloom.getLong(bloomLongs * 8);
+			this.entriesOffset = position + bloom.capacity();
+			if (entriesOffset + entryCount * (keyLen + 8) != indexChannel.size()) {
+				throw notValidIndex(index, "not valid size=[" + indexChannel.size() + "]");
+			}
+		} catch (IOException | RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Build the index file of the data file, with the default Bloom filter, memory and threads
+	 * (see {@link FixefidSorter})
+	 *
+	 * @param data the path of the data file
+	 * @param index the path of the index file, replaced if exists
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param keyFieldNames the names of the key fields
+	 * @return the number of the indexed records
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the data file doesn't contain only whole records or a key field is not a field of the record
+	 */
+	public static long build(Path data, Path index, BeanRecordCodec<?> codec, RecordDelimiter recordDelimiter, List<String> keyFieldNames)
+			throws IOException, RecordException {
+		return build(data, index, codec, recordDelimiter, keyFieldNames, DEF_BLOOM_BITS_PER_KEY, FixefidSorter.DEF_MAX_MEMORY, 1);
+	}
+
+	/**
+	 * Build the index file of the data file. The keys are sorted with a {@link FixefidSorter}, using the directory of the
+	 * index file for the temporary files
+	 *
+	 * @param data the path of the data file
+	 * @param index the path of the index file, replaced if exists
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param keyFieldNames the names of the key fields
+	 * @param bloomBitsPerKey the number of the bits of the Bloom filter for every key: 10 bits give about 1% of false positives
+	 * @param maxMemory the max memory used to sort the keys, in bytes
+	 * @param threads the number of the threads that sort the keys
+	 * @return the number of the indexed records
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the data file doesn't contain only whole records or a key field is not a field of the record
+	 */
+	public static long build(Path data, Path index, BeanRecordCodec<?> codec, RecordDelimiter recordDelimiter, List<String> keyFieldNames,
+			int bloomBitsPerKey, long maxMemory, int threads) throws IOException, RecordException {
+		int[] keyOffsets = FixefidSorter.keyOffsets(codec, keyFieldNames);
+		int[] keyLens = FixefidSorter.keyLens(codec, keyFieldNames);
+		int keyLen = sum(keyLens);
+		Path tempDir = index.toAbsolutePath().getParent();
+		Path entries = Files.createTempFile(tempDir, "fixefid", ".keys");
+		Path sortedEntries = Files.createTempFile(tempDir, "fixefid", ".keys");
+		try {
+			FixedFileBounds bounds;
+			BloomFilter bloomFilter;
+			try (FileChannel dataChannel = FileChannel.open(data, StandardOpenOption.READ);
+					FileChannel entriesChannel = FileChannel.open(entries, StandardOpenOption.WRITE)) {
+				bounds = new FixedFileBounds(dataChannel, data, codec.getRecordLen(), recordDelimiter);
+				bloomFilter = new BloomFilter(bounds.getRecordCount(), Math.max(1, bloomBitsPerKey));
+				writeEntries(dataChannel, bounds, keyOffsets, keyLens, keyLen, bloomFilter, entriesChannel);
+			}
+
+			new FixefidSorter<Object>(keyLen + 8, RecordDelimiter.NONE, new int[] {0}, new int[] {keyLen}, maxMemory, threads, tempDir)
+				.sort(entries, sortedEntries);
+
+			ByteBuffer header = ByteBuffer.allocate(24 + keyOffsets.length * 8 + 8 + bloomFilter.bits.length * 8 + 8);
+			header.putInt(MAGIC).putInt(VERSION).putInt(codec.getRecordLen()).putLong(bounds.getSize()).putInt(keyOffsets.length);
+			for (int i = 0; i < keyOffsets.length; i++) {
+				header.putInt(keyOffsets[i]).putInt(keyLens[i]);
+			}
+
+			header.putInt(bloomFilter.hashes).putInt(bloomFilter.bits.length);
+			header.asLongBuffer().put(bloomFilter.bits);
+			((Buffer) header).position(header.position() + bloomFilter.bits.length * 8);
+			header.putLong(bounds.getRecordCount());
+			((Buffer) header).flip();
+
+			try (FileChannel indexChannel = FileChannel.open(index, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+					FileChannel sortedChannel = FileChannel.open(sortedEntries, StandardOpenOption.READ)) {
+				while (header.hasRemaining()) {
+					indexChannel.write(header);
+				}
+
+				long size = sortedChannel.size();
+				long transferred = 0;
+				while (transferred < size) {
+					transferred += sortedChannel.transferTo(transferred, size - transferred, indexChannel);
+				}
+			}
+
+			return bounds.getRecordCount();
+		} finally {
+			Files.deleteIfExists(entries);
+			Files.deleteIfExists(sortedEntries);
+		}
+	}
+
+	private static void writeEntries(FileChannel dataChannel, FixedFileBounds bounds, int[] keyOffsets, int[] keyLens, int keyLen,
+			BloomFilter bloomFilter, FileChannel entriesChannel) throws IOException {
+		int stride = bounds.getStride();
+		int recordsPerRead = Math.max(1, SCAN_BUFFER_SIZE / stride);
+		ByteBuffer in = ByteBuffer.allocate(recordsPerRead * stride);
+		ByteBuffer out = ByteBuffer.allocate(recordsPerRead * (keyLen + 8));
+		byte[] records = in.array();
+		byte[] entry = new byte[keyLen];
+		long recordCount = bounds.getRecordCount();
+		for (long first = 0; first < recordCount; first += recordsPerRead) {
+			int count = (int) Math.min(recordsPerRead, recordCount - first);
+			long position = bounds.getRecordOffset(first);
+			((Buffer) in).clear();
+			((Buffer) in).limit((int) Math.min(in.capacity(), bounds.getSize() - position));
+			while (in.hasRemaining()) {
+				if (dataChannel.read(in, position + in.position()) < 0) {
+					throw new IOException("Unexpected end of file at position=[" + (position + in.position()) + "]");
+				}
+			}
+
+			((Buffer) out).clear();
+			for (int i = 0; i < count; i++) {
+				int k = 0;
+				for (int f = 0; f < keyOffsets.length; f++) {
+					System.arraycopy(records, i * stride + keyOffsets[f], entry, k, keyLens[f]);
+					k += keyLens[f];
+				}
+
+				bloomFilter.add(entry, keyLen);
+				out.put(entry).putLong(first + i);
+			}
+
+			((Buffer) out).flip();
+			while (out.hasRemaining()) {
+				entriesChannel.write(out);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of the indexed records
+	 */
+	public long getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * Returns false if no record has the key indicated by the <code>keyValues</code> param, true if a record might have it.
+	 * Only the Bloom filter is read
+	 *
+	 * @param keyValues the values of the key fields, in the order of the key fields
+	 * @return false if no record has the key, true if a record might have it
+	 * @throws RecordException if a value can't be formatted
+	 */
+	public boolean mightContain(Object... keyValues) throws RecordException {
+		return toKey(keyValues) && bloomFilter.mightContain(key, keyLen);
+	}
+
+	/**
+	 * Returns the index of the first record with the key indicated by the <code>keyValues</code> param
+	 *
+	 * @param keyValues the values of the key fields, in the order of the key fields
+	 * @return the index of the first record with the key, starting from 0, or -1 if no record has the key
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a value can't be formatted
+	 */
+	public long indexOf(Object... keyValues) throws IOException, RecordException {
+		if (!mightContain(keyValues)) {
+			return -1;
+		}
+
+		long low = 0;
+		long high = entryCount - 1;
+		long found = -1;
+		while (low <= high) {
+			long mid = (low + high) >>> 1;
+			int cmp = compareEntry(mid);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else {
+				if (cmp == 0) {
+					found = entryBuffer.getLong(keyLen);
+				}
+
+				high = mid - 1;
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns a new instance of the java bean with the values of the first record with the key indicated by the
+	 * <code>keyValues</code> param
+	 *
+	 * @param keyValues the values of the key fields, in the order of the key fields
+	 * @return the new instance of the java bean, or null if no record has the key
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a value can't be formatted or the record is not valid
+	 */
+	public T get(Object... keyValues) throws IOException, RecordException {
+		long index = indexOf(keyValues);
+		if (index < 0) {
+			return null;
+		}
+
+		long offset = bounds.getRecordOffset(index);
+		((Buffer) recordBuffer).clear();
+		while (recordBuffer.hasRemaining()) {
+			if (dataChannel.read(recordBuffer, offset + recordBuffer.position()) < 0) {
+				throw new IOException("Unexpected end of file at position=[" + (offset + recordBuffer.position()) + "]");
+			}
+		}
+
+		try {
+			return byteCodec.decode(recordBuffer.array(), 0, byteCodec.getCodec().newBean());
+		} catch (RecordException re) {
+			throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (index + 1) + "] at offset=[" + offset +
+				"]. Cause: " + re.getMessage(), re);
+		}
+	}
+
+	private boolean toKey(Object... keyValues) {
+		if (keyValues.length != keyLens.length) {
+			throw new IllegalArgumentException("Not valid number of key values=[" + keyValues.length + "]. Expected key fields " + keyFieldNames);
+		}
+
+		int k = 0;
+		for (int i = 0; i < keyValues.length; i++) {
+			byte[] value = byteCodec.getCodec().encodeField(keyFieldNames.get(i), keyValues[i]).getBytes(charset);
+			if (value.length != keyLens[i]) {
+				return false;
+			}
+
+			System.arraycopy(value, 0, key, k, value.length);
+			k += value.length;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Read the entry indicated by the <code>entryIndex</code> param into the entry buffer and compare its key with the key
+	 */
+	private int compareEntry(long entryIndex) throws IOException {
+		long position = entriesOffset + entryIndex * (keyLen + 8);
+		((Buffer) entryBuffer).clear();
+		while (entryBuffer.hasRemaining()) {
+			if (indexChannel.read(entryBuffer, position + entryBuffer.position()) < 0) {
+				throw new IOException("Unexpected end of index file at position=[" + (position + entryBuffer.position()) + "]");
+			}
+		}
+
+		byte[] entry = entryBuffer.array();
+		for (int i = 0; i < keyLen; i++) {
+			int b1 = entry[i] & 0xFF;
+			int b2 = key[i] & 0xFF;
+			if (b1 != b2) {
+				return b1 - b2;
+			}
+		}
+
+		return 0;
+	}
+
+	private static ByteBuffer readFully(FileChannel channel, long position, int len) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(len);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new RecordException(ErrorCode.RE47, "Not valid index file: unexpected end of file at position=[" + (position + buffer.position()) + "]");
+			}
+		}
+
+		((Buffer) buffer).flip();
+		return buffer;
+	}
+
+	private static RecordException notValidIndex(Path index, String cause) {
+		return new RecordException(ErrorCode.RE47, "Not valid index file " + index + ": " + cause);
+	}
+
+	private static int sum(int[] lens) {
+		int sum = 0;
+		for (int len : lens) {
+			sum += len;
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Close the data file and the index file
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			dataChannel.close();
+		} finally {
+			if (indexChannel != null) {
+				indexChannel.close();
+			}
+		}
+	}
+
+	/**
+	 * The Bloom filter of the keys, with the double hashing of a 64 bit FNV-1a hash
+	 */
+	private static class BloomFilter {
+		private final long[] bits;
+		private final int hashes;
+		private final long bitCount;
+
+		private BloomFilter(long keyCount, int bitsPerKey) {
+			this(new long[(int) Math.min(Integer.MAX_VALUE / 8, Math.max(1, (keyCount * bitsPerKey + 63) / 64))],
+				Math.max(1, (int) Math.round(bitsPerKey * Math.log(2))));
+		}
+
+		private BloomFilter(long[] bits, int hashes) {
+			this.bits = bits;
+			this.hashes = hashes;
+			this.bitCount = bits.length * 64L;
+		}
+
+		private void add(byte[] key, int len) {
+			long hash = hash(key, len);
+			long h1 = hash;
+			long h2 = mix(hash);
+			for (int i = 0; i < hashes; i++) {
+				long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+				bits[(int) (bit >>> 6)] |= 1L << bit;
+			}
+		}
+
+		private boolean mightContain(byte[] key, int len) {
+			if (bitCount == 0) {
+				return false;
+			}
+
+			long hash = hash(key, len);
+			long h1 = hash;
+			long h2 = mix(hash);
+			for (int i = 0; i < hashes; i++) {
+				long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+				if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		private static long hash(byte[] key, int len) {
+			long hash = FNV_OFFSET_BASIS;
+			for (int i = 0; i < len; i++) {
+				hash ^= key[i] & 0xFF;
+				hash *= FNV_PRIME;
+			}
+
+			return hash;
+		}
+
+		private static long mix(long hash) {
+			hash ^= hash >>> 33;
+			hash *= 0xff51afd7ed558ccdL;
+			hash ^= hash >>> 33;
+			hash *= 0xc4ceb9fe1a85ec53L;
+			hash ^= hash >>> 33;
+			return hash | 1;
+		}
+	}
+}
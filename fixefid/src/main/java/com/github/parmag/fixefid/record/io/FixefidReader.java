@@ -0,0 +1,469 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordCursor;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.RecordFilter;
+
+/**
+ * The <code>FixefidReader</code> reads the records of a fixed-length file, one after the other, decoding every record
+ * into a java bean annotated with <code>FixefidRecord.class</code>. The layout of the java bean is compiled only once
+ * (see {@link BeanRecordCodec}) and the chars are read from the underlying reader in large blocks.
+ * <p>
+ * If a record is not valid, a <code>RecordException</code> with error code <code>ErrorCode.RE41</code> is thrown, with
+ * the record number and the offset (in chars) of the record. The reader is already positioned to the next record, so
+ * the reading can go on.
+ * <p>
+ * An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class FixefidReader<T> implements Closeable {
+	/**
+	 * The default size of the buffer, in chars
+	 */
+	public static final int DEF_BUFFER_SIZE = 64 * 1024;
+
+	private static final char NEW_LINE = '\n';
+	private static final char CARRIAGE_RETURN = '\r';
+	private static final char SPACE = ' ';
+
+	private final Reader in;
+	private final BeanRecordCodec<T> codec;
+	private final RecordDelimiter recordDelimiter;
+	private final int recordLen;
+	private final char[] record;
+	private char[] buffer;
+	private int pos;
+	private int limit;
+	private boolean eof;
+	private long recordNumber;
+	private long recordOffset;
+	private long offset;
+	private char[] current;
+	private int currentStart;
+	private RecordFilter filter;
+	private RecordCursor filterCursor;
+	private Predicate<RecordCursor> filterPredicate;
+
+	/**
+	 * Create a new <code>FixefidReader</code> for the java bean class indicated by the <code>beanClass</code> param,
+	 * with the records terminated by a new line
+	 *
+	 * @param in the reader of the records
+	 * @param beanClass the class of the java bean
+	 */
+	public FixefidReader(Reader in, Class<T> beanClass) {
+		this(in, new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE);
+	}
+
+	/**
+	 * Create a new <code>FixefidReader</code> for the java bean class indicated by the <code>beanClass</code> param,
+	 * with the records terminated by a new line
+	 *
+	 * @param in the input stream of the records
+	 * @param charset the charset of the input stream
+	 * @param beanClass the class of the java bean
+	 */
+	public FixefidReader(InputStream in, Charset charset, Class<T> beanClass) {
+		this(new InputStreamReader(in, charset), new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE);
+	}
+
+	/**
+	 * Create a new <code>FixefidReader</code> for the java bean class indicated by the <code>beanClass</code> param,
+	 * with the records terminated by a new line
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @throws IOException if the file can't be opened
+	 */
+	public FixefidReader(Path path, Charset charset, Class<T> beanClass) throws IOException {
+		this(path, charset, new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE);
+	}
+
+	/**
+	 * Create a new <code>FixefidReader</code> for the java bean class indicated by the <code>beanClass</code> param,
+	 * with the records terminated by a new line, that decodes only the fields in the <code>projection</code> param
+	 * (see {@link BeanRecordCodec#BeanRecordCodec(Class, java.util.List, java.util.Map, com.github.parmag.fixefid.record.RecordWay, Set)})
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @param projection the names of the fields to decode, or null to decode all the fields
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if a name of the projection doesn't represent any field of the record
+	 */
+	public FixefidReader(Path path, Charset charset, Class<T> beanClass, Set<String> projection) throws IOException, RecordException {
+		this(path, charset, new BeanRecordCodec<T>(beanClass, null, null, null, projection), RecordDelimiter.NEWLINE);
+	}
+
+	/**
+	 * Create a new <code>FixefidReader</code> with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @throws IOException if the file can't be opened
+	 */
+	public FixefidReader(Path path, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter) throws IOException {
+		this(new InputStreamReader(Files.newInputStream(path), charset), codec, recordDelimiter);
+	}
+
+	/**
+	 * Create a new <code>FixefidReader</code> with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param in the reader of the records
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 */
+	public FixefidReader(Reader in, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter) {
+		this(in, codec, recordDelimiter, DEF_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new <code>FixefidReader</code> with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param in the reader of the records
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param bufferSize the size of the buffer, in chars. It's extended to contain at least a record with its delimiter
+	 */
+	public FixefidReader(Reader in, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter, int bufferSize) {
+		this.in = in;
+		this.codec = codec;
+		this.recordDelimiter = recordDelimiter != null ? recordDelimiter : RecordDelimiter.NEWLINE;
+		this.recordLen = codec.getRecordLen();
+		this.record = new char[recordLen];
+		this.buffer = new char[Math.max(bufferSize, recordLen + 2)];
+	}
+
+	/**
+	 * @return the compiled layout of the java bean
+	 */
+	public BeanRecordCodec<T> getCodec() {
+		return codec;
+	}
+
+	/**
+	 * @return the number of the last read record, starting from 1. It's the line number if the records are terminated by a new line
+	 */
+	public long getRecordNumber() {
+		return recordNumber;
+	}
+
+	/**
+	 * @return the offset, in chars, of the last read record
+	 */
+	public long getRecordOffset() {
+		return recordOffset;
+	}
+
+	/**
+	 * @return the offset, in chars, of the next record
+	 */
+	long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Set the offset and the number of the records already read, when the underlying reader has been positioned to
+	 * the offset of the next record. It must be called before the first read
+	 *
+	 * @param offset the offset, in chars, of the next record
+	 * @param recordNumber the number of the records already read
+	 */
+	void resumeAt(long offset, long recordNumber) {
+		this.offset = offset;
+		this.recordNumber = recordNumber;
+		this.recordOffset = offset;
+	}
+
+	/**
+	 * Set the filter of the records: the records not matched by the filter are skipped before they are decoded, so they
+	 * are never decoded or validated (see {@link RecordFilter}). The record number and the offset still count the skipped records
+	 *
+	 * @param filter the filter of the records, or null to read all the records
+	 * @throws RecordException if a field of the filter is unknown or a value of the filter can't be formatted
+	 */
+	public void setFilter(RecordFilter filter) throws RecordException {
+		if (filter == null) {
+			this.filterCursor = null;
+			this.filterPredicate = null;
+		} else {
+			RecordCursor cursor = new RecordCursor(codec);
+			this.filterPredicate = filter.compile(cursor);
+			this.filterCursor = cursor;
+		}
+
+		this.filter = filter;
+	}
+
+	/**
+	 * @return the filter of the records, or null if all the records are read
+	 */
+	public RecordFilter getFilter() {
+		return filter;
+	}
+
+	/**
+	 * Read the next record into a new instance of the java bean
+	 *
+	 * @return the new instance of the java bean, or null if the end of the stream has been reached
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the record is not valid
+	 */
+	public T read() throws IOException, RecordException {
+		return read(null);
+	}
+
+	/**
+	 * Read the next record into the <code>bean</code> param. If the <code>bean</code> param is null, a new instance of
+	 * the java bean is created
+	 *
+	 * @param bean the bean to fill, or null
+	 * @return the filled bean, or null if the end of the stream has been reached
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the record is not valid
+	 */
+	public T read(T bean) throws IOException, RecordException {
+		return next() ? decodeCurrent(bean) : null;
+	}
+
+	/**
+	 * Move to the next record and position the <code>cursor</code> param over it, without decoding the record. The cursor
+	 * is valid until the next read
+	 *
+	 * @param cursor the cursor to position, with the same record len of the layout of this reader
+	 * @return true if the cursor has been positioned over the next record, false if the end of the stream has been reached
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the len of the record is not valid
+	 */
+	public boolean next(RecordCursor cursor) throws IOException, RecordException {
+		if (cursor.getRecordLen() != codec.getRecordLen()) {
+			throw new IllegalArgumentException("Not valid cursor with record len=[" + cursor.getRecordLen() + "]");
+		}
+
+		if (!next()) {
+			return false;
+		}
+
+		cursor.position(current, currentStart);
+		return true;
+	}
+
+	/**
+	 * Move to the next record, without decoding it. The chars of the record are available with {@link #currentChars()}
+	 * and {@link #currentStart()} until the next move
+	 *
+	 * @return true if the next record has been read, false if the end of the stream has been reached
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the len of the record is not valid
+	 */
+	boolean next() throws IOException, RecordException {
+		while (true) {
+			current = null;
+			boolean read = RecordDelimiter.NONE.equals(recordDelimiter) ? readRecord() : readLine();
+			if (!read || filterPredicate == null || accept()) {
+				return read;
+			}
+		}
+	}
+
+	private boolean accept() {
+		try {
+			return filterPredicate.test(filterCursor.position(current, currentStart));
+		} catch (RecordException re) {
+			throw notValidRecord(re.getMessage(), re);
+		}
+	}
+
+	/**
+	 * @return the chars that contain the current record, starting from {@link #currentStart()}
+	 */
+	char[] currentChars() {
+		return current;
+	}
+
+	/**
+	 * @return the offset of the current record inside {@link #currentChars()}
+	 */
+	int currentStart() {
+		return currentStart;
+	}
+
+	/**
+	 * Decode the current record into the <code>bean</code> param. If the <code>bean</code> param is null, a new instance of
+	 * the java bean is created
+	 *
+	 * @param bean the bean to fill, or null
+	 * @return the filled bean
+	 * @throws RecordException if the record is not valid
+	 */
+	T decodeCurrent(T bean) throws RecordException {
+		return decode(current, currentStart, bean);
+	}
+
+	private boolean readRecord() throws IOException {
+		if (!fill(recordLen)) {
+			if (pos == limit) {
+				return false;
+			}
+
+			int len = limit - pos;
+			startRecord(len);
+			pos = limit;
+			throw notValidRecord("Truncated record: found len=[" + len + "]. Expected len=[" + recordLen + "]", null);
+		}
+
+		current = buffer;
+		currentStart = pos;
+		startRecord(recordLen);
+		pos += recordLen;
+		return true;
+	}
+
+	private boolean readLine() throws IOException {
+		fill(recordLen + 2);
+		if (pos == limit) {
+			return false;
+		}
+
+		int max = Math.min(limit, pos + recordLen + 2);
+		int lineEnd = -1;
+		for (int i = pos; i < max; i++) {
+			if (buffer[i] == NEW_LINE) {
+				lineEnd = i;
+				break;
+			}
+		}
+
+		int next = lineEnd + 1;
+		if (lineEnd < 0) {
+			if (eof && limit - pos <= recordLen + 1) {
+				lineEnd = limit;
+				next = limit;
+			} else {
+				startRecord(0);
+				skipLine();
+				throw notValidRecord("Not valid len. Expected len=[" + recordLen + "]", null);
+			}
+		}
+
+		int end = lineEnd;
+		if (end > pos && buffer[end - 1] == CARRIAGE_RETURN) {
+			end--;
+		}
+
+		int start = pos;
+		int len = end - start;
+		startRecord(next - start);
+		pos = next;
+
+		if (len > recordLen) {
+			throw notValidRecord("Not valid len=[" + len + "]. Expected len=[" + recordLen + "]", null);
+		} else if (len < recordLen) {
+			System.arraycopy(buffer, start, record, 0, len);
+			Arrays.fill(record, len, recordLen, SPACE);
+			current = record;
+			currentStart = 0;
+		} else {
+			current = buffer;
+			currentStart = start;
+		}
+
+		return true;
+	}
+
+	private void startRecord(int len) {
+		recordNumber++;
+		recordOffset = offset;
+		offset += len;
+	}
+
+	private void skipLine() throws IOException {
+		while (true) {
+			for (int i = pos; i < limit; i++) {
+				if (buffer[i] == NEW_LINE) {
+					offset += i + 1 - pos;
+					pos = i + 1;
+					return;
+				}
+			}
+
+			offset += limit - pos;
+			pos = limit;
+			if (!fill(1)) {
+				return;
+			}
+		}
+	}
+
+	private T decode(char[] chars, int start, T bean) {
+		try {
+			if (bean == null) {
+				bean = codec.newBean();
+			}
+
+			return codec.decode(chars, start, bean);
+		} catch (RecordException re) {
+			throw notValidRecord(re.getMessage(), re);
+		}
+	}
+
+	private RecordException notValidRecord(String message, Throwable cause) {
+		return new RecordException(ErrorCode.RE41, "Not valid record number=[" + recordNumber + "] at offset=[" + recordOffset +
+			"]. Cause: " + message, cause);
+	}
+
+	private boolean fill(int needed) throws IOException {
+		if (limit - pos >= needed) {
+			return true;
+		}
+
+		if (pos > 0) {
+			System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+			limit -= pos;
+			pos = 0;
+		}
+
+		while (limit < needed && !eof) {
+			int n = in.read(buffer, limit, buffer.length - limit);
+			if (n < 0) {
+				eof = true;
+			} else {
+				limit += n;
+			}
+		}
+
+		return limit - pos >= needed;
+	}
+
+	/**
+	 * Close the underlying reader
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -0,0 +1,455 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>FixefidSorter</code> sorts the records of a fixed-length file by the values of some key fields, with an external
+ * merge sort: the file is split in runs that fit in memory, every run is sorted and written to a temporary file, then the
+ * sorted runs are merged into the output file.
+ * <p>
+ * The records are never decoded: the keys are compared as unsigned bytes at the fixed offsets of the key fields, in the
+ * order of the list of the key fields. So the fields of type <code>N</code> are ordered by value only if they are not signed
+ * and left padded with zeros. Within a run the keys are extracted in a contiguous array with the first 8 bytes packed in a
+ * <code>long</code>, so most of the comparisons are between primitives. The sort is stable: the records with the same key
+ * keep the order of the file.
+ * <p>
+ * The runs are sorted in parallel by <code>threads</code> threads. Every thread uses at most <code>maxMemory / threads</code>
+ * bytes for its run. The len of the fields is in bytes and, with a new line, the file must use the single byte
+ * <code>'\n'</code> (optionally preceded by <code>'\r'</code>). Every record of the output file is terminated by the
+ * new line of the input file.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class FixefidSorter<T> {
+	/**
+	 * The default max memory used to sort the runs, in bytes
+	 */
+	public static final long DEF_MAX_MEMORY = 64L * 1024 * 1024;
+
+	private static final int MERGE_BUFFER_SIZE = 64 * 1024;
+	private static final int MIN_MERGE_BUFFER_SIZE = 4 * 1024;
+	private static final byte NEW_LINE = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+
+	private final int recordLen;
+	private final RecordDelimiter recordDelimiter;
+	private final int[] keyOffsets;
+	private final int[] keyLens;
+	private final int keyLen;
+	private final long maxMemory;
+	private final int threads;
+	private final Path tempDir;
+
+	/**
+	 * Create a new <code>FixefidSorter</code> of the files of records terminated by a new line, sorted by the
+	 * <code>keyFieldNames</code> param with one thread and <code>DEF_MAX_MEMORY</code> bytes
+	 *
+	 * @param beanClass the class of the java bean
+	 * @param keyFieldNames the names of the key fields, in order of significance
+	 * @throws RecordException if a key field is not a field of the record
+	 */
+	public FixefidSorter(Class<T> beanClass, String... keyFieldNames) throws RecordException {
+		this(new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE, Arrays.asList(keyFieldNames), DEF_MAX_MEMORY, 1, null);
+	}
+
+	/**
+	 * Create a new <code>FixefidSorter</code> of the files with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param keyFieldNames the names of the key fields, in order of significance
+	 * @param maxMemory the max memory used to sort the runs, in bytes
+	 * @param threads the number of the threads that sort the runs
+	 * @param tempDir the directory of the temporary files, or null for the default temporary directory
+	 * @throws RecordException if a key field is not a field of the record
+	 */
+	public FixefidSorter(BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter, List<String> keyFieldNames, long maxMemory,
+			int threads, Path tempDir) throws RecordException {
+		this(codec.getRecordLen(), recordDelimiter, keyOffsets(codec, keyFieldNames), keyLens(codec, keyFieldNames), maxMemory, threads, tempDir);
+	}
+
+	/**
+	 * Create a new <code>FixefidSorter</code> of the files of records of <code>recordLen</code> bytes, sorted by the bytes
+	 * at the offsets indicated by the <code>keyOffsets</code> and <code>keyLens</code> params
+	 *
+	 * @param recordLen the record len, in bytes
+	 * @param recordDelimiter how the records are delimited
+	 * @param keyOffsets the offsets of the keys inside the record, in order of significance
+	 * @param keyLens the lens of the keys
+	 * @param maxMemory the max memory used to sort the runs, in bytes
+	 * @param threads the number of the threads that sort the runs
+	 * @param tempDir the directory of the temporary files, or null for the default temporary directory
+	 */
+	FixefidSorter(int recordLen, RecordDelimiter recordDelimiter, int[] keyOffsets, int[] keyLens, long maxMemory, int threads, Path tempDir) {
+		this.recordLen = recordLen;
+		this.recordDelimiter = recordDelimiter;
+		this.keyOffsets = keyOffsets;
+		this.keyLens = keyLens;
+		int len = 0;
+		for (int keyLen : keyLens) {
+			len += keyLen;
+		}
+
+		this.keyLen = len;
+		this.threads = Math.max(1, threads);
+		this.maxMemory = Math.max(maxMemory, this.threads * 1024L);
+		this.tempDir = tempDir;
+	}
+
+	/**
+	 * @param codec the compiled layout of the java bean
+	 * @param fieldNames the names of the fields
+	 * @return the offsets of the fields inside the record
+	 * @throws RecordException if a field is not a field of the record
+	 */
+	static int[] keyOffsets(BeanRecordCodec<?> codec, List<String> fieldNames) throws RecordException {
+		int[] offsets = new int[fieldNames.size()];
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = codec.getFieldOffset(fieldNames.get(i));
+		}
+
+		return offsets;
+	}
+
+	/**
+	 * @param codec the compiled layout of the java bean
+	 * @param fieldNames the names of the fields
+	 * @return the lens of the fields
+	 * @throws RecordException if a field is not a field of the record
+	 */
+	static int[] keyLens(BeanRecordCodec<?> codec, List<String> fieldNames) throws RecordException {
+		int[] lens = new int[fieldNames.size()];
+		for (int i = 0; i < lens.length; i++) {
+			lens[i] = codec.getFieldLen(fieldNames.get(i));
+		}
+
+		return lens;
+	}
+
+	/**
+	 * Sort the records of the <code>input</code> file into the <code>output</code> file, replacing it if exists
+	 *
+	 * @param input the path of the file to sort
+	 * @param output the path of the sorted file
+	 * @return the number of the sorted records
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the input file doesn't contain only whole records
+	 */
+	public long sort(Path input, Path output) throws IOException, RecordException {
+		List<Path> runs = new ArrayList<Path>();
+		try {
+			long recordCount;
+			byte[] eol;
+			try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+				FixedFileBounds bounds = new FixedFileBounds(channel, input, recordLen, recordDelimiter);
+				recordCount = bounds.getRecordCount();
+				eol = bounds.getEolLen() == 0 ? new byte[0] : bounds.getEolLen() == 1 ? new byte[] {NEW_LINE} :
+					new byte[] {CARRIAGE_RETURN, NEW_LINE};
+				sortRuns(channel, bounds, eol, runs);
+			}
+
+			if (runs.size() == 1) {
+				Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+				runs.clear();
+			} else {
+				merge(runs, output, recordLen + eol.length);
+			}
+
+			return recordCount;
+		} finally {
+			for (Path run : runs) {
+				Files.deleteIfExists(run);
+			}
+		}
+	}
+
+	private void sortRuns(final FileChannel channel, final FixedFileBounds bounds, final byte[] eol, List<Path> runs) throws IOException {
+		long recordCount = bounds.getRecordCount();
+		long runBytes = maxMemory / threads;
+		final int recordsPerRun = (int) Math.max(1, Math.min(Integer.MAX_VALUE / bounds.getStride(),
+			runBytes / (bounds.getStride() + keyLen + 16)));
+		if (recordCount == 0) {
+			runs.add(newTempFile());
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<Path>> tasks = new ArrayList<Future<Path>>();
+		try {
+			for (long first = 0; first < recordCount; first += recordsPerRun) {
+				final long firstRecord = first;
+				final int count = (int) Math.min(recordsPerRun, recordCount - first);
+				tasks.add(executor.submit(new Callable<Path>() {
+					@Override
+					public Path call() throws IOException {
+						return sortRun(channel, bounds, eol, firstRecord, count);
+					}
+				}));
+			}
+
+			for (Future<Path> task : tasks) {
+				runs.add(ParallelFixefidReader.await(task));
+			}
+		} finally {
+			executor.shutdownNow();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			for (Future<Path> task : tasks) {
+				if (task.isDone() && !task.isCancelled()) {
+					try {
+						Path run = task.get();
+						if (!runs.contains(run)) {
+							runs.add(run);
+						}
+					} catch (Exception e) {
+						// the run has not been written
+					}
+				}
+			}
+		}
+	}
+
+	private Path sortRun(FileChannel channel, FixedFileBounds bounds, byte[] eol, long firstRecord, int count) throws IOException {
+		int stride = bounds.getStride();
+		int size = (int) Math.min((long) count * stride, bounds.getSize() - bounds.getRecordOffset(firstRecord));
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		long position = bounds.getRecordOffset(firstRecord);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of file at position=[" + (position + buffer.position()) + "]");
+			}
+		}
+
+		byte[] records = buffer.array();
+		byte[] keys = new byte[count * keyLen];
+		long[] prefixes = new long[count];
+		int[] order = new int[count];
+		for (int i = 0; i < count; i++) {
+			int k = i * keyLen;
+			for (int f = 0; f < keyOffsets.length; f++) {
+				System.arraycopy(records, i * stride + keyOffsets[f], keys, k, keyLens[f]);
+				k += keyLens[f];
+			}
+
+			prefixes[i] = prefix(keys, i * keyLen);
+			order[i] = i;
+		}
+
+		mergeSort(order, new int[count], 0, count, keys, prefixes);
+
+		Path run = newTempFile();
+		try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE)) {
+			ByteBuffer outBuffer = ByteBuffer.allocate(Math.max(MERGE_BUFFER_SIZE, recordLen + eol.length));
+			for (int i = 0; i < count; i++) {
+				if (outBuffer.remaining() < recordLen + eol.length) {
+					writeFully(out, outBuffer);
+				}
+
+				outBuffer.put(records, order[i] * stride, recordLen);
+				outBuffer.put(eol);
+			}
+
+			writeFully(out, outBuffer);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(run);
+			throw e;
+		}
+
+		return run;
+	}
+
+	private long prefix(byte[] keys, int start) {
+		long prefix = 0;
+		for (int i = 0; i < 8; i++) {
+			prefix <<= 8;
+			if (i < keyLen) {
+				prefix |= keys[start + i] & 0xFF;
+			}
+		}
+
+		return prefix;
+	}
+
+	private void mergeSort(int[] order, int[] temp, int from, int to, byte[] keys, long[] prefixes) {
+		if (to - from < 2) {
+			return;
+		}
+
+		int mid = (from + to) >>> 1;
+		mergeSort(order, temp, from, mid, keys, prefixes);
+		mergeSort(order, temp, mid, to, keys, prefixes);
+		if (compareRecords(order[mid - 1], order[mid], keys, prefixes) <= 0) {
+			return;
+		}
+
+		System.arraycopy(order, from, temp, from, to - from);
+		int left = from;
+		int right = mid;
+		for (int i = from; i < to; i++) {
+			if (right >= to || (left < mid && compareRecords(temp[left], temp[right], keys, prefixes) <= 0)) {
+				order[i] = temp[left++];
+			} else {
+				order[i] = temp[right++];
+			}
+		}
+	}
+
+	private int compareRecords(int i1, int i2, byte[] keys, long[] prefixes) {
+		int cmp = Long.compareUnsigned(prefixes[i1], prefixes[i2]);
+		if (cmp != 0 || keyLen <= 8) {
+			return cmp;
+		}
+
+		int k1 = i1 * keyLen;
+		int k2 = i2 * keyLen;
+		for (int i = 8; i < keyLen; i++) {
+			int b1 = keys[k1 + i] & 0xFF;
+			int b2 = keys[k2 + i] & 0xFF;
+			if (b1 != b2) {
+				return b1 - b2;
+			}
+		}
+
+		return 0;
+	}
+
+	private void merge(List<Path> runs, Path output, int stride) throws IOException {
+		int bufferSize = (int) Math.max(MIN_MERGE_BUFFER_SIZE, Math.min(MERGE_BUFFER_SIZE, maxMemory / (runs.size() + 1)));
+		bufferSize = Math.max(stride, bufferSize - bufferSize % stride);
+		List<RunCursor> cursors = new ArrayList<RunCursor>();
+		PriorityQueue<RunCursor> queue = new PriorityQueue<RunCursor>(runs.size(), new Comparator<RunCursor>() {
+			@Override
+			public int compare(RunCursor c1, RunCursor c2) {
+				int cmp = compareKeys(c1.buffer, c1.pos, c2.buffer, c2.pos);
+				return cmp != 0 ? cmp : c1.index - c2.index;
+			}
+		});
+
+		try (FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (int i = 0; i < runs.size(); i++) {
+				RunCursor cursor = new RunCursor(i, FileChannel.open(runs.get(i), StandardOpenOption.READ), bufferSize, stride);
+				cursors.add(cursor);
+				if (cursor.next()) {
+					queue.add(cursor);
+				}
+			}
+
+			ByteBuffer outBuffer = ByteBuffer.allocate(Math.max(MERGE_BUFFER_SIZE, stride));
+			while (!queue.isEmpty()) {
+				RunCursor cursor = queue.poll();
+				if (outBuffer.remaining() < stride) {
+					writeFully(out, outBuffer);
+				}
+
+				outBuffer.put(cursor.buffer, cursor.pos, stride);
+				if (cursor.next()) {
+					queue.add(cursor);
+				}
+			}
+
+			writeFully(out, outBuffer);
+		} finally {
+			for (RunCursor cursor : cursors) {
+				cursor.channel.close();
+			}
+		}
+	}
+
+	private int compareKeys(byte[] buffer1, int pos1, byte[] buffer2, int pos2) {
+		for (int f = 0; f < keyOffsets.length; f++) {
+			int o1 = pos1 + keyOffsets[f];
+			int o2 = pos2 + keyOffsets[f];
+			for (int i = 0; i < keyLens[f]; i++) {
+				int b1 = buffer1[o1 + i] & 0xFF;
+				int b2 = buffer2[o2 + i] & 0xFF;
+				if (b1 != b2) {
+					return b1 - b2;
+				}
+			}
+		}
+
+		return 0;
+	}
+
+	private Path newTempFile() throws IOException {
+		return tempDir != null ? Files.createTempFile(tempDir, "fixefid", ".run") : Files.createTempFile("fixefid", ".run");
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		((Buffer) buffer).flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+
+		((Buffer) buffer).clear();
+	}
+
+	/**
+	 * The cursor of the current record of a sorted run
+	 */
+	private static class RunCursor {
+		private final int index;
+		private final FileChannel channel;
+		private final byte[] buffer;
+		private final int stride;
+		private int pos;
+		private int limit;
+
+		private RunCursor(int index, FileChannel channel, int bufferSize, int stride) {
+			this.index = index;
+			this.channel = channel;
+			this.buffer = new byte[bufferSize];
+			this.stride = stride;
+			this.pos = -stride;
+		}
+
+		private boolean next() throws IOException {
+			pos += stride;
+			if (pos + stride <= limit) {
+				return true;
+			}
+
+			ByteBuffer bb = ByteBuffer.wrap(buffer);
+			limit = 0;
+			pos = 0;
+			while (bb.hasRemaining()) {
+				int n = channel.read(bb);
+				if (n < 0) {
+					break;
+				}
+
+				limit += n;
+			}
+
+			return limit >= stride;
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>FixefidWriter</code> writes the records of a fixed-length file, one after the other, encoding every java bean
+ * annotated with <code>FixefidRecord.class</code> straight into a reusable buffer. The layout of the java bean is compiled
+ * only once (see {@link BeanRecordCodec}) and the buffer is flushed to the underlying writer in large blocks.
+ * <p>
+ * If a bean can't be encoded, a <code>RecordException</code> with error code <code>ErrorCode.RE42</code> is thrown, with
+ * the record number. Nothing is written for that bean, so the writing can go on.
+ * <p>
+ * The packed decimal and binary fields can't be written as chars, so a layout with these fields is not valid for this writer
+ * and a <code>RecordException</code> with error code <code>ErrorCode.RE52</code> is thrown: the records must be written
+ * as bytes (see {@link ByteRecordCodec} and {@link AsyncFixefidWriter}).
+ * <p>
+ * An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class FixefidWriter<T> implements Closeable, Flushable {
+	/**
+	 * The default size of the buffer, in chars
+	 */
+	public static final int DEF_BUFFER_SIZE = 64 * 1024;
+
+	private static final char NEW_LINE = '\n';
+
+	private final Writer out;
+	private final BeanRecordCodec<T> codec;
+	private final RecordDelimiter recordDelimiter;
+	private final int recordLen;
+	private final int delimitedRecordLen;
+	private final char[] buffer;
+	private int pos;
+	private long recordNumber;
+
+	/**
+	 * Create a new <code>FixefidWriter</code> for the java bean class indicated by the <code>beanClass</code> param,
+	 * with the records terminated by a new line
+	 *
+	 * @param out the writer of the records
+	 * @param beanClass the class of the java bean
+	 */
+	public FixefidWriter(Writer out, Class<T> beanClass) {
+		this(out, new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE);
+	}
+
+	/**
+	 * Create a new <code>FixefidWriter</code> for the java bean class indicated by the <code>beanClass</code> param,
+	 * with the records terminated by a new line
+	 *
+	 * @param out the output stream of the records
+	 * @param charset the charset of the output stream
+	 * @param beanClass the class of the java bean
+	 */
+	public FixefidWriter(OutputStream out, Charset charset, Class<T> beanClass) {
+		this(new OutputStreamWriter(out, charset), new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE);
+	}
+
+	/**
+	 * Create a new <code>FixefidWriter</code> for the java bean class indicated by the <code>beanClass</code> param,
+	 * with the records terminated by a new line. If the file already exists, it's truncated
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @throws IOException if the file can't be opened
+	 */
+	public FixefidWriter(Path path, Charset charset, Class<T> beanClass) throws IOException {
+		this(path, charset, new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE);
+	}
+
+	/**
+	 * Create a new <code>FixefidWriter</code> with the compiled layout indicated by the <code>codec</code> param.
+	 * If the file already exists, it's truncated
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the layout has packed decimal or binary fields
+	 */
+	public FixefidWriter(Path path, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter) throws IOException {
+		this(new OutputStreamWriter(Files.newOutputStream(checkCodec(codec, path)), charset), codec, recordDelimiter);
+	}
+
+	/**
+	 * Create a new <code>FixefidWriter</code> with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param out the writer of the records
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 */
+	public FixefidWriter(Writer out, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter) {
+		this(out, codec, recordDelimiter, DEF_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new <code>FixefidWriter</code> with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param out the writer of the records
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param bufferSize the size of the buffer, in chars. It's extended to contain at least a record with its delimiter
+	 * @throws RecordException if the layout has packed decimal or binary fields
+	 */
+	public FixefidWriter(Writer out, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter, int bufferSize) {
+		checkCodec(codec, null);
+		this.out = out;
+		this.codec = codec;
+		this.recordDelimiter = recordDelimiter != null ? recordDelimiter : RecordDelimiter.NEWLINE;
+		this.recordLen = codec.getRecordLen();
+		this.delimitedRecordLen = RecordDelimiter.NONE.equals(this.recordDelimiter) ? recordLen : recordLen + 1;
+		this.buffer = new char[Math.max(bufferSize, delimitedRecordLen)];
+	}
+
+	private static Path checkCodec(BeanRecordCodec<?> codec, Path path) {
+		if (codec.hasBinaryFields()) {
+			throw new RecordException(ErrorCode.RE52, "Not valid layout of the class " + codec.getBeanClass().getName() + 
+				": the packed decimal and binary fields can't be written as chars. Use a ByteRecordCodec or an AsyncFixefidWriter");
+		}
+
+		return path;
+	}
+
+	/**
+	 * @return the compiled layout of the java bean
+	 */
+	public BeanRecordCodec<T> getCodec() {
+		return codec;
+	}
+
+	/**
+	 * @return the number of the records written, starting from 1
+	 */
+	public long getRecordNumber() {
+		return recordNumber;
+	}
+
+	/**
+	 * Write the <code>bean</code> param as the next record
+	 *
+	 * @param bean the bean to write
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the bean can't be encoded
+	 */
+	public void write(T bean) throws IOException, RecordException {
+		if (buffer.length - pos < delimitedRecordLen) {
+			flushBuffer();
+		}
+
+		try {
+			codec.encode(bean, buffer, pos);
+		} catch (RecordException re) {
+			throw new RecordException(ErrorCode.RE42, "Not valid record number=[" + (recordNumber + 1) + "]. Cause: " + re.getMessage(), re);
+		}
+
+		pos += recordLen;
+		if (RecordDelimiter.NEWLINE.equals(recordDelimiter)) {
+			buffer[pos++] = NEW_LINE;
+		}
+
+		recordNumber++;
+	}
+
+	private void flushBuffer() throws IOException {
+		if (pos > 0) {
+			out.write(buffer, 0, pos);
+			pos = 0;
+		}
+	}
+
+	/**
+	 * Write the buffered records to the underlying writer and flush it
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	/**
+	 * Write the buffered records to the underlying writer and close it
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,442 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.bean.FixefidRecord;
+import com.github.parmag.fixefid.record.csv.CSVBeanRecord;
+import com.github.parmag.fixefid.record.csv.CSVEnc;
+import com.github.parmag.fixefid.record.csv.FixefidCSVRecord;
+import com.github.parmag.fixefid.record.field.FieldException;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+
+/**
+ * The <code>FollowReader</code> reads the records of a file while other processes append them, as <code>tail -f</code> does.
+ * The java bean can be annotated with <code>FixefidRecord.class</code> (a fixed-length record) or with
+ * <code>FixefidCSVRecord.class</code> (a CSV record).
+ * <p>
+ * A record is decoded only when it's complete: a fixed-length record when its new line has been written (or its record len
+ * bytes, with <code>RecordDelimiter.NONE</code>), a CSV record when its new line has been written outside an enclosed value.
+ * The reader remembers the byte offset of the next record (see {@link #getOffset()}), so the reading can be resumed from it
+ * with a new reader. The method {@link #poll()} never waits, the method {@link #read(long, TimeUnit)} waits a new record
+ * checking the file with an increasing interval, from 10 milliseconds up to <code>maxPollInterval</code>.
+ * <p>
+ * If the size of the file becomes less than the offset, the file has been truncated and the reading restarts from the beginning.
+ * If the path refers to a new file (detected by the file key), the file has been rotated: the records still present in the old
+ * file are read, an unterminated last record included, then the reading goes on from the beginning of the new file.
+ * <p>
+ * The fixed-length records are decoded straight from the bytes (see {@link ByteRecordCodec}), so the len of the fields is in bytes.
+ * A not valid record throws a <code>RecordException</code> with error code <code>ErrorCode.RE41</code>, with the record number
+ * and the byte offset, and the reader is positioned to the next record. An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class FollowReader<T> implements Closeable {
+	/**
+	 * The default max interval between two checks of the file, in milliseconds
+	 */
+	public static final long DEF_MAX_POLL_INTERVAL = 1000;
+
+	private static final long MIN_POLL_INTERVAL = 10;
+	private static final int DEF_BUFFER_SIZE = 64 * 1024;
+	private static final byte NEW_LINE = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+	private static final byte SPACE = ' ';
+
+	private final Path path;
+	private final Charset charset;
+	private final Class<T> beanClass;
+	private final ByteRecordCodec<T> byteCodec;
+	private final Constructor<T> beanConstructor;
+	private final List<FieldExtendedProperty> fieldExtendedProperties;
+	private final Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties;
+	private final RecordDelimiter recordDelimiter;
+	private final byte enc;
+	private final int recordLen;
+	private final long maxPollInterval;
+	private final byte[] record;
+	private FileChannel channel;
+	private Object fileKey;
+	private byte[] buffer;
+	private int pos;
+	private int limit;
+	private int scanPos;
+	private boolean enclosed;
+	private boolean skipping;
+	private boolean rotated;
+	private long offset;
+	private long recordNumber;
+	private long recordOffset;
+
+	/**
+	 * Open the file indicated by the <code>path</code> param from the beginning, for the java bean class indicated by the
+	 * <code>beanClass</code> param, with the fixed-length records terminated by a new line
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the bean is not annotated with <code>FixefidRecord.class</code> or <code>FixefidCSVRecord.class</code>
+	 */
+	public FollowReader(Path path, Charset charset, Class<T> beanClass) throws IOException, RecordException {
+		this(path, charset, beanClass, null, null, RecordDelimiter.NEWLINE, 0, DEF_MAX_POLL_INTERVAL);
+	}
+
+	/**
+	 * Open the file indicated by the <code>path</code> param from the <code>offset</code> param, for the java bean class
+	 * indicated by the <code>beanClass</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @param fieldExtendedProperties the extended properties of field applied to every fields of the record
+	 * @param mapFieldExtendedProperties the extended properties of fields to override the relative property at record level
+	 * @param recordDelimiter how the fixed-length records are delimited. The CSV records are always terminated by a new line
+	 * @param offset the byte offset of the first record to read, for instance the offset of a previous reader
+	 * @param maxPollInterval the max interval between two checks of the file, in milliseconds
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the bean is not annotated with <code>FixefidRecord.class</code> or <code>FixefidCSVRecord.class</code>
+	 */
+	public FollowReader(Path path, Charset charset, Class<T> beanClass, List<FieldExtendedProperty> fieldExtendedProperties,
+			Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties, RecordDelimiter recordDelimiter, long offset,
+			long maxPollInterval) throws IOException, RecordException {
+		if (beanClass.isAnnotationPresent(FixefidRecord.class)) {
+			this.byteCodec = new ByteRecordCodec<T>(new BeanRecordCodec<T>(beanClass, fieldExtendedProperties, mapFieldExtendedProperties, null),
+				charset);
+			this.beanConstructor = null;
+			this.recordDelimiter = recordDelimiter;
+			this.recordLen = byteCodec.getRecordLen();
+			this.enc = 0;
+		} else if (beanClass.isAnnotationPresent(FixefidCSVRecord.class)) {
+			this.byteCodec = null;
+			this.beanConstructor = constructorForBeanClass(beanClass);
+			this.recordDelimiter = RecordDelimiter.NEWLINE;
+			this.recordLen = 0;
+			CSVEnc recordEnc = beanClass.getAnnotation(FixefidCSVRecord.class).recordEnc();
+			byte[] encBytes = recordEnc.getEnc().getBytes(charset);
+			this.enc = encBytes.length == 1 ? encBytes[0] : 0;
+		} else {
+			throw new RecordException(ErrorCode.RE24, "The class " + beanClass.getSimpleName() + " is not annotated with FixefidRecord or FixefidCSVRecord");
+		}
+
+		this.path = path;
+		this.charset = charset;
+		this.beanClass = beanClass;
+		this.fieldExtendedProperties = fieldExtendedProperties;
+		this.mapFieldExtendedProperties = mapFieldExtendedProperties;
+		this.maxPollInterval = Math.max(MIN_POLL_INTERVAL, maxPollInterval);
+		this.record = new byte[recordLen];
+		this.buffer = new byte[Math.max(DEF_BUFFER_SIZE, recordLen + 2)];
+		this.offset = Math.max(0, offset);
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.fileKey = fileKey(path);
+	}
+
+	private static <C> Constructor<C> constructorForBeanClass(Class<C> beanClass) {
+		try {
+			Constructor<C> constructor = beanClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (Exception e) {
+			throw new RecordException(ErrorCode.RE40, "The class " + beanClass.getName() + " must have a no-arg constructor", e);
+		}
+	}
+
+	private static Object fileKey(Path path) throws IOException {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+			return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return the byte offset of the next record to read. A new reader opened with this offset goes on from the next record
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return the number of the last read record since this reader has been opened, starting from 1
+	 */
+	public long getRecordNumber() {
+		return recordNumber;
+	}
+
+	/**
+	 * @return the byte offset of the last read record
+	 */
+	public long getRecordOffset() {
+		return recordOffset;
+	}
+
+	/**
+	 * Read the next complete record, without waiting
+	 *
+	 * @return a new instance of the java bean, or null if there is no complete record to read now
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if the record is not valid
+	 */
+	public T poll() throws IOException, RecordException {
+		while (true) {
+			if (rotated && pos == limit) {
+				reopen();
+			}
+
+			int end = findRecordEnd();
+			if (end >= 0) {
+				T bean = decodeRecord(end);
+				if (bean != null) {
+					return bean;
+				}
+			} else if (fillFromChannel() == 0 && !checkTruncatedOrRotated()) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Read the next complete record, waiting at most the <code>timeout</code> param
+	 *
+	 * @param timeout the max time to wait
+	 * @param unit the unit of the <code>timeout</code> param
+	 * @return a new instance of the java bean, or null if there is no complete record after the timeout
+	 * @throws IOException if an I/O error occurs or the thread is interrupted
+	 * @throws RecordException if the record is not valid
+	 */
+	public T read(long timeout, TimeUnit unit) throws IOException, RecordException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		long interval = MIN_POLL_INTERVAL;
+		while (true) {
+			T bean = poll();
+			if (bean != null) {
+				return bean;
+			}
+
+			long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remaining <= 0) {
+				return null;
+			}
+
+			try {
+				Thread.sleep(Math.min(interval, remaining));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting a record");
+			}
+
+			interval = Math.min(interval * 2, maxPollInterval);
+		}
+	}
+
+	/**
+	 * Returns the index of the end of the next complete record inside the buffer (the new line, or the end of the record
+	 * without delimiter), or -1 if the buffer doesn't contain a complete record
+	 */
+	private int findRecordEnd() {
+		if (RecordDelimiter.NONE.equals(recordDelimiter)) {
+			return limit - pos >= recordLen ? pos + recordLen : -1;
+		}
+
+		for (; scanPos < limit; scanPos++) {
+			byte b = buffer[scanPos];
+			if (b == NEW_LINE && !enclosed) {
+				return scanPos;
+			} else if (byteCodec == null && b == enc && enc != 0) {
+				enclosed = !enclosed;
+			}
+		}
+
+		if (rotated && limit > pos) {
+			return limit;
+		}
+
+		if (byteCodec != null && !skipping && scanPos - pos > recordLen + 1) {
+			skipping = true;
+			recordNumber++;
+			recordOffset = offset;
+			throw notValidRecord("Not valid len. Expected len=[" + recordLen + "]", null);
+		}
+
+		return -1;
+	}
+
+	private T decodeRecord(int end) {
+		int start = pos;
+		int next = end;
+		if (!RecordDelimiter.NONE.equals(recordDelimiter) && end < limit) {
+			next = end + 1;
+			if (end > start && buffer[end - 1] == CARRIAGE_RETURN) {
+				end--;
+			}
+		}
+
+		int len = end - start;
+		long recordStart = offset;
+		offset += next - start;
+		pos = next;
+		scanPos = next;
+		enclosed = false;
+		if (skipping) {
+			skipping = false;
+			return null;
+		}
+
+		if (byteCodec == null && len == 0) {
+			return null;
+		}
+
+		recordNumber++;
+		recordOffset = recordStart;
+		if (byteCodec == null) {
+			return decodeCSV(new String(buffer, start, len, charset));
+		} else if (len > recordLen) {
+			throw notValidRecord("Not valid len=[" + len + "]. Expected len=[" + recordLen + "]", null);
+		} else if (len < recordLen) {
+			System.arraycopy(buffer, start, record, 0, len);
+			Arrays.fill(record, len, recordLen, SPACE);
+			return decodeFixed(record, 0);
+		} else {
+			return decodeFixed(buffer, start);
+		}
+	}
+
+	private T decodeFixed(byte[] bytes, int start) {
+		try {
+			return byteCodec.decode(bytes, start, byteCodec.getCodec().newBean());
+		} catch (RecordException re) {
+			throw notValidRecord(re.getMessage(), re);
+		}
+	}
+
+	private T decodeCSV(String csvRecord) {
+		T bean;
+		try {
+			bean = beanConstructor.newInstance();
+		} catch (Exception e) {
+			throw new RecordException(ErrorCode.RE40, "Cannot create a new instance of " + beanClass.getName(), e);
+		}
+
+		CSVBeanRecord csvBeanRecord;
+		try {
+			csvBeanRecord = new CSVBeanRecord(bean, csvRecord, fieldExtendedProperties, mapFieldExtendedProperties);
+		} catch (FieldException | RecordException e) {
+			throw notValidRecord(e.getMessage(), e);
+		}
+
+		if (csvBeanRecord.isErrorStatus()) {
+			throw notValidRecord("Record has Error status. Cause: " + csvBeanRecord.prettyPrintErrorValidationInfo(), null);
+		}
+
+		return bean;
+	}
+
+	private RecordException notValidRecord(String message, Throwable cause) {
+		return new RecordException(ErrorCode.RE41, "Not valid record number=[" + recordNumber + "] at offset=[" + recordOffset +
+			"]. Cause: " + message, cause);
+	}
+
+	private int fillFromChannel() throws IOException {
+		if (pos > 0) {
+			System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+			limit -= pos;
+			scanPos -= pos;
+			pos = 0;
+		}
+
+		if (limit == buffer.length) {
+			if (skipping) {
+				offset += limit;
+				limit = 0;
+				scanPos = 0;
+			} else {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+		}
+
+		int n = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit), offset + limit);
+		if (n <= 0) {
+			return 0;
+		}
+
+		limit += n;
+		return n;
+	}
+
+	/**
+	 * Check if the file has been truncated or rotated, when there are no more bytes to read
+	 *
+	 * @return true if the reading must go on, from the beginning of the truncated file or with the last record of the rotated file
+	 */
+	private boolean checkTruncatedOrRotated() throws IOException {
+		if (rotated) {
+			return limit > pos;
+		}
+
+		if (channel.size() < offset + (limit - pos)) {
+			offset = 0;
+			pos = 0;
+			limit = 0;
+			scanPos = 0;
+			enclosed = false;
+			skipping = false;
+			return true;
+		}
+
+		Object currentFileKey = fileKey(path);
+		if (currentFileKey != null && !currentFileKey.equals(fileKey)) {
+			rotated = true;
+			return true;
+		}
+
+		return false;
+	}
+
+	private void reopen() throws IOException {
+		FileChannel newChannel = FileChannel.open(path, StandardOpenOption.READ);
+		channel.close();
+		channel = newChannel;
+		fileKey = fileKey(path);
+		rotated = false;
+		offset = 0;
+		pos = 0;
+		limit = 0;
+		scanPos = 0;
+		enclosed = false;
+		skipping = false;
+	}
+
+	/**
+	 * Close the file channel
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,21 @@
+package com.github.parmag.fixefid.record.io;
+
+/**
+ * The enum that represents what to do with a group of records whose detail records are more than the max
+ * (see {@link RecordGroupReader})
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ */
+public enum GroupOverflow {
+	/**
+	 * The group is skipped and a <code>RecordException</code> with error code <code>ErrorCode.RE46</code> is thrown
+	 */
+	REJECT,
+	/**
+	 * The detail records beyond the max are written to a temporary file and read again when the group is iterated
+	 */
+	SPILL
+}
@@ -0,0 +1,57 @@
+package com.github.parmag.fixefid.record.io;
+
+/**
+ * The <code>JoinResult</code> is a result of a {@link MergeJoin}: a pair of left and right java beans with the same key,
+ * or a java bean of only one side
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <L> the type of the java bean of the left records
+ * @param <R> the type of the java bean of the right records
+ */
+public class JoinResult<L, R> {
+	private final JoinType type;
+	private final L left;
+	private final R right;
+
+	/**
+	 * Create a new <code>JoinResult</code>
+	 *
+	 * @param type the type of the result
+	 * @param left the java bean of the left record, or null if the type is <code>RIGHT_ONLY</code>
+	 * @param right the java bean of the right record, or null if the type is <code>LEFT_ONLY</code>
+	 */
+	public JoinResult(JoinType type, L left, R right) {
+		this.type = type;
+		this.left = left;
+		this.right = right;
+	}
+
+	/**
+	 * @return the type of the result
+	 */
+	public JoinType getType() {
+		return type;
+	}
+
+	/**
+	 * @return the java bean of the left record, or null if the type is <code>RIGHT_ONLY</code>
+	 */
+	public L getLeft() {
+		return left;
+	}
+
+	/**
+	 * @return the java bean of the right record, or null if the type is <code>LEFT_ONLY</code>
+	 */
+	public R getRight() {
+		return right;
+	}
+
+	@Override
+	public String toString() {
+		return "JoinResult [type=" + type + ", left=" + left + ", right=" + right + "]";
+	}
+}
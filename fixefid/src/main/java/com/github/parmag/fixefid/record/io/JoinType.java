@@ -0,0 +1,24 @@
+package com.github.parmag.fixefid.record.io;
+
+/**
+ * The enum that represents the type of a result of a {@link MergeJoin}
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ */
+public enum JoinType {
+	/**
+	 * A left record and a right record with the same key
+	 */
+	MATCHED,
+	/**
+	 * A left record without a right record with the same key
+	 */
+	LEFT_ONLY,
+	/**
+	 * A right record without a left record with the same key
+	 */
+	RIGHT_ONLY
+}
@@ -0,0 +1,228 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.github.parmag.fixefid.record.BeanRecord;
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>MappedFixedFile</code> gives random access to the records of a fixed-length file, mapping the file in memory.
+ * Every record has the same len, so the record with index n starts at the byte <code>n * (recordLen + eol)</code>, where
+ * <code>eol</code> is the len of the new line (0, 1 or 2 bytes) detected from the first record.
+ * <p>
+ * The file is mapped in one or more read only regions, each of them not greater than <code>Integer.MAX_VALUE</code> bytes
+ * and made up of whole records, so files greater than 2 GB are supported. The regions are mapped on demand.
+ * <p>
+ * The records are decoded straight from the mapped bytes (see {@link ByteRecordCodec}), so the len of the fields is in bytes
+ * and the multi byte charsets (for instance UTF-8) are supported too. With a new line, the charset must encode it as
+ * the single byte <code>'\n'</code> (for the EBCDIC charsets use <code>RecordDelimiter.NONE</code>).
+ * <p>
+ * An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class MappedFixedFile<T> implements Closeable {
+	/**
+	 * The default max size of a mapped region, in bytes
+	 */
+	public static final int DEF_MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+	private final FileChannel channel;
+	private final ByteRecordCodec<T> byteCodec;
+	private final int recordLen;
+	private final int eolLen;
+	private final long size;
+	private final long recordCount;
+	private final int recordsPerRegion;
+	private final MappedByteBuffer[] regions;
+	private final byte[] bytes;
+
+	/**
+	 * Open the file indicated by the <code>path</code> param, with the records terminated by a new line
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public MappedFixedFile(Path path, Charset charset, Class<T> beanClass) throws IOException, RecordException {
+		this(path, charset, new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE, DEF_MAX_REGION_SIZE);
+	}
+
+	/**
+	 * Open the file indicated by the <code>path</code> param, with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public MappedFixedFile(Path path, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter) throws IOException, RecordException {
+		this(path, charset, codec, recordDelimiter, DEF_MAX_REGION_SIZE);
+	}
+
+	/**
+	 * Open the file indicated by the <code>path</code> param, with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param maxRegionSize the max size of a mapped region, in bytes. It's extended to contain at least a record
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public MappedFixedFile(Path path, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter, int maxRegionSize)
+			throws IOException, RecordException {
+		this.byteCodec = new ByteRecordCodec<T>(codec, charset);
+		this.recordLen = codec.getRecordLen();
+		this.bytes = new byte[recordLen];
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try {
+			FixedFileBounds bounds = new FixedFileBounds(channel, path, recordLen, recordDelimiter);
+			this.size = bounds.getSize();
+			this.eolLen = bounds.getEolLen();
+			this.recordCount = bounds.getRecordCount();
+			this.recordsPerRegion = Math.max(1, maxRegionSize / bounds.getStride());
+			this.regions = new MappedByteBuffer[(int) ((recordCount + recordsPerRegion - 1) / recordsPerRegion)];
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the compiled layout of the java bean
+	 */
+	public BeanRecordCodec<T> getCodec() {
+		return byteCodec.getCodec();
+	}
+
+	/**
+	 * @return the number of the records of the file
+	 */
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Returns the offset, in bytes, of the record indicated by the <code>index</code> param
+	 *
+	 * @param index the index of the record, starting from 0
+	 * @return the offset, in bytes, of the record
+	 */
+	public long getRecordOffset(long index) {
+		return index * (recordLen + eolLen);
+	}
+
+	/**
+	 * Returns the formatted record indicated by the <code>index</code> param
+	 *
+	 * @param index the index of the record, starting from 0
+	 * @return the formatted record
+	 * @throws IOException if the region of the record can't be mapped
+	 */
+	public String getRecord(long index) throws IOException {
+		readRecord(index);
+		return byteCodec.recordAsString(bytes, 0);
+	}
+
+	/**
+	 * Returns a new instance of the java bean with the values of the record indicated by the <code>index</code> param
+	 *
+	 * @param index the index of the record, starting from 0
+	 * @return the new instance of the java bean
+	 * @throws IOException if the region of the record can't be mapped
+	 * @throws RecordException if the record is not valid
+	 */
+	public T get(long index) throws IOException, RecordException {
+		return get(index, byteCodec.getCodec().newBean());
+	}
+
+	/**
+	 * Fill the <code>bean</code> param with the values of the record indicated by the <code>index</code> param
+	 *
+	 * @param index the index of the record, starting from 0
+	 * @param bean the bean to fill
+	 * @return the <code>bean</code> param
+	 * @throws IOException if the region of the record can't be mapped
+	 * @throws RecordException if the record is not valid
+	 */
+	public T get(long index, T bean) throws IOException, RecordException {
+		readRecord(index);
+		try {
+			return byteCodec.decode(bytes, 0, bean);
+		} catch (RecordException re) {
+			throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (index + 1) + "] at offset=[" + getRecordOffset(index) +
+				"]. Cause: " + re.getMessage(), re);
+		}
+	}
+
+	/**
+	 * Returns a new <code>BeanRecord</code> with the record indicated by the <code>index</code> param
+	 *
+	 * @param index the index of the record, starting from 0
+	 * @return the new <code>BeanRecord</code>
+	 * @throws IOException if the region of the record can't be mapped
+	 * @throws RecordException if the record is not valid
+	 */
+	public BeanRecord getBeanRecord(long index) throws IOException, RecordException {
+		return byteCodec.getCodec().newBeanRecord(byteCodec.getCodec().newBean(), getRecord(index));
+	}
+
+	private void readRecord(long index) throws IOException {
+		if (index < 0 || index >= recordCount) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Record count: " + recordCount);
+		}
+
+		int regionIndex = (int) (index / recordsPerRegion);
+		ByteBuffer region = regionForIndex(regionIndex).duplicate();
+		((Buffer) region).position((int) (index % recordsPerRegion) * (recordLen + eolLen));
+		region.get(bytes);
+	}
+
+	private MappedByteBuffer regionForIndex(int regionIndex) throws IOException {
+		MappedByteBuffer region = regions[regionIndex];
+		if (region == null) {
+			long position = (long) regionIndex * recordsPerRegion * (recordLen + eolLen);
+			long regionSize = Math.min((long) recordsPerRegion * (recordLen + eolLen), size - position);
+			region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+			regions[regionIndex] = region;
+		}
+
+		return region;
+	}
+
+	/**
+	 * Close the file channel. The mapped regions are released by the garbage collector
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		for (int i = 0; i < regions.length; i++) {
+			regions[i] = null;
+		}
+
+		channel.close();
+	}
+}
@@ -0,0 +1,179 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>MergeJoin</code> joins the records of two fixed-length files sorted by their key fields, for instance a ledger and
+ * a bank statement, in one pass: every left record with a right record with the same key gives a <code>MATCHED</code> result,
+ * the other records give a <code>LEFT_ONLY</code> or a <code>RIGHT_ONLY</code> result.
+ * <p>
+ * The two files can have different layouts: the key fields of the left layout and of the right layout must be in the same
+ * number and with the same lens. The keys are compared as the chars of the key fields present in the records, in the order of
+ * the list of the key fields, so every record is decoded only to be returned. If many records of both the files have the same
+ * key, they are matched in the order of the files: the first left with the first right, the second left with the second right
+ * and so on. So only the current record of every file is kept in memory.
+ * <p>
+ * The records must be sorted by the key fields as they are compared (for instance with {@link FixefidSorter}): a record with a
+ * key less than the key of the previous record of the same file throws a <code>RecordException</code> with error code
+ * <code>ErrorCode.RE48</code>. An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <L> the type of the java bean of the left records
+ * @param <R> the type of the java bean of the right records
+ */
+public class MergeJoin<L, R> implements Closeable {
+	private final JoinSide<L> left;
+	private final JoinSide<R> right;
+
+	/**
+	 * Create a new <code>MergeJoin</code> of the records read by the <code>left</code> and <code>right</code> params
+	 *
+	 * @param left the reader of the left records
+	 * @param leftKeyFieldNames the names of the key fields of the left layout, in order of significance
+	 * @param right the reader of the right records
+	 * @param rightKeyFieldNames the names of the key fields of the right layout, in order of significance
+	 * @throws RecordException if a key field is not a field of the layout or the key fields of the two layouts don't have the same lens
+	 */
+	public MergeJoin(FixefidReader<L> left, List<String> leftKeyFieldNames, FixefidReader<R> right, List<String> rightKeyFieldNames)
+			throws RecordException {
+		this.left = new JoinSide<L>(left, leftKeyFieldNames);
+		this.right = new JoinSide<R>(right, rightKeyFieldNames);
+		if (!Arrays.equals(this.left.keyLens, this.right.keyLens)) {
+			throw new RecordException(ErrorCode.RE48, "Not valid key fields " + leftKeyFieldNames + " of " + left.getCodec().getBeanClass().getName() +
+				" and " + rightKeyFieldNames + " of " + right.getCodec().getBeanClass().getName() + ". Expected the same number and lens");
+		}
+	}
+
+	/**
+	 * Read the next result of the join
+	 *
+	 * @return the next result, or null if both the files have been read
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a record is not valid or not sorted
+	 */
+	public JoinResult<L, R> read() throws IOException, RecordException {
+		left.advanceIfPending();
+		right.advanceIfPending();
+		if (left.done && right.done) {
+			return null;
+		}
+
+		int cmp = left.done ? 1 : right.done ? -1 : compareKeys();
+		if (cmp < 0) {
+			return new JoinResult<L, R>(JoinType.LEFT_ONLY, left.take(), null);
+		} else if (cmp > 0) {
+			return new JoinResult<L, R>(JoinType.RIGHT_ONLY, null, right.take());
+		} else {
+			return new JoinResult<L, R>(JoinType.MATCHED, left.take(), right.take());
+		}
+	}
+
+	private int compareKeys() {
+		char[] leftChars = left.reader.currentChars();
+		char[] rightChars = right.reader.currentChars();
+		int leftStart = left.reader.currentStart();
+		int rightStart = right.reader.currentStart();
+		for (int f = 0; f < left.keyLens.length; f++) {
+			int l = leftStart + left.keyOffsets[f];
+			int r = rightStart + right.keyOffsets[f];
+			for (int i = 0; i < left.keyLens[f]; i++) {
+				char c1 = leftChars[l + i];
+				char c2 = rightChars[r + i];
+				if (c1 != c2) {
+					return c1 - c2;
+				}
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Close the readers of the two files
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			left.reader.close();
+		} finally {
+			right.reader.close();
+		}
+	}
+
+	/**
+	 * The reader of a file of the join, with the key of its previous record to check the order
+	 */
+	private static class JoinSide<T> {
+		private final FixefidReader<T> reader;
+		private final int[] keyOffsets;
+		private final int[] keyLens;
+		private final char[] previousKey;
+		private boolean hasPrevious;
+		private boolean pending = true;
+		private boolean done;
+
+		private JoinSide(FixefidReader<T> reader, List<String> keyFieldNames) {
+			BeanRecordCodec<T> codec = reader.getCodec();
+			this.reader = reader;
+			this.keyOffsets = FixefidSorter.keyOffsets(codec, keyFieldNames);
+			this.keyLens = FixefidSorter.keyLens(codec, keyFieldNames);
+			int keyLen = 0;
+			for (int len : keyLens) {
+				keyLen += len;
+			}
+
+			this.previousKey = new char[keyLen];
+		}
+
+		private void advanceIfPending() throws IOException {
+			if (!pending || done) {
+				return;
+			}
+
+			if (!reader.next()) {
+				done = true;
+				return;
+			}
+
+			char[] chars = reader.currentChars();
+			int start = reader.currentStart();
+			int cmp = 0;
+			int k = 0;
+			for (int f = 0; f < keyOffsets.length; f++) {
+				for (int i = 0; i < keyLens[f]; i++) {
+					char c = chars[start + keyOffsets[f] + i];
+					if (cmp == 0 && hasPrevious) {
+						cmp = c - previousKey[k];
+					}
+
+					previousKey[k++] = c;
+				}
+			}
+
+			if (cmp < 0) {
+				throw new RecordException(ErrorCode.RE48, "Not valid record number=[" + reader.getRecordNumber() + "] at offset=[" +
+					reader.getRecordOffset() + "] of " + reader.getCodec().getBeanClass().getName() + ". Cause: the key is less than the key of the previous record");
+			}
+
+			hasPrevious = true;
+			pending = false;
+		}
+
+		private T take() {
+			pending = true;
+			return reader.decodeCurrent(null);
+		}
+	}
+}
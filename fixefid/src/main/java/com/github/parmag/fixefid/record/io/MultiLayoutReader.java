@@ -0,0 +1,365 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>MultiLayoutReader</code> reads the records of a fixed-length file with many record types (for instance
+ * header, detail and trailer records), one line after the other, decoding every record with the layout selected by its
+ * discriminator (see {@link RecordDiscriminator}).
+ * <p>
+ * The discriminators are compiled in a lookup table: the discriminators with the same offset and len are grouped and
+ * sorted by value, so the layout of a record is found with a binary search on the chars of the record, without creating
+ * strings and without trial parsing. The groups are checked in the order of their first discriminator: the first
+ * matching discriminator selects the layout. The layout of every java bean is compiled only once (see {@link BeanRecordCodec}).
+ * <p>
+ * If a record has no matching discriminator or is not valid, a <code>RecordException</code> with error code
+ * <code>ErrorCode.RE41</code> is thrown, with the record number and the offset (in chars) of the record. The reader is
+ * already positioned to the next record, so the reading can go on.
+ * <p>
+ * An instance of this class is not thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ */
+public class MultiLayoutReader implements Closeable {
+	/**
+	 * The default size of the buffer, in chars
+	 */
+	public static final int DEF_BUFFER_SIZE = 64 * 1024;
+
+	private static final char NEW_LINE = '\n';
+	private static final char CARRIAGE_RETURN = '\r';
+	private static final char SPACE = ' ';
+
+	private final Reader in;
+	private final DiscriminatorGroup[] groups;
+	private final int maxRecordLen;
+	private final char[] record;
+	private char[] buffer;
+	private int pos;
+	private int limit;
+	private boolean eof;
+	private long recordNumber;
+	private long recordOffset;
+	private long offset;
+	private RecordDiscriminator<?> discriminator;
+
+	/**
+	 * Create a new <code>MultiLayoutReader</code> of the file indicated by the <code>path</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param discriminators the discriminators of the record types
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if two discriminators have the same offset and value
+	 */
+	public MultiLayoutReader(Path path, Charset charset, List<RecordDiscriminator<?>> discriminators) throws IOException, RecordException {
+		this(new InputStreamReader(Files.newInputStream(path), charset), discriminators, DEF_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new <code>MultiLayoutReader</code> of the records read by the <code>in</code> param
+	 *
+	 * @param in the reader of the records
+	 * @param discriminators the discriminators of the record types
+	 * @throws RecordException if two discriminators have the same offset and value
+	 */
+	public MultiLayoutReader(Reader in, List<RecordDiscriminator<?>> discriminators) throws RecordException {
+		this(in, discriminators, DEF_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new <code>MultiLayoutReader</code> of the records read by the <code>in</code> param
+	 *
+	 * @param in the reader of the records
+	 * @param discriminators the discriminators of the record types
+	 * @param bufferSize the size of the buffer, in chars. It's extended to contain at least the longest record with its new line
+	 * @throws RecordException if two discriminators have the same offset and value
+	 */
+	public MultiLayoutReader(Reader in, List<RecordDiscriminator<?>> discriminators, int bufferSize) throws RecordException {
+		this.in = in;
+		this.groups = compileGroups(discriminators);
+		int max = 0;
+		for (RecordDiscriminator<?> d : discriminators) {
+			max = Math.max(max, d.getCodec().getRecordLen());
+		}
+
+		this.maxRecordLen = max;
+		this.record = new char[maxRecordLen];
+		this.buffer = new char[Math.max(bufferSize, maxRecordLen + 2)];
+	}
+
+	private static DiscriminatorGroup[] compileGroups(List<RecordDiscriminator<?>> discriminators) {
+		List<DiscriminatorGroup> groups = new ArrayList<DiscriminatorGroup>();
+		List<List<RecordDiscriminator<?>>> members = new ArrayList<List<RecordDiscriminator<?>>>();
+		for (RecordDiscriminator<?> d : discriminators) {
+			int index = -1;
+			for (int i = 0; i < groups.size(); i++) {
+				if (groups.get(i).offset == d.getOffset() && groups.get(i).len == d.getValue().length()) {
+					index = i;
+					break;
+				}
+			}
+
+			if (index < 0) {
+				groups.add(new DiscriminatorGroup(d.getOffset(), d.getValue().length()));
+				members.add(new ArrayList<RecordDiscriminator<?>>());
+				index = groups.size() - 1;
+			}
+
+			members.get(index).add(d);
+		}
+
+		for (int i = 0; i < groups.size(); i++) {
+			groups.get(i).compile(members.get(i));
+		}
+
+		return groups.toArray(new DiscriminatorGroup[groups.size()]);
+	}
+
+	/**
+	 * @return the number of the last read record, starting from 1. It's the line number
+	 */
+	public long getRecordNumber() {
+		return recordNumber;
+	}
+
+	/**
+	 * @return the offset, in chars, of the last read record
+	 */
+	public long getRecordOffset() {
+		return recordOffset;
+	}
+
+	/**
+	 * @return the discriminator of the last read record, or null if no layout matches the last read record
+	 */
+	public RecordDiscriminator<?> getDiscriminator() {
+		return discriminator;
+	}
+
+	/**
+	 * Read the next record into a new instance of the java bean of its layout
+	 *
+	 * @return the new instance of the java bean, or null if the end of the stream has been reached
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if no layout matches the record or the record is not valid
+	 */
+	public Object read() throws IOException, RecordException {
+		fill(maxRecordLen + 2);
+		if (pos == limit) {
+			return null;
+		}
+
+		int max = Math.min(limit, pos + maxRecordLen + 2);
+		int lineEnd = -1;
+		for (int i = pos; i < max; i++) {
+			if (buffer[i] == NEW_LINE) {
+				lineEnd = i;
+				break;
+			}
+		}
+
+		int next = lineEnd + 1;
+		discriminator = null;
+		if (lineEnd < 0) {
+			if (eof && limit - pos <= maxRecordLen + 1) {
+				lineEnd = limit;
+				next = limit;
+			} else {
+				startRecord(0);
+				skipLine();
+				throw notValidRecord("Not valid len. Expected max len=[" + maxRecordLen + "]", null);
+			}
+		}
+
+		int end = lineEnd;
+		if (end > pos && buffer[end - 1] == CARRIAGE_RETURN) {
+			end--;
+		}
+
+		int start = pos;
+		int len = end - start;
+		startRecord(next - start);
+		pos = next;
+
+		discriminator = lookup(start, len);
+		if (discriminator == null) {
+			throw notValidRecord("Not found a layout for the record", null);
+		}
+
+		int recordLen = discriminator.getCodec().getRecordLen();
+		if (len > recordLen) {
+			throw notValidRecord("Not valid len=[" + len + "]. Expected len=[" + recordLen + "]", null);
+		} else if (len < recordLen) {
+			System.arraycopy(buffer, start, record, 0, len);
+			Arrays.fill(record, len, recordLen, SPACE);
+			return decode(discriminator.getCodec(), record, 0);
+		} else {
+			return decode(discriminator.getCodec(), buffer, start);
+		}
+	}
+
+	private RecordDiscriminator<?> lookup(int start, int len) {
+		for (DiscriminatorGroup group : groups) {
+			RecordDiscriminator<?> d = group.lookup(buffer, start, len);
+			if (d != null) {
+				return d;
+			}
+		}
+
+		return null;
+	}
+
+	private <T> T decode(BeanRecordCodec<T> codec, char[] chars, int start) {
+		try {
+			return codec.decode(chars, start, codec.newBean());
+		} catch (RecordException re) {
+			throw notValidRecord(re.getMessage(), re);
+		}
+	}
+
+	private void startRecord(int len) {
+		recordNumber++;
+		recordOffset = offset;
+		offset += len;
+	}
+
+	private void skipLine() throws IOException {
+		while (true) {
+			for (int i = pos; i < limit; i++) {
+				if (buffer[i] == NEW_LINE) {
+					offset += i + 1 - pos;
+					pos = i + 1;
+					return;
+				}
+			}
+
+			offset += limit - pos;
+			pos = limit;
+			if (!fill(1)) {
+				return;
+			}
+		}
+	}
+
+	private RecordException notValidRecord(String message, Throwable cause) {
+		return new RecordException(ErrorCode.RE41, "Not valid record number=[" + recordNumber + "] at offset=[" + recordOffset +
+			"]. Cause: " + message, cause);
+	}
+
+	private boolean fill(int needed) throws IOException {
+		if (limit - pos >= needed) {
+			return true;
+		}
+
+		if (pos > 0) {
+			System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+			limit -= pos;
+			pos = 0;
+		}
+
+		while (limit < needed && !eof) {
+			int n = in.read(buffer, limit, buffer.length - limit);
+			if (n < 0) {
+				eof = true;
+			} else {
+				limit += n;
+			}
+		}
+
+		return limit - pos >= needed;
+	}
+
+	/**
+	 * Close the underlying reader
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * The discriminators with the same offset and len, sorted by value
+	 */
+	private static class DiscriminatorGroup {
+		private final int offset;
+		private final int len;
+		private char[][] values;
+		private RecordDiscriminator<?>[] discriminators;
+
+		private DiscriminatorGroup(int offset, int len) {
+			this.offset = offset;
+			this.len = len;
+		}
+
+		private void compile(List<RecordDiscriminator<?>> members) {
+			RecordDiscriminator<?>[] sorted = members.toArray(new RecordDiscriminator<?>[members.size()]);
+			Arrays.sort(sorted, new Comparator<RecordDiscriminator<?>>() {
+				@Override
+				public int compare(RecordDiscriminator<?> d1, RecordDiscriminator<?> d2) {
+					return d1.getValue().compareTo(d2.getValue());
+				}
+			});
+
+			values = new char[sorted.length][];
+			for (int i = 0; i < sorted.length; i++) {
+				if (i > 0 && sorted[i].getValue().equals(sorted[i - 1].getValue())) {
+					throw new RecordException(ErrorCode.RE45, "Not unique discriminator=[" + sorted[i].getValue() + "] at offset=[" + offset +
+						"] for the classes " + sorted[i - 1].getCodec().getBeanClass().getName() + " and " + sorted[i].getCodec().getBeanClass().getName());
+				}
+
+				values[i] = sorted[i].getValue().toCharArray();
+			}
+
+			discriminators = sorted;
+		}
+
+		private RecordDiscriminator<?> lookup(char[] chars, int start, int lineLen) {
+			int low = 0;
+			int high = values.length - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int cmp = compare(values[mid], chars, start, lineLen);
+				if (cmp < 0) {
+					low = mid + 1;
+				} else if (cmp > 0) {
+					high = mid - 1;
+				} else {
+					return discriminators[mid];
+				}
+			}
+
+			return null;
+		}
+
+		private int compare(char[] value, char[] chars, int start, int lineLen) {
+			for (int i = 0; i < len; i++) {
+				int index = offset + i;
+				char c = index < lineLen ? chars[start + index] : SPACE;
+				if (value[i] != c) {
+					return value[i] - c;
+				}
+			}
+
+			return 0;
+		}
+	}
+}
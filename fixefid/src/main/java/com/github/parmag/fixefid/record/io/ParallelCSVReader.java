@@ -0,0 +1,458 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.csv.CSVBeanRecord;
+import com.github.parmag.fixefid.record.csv.CSVEnc;
+import com.github.parmag.fixefid.record.csv.CSVSep;
+import com.github.parmag.fixefid.record.csv.FixefidCSVRecord;
+import com.github.parmag.fixefid.record.eps.FieldExtendedPropertyFactory;
+import com.github.parmag.fixefid.record.field.FieldException;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+
+/**
+ * The <code>ParallelCSVReader</code> reads the records of a CSV file in parallel, decoding every record into a java bean
+ * annotated with <code>FixefidCSVRecord.class</code>, and delivers the java beans in the order of the file.
+ * <p>
+ * The file is split in chunks of about the same size. A chunk can start inside a value enclosed with the enclosing char,
+ * that can contain the new line, so the start of the first record of every chunk is found with a speculative scan: every
+ * chunk is scanned in parallel once for every state of the CSV parser in which the chunk can start (at the start of a value,
+ * inside a value, inside an enclosed value, after an enclosing char inside an enclosed value), recording the first end of
+ * record and the final state of every scan. Then the real state at the start of every chunk is resolved from the start of
+ * the file, chunk after chunk, and the chunks are moved to start with a whole record. At last the chunks are decoded
+ * in parallel by the tasks of the executor (by default the <code>ForkJoinPool.commonPool()</code>).
+ * <p>
+ * The new line, the separator and the enclosing char must be single bytes in the charset of the file, for instance
+ * in UTF-8 or in ISO-8859-1. The empty lines are skipped.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class ParallelCSVReader<T> implements Closeable {
+	/**
+	 * The default size of a chunk, in bytes
+	 */
+	public static final int DEF_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	private static final byte NEW_LINE = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+	private static final byte SPACE = ' ';
+
+	// the states of the CSV parser, see AbstractRecord.initRecordCSV
+	private static final int VALUE_START = 0;
+	private static final int IN_VALUE = 1;
+	private static final int IN_ENCLOSED_VALUE = 2;
+	private static final int AFTER_ENCLOSING = 3;
+	private static final int STATES = 4;
+
+	private final FileChannel channel;
+	private final Class<T> beanClass;
+	private final Constructor<T> beanConstructor;
+	private final List<FieldExtendedProperty> fieldExtendedProperties;
+	private final Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties;
+	private final Queue<Layout> layouts = new ConcurrentLinkedQueue<Layout>();
+	private final Charset charset;
+	private final Executor executor;
+	private final byte sep;
+	private final byte enc;
+	private final long size;
+	private final int chunkSize;
+	private final int maxPendingChunks;
+
+	/**
+	 * Open the CSV file indicated by the <code>path</code> param, decoding the chunks with the <code>ForkJoinPool.commonPool()</code>
+	 *
+	 * @param path the path of the CSV file
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the bean is not annotated with <code>FixefidCSVRecord.class</code> or the charset is not valid
+	 */
+	public ParallelCSVReader(Path path, Charset charset, Class<T> beanClass) throws IOException, RecordException {
+		this(path, charset, beanClass, null, null, ForkJoinPool.commonPool(), DEF_CHUNK_SIZE);
+	}
+
+	/**
+	 * Open the CSV file indicated by the <code>path</code> param, applying to the records the extended properties indicated
+	 * by the <code>fieldExtendedProperties</code> and <code>mapFieldExtendedProperties</code> params (see {@link CSVBeanRecord})
+	 *
+	 * @param path the path of the CSV file
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @param fieldExtendedProperties the extended properties of field applied to every fields of the record
+	 * @param mapFieldExtendedProperties the extended properties of fields to override the relative property at record level
+	 * @param executor the executor of the tasks that scan and decode the chunks
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the bean is not annotated with <code>FixefidCSVRecord.class</code> or the charset is not valid
+	 */
+	public ParallelCSVReader(Path path, Charset charset, Class<T> beanClass, List<FieldExtendedProperty> fieldExtendedProperties,
+			Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties, Executor executor) throws IOException, RecordException {
+		this(path, charset, beanClass, fieldExtendedProperties, mapFieldExtendedProperties, executor, DEF_CHUNK_SIZE);
+	}
+
+	/**
+	 * Open the CSV file indicated by the <code>path</code> param, applying to the records the extended properties indicated
+	 * by the <code>fieldExtendedProperties</code> and <code>mapFieldExtendedProperties</code> params (see {@link CSVBeanRecord})
+	 *
+	 * @param path the path of the CSV file
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @param fieldExtendedProperties the extended properties of field applied to every fields of the record
+	 * @param mapFieldExtendedProperties the extended properties of fields to override the relative property at record level
+	 * @param executor the executor of the tasks that scan and decode the chunks
+	 * @param chunkSize the size of a chunk, in bytes
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the bean is not annotated with <code>FixefidCSVRecord.class</code> or the charset is not valid
+	 */
+	public ParallelCSVReader(Path path, Charset charset, Class<T> beanClass, List<FieldExtendedProperty> fieldExtendedProperties,
+			Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties, Executor executor, int chunkSize)
+			throws IOException, RecordException {
+		if (!beanClass.isAnnotationPresent(FixefidCSVRecord.class)) {
+			throw new RecordException(ErrorCode.RE24, "The class " + beanClass.getSimpleName() + " is not annotated with FixefidCSVRecord");
+		}
+
+		FixefidCSVRecord fixefidCSVRecord = beanClass.getAnnotation(FixefidCSVRecord.class);
+		CSVSep recordSep = fixefidCSVRecord.recordSep();
+		String delimiter = CSVSep.OTHER.equals(recordSep) ? fixefidCSVRecord.recordOtherSep() : recordSep.getSep();
+		CSVEnc recordEnc = fixefidCSVRecord.recordEnc();
+
+		this.beanClass = beanClass;
+		this.beanConstructor = constructorForBeanClass(beanClass);
+		this.fieldExtendedProperties = fieldExtendedProperties;
+		this.mapFieldExtendedProperties = mapFieldExtendedProperties;
+		this.charset = charset;
+		this.executor = executor;
+		this.sep = singleByte(charset, delimiter);
+		this.enc = singleByte(charset, recordEnc.getEnc());
+		singleByte(charset, "\n");
+		this.chunkSize = Math.max(1, chunkSize);
+		int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() :
+			Runtime.getRuntime().availableProcessors();
+		this.maxPendingChunks = 2 * Math.max(1, parallelism);
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try {
+			this.size = channel.size();
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static byte singleByte(Charset charset, String s) {
+		byte[] bytes = s.getBytes(charset);
+		boolean singleByteCharset = charset.newEncoder().maxBytesPerChar() == 1;
+		if (bytes.length != 1 || (!singleByteCharset && bytes[0] < 0)) {
+			throw new RecordException(ErrorCode.RE44, "Not valid charset " + charset.name() + ": the char=[" + s + "] must be a single byte");
+		}
+
+		return bytes[0];
+	}
+
+	private static <C> Constructor<C> constructorForBeanClass(Class<C> beanClass) {
+		try {
+			Constructor<C> constructor = beanClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (Exception e) {
+			throw new RecordException(ErrorCode.RE40, "The class " + beanClass.getName() + " must have a no-arg constructor", e);
+		}
+	}
+
+	/**
+	 * @return the class of the java bean
+	 */
+	public Class<T> getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * Returns the scale of the values as BigDecimal of the field represented by the <code>fieldName</code> param,
+	 * with the extended properties of this reader (see {@link CSVBeanRecord#getFieldScale(String)})
+	 *
+	 * @param fieldName the name of the field
+	 * @return the scale of the field
+	 * @throws RecordException if the <code>fieldName</code> param doesn't represent any field of the record
+	 */
+	public int getFieldScale(String fieldName) throws RecordException {
+		Layout layout = new Layout();
+		return new CSVBeanRecord(layout.newBean(), null, layout.fieldExtendedProperties, layout.mapFieldExtendedProperties)
+			.getFieldScale(fieldName);
+	}
+
+	/**
+	 * Decode all the records in parallel and deliver the java beans to the <code>consumer</code> param in the order of the file.
+	 * The consumer is invoked on the calling thread
+	 *
+	 * @param consumer the consumer of the java beans
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a record is not valid
+	 */
+	public void forEachOrdered(Consumer<? super T> consumer) throws IOException, RecordException {
+		long[] bounds = recordBounds();
+		int chunkCount = bounds.length - 1;
+		int nextChunk = 0;
+		long recordNumber = 0;
+		ArrayDeque<FutureTask<Chunk>> pending = new ArrayDeque<FutureTask<Chunk>>();
+		try {
+			while (nextChunk < chunkCount || !pending.isEmpty()) {
+				while (nextChunk < chunkCount && pending.size() < maxPendingChunks) {
+					final long start = bounds[nextChunk];
+					final long end = bounds[++nextChunk];
+					FutureTask<Chunk> task = new FutureTask<Chunk>(new Callable<Chunk>() {
+						@Override
+						public Chunk call() throws IOException {
+							return decodeChunk(start, end);
+						}
+					});
+					pending.add(task);
+					executor.execute(task);
+				}
+
+				Chunk chunk = ParallelFixefidReader.await(pending.poll());
+				for (T bean : chunk.beans) {
+					consumer.accept(bean);
+				}
+
+				recordNumber += chunk.beans.size();
+				if (chunk.error != null) {
+					throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (recordNumber + 1) + "] at offset=[" +
+						chunk.errorOffset + "]. Cause: " + chunk.error.getMessage(), chunk.error);
+				}
+			}
+		} finally {
+			for (Future<Chunk> task : pending) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Scan the chunks in parallel once for every state of the parser, then resolve the offset of the first whole record
+	 * of every chunk. A chunk without an end of record is merged with the previous one
+	 */
+	private long[] recordBounds() throws IOException {
+		int scanCount = (int) ((size + chunkSize - 1) / chunkSize);
+		List<FutureTask<Scan>> scans = new ArrayList<FutureTask<Scan>>(scanCount);
+		List<Long> bounds = new ArrayList<Long>();
+		bounds.add(0L);
+		try {
+			for (int i = 0; i < scanCount; i++) {
+				final long start = (long) i * chunkSize;
+				final long end = Math.min(size, start + chunkSize);
+				FutureTask<Scan> task = new FutureTask<Scan>(new Callable<Scan>() {
+					@Override
+					public Scan call() throws IOException {
+						return scanChunk(start, end);
+					}
+				});
+				scans.add(task);
+				executor.execute(task);
+			}
+
+			int state = VALUE_START;
+			for (int i = 0; i < scanCount; i++) {
+				Scan scan = ParallelFixefidReader.await(scans.get(i));
+				if (i > 0 && scan.firstRecordEnd[state] >= 0 && scan.firstRecordEnd[state] < size) {
+					bounds.add(scan.firstRecordEnd[state]);
+				}
+
+				state = scan.finalState[state];
+			}
+		} finally {
+			for (Future<Scan> task : scans) {
+				task.cancel(false);
+			}
+		}
+
+		bounds.add(size);
+		long[] result = new long[bounds.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = bounds.get(i);
+		}
+
+		return result;
+	}
+
+	private Scan scanChunk(long start, long end) throws IOException {
+		byte[] bytes = read(start, end);
+		Scan scan = new Scan();
+		for (int initialState = 0; initialState < STATES; initialState++) {
+			int state = initialState;
+			long firstRecordEnd = -1;
+			for (int i = 0; i < bytes.length; i++) {
+				byte b = bytes[i];
+				if (b == NEW_LINE && state != IN_ENCLOSED_VALUE) {
+					if (firstRecordEnd < 0) {
+						firstRecordEnd = start + i + 1;
+					}
+
+					state = VALUE_START;
+				} else {
+					state = next(state, b);
+				}
+			}
+
+			scan.firstRecordEnd[initialState] = firstRecordEnd;
+			scan.finalState[initialState] = state;
+		}
+
+		return scan;
+	}
+
+	private int next(int state, byte b) {
+		switch (state) {
+		case VALUE_START:
+			if (b == SPACE || b == sep) {
+				return VALUE_START;
+			}
+
+			return b == enc ? IN_ENCLOSED_VALUE : IN_VALUE;
+		case IN_VALUE:
+			return b == sep ? VALUE_START : IN_VALUE;
+		case IN_ENCLOSED_VALUE:
+			return b == enc ? AFTER_ENCLOSING : IN_ENCLOSED_VALUE;
+		default:
+			return b == sep ? VALUE_START : IN_ENCLOSED_VALUE;
+		}
+	}
+
+	private Chunk decodeChunk(long start, long end) throws IOException {
+		byte[] bytes = read(start, end);
+		Chunk chunk = new Chunk();
+		Layout layout = layouts.poll();
+		if (layout == null) {
+			layout = new Layout();
+		}
+
+		try {
+			int state = VALUE_START;
+			int recordStart = 0;
+			for (int i = 0; i <= bytes.length; i++) {
+				if (i < bytes.length && (bytes[i] != NEW_LINE || state == IN_ENCLOSED_VALUE)) {
+					state = next(state, bytes[i]);
+					continue;
+				}
+
+				int recordEnd = i;
+				if (recordEnd > recordStart && bytes[recordEnd - 1] == CARRIAGE_RETURN) {
+					recordEnd--;
+				}
+
+				if (recordEnd > recordStart) {
+					try {
+						chunk.beans.add(layout.decode(new String(bytes, recordStart, recordEnd - recordStart, charset)));
+					} catch (RecordException re) {
+						chunk.error = re;
+						chunk.errorOffset = start + recordStart;
+						return chunk;
+					}
+				}
+
+				state = VALUE_START;
+				recordStart = i + 1;
+			}
+
+			return chunk;
+		} finally {
+			layouts.add(layout);
+		}
+	}
+
+	private byte[] read(long start, long end) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, start + buffer.position()) < 0) {
+				throw new RecordException(ErrorCode.RE41, "Not valid record at offset=[" + (start + buffer.position()) +
+					"]. Cause: unexpected end of file");
+			}
+		}
+
+		return buffer.array();
+	}
+
+	/**
+	 * Close the file channel
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * The extended properties used by a single thread, with their own copy of the formats
+	 */
+	private class Layout {
+		private final List<FieldExtendedProperty> fieldExtendedProperties =
+			FieldExtendedPropertyFactory.copyOf(ParallelCSVReader.this.fieldExtendedProperties);
+		private final Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties =
+			FieldExtendedPropertyFactory.copyOf(ParallelCSVReader.this.mapFieldExtendedProperties);
+
+		private T newBean() {
+			try {
+				return beanConstructor.newInstance();
+			} catch (Exception e) {
+				throw new RecordException(ErrorCode.RE40, "Cannot create a new instance of " + beanClass.getName(), e);
+			}
+		}
+
+		private T decode(String csvRecord) {
+			T bean = newBean();
+			CSVBeanRecord record;
+			try {
+				record = new CSVBeanRecord(bean, csvRecord, fieldExtendedProperties, mapFieldExtendedProperties);
+			} catch (FieldException fe) {
+				throw new RecordException(ErrorCode.RE10, "Record has Error status. Cause: " + fe.getMessage(), fe);
+			}
+
+			if (record.isErrorStatus()) {
+				throw new RecordException(ErrorCode.RE10, "Record has Error status. Cause: " + record.prettyPrintErrorValidationInfo());
+			}
+
+			return bean;
+		}
+	}
+
+	/**
+	 * The first end of record and the final state of the scan of a chunk, for every initial state of the parser
+	 */
+	private static class Scan {
+		private final long[] firstRecordEnd = new long[STATES];
+		private final int[] finalState = new int[STATES];
+	}
+
+	/**
+	 * The java beans decoded from a chunk, up to the first not valid record
+	 */
+	private class Chunk {
+		private final List<T> beans = new ArrayList<T>();
+		private RecordException error;
+		private long errorOffset;
+	}
+}
@@ -0,0 +1,302 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>ParallelFixefidReader</code> reads the records of a fixed-length file in parallel. Every record has the same len,
+ * so the file is split in chunks of whole records without scanning it: every chunk is read with a positional read and decoded
+ * by a task of the executor (by default the <code>ForkJoinPool.commonPool()</code>), with its own copy of the compiled layout.
+ * <p>
+ * The java beans are delivered to the consumer on the calling thread, in the order of the file with
+ * {@link #forEachOrdered(Consumer)} or as soon as their chunk is decoded with {@link #forEach(Consumer)}. At most two chunks
+ * for every thread of the executor are decoded in advance, so the memory used doesn't depend on the size of the file.
+ * <p>
+ * The records are decoded straight from the bytes (see {@link ByteRecordCodec}), so the len of the fields is in bytes.
+ * With a new line, the charset must encode it as the single byte <code>'\n'</code>.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class ParallelFixefidReader<T> implements Closeable {
+	/**
+	 * The default size of a chunk, in bytes
+	 */
+	public static final int DEF_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final ByteRecordCodec<T> byteCodec;
+	private final Queue<ByteRecordCodec<T>> byteCodecs = new ConcurrentLinkedQueue<ByteRecordCodec<T>>();
+	private final Executor executor;
+	private final FixedFileBounds bounds;
+	private final int recordsPerChunk;
+	private final int maxPendingChunks;
+
+	/**
+	 * Open the file indicated by the <code>path</code> param, with the records terminated by a new line, decoding the
+	 * chunks with the <code>ForkJoinPool.commonPool()</code>
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param beanClass the class of the java bean
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public ParallelFixefidReader(Path path, Charset charset, Class<T> beanClass) throws IOException, RecordException {
+		this(path, charset, new BeanRecordCodec<T>(beanClass), RecordDelimiter.NEWLINE, ForkJoinPool.commonPool(), DEF_CHUNK_SIZE);
+	}
+
+	/**
+	 * Open the file indicated by the <code>path</code> param, with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param executor the executor of the tasks that decode the chunks
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public ParallelFixefidReader(Path path, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter, Executor executor)
+			throws IOException, RecordException {
+		this(path, charset, codec, recordDelimiter, executor, DEF_CHUNK_SIZE);
+	}
+
+	/**
+	 * Open the file indicated by the <code>path</code> param, with the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param path the path of the file of the records
+	 * @param charset the charset of the file
+	 * @param codec the compiled layout of the java bean
+	 * @param recordDelimiter how the records are delimited
+	 * @param executor the executor of the tasks that decode the chunks
+	 * @param chunkSize the size of a chunk, in bytes. It's extended to contain at least a record
+	 * @throws IOException if the file can't be opened
+	 * @throws RecordException if the file doesn't contain only whole records
+	 */
+	public ParallelFixefidReader(Path path, Charset charset, BeanRecordCodec<T> codec, RecordDelimiter recordDelimiter, Executor executor,
+			int chunkSize) throws IOException, RecordException {
+		this.byteCodec = new ByteRecordCodec<T>(codec, charset);
+		this.byteCodecs.add(byteCodec);
+		this.executor = executor;
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try {
+			this.bounds = new FixedFileBounds(channel, path, codec.getRecordLen(), recordDelimiter);
+			this.recordsPerChunk = Math.max(1, chunkSize / bounds.getStride());
+			int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() :
+				Runtime.getRuntime().availableProcessors();
+			this.maxPendingChunks = 2 * Math.max(1, parallelism);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the compiled layout of the java bean
+	 */
+	public BeanRecordCodec<T> getCodec() {
+		return byteCodec.getCodec();
+	}
+
+	/**
+	 * @return the number of the records of the file
+	 */
+	public long getRecordCount() {
+		return bounds.getRecordCount();
+	}
+
+	/**
+	 * @return the number of the chunks of the file
+	 */
+	public long getChunkCount() {
+		return (bounds.getRecordCount() + recordsPerChunk - 1) / recordsPerChunk;
+	}
+
+	/**
+	 * Decode all the records in parallel and deliver the java beans to the <code>consumer</code> param in the order of the file.
+	 * The consumer is invoked on the calling thread
+	 *
+	 * @param consumer the consumer of the java beans
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a record is not valid
+	 */
+	public void forEachOrdered(Consumer<? super T> consumer) throws IOException, RecordException {
+		long chunkCount = getChunkCount();
+		long nextChunk = 0;
+		ArrayDeque<FutureTask<List<T>>> pending = new ArrayDeque<FutureTask<List<T>>>();
+		try {
+			while (nextChunk < chunkCount || !pending.isEmpty()) {
+				while (nextChunk < chunkCount && pending.size() < maxPendingChunks) {
+					FutureTask<List<T>> task = new FutureTask<List<T>>(newChunkTask(nextChunk++));
+					pending.add(task);
+					executor.execute(task);
+				}
+
+				for (T bean : await(pending.poll())) {
+					consumer.accept(bean);
+				}
+			}
+		} finally {
+			for (Future<List<T>> task : pending) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Decode all the records in parallel and deliver the java beans to the <code>consumer</code> param as soon as their chunk
+	 * is decoded, so not in the order of the file. The consumer is invoked on the calling thread
+	 *
+	 * @param consumer the consumer of the java beans
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a record is not valid
+	 */
+	public void forEach(Consumer<? super T> consumer) throws IOException, RecordException {
+		long chunkCount = getChunkCount();
+		long nextChunk = 0;
+		int pendingCount = 0;
+		ExecutorCompletionService<List<T>> completionService = new ExecutorCompletionService<List<T>>(executor);
+		List<Future<List<T>>> submitted = new ArrayList<Future<List<T>>>();
+		try {
+			while (nextChunk < chunkCount || pendingCount > 0) {
+				while (nextChunk < chunkCount && pendingCount < maxPendingChunks) {
+					submitted.add(completionService.submit(newChunkTask(nextChunk++)));
+					pendingCount++;
+				}
+
+				Future<List<T>> done;
+				try {
+					done = completionService.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting a chunk");
+				}
+
+				pendingCount--;
+				submitted.remove(done);
+				for (T bean : await(done)) {
+					consumer.accept(bean);
+				}
+			}
+		} finally {
+			for (Future<List<T>> task : submitted) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	private Callable<List<T>> newChunkTask(final long chunkIndex) {
+		return new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws IOException, RecordException {
+				return readChunk(chunkIndex);
+			}
+		};
+	}
+
+	private List<T> readChunk(long chunkIndex) throws IOException, RecordException {
+		long firstRecord = chunkIndex * recordsPerChunk;
+		int records = (int) Math.min(recordsPerChunk, bounds.getRecordCount() - firstRecord);
+		long position = bounds.getRecordOffset(firstRecord);
+		int stride = bounds.getStride();
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min((long) records * stride, bounds.getSize() - position));
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (firstRecord + 1) + "] at offset=[" + position +
+					"]. Cause: unexpected end of file");
+			}
+		}
+
+		((Buffer) buffer).flip();
+		byte[] bytes = buffer.array();
+		ByteRecordCodec<T> chunkCodec = byteCodecs.poll();
+		if (chunkCodec == null) {
+			chunkCodec = byteCodec.copy();
+		}
+
+		try {
+			List<T> beans = new ArrayList<T>(records);
+			for (int i = 0; i < records; i++) {
+				try {
+					beans.add(chunkCodec.decode(bytes, i * stride));
+				} catch (RecordException re) {
+					long index = firstRecord + i;
+					throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + (index + 1) + "] at offset=[" +
+						bounds.getRecordOffset(index) + "]. Cause: " + re.getMessage(), re);
+				}
+			}
+
+			return beans;
+		} finally {
+			byteCodecs.add(chunkCodec);
+		}
+	}
+
+	/**
+	 * Wait the result of the <code>task</code> param, rethrowing the exception of the task
+	 *
+	 * @param <V> the type of the result
+	 * @param task the task
+	 * @return the result of the task
+	 * @throws IOException if the task has thrown an I/O error or the thread has been interrupted
+	 */
+	static <V> V await(Future<V> task) throws IOException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting a chunk");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new RecordException(ErrorCode.RE41, cause.getMessage(), cause);
+		}
+	}
+
+	/**
+	 * Close the file channel
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,21 @@
+package com.github.parmag.fixefid.record.io;
+
+/**
+ * The enum that represents how the records of a fixed-length file are delimited
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ */
+public enum RecordDelimiter {
+	/**
+	 * Every record is terminated by a new line (<code>\n</code> or <code>\r\n</code>). The last record can be
+	 * not terminated. A record shorter than the record len is right padded with spaces
+	 */
+	NEWLINE,
+	/**
+	 * The records are written one after the other, without any delimiter. Every record must be exactly of record len
+	 */
+	NONE
+}
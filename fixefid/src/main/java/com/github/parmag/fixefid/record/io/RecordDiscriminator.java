@@ -0,0 +1,73 @@
+package com.github.parmag.fixefid.record.io;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>RecordDiscriminator</code> links a layout of a file with many record types to the value present in
+ * every record of that layout at a fixed offset (for instance <code>"H"</code> at offset 0 for the header records).
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <T> the type of the java bean
+ */
+public class RecordDiscriminator<T> {
+	private final BeanRecordCodec<T> codec;
+	private final int offset;
+	private final String value;
+
+	/**
+	 * Create a new <code>RecordDiscriminator</code> for the java bean class indicated by the <code>beanClass</code> param
+	 *
+	 * @param beanClass the class of the java bean
+	 * @param offset the offset of the discriminator inside the record, starting from 0
+	 * @param value the value of the discriminator
+	 * @throws RecordException if the discriminator is not inside the record
+	 */
+	public RecordDiscriminator(Class<T> beanClass, int offset, String value) throws RecordException {
+		this(new BeanRecordCodec<T>(beanClass), offset, value);
+	}
+
+	/**
+	 * Create a new <code>RecordDiscriminator</code> for the compiled layout indicated by the <code>codec</code> param
+	 *
+	 * @param codec the compiled layout of the java bean
+	 * @param offset the offset of the discriminator inside the record, starting from 0
+	 * @param value the value of the discriminator
+	 * @throws RecordException if the discriminator is not inside the record
+	 */
+	public RecordDiscriminator(BeanRecordCodec<T> codec, int offset, String value) throws RecordException {
+		if (value == null || value.isEmpty() || offset < 0 || offset + value.length() > codec.getRecordLen()) {
+			throw new RecordException(ErrorCode.RE45, "Not valid discriminator=[" + value + "] at offset=[" + offset + "] for the class " +
+				codec.getBeanClass().getName() + " with record len=[" + codec.getRecordLen() + "]");
+		}
+
+		this.codec = codec;
+		this.offset = offset;
+		this.value = value;
+	}
+
+	/**
+	 * @return the compiled layout of the java bean
+	 */
+	public BeanRecordCodec<T> getCodec() {
+		return codec;
+	}
+
+	/**
+	 * @return the offset of the discriminator inside the record, starting from 0
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return the value of the discriminator
+	 */
+	public String getValue() {
+		return value;
+	}
+}
@@ -0,0 +1,176 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+
+/**
+ * The <code>RecordGroup</code> is a header record with its detail records, assembled from consecutive lines by a
+ * {@link RecordGroupReader}. The detail records are iterated in the order of the file: first the ones kept in memory,
+ * then the ones spilled to a temporary file, if any (see {@link GroupOverflow#SPILL}).
+ * <p>
+ * The temporary file is deleted when the group is closed, or when the reader reads the next group.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <H> the type of the java bean of the header record
+ * @param <D> the type of the java bean of the detail records
+ */
+public class RecordGroup<H, D> implements Iterable<D>, Closeable {
+	private final H header;
+	private final long headerRecordNumber;
+	private final List<D> details;
+	private final long detailCount;
+	private final BeanRecordCodec<D> spillCodec;
+	private final Path spillPath;
+	private final List<FixefidReader<D>> spillReaders = new ArrayList<FixefidReader<D>>();
+
+	RecordGroup(H header, long headerRecordNumber, List<D> details, long detailCount, BeanRecordCodec<D> spillCodec, Path spillPath) {
+		this.header = header;
+		this.headerRecordNumber = headerRecordNumber;
+		this.details = Collections.unmodifiableList(details);
+		this.detailCount = detailCount;
+		this.spillCodec = spillCodec;
+		this.spillPath = spillPath;
+	}
+
+	/**
+	 * @return the java bean of the header record
+	 */
+	public H getHeader() {
+		return header;
+	}
+
+	/**
+	 * @return the record number of the header record, starting from 1
+	 */
+	public long getHeaderRecordNumber() {
+		return headerRecordNumber;
+	}
+
+	/**
+	 * @return the detail records kept in memory. If the group is spilled, they are only the first ones: to get all the
+	 * detail records iterate the group
+	 */
+	public List<D> getDetails() {
+		return details;
+	}
+
+	/**
+	 * @return the number of all the detail records of the group
+	 */
+	public long getDetailCount() {
+		return detailCount;
+	}
+
+	/**
+	 * @return true if some detail records have been spilled to a temporary file
+	 */
+	public boolean isSpilled() {
+		return spillPath != null;
+	}
+
+	/**
+	 * Returns an iterator of all the detail records of the group. The spilled detail records are read from the temporary
+	 * file, so an I/O error is thrown as <code>UncheckedIOException</code>
+	 *
+	 * @return an iterator of all the detail records of the group
+	 */
+	@Override
+	public Iterator<D> iterator() {
+		if (spillPath == null) {
+			return details.iterator();
+		}
+
+		return new Iterator<D>() {
+			private final Iterator<D> memory = details.iterator();
+			private FixefidReader<D> spillReader;
+			private D next;
+			private boolean done;
+
+			@Override
+			public boolean hasNext() {
+				if (next != null) {
+					return true;
+				} else if (memory.hasNext()) {
+					next = memory.next();
+					return true;
+				} else if (done) {
+					return false;
+				}
+
+				try {
+					if (spillReader == null) {
+						spillReader = openSpillReader();
+					}
+
+					next = spillReader.read();
+					if (next == null) {
+						done = true;
+						closeSpillReader(spillReader);
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+
+				return next != null;
+			}
+
+			@Override
+			public D next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				D bean = next;
+				next = null;
+				return bean;
+			}
+		};
+	}
+
+	private FixefidReader<D> openSpillReader() throws IOException {
+		FixefidReader<D> reader = new FixefidReader<D>(spillPath, StandardCharsets.UTF_8, spillCodec, RecordDelimiter.NONE);
+		spillReaders.add(reader);
+		return reader;
+	}
+
+	private void closeSpillReader(FixefidReader<D> reader) throws IOException {
+		spillReaders.remove(reader);
+		reader.close();
+	}
+
+	/**
+	 * Close the readers of the temporary file and delete it
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		if (spillPath == null) {
+			return;
+		}
+
+		try {
+			for (FixefidReader<D> reader : spillReaders) {
+				reader.close();
+			}
+
+			spillReaders.clear();
+		} finally {
+			Files.deleteIfExists(spillPath);
+		}
+	}
+}
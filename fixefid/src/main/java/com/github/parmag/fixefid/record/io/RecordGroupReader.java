@@ -0,0 +1,199 @@
+package com.github.parmag.fixefid.record.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+
+/**
+ * The <code>RecordGroupReader</code> assembles the records read by a {@link MultiLayoutReader} in groups, every group
+ * made by a header record and the detail records that follow it (for instance an order and its items). A group is returned
+ * as soon as the next header record, or the end of the file, is read, so only one group at a time is kept in memory.
+ * The records of the other types (for instance the trailer of the file) are skipped.
+ * <p>
+ * At most <code>maxDetails</code> detail records of a group are kept in memory. The detail records beyond the max are
+ * spilled to a temporary file or the whole group is rejected, as indicated by the {@link GroupOverflow} param. A rejected
+ * group throws a <code>RecordException</code> with error code <code>ErrorCode.RE46</code> and the header record number,
+ * when the group is complete, so the reading can go on with the next group. A detail record without a header record throws
+ * a <code>RecordException</code> with error code <code>ErrorCode.RE41</code>.
+ * <p>
+ * The temporary file of the previous group is deleted when the next group is read. An instance of this class is not
+ * thread safe.
+ *
+ * @author Giancarlo Parma
+ *
+ * @since 3.1.0
+ *
+ * @param <H> the type of the java bean of the header record
+ * @param <D> the type of the java bean of the detail records
+ */
+public class RecordGroupReader<H, D> implements Closeable {
+	/**
+	 * The default max number of the detail records of a group kept in memory
+	 */
+	public static final int DEF_MAX_DETAILS = 10000;
+
+	private final MultiLayoutReader reader;
+	private final Class<H> headerClass;
+	private final Class<D> detailClass;
+	private final int maxDetails;
+	private final GroupOverflow overflow;
+	private GroupAssembly current;
+	private RecordGroup<H, D> last;
+
+	/**
+	 * Create a new <code>RecordGroupReader</code> of the records read by the <code>reader</code> param, that spills
+	 * the detail records beyond <code>DEF_MAX_DETAILS</code>
+	 *
+	 * @param reader the reader of the records
+	 * @param headerClass the class of the java bean of the header record
+	 * @param detailClass the class of the java bean of the detail records
+	 */
+	public RecordGroupReader(MultiLayoutReader reader, Class<H> headerClass, Class<D> detailClass) {
+		this(reader, headerClass, detailClass, DEF_MAX_DETAILS, GroupOverflow.SPILL);
+	}
+
+	/**
+	 * Create a new <code>RecordGroupReader</code> of the records read by the <code>reader</code> param
+	 *
+	 * @param reader the reader of the records
+	 * @param headerClass the class of the java bean of the header record
+	 * @param detailClass the class of the java bean of the detail records
+	 * @param maxDetails the max number of the detail records of a group kept in memory
+	 * @param overflow what to do with a group whose detail records are more than <code>maxDetails</code>
+	 */
+	public RecordGroupReader(MultiLayoutReader reader, Class<H> headerClass, Class<D> detailClass, int maxDetails, GroupOverflow overflow) {
+		this.reader = reader;
+		this.headerClass = headerClass;
+		this.detailClass = detailClass;
+		this.maxDetails = Math.max(0, maxDetails);
+		this.overflow = overflow;
+	}
+
+	/**
+	 * Read the next group. The temporary file of the previous group, if any, is deleted
+	 *
+	 * @return the next group, or null if the end of the file has been reached
+	 * @throws IOException if an I/O error occurs
+	 * @throws RecordException if a record is not valid or the group is rejected
+	 */
+	public RecordGroup<H, D> read() throws IOException, RecordException {
+		if (last != null) {
+			last.close();
+			last = null;
+		}
+
+		while (true) {
+			Object bean = reader.read();
+			if (bean == null) {
+				GroupAssembly done = current;
+				current = null;
+				return done == null ? null : complete(done);
+			} else if (headerClass.isInstance(bean)) {
+				GroupAssembly done = current;
+				current = new GroupAssembly(headerClass.cast(bean), reader.getRecordNumber());
+				if (done != null) {
+					return complete(done);
+				}
+			} else if (detailClass.isInstance(bean)) {
+				if (current == null) {
+					throw new RecordException(ErrorCode.RE41, "Not valid record number=[" + reader.getRecordNumber() + "] at offset=[" +
+						reader.getRecordOffset() + "]. Cause: Detail record without header record");
+				}
+
+				current.add(detailClass.cast(bean));
+			}
+		}
+	}
+
+	private RecordGroup<H, D> complete(GroupAssembly done) throws IOException {
+		if (done.rejected) {
+			throw new RecordException(ErrorCode.RE46, "Not valid group of header record number=[" + done.headerRecordNumber +
+				"] with detail records=[" + done.detailCount + "]. Expected max detail records=[" + maxDetails + "]");
+		}
+
+		if (done.spillWriter != null) {
+			done.spillWriter.close();
+		}
+
+		last = new RecordGroup<H, D>(done.header, done.headerRecordNumber, done.details, done.detailCount, done.spillCodec, done.spillPath);
+		return last;
+	}
+
+	/**
+	 * Close the underlying reader and delete the temporary files
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (last != null) {
+				last.close();
+				last = null;
+			}
+
+			if (current != null) {
+				current.discard();
+				current = null;
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * The group under assembly
+	 */
+	private class GroupAssembly {
+		private final H header;
+		private final long headerRecordNumber;
+		private final List<D> details = new ArrayList<D>();
+		private long detailCount;
+		private boolean rejected;
+		private BeanRecordCodec<D> spillCodec;
+		private Path spillPath;
+		private FixefidWriter<D> spillWriter;
+
+		private GroupAssembly(H header, long headerRecordNumber) {
+			this.header = header;
+			this.headerRecordNumber = headerRecordNumber;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void add(D detail) throws IOException {
+			detailCount++;
+			if (detailCount <= maxDetails) {
+				details.add(detail);
+			} else if (GroupOverflow.REJECT.equals(overflow)) {
+				rejected = true;
+				details.clear();
+			} else {
+				if (spillWriter == null) {
+					spillCodec = (BeanRecordCodec<D>) reader.getDiscriminator().getCodec();
+					spillPath = Files.createTempFile("fixefid", ".spill");
+					spillWriter = new FixefidWriter<D>(spillPath, StandardCharsets.UTF_8, spillCodec, RecordDelimiter.NONE);
+				}
+
+				spillWriter.write(detail);
+			}
+		}
+
+		private void discard() throws IOException {
+			if (spillWriter != null) {
+				try {
+					spillWriter.close();
+				} finally {
+					Files.deleteIfExists(spillPath);
+				}
+			}
+		}
+	}
+}
@@ -29,7 +29,31 @@ import org.junit.runners.Suite.SuiteClasses;
 	FlagCSVTest.class,
 	
 	CarCSVRecordFieldTest.class,
-	FlagCSVRecordFieldTest.class
+	FlagCSVRecordFieldTest.class,
+	
+	FixefidReaderTest.class,
+	FixefidWriterTest.class,
+	MappedFixedFileTest.class,
+	ByteRecordCodecTest.class,
+	BinaryRecordFieldTest.class,
+	ParallelFixefidReaderTest.class,
+	ParallelCSVReaderTest.class,
+	FixefidStreamTest.class,
+	RecordFlowTest.class,
+	AsyncFixefidWriterTest.class,
+	MultiLayoutReaderTest.class,
+	RecordGroupReaderTest.class,
+	FixefidSorterTest.class,
+	FixefidKeyIndexTest.class,
+	MergeJoinTest.class,
+	FollowReaderTest.class,
+	CheckpointReaderTest.class,
+	ProjectionTest.class,
+	RecordCursorTest.class,
+	RecordFilterTest.class,
+	FixefidColumnsTest.class,
+	FixefidAggregatorTest.class,
+	BeanLayoutTest.class
 })
 public class AllTests {
 
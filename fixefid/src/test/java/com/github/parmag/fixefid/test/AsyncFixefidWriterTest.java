@@ -0,0 +1,127 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.csv.CSVBeanRecord;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.format.SimpleBooleanFormat;
+import com.github.parmag.fixefid.record.io.AsyncFixefidWriter;
+import com.github.parmag.fixefid.record.io.FixefidWriter;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+import com.github.parmag.fixefid.test.csv.Car;
+
+public class AsyncFixefidWriterTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final int RECORD_COUNT = 2000;
+
+	private static final BeanRecordCodec<PersonWithEPAnnotation> PERSON_CODEC = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	@Test
+	public void testWriteFixedRecords() throws IOException, InterruptedException, ExecutionException {
+		Path expectedPath = Files.createTempFile("fixefid", ".txt");
+		Path path = Files.createTempFile("fixefid", ".txt");
+		FixefidWriter<PersonWithEPAnnotation> expectedWriter = new FixefidWriter<PersonWithEPAnnotation>(expectedPath, StandardCharsets.ISO_8859_1,
+			PERSON_CODEC, RecordDelimiter.NEWLINE);
+		AsyncFixefidWriter<PersonWithEPAnnotation> writer = new AsyncFixefidWriter<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1,
+			PersonWithEPAnnotation.class, null, null, RecordDelimiter.NEWLINE, 1000, 3);
+		try {
+			PersonWithEPAnnotation person = PERSON_CODEC.decode(PERSON_RECORD_AS_STRING);
+			for (int i = 0; i < RECORD_COUNT; i++) {
+				person.setAge(i % 999 + 1);
+				expectedWriter.write(person);
+				writer.write(person);
+				if (i == RECORD_COUNT / 2) {
+					writer.flush();
+				}
+			}
+			expectedWriter.close();
+
+			Assert.assertTrue(writer.getRecordNumber() == RECORD_COUNT);
+			long size = writer.closeAsync().get();
+			Assert.assertTrue(size == RECORD_COUNT * (PERSON_RECORD_AS_STRING.length() + 1));
+			Assert.assertTrue(Arrays.equals(Files.readAllBytes(expectedPath), Files.readAllBytes(path)));
+		} finally {
+			writer.close();
+			Files.delete(expectedPath);
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testWriteCSVRecords() throws IOException {
+		Map<String, List<FieldExtendedProperty>> mapFieldExtendedProperties = new HashMap<String, List<FieldExtendedProperty>>();
+		mapFieldExtendedProperties.put("weight", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DECIMAL_FORMAT, new DecimalFormat("0.00", new DecimalFormatSymbols(Locale.ENGLISH))),
+			new FieldExtendedProperty(FieldExtendedPropertyType.REMOVE_DECIMAL_SEPARATOR, Boolean.valueOf(true))));
+		mapFieldExtendedProperties.put("productionDate", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DATE_FORMAT, new SimpleDateFormat("ddMMyyyy", Locale.ENGLISH))));
+		mapFieldExtendedProperties.put("used", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.BOOLEAN_FORMAT, new SimpleBooleanFormat("Y", "N"))));
+
+		Path path = Files.createTempFile("fixefid", ".csv");
+		AsyncFixefidWriter<Car> writer = new AsyncFixefidWriter<Car>(path, StandardCharsets.UTF_8, Car.class, null,
+			mapFieldExtendedProperties, RecordDelimiter.NEWLINE, 64, 2);
+		StringBuilder expected = new StringBuilder();
+		try {
+			for (int i = 0; i < 100; i++) {
+				Car car = new Car();
+				new CSVBeanRecord(car, CarCSVTest.CAR_CSV_RECORD_AS_STRING.replace("4078", String.valueOf(4000 + i)), null, mapFieldExtendedProperties);
+				if (i == 50) {
+					car.setModel("C3 Picasso, a model with a long name and a comma, longer than a buffer");
+				}
+				writer.write(car);
+				expected.append(new CSVBeanRecord(car, null, null, mapFieldExtendedProperties).toString()).append('\n');
+			}
+		} finally {
+			writer.close();
+		}
+
+		try {
+			Assert.assertTrue(expected.toString().equals(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testNotValidBean() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".txt");
+		AsyncFixefidWriter<PersonWithEPAnnotation> writer = new AsyncFixefidWriter<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1,
+			PersonWithEPAnnotation.class);
+		try {
+			PersonWithEPAnnotation person = PERSON_CODEC.decode(PERSON_RECORD_AS_STRING);
+			writer.write(person);
+			person.setAge(1000);
+			writer.write(person);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE42.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("number=[2]"));
+		} finally {
+			writer.close();
+			Assert.assertTrue(Files.size(path) == PERSON_RECORD_AS_STRING.length() + 1);
+			Files.delete(path);
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.github.parmag.fixefid.test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecord;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.csv.CSVBeanRecord;
+import com.github.parmag.fixefid.record.eps.FieldExtendedPropertyFactory;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.test.bean.MultiFlagWithFlagOccurs;
+import com.github.parmag.fixefid.test.bean.PersonWithAddressWithEPAnnotation;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+import com.github.parmag.fixefid.test.bean.Point3DWithEPAnnoation;
+import com.github.parmag.fixefid.test.csv.FlagCSV;
+
+public class BeanLayoutTest {
+
+	private static final int THREADS = 4;
+	private static final int RECORD_COUNT = 500;
+	private static final String FLAG_CSV_RECORD_AS_STRING = "Circuit,S,N,S,S,N,S,S,N,N,N,CX34ZY7";
+	private static final String POINT3D_RECORD_AS_STRING = "120XXXXXXX356XXXXXXX777XXXXXXX";
+	private static final String MULTI_FLAG_RECORD_AS_STRING = 
+		"0000000001234567890Circuit1            SNSSNSSNNNCX34ZY7   Circuit2            SNSSSSNNNNCX34ZY8   ";
+
+	@Test
+	public void testConcurrentRecords() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						for (int i = 0; i < RECORD_COUNT; i++) {
+							PersonWithEPAnnotation person = new PersonWithEPAnnotation();
+							BeanRecord record = new BeanRecord(person, PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING);
+							Assert.assertTrue(PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING.equals(record.toString()));
+							Assert.assertTrue(person.getStature() == 1.86f);
+							Assert.assertTrue(person.getTor() == 1.0001d);
+							Assert.assertTrue("bo".equals(person.getBirthDistrict()));
+
+							PersonWithAddressWithEPAnnotation personWithAddress = new PersonWithAddressWithEPAnnotation();
+							record = new BeanRecord(personWithAddress, PersonWithEPAnnotationTest.PERSON_WITH_ADDRESS_RECORD_AS_STRING);
+							Assert.assertTrue(PersonWithEPAnnotationTest.PERSON_WITH_ADDRESS_RECORD_AS_STRING.equals(record.toString()));
+						}
+
+						return Boolean.TRUE;
+					}
+				}));
+			}
+
+			for (Future<Boolean> future : futures) {
+				Assert.assertTrue(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testMapFieldExtendedProperties() {
+		for (int i = 0; i < 2; i++) {
+			Map<String, List<FieldExtendedProperty>> map = new HashMap<String, List<FieldExtendedProperty>>();
+			map.put("stature", new ArrayList<FieldExtendedProperty>(Arrays.asList(
+				FieldExtendedPropertyFactory.createDecimalFormat("0.00", Locale.ENGLISH))));
+			try {
+				new BeanRecord(new PersonWithEPAnnotation(), null, null, map);
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE37.equals(e.getErrorCode()));
+			}
+		}
+
+		Map<String, List<FieldExtendedProperty>> map = new HashMap<String, List<FieldExtendedProperty>>();
+		map.put("firstName", new ArrayList<FieldExtendedProperty>(Arrays.asList(FieldExtendedPropertyFactory.createLPAD("*"))));
+		map.put("stature", new ArrayList<FieldExtendedProperty>(Arrays.asList(FieldExtendedPropertyFactory.createLPAD("0"))));
+		BeanRecord record = new BeanRecord(new PersonWithEPAnnotation(), PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING, null, map);
+		record.setValue("firstName", "Paolo");
+		Assert.assertTrue(record.toString().startsWith("********************Paolo"));
+
+		record = new BeanRecord(new PersonWithEPAnnotation(), PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING);
+		record.setValue("firstName", "Paolo");
+		Assert.assertTrue(PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING.equals(record.toString()));
+	}
+
+	@Test
+	public void testSharedCSVLayout() throws Exception {
+		Method layoutOf = Class.forName("com.github.parmag.fixefid.record.BeanLayout").getDeclaredMethod("of", Class.class, BeanRecord.class);
+		layoutOf.setAccessible(true);
+
+		FlagCSV flag1 = new FlagCSV();
+		CSVBeanRecord record1 = new CSVBeanRecord(flag1, FLAG_CSV_RECORD_AS_STRING);
+		FlagCSV flag2 = new FlagCSV();
+		CSVBeanRecord record2 = new CSVBeanRecord(flag2, FLAG_CSV_RECORD_AS_STRING);
+		Assert.assertTrue(layoutOf.invoke(null, FlagCSV.class, record1) == layoutOf.invoke(null, FlagCSV.class, record2));
+
+		Assert.assertTrue(FLAG_CSV_RECORD_AS_STRING.equals(record1.toString()));
+		Assert.assertTrue(FLAG_CSV_RECORD_AS_STRING.equals(record2.toString()));
+		Assert.assertTrue("Circuit".equals(flag2.getName()));
+		Assert.assertTrue("CX34ZY7".equals(flag2.getProgram()));
+	}
+
+	@Test
+	public void testRoundTripPrimitiveProperties() {
+		for (int i = 0; i < 2; i++) {
+			Point3DWithEPAnnoation point = new Point3DWithEPAnnoation(0, 0, 0);
+			new BeanRecord(point, POINT3D_RECORD_AS_STRING);
+			Assert.assertTrue(point.getX() == 1.2d);
+			Assert.assertTrue(point.getY() == 3.56d);
+			Assert.assertTrue(point.getZ() == 7.77d);
+			Assert.assertTrue(POINT3D_RECORD_AS_STRING.equals(new BeanRecord(point).toString()));
+		}
+	}
+
+	@Test
+	public void testRoundTripBoxedProperties() {
+		for (int i = 0; i < 2; i++) {
+			PersonWithEPAnnotation person = new PersonWithEPAnnotation();
+			new BeanRecord(person, PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING);
+			Assert.assertTrue(person.getAge() == 51);
+			Assert.assertTrue(person.getStature() == 1.86f);
+			Assert.assertTrue(person.getId() == 1L);
+			Assert.assertTrue(person.getTor() == 1.0001d);
+			Assert.assertTrue(Boolean.FALSE.equals(person.getVip()));
+			Assert.assertTrue(PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING.equals(new BeanRecord(person).toString()));
+		}
+	}
+
+	@Test
+	public void testRoundTripCmpProperties() {
+		for (int i = 0; i < 2; i++) {
+			PersonWithAddressWithEPAnnotation person = new PersonWithAddressWithEPAnnotation();
+			new BeanRecord(person, PersonWithEPAnnotationTest.PERSON_WITH_ADDRESS_RECORD_AS_STRING);
+			Assert.assertTrue("Paolo".equals(person.getFirstName()));
+			Assert.assertTrue("Bologna".equals(person.getAddress().getLocation()));
+			Assert.assertTrue("40128".equals(person.getAddress().getPostalCode()));
+			Assert.assertTrue("77".equals(person.getAddress().getNum()));
+			Assert.assertTrue(PersonWithEPAnnotationTest.PERSON_WITH_ADDRESS_RECORD_AS_STRING.equals(new BeanRecord(person).toString()));
+		}
+	}
+
+	@Test
+	public void testRoundTripListProperties() {
+		for (int i = 0; i < 2; i++) {
+			MultiFlagWithFlagOccurs multiFlag = new MultiFlagWithFlagOccurs();
+			new BeanRecord(multiFlag, MULTI_FLAG_RECORD_AS_STRING);
+			Assert.assertTrue(multiFlag.getId() == 1234567890L);
+			Assert.assertTrue(multiFlag.getFlag().size() == 2);
+			Assert.assertTrue("Circuit2".equals(multiFlag.getFlag().get(1).getName()));
+			Assert.assertTrue(Arrays.asList("S", "N", "S", "S", "S", "S", "N", "N", "N", "N").equals(multiFlag.getFlag().get(1).getFlags()));
+			Assert.assertTrue("CX34ZY8".equals(multiFlag.getFlag().get(1).getProgram()));
+			Assert.assertTrue(MULTI_FLAG_RECORD_AS_STRING.equals(new BeanRecord(multiFlag).toString()));
+		}
+	}
+}
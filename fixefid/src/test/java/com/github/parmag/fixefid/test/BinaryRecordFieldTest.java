@@ -0,0 +1,152 @@
+package com.github.parmag.fixefid.test;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecord;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.RecordWay;
+import com.github.parmag.fixefid.record.eps.FieldExtendedPropertyFactory;
+import com.github.parmag.fixefid.record.field.BinaryNumber;
+import com.github.parmag.fixefid.record.field.Field;
+import com.github.parmag.fixefid.record.field.FieldException;
+import com.github.parmag.fixefid.record.field.FieldMandatory;
+import com.github.parmag.fixefid.record.field.FieldType;
+import com.github.parmag.fixefid.test.bean.Account;
+
+public class BinaryRecordFieldTest {
+
+	private static final Charset CP037 = Charset.forName("Cp037");
+
+	private static Account newAccount() {
+		Account account = new Account();
+		account.setCode("ACC01");
+		account.setQuantity(-12345);
+		account.setBalance(new BigDecimal("1234567.89"));
+		account.setCount(70000);
+		account.setId(Long.MIN_VALUE);
+		account.setRate(new BigDecimal("-2.125"));
+		return account;
+	}
+
+	@Test
+	public void testPackedDecimalAndBinaryBytes() {
+		byte[] bytes = new byte[3];
+		Assert.assertTrue(BinaryNumber.encode(FieldType.PD, 12345, bytes, 0, 3));
+		Assert.assertTrue(Arrays.equals(new byte[] {0x12, 0x34, 0x5C}, bytes));
+		Assert.assertTrue(BinaryNumber.encode(FieldType.PD, -12345, bytes, 0, 3));
+		Assert.assertTrue(Arrays.equals(new byte[] {0x12, 0x34, 0x5D}, bytes));
+		Assert.assertTrue(BinaryNumber.decode(FieldType.PD, bytes, 0, 3) == -12345);
+		Assert.assertTrue(BinaryNumber.decode(FieldType.PD, new byte[] {0x00, 0x1F}, 0, 2) == 1);
+		Assert.assertTrue(!BinaryNumber.encode(FieldType.PD, 123456, bytes, 0, 3));
+
+		try {
+			BinaryNumber.decode(FieldType.PD, new byte[] {0x1A, 0x0C}, 0, 2);
+			Assert.fail();
+		} catch (NumberFormatException e) {
+			Assert.assertTrue(e.getMessage().contains("digit"));
+		}
+
+		byte[] longBytes = new byte[10];
+		Assert.assertTrue(BinaryNumber.encode(FieldType.PD, Long.MIN_VALUE, longBytes, 0, 10));
+		Assert.assertTrue(BinaryNumber.decode(FieldType.PD, longBytes, 0, 10) == Long.MIN_VALUE);
+
+		Assert.assertTrue(BinaryNumber.encode(FieldType.BIN, -2, bytes, 0, 2));
+		Assert.assertTrue(bytes[0] == (byte) 0xFF && bytes[1] == (byte) 0xFE);
+		Assert.assertTrue(BinaryNumber.decode(FieldType.BIN, bytes, 0, 2) == -2);
+		Assert.assertTrue(!BinaryNumber.encode(FieldType.BIN, 32768, bytes, 0, 2));
+		Assert.assertTrue(BinaryNumber.encode(FieldType.BIN, Long.MAX_VALUE, longBytes, 0, 8));
+		Assert.assertTrue(BinaryNumber.decode(FieldType.BIN, longBytes, 0, 8) == Long.MAX_VALUE);
+	}
+
+	@Test
+	public void testBeanRecord() {
+		Account account = newAccount();
+		String record = new BeanRecord(account).toString();
+		Assert.assertTrue(record.length() == 37);
+		Assert.assertTrue(record.charAt(14) == 0x5D);
+
+		Account readAccount = new Account();
+		new BeanRecord(readAccount, record);
+		Assert.assertTrue("ACC01".equals(readAccount.getCode()));
+		Assert.assertTrue(readAccount.getQuantity() == -12345);
+		Assert.assertTrue(new BigDecimal("1234567.89").equals(readAccount.getBalance()));
+		Assert.assertTrue(readAccount.getCount() == 70000);
+		Assert.assertTrue(readAccount.getId() == Long.MIN_VALUE);
+		Assert.assertTrue(new BigDecimal("-2.125").equals(readAccount.getRate()));
+
+		Account emptyAccount = new Account();
+		new BeanRecord(emptyAccount, new BeanRecord(new Account()).toString());
+		Assert.assertTrue(emptyAccount.getQuantity() == 0);
+		Assert.assertTrue(new BigDecimal("1.500").equals(emptyAccount.getRate()));
+	}
+
+	@Test
+	public void testByteRecordCodec() {
+		Account account = newAccount();
+		ByteRecordCodec<Account> isoCodec = new ByteRecordCodec<Account>(Account.class, StandardCharsets.ISO_8859_1);
+		byte[] isoBytes = isoCodec.encode(account);
+		Assert.assertTrue(new BeanRecord(account).toString().equals(new String(isoBytes, StandardCharsets.ISO_8859_1)));
+
+		ByteRecordCodec<Account> ebcdicCodec = new ByteRecordCodec<Account>(Account.class, CP037);
+		byte[] bytes = ebcdicCodec.encode(account);
+		Assert.assertTrue(Arrays.equals("ACC01     ".getBytes(CP037), Arrays.copyOfRange(bytes, 0, 10)));
+		Assert.assertTrue(Arrays.equals(Arrays.copyOfRange(isoBytes, 10, 37), Arrays.copyOfRange(bytes, 10, 37)));
+
+		Account readAccount = ebcdicCodec.decode(bytes, 0);
+		Assert.assertTrue(readAccount.getQuantity() == -12345);
+		Assert.assertTrue(new BigDecimal("1234567.89").equals(readAccount.getBalance()));
+		Assert.assertTrue(readAccount.getId() == Long.MIN_VALUE);
+		Assert.assertTrue(new BigDecimal("-2.125").equals(readAccount.getRate()));
+		Assert.assertTrue(new BeanRecord(readAccount).toString().equals(ebcdicCodec.recordAsString(bytes, 0)));
+
+		account.setBalance(new BigDecimal("12345678901.23"));
+		try {
+			ebcdicCodec.encode(account);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE10.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("Out of range"));
+		}
+
+		bytes[10] = (byte) 0xA0;
+		try {
+			ebcdicCodec.decode(bytes, 0);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE39.equals(e.getErrorCode()));
+		}
+	}
+
+	@Test
+	public void testNotValidField() {
+		try {
+			new Field("amount", 1, 0, 0, FieldType.N, 5, FieldMandatory.NO, RecordWay.OUT, null, null,
+				Arrays.asList(FieldExtendedPropertyFactory.createScale(2)), "", "");
+			Assert.fail();
+		} catch (FieldException e) {
+			Assert.assertTrue(ErrorCode.FE41.equals(e.getErrorCode()));
+		}
+
+		try {
+			new Field("amount", 1, 0, 0, FieldType.PD, 11, FieldMandatory.NO, RecordWay.OUT, null, null, null, "", "");
+			Assert.fail();
+		} catch (FieldException e) {
+			Assert.assertTrue(ErrorCode.FE41.equals(e.getErrorCode()));
+		}
+
+		Field field = new Field("amount", 1, 0, 0, FieldType.BIN, 2, FieldMandatory.NO, RecordWay.OUT, null, null, null, "", "");
+		Assert.assertTrue(field.isInteger() && field.isLong() && field.isBigDecimal());
+		field.setValue(-300);
+		Assert.assertTrue(field.getValueAsInteger() == -300);
+		field.setValue(40000);
+		Assert.assertTrue(field.getValidationInfo().getValidationMessage().contains("Out of range"));
+	}
+}
@@ -0,0 +1,178 @@
+package com.github.parmag.fixefid.test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecord;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.test.bean.AddressWithFixedValues;
+import com.github.parmag.fixefid.test.bean.Flag;
+import com.github.parmag.fixefid.test.bean.MultiFlag;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class ByteRecordCodecTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final String FLAG_RECORD_AS_STRING = "Circuit             SNSSNSSNNNCX34ZY7   ";
+	private static final Charset CP037 = Charset.forName("Cp037");
+	private static final Charset CP1047 = Charset.forName("Cp1047");
+
+	@Test
+	public void testDecodeAndEncodeAsBeanRecord() {
+		ByteRecordCodec<PersonWithEPAnnotation> codec = new ByteRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class, StandardCharsets.ISO_8859_1);
+		byte[] bytes = PERSON_RECORD_AS_STRING.getBytes(StandardCharsets.ISO_8859_1);
+		PersonWithEPAnnotation person = codec.decode(bytes, 0);
+		Assert.assertTrue("Paolo".equals(person.getFirstName()));
+		Assert.assertTrue(person.getAge() == 51);
+		Assert.assertTrue(!person.getVip());
+		Assert.assertTrue(PERSON_RECORD_AS_STRING.equals(new BeanRecord(person).toString()));
+		Assert.assertTrue(PERSON_RECORD_AS_STRING.equals(new String(codec.encode(person), StandardCharsets.ISO_8859_1)));
+
+		person.setFirstName("Mario");
+		person.setAge(null);
+		person.setVip(true);
+		Assert.assertTrue(new BeanRecord(person).toString().equals(new String(codec.encode(person), StandardCharsets.ISO_8859_1)));
+
+		PersonWithEPAnnotation emptyPerson = new PersonWithEPAnnotation();
+		Assert.assertTrue(new BeanRecord(emptyPerson).toString().equals(new String(codec.encode(emptyPerson), StandardCharsets.ISO_8859_1)));
+	}
+
+	@Test
+	public void testEbcdicAndByteBuffer() {
+		ByteRecordCodec<Flag> codec = new ByteRecordCodec<Flag>(Flag.class, CP037);
+		byte[] bytes = FLAG_RECORD_AS_STRING.getBytes(CP037);
+		Flag flag = codec.decode(bytes, 0);
+		Assert.assertTrue("Circuit".equals(flag.getName()));
+		Assert.assertTrue(flag.getFlags().size() == 10);
+		Assert.assertTrue("CX34ZY7".equals(flag.getProgram()));
+		Assert.assertTrue(FLAG_RECORD_AS_STRING.equals(codec.recordAsString(bytes, 0)));
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length * 2);
+		codec.encode(flag, direct, bytes.length);
+		Flag readFlag = codec.decode(direct, bytes.length, new Flag());
+		Assert.assertTrue(flag.getFlags().equals(readFlag.getFlags()));
+		Assert.assertTrue(direct.position() == 0);
+
+		ByteBuffer heap = ByteBuffer.allocate(bytes.length);
+		codec.encode(readFlag, heap, 0);
+		Assert.assertTrue(ByteBuffer.wrap(bytes).equals(heap));
+	}
+
+	@Test
+	public void testNotValidRecord() throws ParseException {
+		ByteRecordCodec<PersonWithEPAnnotation> personCodec = new ByteRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class, StandardCharsets.ISO_8859_1);
+		try {
+			personCodec.decode(PERSON_RECORD_AS_STRING.replace("051", "0X1").getBytes(StandardCharsets.ISO_8859_1), 0);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE39.equals(e.getErrorCode()));
+		}
+
+		ByteRecordCodec<AddressWithFixedValues> addressCodec = new ByteRecordCodec<AddressWithFixedValues>(AddressWithFixedValues.class, CP037);
+		AddressWithFixedValues address = new AddressWithFixedValues();
+		try {
+			addressCodec.encode(address);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE10.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("addressId2-1"));
+		}
+
+		address.setDistrict("BO");
+		address.setAddressRef(100);
+		address.setAddressId2(1f);
+		address.setAddressId3(2f);
+		address.setVip(true);
+		address.setAddressDate(new SimpleDateFormat("yyyy-MM-dd").parse("2022-04-11"));
+		Assert.assertTrue(new BeanRecord(address).toString().equals(new String(addressCodec.encode(address), CP037)));
+	}
+
+	@Test
+	public void testNumberOverflow() {
+		ByteRecordCodec<MultiFlag> codec = new ByteRecordCodec<MultiFlag>(MultiFlag.class, StandardCharsets.ISO_8859_1);
+		MultiFlag multiFlag = codec.decode(("9223372036854775807" + FLAG_RECORD_AS_STRING).getBytes(StandardCharsets.ISO_8859_1), 0);
+		Assert.assertTrue(multiFlag.getId() == Long.MAX_VALUE);
+
+		try {
+			codec.decode(("9999999999999999999" + FLAG_RECORD_AS_STRING).getBytes(StandardCharsets.ISO_8859_1), 0);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE39.equals(e.getErrorCode()));
+		}
+	}
+
+	@Test
+	public void testUnmappableChar() {
+		ByteRecordCodec<PersonWithEPAnnotation> codec = new ByteRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class, StandardCharsets.ISO_8859_1);
+		PersonWithEPAnnotation person = codec.decode(PERSON_RECORD_AS_STRING.getBytes(StandardCharsets.ISO_8859_1), 0);
+		person.setFirstName("Niccol\u00F2");
+		Assert.assertTrue("Niccol\u00F2".equals(codec.decode(codec.encode(person), 0).getFirstName()));
+
+		person.setFirstName("Niccol\u00F2 \u20AC");
+		try {
+			codec.encode(person);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE10.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("ISO-8859-1"));
+		}
+
+		person.setFirstName("Paolo");
+		person.setBirthDistrict("\u20AC");
+		try {
+			codec.encode(person);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE10.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("ISO-8859-1"));
+		}
+	}
+
+	@Test
+	public void testMultiByteCharset() {
+		ByteRecordCodec<PersonWithEPAnnotation> codec = new ByteRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class, StandardCharsets.UTF_8);
+		Assert.assertTrue(!codec.isSingleByte());
+		String record = PERSON_RECORD_AS_STRING.replace("Paolo                    ", "Niccolò                  ");
+		byte[] bytes = record.substring(0, 24).concat(record.substring(25)).getBytes(StandardCharsets.UTF_8);
+		Assert.assertTrue(bytes.length == codec.getRecordLen());
+
+		PersonWithEPAnnotation person = codec.decode(bytes, 0);
+		Assert.assertTrue("Niccolò".equals(person.getFirstName()));
+		Assert.assertTrue("Rossi".equals(person.getLastName()));
+		Assert.assertTrue(person.getAge() == 51);
+		Assert.assertTrue(record.equals(codec.recordAsString(bytes, 0)));
+		Assert.assertTrue(Arrays.equals(bytes, codec.encode(person)));
+
+		person.setFirstName("Niccolò Niccolò Niccolò N");
+		try {
+			codec.encode(person);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE10.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("len in bytes"));
+		}
+
+		bytes[3] = (byte) 0xC3;
+		try {
+			codec.decode(bytes, 0);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE39.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("UTF-8"));
+		}
+
+		ByteRecordCodec<PersonWithEPAnnotation> ebcdicCodec = new ByteRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class, CP1047);
+		byte[] ebcdicBytes = PERSON_RECORD_AS_STRING.getBytes(CP1047);
+		Assert.assertTrue(ebcdicCodec.isSingleByte());
+		Assert.assertTrue(Arrays.equals(ebcdicBytes, ebcdicCodec.encode(ebcdicCodec.decode(ebcdicBytes, 0))));
+	}
+}
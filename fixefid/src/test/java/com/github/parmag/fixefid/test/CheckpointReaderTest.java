@@ -0,0 +1,124 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.CheckpointReader;
+import com.github.parmag.fixefid.record.io.FixefidCheckpoint;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.bean.OrderHeader;
+
+public class CheckpointReaderTest {
+
+	private static final int RECORD_COUNT = 10;
+
+	private long total;
+
+	private static Path writeDetails(String item) throws IOException {
+		Path path = Files.createTempFile("fixefid", ".txt");
+		StringBuilder sb = new StringBuilder();
+		for (int i = 1; i <= RECORD_COUNT; i++) {
+			sb.append("D").append(String.format("%06d", i)).append(String.format("%-10s", item)).append(String.format("%04d", i)).append("\n");
+		}
+
+		Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+	private CheckpointReader<OrderDetail, Long> newReader(Path path, Charset charset, Path checkpoint) throws IOException {
+		return new CheckpointReader<OrderDetail, Long>(path, charset, new BeanRecordCodec<OrderDetail>(OrderDetail.class), 
+			RecordDelimiter.NEWLINE, checkpoint, 3, () -> total);
+	}
+
+	private void testResume(String item, Charset charset) throws IOException {
+		Path path = writeDetails(item);
+		Path checkpoint = path.resolveSibling(path.getFileName() + ".checkpoint");
+		try {
+			total = 0;
+			try (CheckpointReader<OrderDetail, Long> reader = newReader(path, charset, checkpoint)) {
+				Assert.assertTrue(reader.getResumedCheckpoint() == null);
+				for (int i = 1; i <= 7; i++) {
+					total += reader.read().getQuantity();
+				}
+			}
+
+			FixefidCheckpoint<Long> saved = FixefidCheckpoint.load(checkpoint, 21);
+			Assert.assertTrue(saved.getRecordNumber() == 6);
+			Assert.assertTrue(saved.getState() == 1 + 2 + 3 + 4 + 5 + 6);
+
+			total = -1;
+			try (CheckpointReader<OrderDetail, Long> reader = newReader(path, charset, checkpoint)) {
+				total = reader.getResumedCheckpoint().getState();
+				OrderDetail detail;
+				while ((detail = reader.read()) != null) {
+					Assert.assertTrue(detail.getQuantity() == reader.getRecordNumber());
+					Assert.assertTrue(item.equals(detail.getItem()));
+					total += detail.getQuantity();
+				}
+
+				Assert.assertTrue(reader.getRecordNumber() == RECORD_COUNT);
+				Assert.assertTrue(total == RECORD_COUNT * (RECORD_COUNT + 1) / 2);
+				reader.deleteCheckpoint();
+			}
+
+			Assert.assertTrue(!Files.exists(checkpoint));
+		} finally {
+			Files.delete(path);
+			Files.deleteIfExists(checkpoint);
+		}
+	}
+
+	@Test
+	public void testResumeSingleByteCharset() throws IOException {
+		testResume("Pen", StandardCharsets.ISO_8859_1);
+	}
+
+	@Test
+	public void testResumeMultiByteCharset() throws IOException {
+		testResume("Caffè", StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testNotValidCheckpoint() throws IOException {
+		Path path = writeDetails("Pen");
+		Path checkpoint = path.resolveSibling(path.getFileName() + ".checkpoint");
+		try {
+			Files.write(checkpoint, "not a checkpoint".getBytes(StandardCharsets.ISO_8859_1));
+			try {
+				newReader(path, StandardCharsets.ISO_8859_1, checkpoint);
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE49.equals(e.getErrorCode()));
+			}
+
+			new FixefidCheckpoint<Long>(22, 1, null).save(checkpoint, 21);
+			try {
+				new CheckpointReader<OrderHeader, Long>(path, StandardCharsets.ISO_8859_1, OrderHeader.class, checkpoint, null);
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE49.equals(e.getErrorCode()));
+			}
+
+			new FixefidCheckpoint<Long>(Files.size(path) + 22, 11, null).save(checkpoint, 21);
+			try {
+				newReader(path, StandardCharsets.ISO_8859_1, checkpoint);
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE49.equals(e.getErrorCode()));
+			}
+		} finally {
+			Files.delete(path);
+			Files.deleteIfExists(checkpoint);
+		}
+	}
+}
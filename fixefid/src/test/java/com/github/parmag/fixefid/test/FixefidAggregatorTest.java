@@ -0,0 +1,197 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.format.SimpleBooleanFormat;
+import com.github.parmag.fixefid.record.io.AggregateGroup;
+import com.github.parmag.fixefid.record.io.Aggregation;
+import com.github.parmag.fixefid.record.io.FixefidAggregator;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.record.io.ParallelCSVReader;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.csv.Car;
+
+public class FixefidAggregatorTest {
+
+	private static final int RECORD_COUNT = 1000;
+	private static final int ORDER_COUNT = 50;
+	private static final List<String> KEY_FIELD_NAMES = Arrays.asList("recordType", "orderId");
+	private static final List<Aggregation> AGGREGATIONS = Arrays.asList(Aggregation.count(), Aggregation.sum("quantity"),
+		Aggregation.min("quantity"), Aggregation.max("quantity"), Aggregation.avg("quantity"));
+	private static final Map<String, List<FieldExtendedProperty>> MAP_FIELD_EXTENDED_PROPERTIES = new HashMap<String, List<FieldExtendedProperty>>();
+
+	static {
+		MAP_FIELD_EXTENDED_PROPERTIES.put("weight", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DECIMAL_FORMAT, new DecimalFormat("0.00", new DecimalFormatSymbols(Locale.ENGLISH))),
+			new FieldExtendedProperty(FieldExtendedPropertyType.REMOVE_DECIMAL_SEPARATOR, Boolean.valueOf(true))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("productionDate", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DATE_FORMAT, new SimpleDateFormat("ddMMyyyy", Locale.ENGLISH))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("used", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.BOOLEAN_FORMAT, new SimpleBooleanFormat("Y", "N"))));
+	}
+
+	private static String orderDetailRecords() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < RECORD_COUNT; i++) {
+			sb.append(String.format("D%06d%-10s%04d\n", i % ORDER_COUNT + 1, "Item" + i % 3, i % 7 + 1));
+		}
+
+		return sb.toString();
+	}
+
+	private static Map<String, AggregateGroup> aggregate(FixefidAggregator aggregator, String records) throws IOException {
+		try (FixefidReader<OrderDetail> reader = new FixefidReader<OrderDetail>(new StringReader(records), OrderDetail.class)) {
+			aggregator.aggregate(reader);
+		}
+
+		final Map<String, AggregateGroup> groups = new HashMap<String, AggregateGroup>();
+		long groupCount = aggregator.forEachGroup(group -> groups.put(group.getKey(0) + "-" + group.getKey(1), group));
+		Assert.assertTrue(groupCount == groups.size());
+
+		return groups;
+	}
+
+	private static void assertGroups(Map<String, AggregateGroup> groups) {
+		Assert.assertTrue(groups.size() == ORDER_COUNT);
+		for (int orderId = 1; orderId <= ORDER_COUNT; orderId++) {
+			long count = 0;
+			long sum = 0;
+			long min = Long.MAX_VALUE;
+			long max = Long.MIN_VALUE;
+			for (int i = orderId - 1; i < RECORD_COUNT; i += ORDER_COUNT) {
+				long quantity = i % 7 + 1;
+				count++;
+				sum += quantity;
+				min = Math.min(min, quantity);
+				max = Math.max(max, quantity);
+			}
+
+			AggregateGroup group = groups.get("D-" + orderId);
+			Assert.assertTrue(group.getCount() == count);
+			Assert.assertTrue(group.getValue(0).longValue() == count);
+			Assert.assertTrue(group.getValue(1).longValue() == sum);
+			Assert.assertTrue(group.getValue(2).longValue() == min);
+			Assert.assertTrue(group.getValue(3).longValue() == max);
+			Assert.assertTrue(BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), MathContext.DECIMAL64).equals(group.getValue(4)));
+		}
+	}
+
+	@Test
+	public void testAggregate() throws IOException {
+		try (FixefidAggregator aggregator = new FixefidAggregator(KEY_FIELD_NAMES, AGGREGATIONS)) {
+			assertGroups(aggregate(aggregator, orderDetailRecords()));
+		}
+	}
+
+	@Test
+	public void testAggregateWithSpill() throws IOException {
+		Path tempDir = Files.createTempDirectory("fixefid");
+		try (FixefidAggregator aggregator = new FixefidAggregator(KEY_FIELD_NAMES, AGGREGATIONS, 2, tempDir)) {
+			assertGroups(aggregate(aggregator, orderDetailRecords()));
+			try (java.util.stream.Stream<Path> files = Files.list(tempDir)) {
+				Assert.assertTrue(files.count() == 0);
+			}
+		} finally {
+			Files.delete(tempDir);
+		}
+	}
+
+	@Test
+	public void testAggregateCSV() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".csv");
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < RECORD_COUNT; i++) {
+			sb.append("Citroen,C3 Picasso " + i + ",140000," + (4000 + i) + ",1730,1624," + (100 + i % 90) + ",10102002,Y\n");
+		}
+		Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		ParallelCSVReader<Car> reader = new ParallelCSVReader<Car>(path, StandardCharsets.UTF_8, Car.class, null,
+			MAP_FIELD_EXTENDED_PROPERTIES, executor, 37);
+		try (FixefidAggregator aggregator = new FixefidAggregator(Arrays.asList("speed"), Arrays.asList(Aggregation.count(),
+				Aggregation.sum("length"), Aggregation.max("length")), 7, null)) {
+			aggregator.aggregate(reader);
+			final Map<String, AggregateGroup> groups = new HashMap<String, AggregateGroup>();
+			aggregator.forEachGroup(group -> groups.put(group.getKey(0), group));
+			Assert.assertTrue(groups.size() == 90);
+			for (int speed = 100; speed < 190; speed++) {
+				long count = 0;
+				long sum = 0;
+				long max = 0;
+				for (int i = speed - 100; i < RECORD_COUNT; i += 90) {
+					count++;
+					sum += 4000 + i;
+					max = 4000 + i;
+				}
+
+				AggregateGroup group = groups.get(String.valueOf(speed));
+				Assert.assertTrue(group.getCount() == count);
+				Assert.assertTrue(group.getValue(1).longValue() == sum);
+				Assert.assertTrue(group.getValue(2).longValue() == max);
+			}
+		} finally {
+			reader.close();
+			executor.shutdown();
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testAggregateCSVDecimal() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".csv");
+		Files.write(path, ("Citroen,C3 Picasso,140000,4000,1730,1624,100,10102002,Y\n" +
+			"Citroen,C3 Picasso,123456,4000,1730,1624,100,10102002,Y\n" +
+			"Citroen,C3 Picasso,140010,4000,1730,1624,100,10102002,Y\n").getBytes(StandardCharsets.UTF_8));
+
+		ParallelCSVReader<Car> reader = new ParallelCSVReader<Car>(path, StandardCharsets.UTF_8, Car.class, null,
+			MAP_FIELD_EXTENDED_PROPERTIES, ForkJoinPool.commonPool(), 37);
+		try (FixefidAggregator aggregator = new FixefidAggregator(Arrays.asList("speed"), Arrays.asList(Aggregation.sum("weight"),
+				Aggregation.max("weight")))) {
+			aggregator.aggregate(reader);
+			final Map<String, AggregateGroup> groups = new HashMap<String, AggregateGroup>();
+			aggregator.forEachGroup(group -> groups.put(group.getKey(0), group));
+			Assert.assertTrue(groups.size() == 1);
+			Assert.assertTrue(new BigDecimal("4034.66").equals(groups.get("100").getValue(0)));
+			Assert.assertTrue(new BigDecimal("1400.10").equals(groups.get("100").getValue(1)));
+		} finally {
+			reader.close();
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testNotValidRecord() throws IOException {
+		String records = orderDetailRecords();
+		try (FixefidAggregator aggregator = new FixefidAggregator(KEY_FIELD_NAMES, AGGREGATIONS)) {
+			aggregate(aggregator, records + "D000001Pen       00A1\n");
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("record number=[" + (RECORD_COUNT + 1) + "]"));
+		}
+	}
+}
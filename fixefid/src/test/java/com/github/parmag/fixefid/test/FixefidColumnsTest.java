@@ -0,0 +1,143 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordCursor;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.DecimalColumn;
+import com.github.parmag.fixefid.record.io.DictionaryColumn;
+import com.github.parmag.fixefid.record.io.FixefidColumns;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class FixefidColumnsTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final int RECORD_COUNT = 1000;
+	private static final int CHUNK_SIZE = 7 * (PERSON_RECORD_AS_STRING.length() + 1);
+	private static final String[] LAST_NAMES = {"Rossi", "Bianchi", "Verdi"};
+	private static final List<String> FIELD_NAMES = Arrays.asList("age", "id", "stature", "tor", "lastName");
+
+	private static final BeanRecordCodec<PersonWithEPAnnotation> PERSON_CODEC = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	@Rule
+	public PersonFiles files = new PersonFiles();
+
+	private Path writePersons() throws IOException {
+		return files.writePersons(RECORD_COUNT, (person, i) -> {
+			person.setAge(i % 999 + 1);
+			person.setId(Long.valueOf(i));
+			person.setLastName(LAST_NAMES[i % LAST_NAMES.length]);
+		});
+	}
+
+	private static void assertColumns(FixefidColumns columns) {
+		Assert.assertTrue(columns.getRecordCount() == RECORD_COUNT);
+		Assert.assertTrue(FIELD_NAMES.equals(columns.getFieldNames()));
+
+		int[] ages = columns.getInts("age");
+		long[] ids = columns.getLongs("id");
+		DecimalColumn statures = columns.getDecimals("stature");
+		DecimalColumn tors = columns.getDecimals("tor");
+		DictionaryColumn lastNames = columns.getStrings("lastName");
+		Assert.assertTrue(statures.getScale() == 2);
+		Assert.assertTrue(tors.getScale() == 4);
+		Assert.assertTrue(lastNames.getDictionarySize() == LAST_NAMES.length);
+		for (int i = 0; i < RECORD_COUNT; i++) {
+			Assert.assertTrue(ages[i] == i % 999 + 1);
+			Assert.assertTrue(ids[i] == i);
+			Assert.assertTrue(statures.getUnscaledValues()[i] == 186);
+			Assert.assertTrue(new BigDecimal("1.0001").equals(tors.get(i)));
+			Assert.assertTrue(LAST_NAMES[i % LAST_NAMES.length].equals(lastNames.get(i)));
+			Assert.assertTrue(lastNames.getCodes()[i] == i % LAST_NAMES.length);
+		}
+
+		Assert.assertTrue(lastNames.codeOf("Verdi") == 2);
+		Assert.assertTrue(lastNames.codeOf("Neri") == -1);
+	}
+
+	@Test
+	public void testLoad() throws IOException {
+		Path path = writePersons();
+		FixefidColumns columns = FixefidColumns.load(path, StandardCharsets.ISO_8859_1, PERSON_CODEC, RecordDelimiter.NEWLINE, FIELD_NAMES);
+		assertColumns(columns);
+
+		try {
+			columns.getLongs("age");
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE50.equals(e.getErrorCode()));
+		}
+
+		try {
+			columns.getInts("firstName");
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE9.equals(e.getErrorCode()));
+		}
+	}
+
+	@Test
+	public void testParallelLoad() throws IOException {
+		Path path = writePersons();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			assertColumns(FixefidColumns.load(path, StandardCharsets.ISO_8859_1, PERSON_CODEC, RecordDelimiter.NEWLINE, FIELD_NAMES,
+				executor, CHUNK_SIZE));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testDoubleColumn() throws IOException {
+		Path path = files.writePersons(RECORD_COUNT, (person, i) -> person.setTor(i / 10000.0));
+
+		RecordCursor cursor = new RecordCursor(PERSON_CODEC);
+		Assert.assertTrue(BigDecimal.class.equals(cursor.getValueType(cursor.fieldIndex("tor"))));
+		Assert.assertTrue(BigDecimal.class.equals(cursor.getValueType(cursor.fieldIndex("stature"))));
+
+		FixefidColumns columns = FixefidColumns.load(path, StandardCharsets.ISO_8859_1, PERSON_CODEC, RecordDelimiter.NEWLINE,
+			Arrays.asList("tor"));
+		DecimalColumn tors = columns.getDecimals("tor");
+		Assert.assertTrue(tors.getScale() == 4);
+		for (int i = 0; i < RECORD_COUNT; i++) {
+			Assert.assertTrue(tors.getUnscaledValues()[i] == i);
+		}
+
+		try {
+			columns.getStrings("tor");
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE50.equals(e.getErrorCode()));
+		}
+	}
+
+	@Test
+	public void testNotValidRecord() throws IOException {
+		Path path = files.newPath();
+		try {
+			Files.write(path, (PERSON_RECORD_AS_STRING + "\n" + PERSON_RECORD_AS_STRING.replace("051", "0A1") + "\n")
+				.getBytes(StandardCharsets.ISO_8859_1));
+			FixefidColumns.load(path, StandardCharsets.ISO_8859_1, PERSON_CODEC, RecordDelimiter.NEWLINE, FIELD_NAMES);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("record number=[2]"));
+		}
+	}
+}
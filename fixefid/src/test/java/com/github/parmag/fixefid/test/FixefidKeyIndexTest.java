@@ -0,0 +1,89 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.FixefidKeyIndex;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class FixefidKeyIndexTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final int RECORD_COUNT = 5000;
+	private static final List<String> KEY_FIELD_NAMES = Arrays.asList("lastName", "id");
+
+	private static final BeanRecordCodec<PersonWithEPAnnotation> PERSON_CODEC = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	@Rule
+	public PersonFiles files = new PersonFiles();
+
+	private Path writePersons() throws IOException {
+		return files.writePersons(RECORD_COUNT, (person, i) -> {
+			person.setLastName("Rossi" + (i % 7));
+			person.setAge(i % 999 + 1);
+			person.setId((long) (RECORD_COUNT - i) * 3);
+		});
+	}
+
+	@Test
+	public void testLookup() throws IOException {
+		Path data = writePersons();
+		Path index = files.newPath();
+		Assert.assertTrue(FixefidKeyIndex.build(data, index, PERSON_CODEC, RecordDelimiter.NEWLINE, KEY_FIELD_NAMES, 10, 32 * 1024, 2) == RECORD_COUNT);
+		try (FixefidKeyIndex<PersonWithEPAnnotation> keyIndex = new FixefidKeyIndex<PersonWithEPAnnotation>(data, index, StandardCharsets.ISO_8859_1, 
+				PERSON_CODEC, RecordDelimiter.NEWLINE, KEY_FIELD_NAMES)) {
+			Assert.assertTrue(keyIndex.getEntryCount() == RECORD_COUNT);
+			for (int i = 0; i < RECORD_COUNT; i += 97) {
+				Assert.assertTrue(keyIndex.indexOf("Rossi" + (i % 7), (long) (RECORD_COUNT - i) * 3) == i);
+			}
+
+			PersonWithEPAnnotation person = keyIndex.get("Rossi" + (1234 % 7), (long) (RECORD_COUNT - 1234) * 3);
+			Assert.assertTrue(person.getAge() == 1234 % 999 + 1);
+
+			Assert.assertTrue(keyIndex.get("Rossi3", 1L) == null);
+			Assert.assertTrue(keyIndex.indexOf("Verdi", 3L) == -1);
+			int falsePositives = 0;
+			for (long id = 1; id <= 1000; id++) {
+				if (keyIndex.mightContain("Verdi", id)) {
+					falsePositives++;
+				}
+			}
+			Assert.assertTrue(falsePositives < 50);
+		}
+	}
+
+	@Test
+	public void testNotValidIndex() throws IOException {
+		Path data = writePersons();
+		Path index = files.newPath();
+		FixefidKeyIndex.build(data, index, PERSON_CODEC, RecordDelimiter.NEWLINE, KEY_FIELD_NAMES);
+		try {
+			new FixefidKeyIndex<PersonWithEPAnnotation>(data, index, StandardCharsets.ISO_8859_1, PERSON_CODEC, RecordDelimiter.NEWLINE, 
+				Arrays.asList("lastName"));
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE47.equals(e.getErrorCode()));
+		}
+
+		Files.write(data, (PERSON_RECORD_AS_STRING + "\n").getBytes(StandardCharsets.ISO_8859_1), StandardOpenOption.APPEND);
+		try {
+			new FixefidKeyIndex<PersonWithEPAnnotation>(data, index, StandardCharsets.ISO_8859_1, PERSON_CODEC, RecordDelimiter.NEWLINE, KEY_FIELD_NAMES);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE47.equals(e.getErrorCode()));
+		}
+	}
+}
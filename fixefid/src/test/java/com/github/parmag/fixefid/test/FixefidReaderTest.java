@@ -0,0 +1,166 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Calendar;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.Flag;
+import com.github.parmag.fixefid.test.bean.PersonWithAddressWithEPAnnotation;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class FixefidReaderTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final String PERSON_2_RECORD_AS_STRING = "Mario                    Bianchi                  04210121980175MIY000000000200002.00020200000.00";
+	private static final String PERSON_NOT_VALID_RECORD_AS_STRING = "Mario                    Bianchi                  0X210121980175MIY000000000200002.00020200000.00";
+	private static final String PERSON_WITH_ADDRESS_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_WITH_ADDRESS_RECORD_AS_STRING;
+	private static final String FLAG_RECORD_AS_STRING = "Circuit             SNSSNSSNNNCX34ZY7";
+
+	private static final BeanRecordCodec<PersonWithEPAnnotation> PERSON_CODEC = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	@Test
+	public void testReadNewLine() throws IOException {
+		String records = PERSON_RECORD_AS_STRING + "\n" + PERSON_2_RECORD_AS_STRING + "\n";
+		FixefidReader<PersonWithEPAnnotation> reader = new FixefidReader<PersonWithEPAnnotation>(new StringReader(records), PersonWithEPAnnotation.class);
+
+		PersonWithEPAnnotation person = reader.read();
+		Assert.assertTrue("Paolo".equals(person.getFirstName()));
+		Assert.assertTrue(person.getAge() == 51);
+		Assert.assertTrue(person.getStature() == 1.86f);
+		Assert.assertTrue(!person.getVip());
+		Assert.assertTrue(person.getId() == 1L);
+		Assert.assertTrue(person.getTor() == 1.0001d);
+		Assert.assertTrue(new BigDecimal("100000.00").equals(person.getTurnover()));
+		Calendar cal = Calendar.getInstance();
+		cal.setTime(person.getBirthDate());
+		Assert.assertTrue(cal.get(Calendar.YEAR) == 2002 && cal.get(Calendar.MONTH) == Calendar.OCTOBER && cal.get(Calendar.DAY_OF_MONTH) == 7);
+
+		person = reader.read();
+		Assert.assertTrue("Bianchi".equals(person.getLastName()));
+		Assert.assertTrue(person.getAge() == 42);
+		Assert.assertTrue(person.getVip());
+		Assert.assertTrue(reader.getRecordNumber() == 2);
+		Assert.assertTrue(reader.getRecordOffset() == PERSON_RECORD_AS_STRING.length() + 1);
+
+		Assert.assertNull(reader.read());
+		reader.close();
+	}
+
+	@Test
+	public void testReadCarriageReturnAndLastRecordWithoutNewLine() throws IOException {
+		String records = PERSON_RECORD_AS_STRING + "\r\n" + PERSON_2_RECORD_AS_STRING;
+		FixefidReader<PersonWithEPAnnotation> reader = new FixefidReader<PersonWithEPAnnotation>(new StringReader(records), PERSON_CODEC, RecordDelimiter.NEWLINE);
+
+		Assert.assertTrue("Paolo".equals(reader.read().getFirstName()));
+		Assert.assertTrue("Mario".equals(reader.read().getFirstName()));
+		Assert.assertNull(reader.read());
+		reader.close();
+	}
+
+	@Test
+	public void testReadNoDelimiterWithSmallBuffer() throws IOException {
+		StringBuilder records = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			records.append(i % 2 == 0 ? PERSON_RECORD_AS_STRING : PERSON_2_RECORD_AS_STRING);
+		}
+
+		FixefidReader<PersonWithEPAnnotation> reader = new FixefidReader<PersonWithEPAnnotation>(new StringReader(records.toString()),
+			PERSON_CODEC, RecordDelimiter.NONE, 10);
+
+		int count = 0;
+		PersonWithEPAnnotation person = new PersonWithEPAnnotation();
+		while (reader.read(person) != null) {
+			Assert.assertTrue((count % 2 == 0 ? "Paolo" : "Mario").equals(person.getFirstName()));
+			count++;
+		}
+
+		Assert.assertTrue(count == 10);
+		reader.close();
+	}
+
+	@Test
+	public void testReadNoDelimiterTruncatedRecord() throws IOException {
+		String records = PERSON_RECORD_AS_STRING + PERSON_2_RECORD_AS_STRING.substring(0, 50);
+		FixefidReader<PersonWithEPAnnotation> reader = new FixefidReader<PersonWithEPAnnotation>(new StringReader(records), PERSON_CODEC, RecordDelimiter.NONE);
+
+		Assert.assertTrue("Paolo".equals(reader.read().getFirstName()));
+		try {
+			reader.read();
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("record number=[2] at offset=[" + PERSON_RECORD_AS_STRING.length() + "]"));
+		}
+
+		Assert.assertNull(reader.read());
+		reader.close();
+	}
+
+	@Test
+	public void testReadNotValidRecordAndGoOn() throws IOException {
+		String records = PERSON_RECORD_AS_STRING + "\n" + PERSON_NOT_VALID_RECORD_AS_STRING + "\n" + PERSON_2_RECORD_AS_STRING + "X\n" +
+			PERSON_2_RECORD_AS_STRING + "\n";
+		FixefidReader<PersonWithEPAnnotation> reader = new FixefidReader<PersonWithEPAnnotation>(new StringReader(records), PersonWithEPAnnotation.class);
+
+		Assert.assertNotNull(reader.read());
+		try {
+			reader.read();
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("record number=[2]"));
+			Assert.assertTrue(e.getMessage().contains("age-1"));
+		}
+
+		try {
+			reader.read();
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("record number=[3]"));
+		}
+
+		Assert.assertTrue("Mario".equals(reader.read().getFirstName()));
+		Assert.assertTrue(reader.getRecordNumber() == 4);
+		Assert.assertNull(reader.read());
+		reader.close();
+	}
+
+	@Test
+	public void testReadCmp() throws IOException {
+		FixefidReader<PersonWithAddressWithEPAnnotation> reader = new FixefidReader<PersonWithAddressWithEPAnnotation>(
+			new StringReader(PERSON_WITH_ADDRESS_RECORD_AS_STRING), PersonWithAddressWithEPAnnotation.class);
+
+		PersonWithAddressWithEPAnnotation person = reader.read();
+		Assert.assertTrue("Paolo".equals(person.getFirstName()));
+		Assert.assertTrue("Bologna".equals(person.getAddress().getLocation()));
+		Assert.assertTrue("77".equals(person.getAddress().getNum()));
+		Assert.assertNull(reader.read());
+		reader.close();
+	}
+
+	@Test
+	public void testReadListWithShortRecord() throws IOException {
+		FixefidReader<Flag> reader = new FixefidReader<Flag>(new StringReader(FLAG_RECORD_AS_STRING + "\n" + FLAG_RECORD_AS_STRING), Flag.class);
+
+		Flag flag = new Flag();
+		reader.read(flag);
+		reader.read(flag);
+		Assert.assertTrue("Circuit".equals(flag.getName()));
+		Assert.assertTrue(flag.getFlags().size() == 10);
+		Assert.assertTrue("N".equals(flag.getFlags().get(4)));
+		Assert.assertTrue("S".equals(flag.getFlags().get(6)));
+		Assert.assertTrue("CX34ZY7".equals(flag.getProgram()));
+		Assert.assertNull(reader.read(flag));
+		reader.close();
+	}
+}
@@ -0,0 +1,89 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.record.io.FixefidSorter;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class FixefidSorterTest {
+
+	private static final int RECORD_COUNT = 5000;
+
+	private static final BeanRecordCodec<PersonWithEPAnnotation> PERSON_CODEC = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	@Rule
+	public PersonFiles files = new PersonFiles();
+
+	private Path writePersons(RecordDelimiter recordDelimiter) throws IOException {
+		return files.writePersons(RECORD_COUNT, recordDelimiter, StandardCharsets.ISO_8859_1, (person, i) -> {
+			person.setLastName("Rossi" + (i % 7));
+			person.setAge((i * 31) % 999 + 1);
+			person.setId((long) i);
+		});
+	}
+
+	private static void assertSorted(Path path, RecordDelimiter recordDelimiter) throws IOException {
+		try (FixefidReader<PersonWithEPAnnotation> reader = new FixefidReader<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1, PERSON_CODEC, recordDelimiter)) {
+			PersonWithEPAnnotation previous = reader.read();
+			PersonWithEPAnnotation person;
+			int count = 1;
+			while ((person = reader.read()) != null) {
+				int cmp = previous.getLastName().compareTo(person.getLastName());
+				if (cmp == 0) {
+					cmp = previous.getAge().compareTo(person.getAge());
+				}
+				if (cmp == 0) {
+					cmp = previous.getId().compareTo(person.getId());
+				}
+				Assert.assertTrue(cmp < 0);
+				previous = person;
+				count++;
+			}
+			Assert.assertTrue(count == RECORD_COUNT);
+		}
+	}
+
+	@Test
+	public void testSortWithManyRuns() throws IOException {
+		Path input = writePersons(RecordDelimiter.NEWLINE);
+		Path output = files.newPath();
+		FixefidSorter<PersonWithEPAnnotation> sorter = new FixefidSorter<PersonWithEPAnnotation>(PERSON_CODEC, RecordDelimiter.NEWLINE, 
+			Arrays.asList("lastName", "age"), 64 * 1024, 3, null);
+		Assert.assertTrue(sorter.sort(input, output) == RECORD_COUNT);
+		Assert.assertTrue(Files.size(output) == Files.size(input));
+		assertSorted(output, RecordDelimiter.NEWLINE);
+	}
+
+	@Test
+	public void testSortInMemory() throws IOException {
+		Path input = writePersons(RecordDelimiter.NONE);
+		Path output = files.newPath();
+		FixefidSorter<PersonWithEPAnnotation> sorter = new FixefidSorter<PersonWithEPAnnotation>(PERSON_CODEC, RecordDelimiter.NONE, 
+			Arrays.asList("lastName", "age"), FixefidSorter.DEF_MAX_MEMORY, 1, null);
+		Assert.assertTrue(sorter.sort(input, output) == RECORD_COUNT);
+		assertSorted(output, RecordDelimiter.NONE);
+	}
+
+	@Test
+	public void testNotValidKeyField() {
+		try {
+			new FixefidSorter<PersonWithEPAnnotation>(PersonWithEPAnnotation.class, "lastName", "notFixefidField");
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE9.equals(e.getErrorCode()));
+		}
+	}
+}
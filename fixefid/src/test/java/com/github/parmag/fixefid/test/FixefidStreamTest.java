@@ -0,0 +1,78 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.Fixefid;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class FixefidStreamTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final int RECORD_COUNT = 10000;
+
+	@Rule
+	public PersonFiles files = new PersonFiles();
+
+	private Path writePersons() throws IOException {
+		return files.writePersons(RECORD_COUNT, RecordDelimiter.NEWLINE, StandardCharsets.UTF_8, (person, i) -> person.setAge(i % 999 + 1));
+	}
+
+	@Test
+	public void testSequentialStream() throws IOException {
+		Path path = writePersons();
+		try (Stream<PersonWithEPAnnotation> stream = Fixefid.stream(path, PersonWithEPAnnotation.class)) {
+			Assert.assertTrue(stream.spliterator().hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+		}
+
+		try (Stream<PersonWithEPAnnotation> stream = Fixefid.stream(path, PersonWithEPAnnotation.class)) {
+			List<Integer> ages = stream.filter(p -> p.getAge() > 990).limit(3).map(p -> p.getAge()).collect(Collectors.toList());
+			Assert.assertTrue(ages.size() == 3);
+			Assert.assertTrue(ages.get(0) == 991 && ages.get(2) == 993);
+		}
+	}
+
+	@Test
+	public void testParallelStream() throws IOException {
+		Path path = writePersons();
+		try (Stream<PersonWithEPAnnotation> stream = Fixefid.stream(path, StandardCharsets.UTF_8, PersonWithEPAnnotation.class)) {
+			List<Integer> ages = stream.parallel().map(p -> p.getAge()).collect(Collectors.toList());
+			Assert.assertTrue(ages.size() == RECORD_COUNT);
+			for (int i = 0; i < RECORD_COUNT; i++) {
+				Assert.assertTrue(ages.get(i) == i % 999 + 1);
+			}
+		}
+
+		try (Stream<PersonWithEPAnnotation> stream = Fixefid.stream(path, StandardCharsets.UTF_8, PersonWithEPAnnotation.class)) {
+			Assert.assertTrue(stream.parallel().filter(p -> "Paolo".equals(p.getFirstName())).count() == RECORD_COUNT);
+		}
+	}
+
+	@Test
+	public void testNotValidRecord() throws IOException {
+		Path path = writePersons();
+		byte[] bytes = Files.readAllBytes(path);
+		bytes[7000 * (PERSON_RECORD_AS_STRING.length() + 1) + PERSON_RECORD_AS_STRING.indexOf("051") + 1] = 'X';
+		Files.write(path, bytes);
+		try (Stream<PersonWithEPAnnotation> stream = Fixefid.stream(path, PersonWithEPAnnotation.class)) {
+			stream.parallel().forEach(p -> { });
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("number=[7001]"));
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecord;
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.record.io.FixefidWriter;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.Account;
+import com.github.parmag.fixefid.test.bean.AddressWithFixedValues;
+import com.github.parmag.fixefid.test.bean.Flag;
+import com.github.parmag.fixefid.test.bean.PersonWithAddressWithEPAnnotation;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class FixefidWriterTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final String PERSON_WITH_ADDRESS_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_WITH_ADDRESS_RECORD_AS_STRING;
+	private static final String FLAG_RECORD_AS_STRING = "Circuit             SNSSNSSNNNCX34ZY7   ";
+
+	private static final BeanRecordCodec<PersonWithEPAnnotation> PERSON_CODEC = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	@Test
+	public void testEncodeAsBeanRecord() {
+		PersonWithEPAnnotation person = PERSON_CODEC.decode(PERSON_RECORD_AS_STRING);
+		Assert.assertTrue(PERSON_RECORD_AS_STRING.equals(PERSON_CODEC.encode(person)));
+
+		person.setFirstName("Mario");
+		person.setAge(null);
+		person.setVip(true);
+		Assert.assertTrue(new BeanRecord(person).toString().equals(PERSON_CODEC.encode(person)));
+
+		PersonWithEPAnnotation emptyPerson = new PersonWithEPAnnotation();
+		Assert.assertTrue(new BeanRecord(emptyPerson).toString().equals(PERSON_CODEC.encode(emptyPerson)));
+	}
+
+	@Test
+	public void testEncodeDirectFieldsAsBeanRecord() {
+		PersonWithEPAnnotation person = PERSON_CODEC.decode(PERSON_RECORD_AS_STRING);
+		person.setFirstName("Mario  ");
+		person.setLastName("");
+		person.setAge(0);
+		person.setId(9999999999L);
+		Assert.assertTrue(new BeanRecord(person).toString().equals(PERSON_CODEC.encode(person)));
+
+		person.setAge(999);
+		person.setId(1L);
+		Assert.assertTrue(new BeanRecord(person).toString().equals(PERSON_CODEC.encode(person)));
+
+		person.setAge(1000);
+		try {
+			PERSON_CODEC.encode(person);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE10.equals(e.getErrorCode()));
+		}
+
+		person.setAge(-1);
+		Assert.assertTrue(new BeanRecord(person).toString().equals(PERSON_CODEC.encode(person)));
+	}
+
+	@Test
+	public void testWriteNewLine() throws IOException {
+		PersonWithEPAnnotation person = PERSON_CODEC.decode(PERSON_RECORD_AS_STRING);
+		StringWriter out = new StringWriter();
+		FixefidWriter<PersonWithEPAnnotation> writer = new FixefidWriter<PersonWithEPAnnotation>(out, PersonWithEPAnnotation.class);
+		writer.write(person);
+		writer.write(person);
+		Assert.assertTrue(out.toString().isEmpty());
+		writer.close();
+
+		Assert.assertTrue(writer.getRecordNumber() == 2);
+		Assert.assertTrue((PERSON_RECORD_AS_STRING + "\n" + PERSON_RECORD_AS_STRING + "\n").equals(out.toString()));
+	}
+
+	@Test
+	public void testWriteNoDelimiterWithSmallBuffer() throws IOException {
+		PersonWithEPAnnotation person = PERSON_CODEC.decode(PERSON_RECORD_AS_STRING);
+		StringWriter out = new StringWriter();
+		FixefidWriter<PersonWithEPAnnotation> writer = new FixefidWriter<PersonWithEPAnnotation>(out, PERSON_CODEC, RecordDelimiter.NONE, 10);
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			person.setAge(i);
+			writer.write(person);
+			expected.append(new BeanRecord(person).toString());
+		}
+		writer.flush();
+
+		Assert.assertTrue(expected.toString().equals(out.toString()));
+		writer.close();
+	}
+
+	@Test
+	public void testWriteCmpAndListAndReadBack() throws IOException {
+		StringWriter out = new StringWriter();
+		FixefidWriter<PersonWithAddressWithEPAnnotation> personWriter = new FixefidWriter<PersonWithAddressWithEPAnnotation>(out, PersonWithAddressWithEPAnnotation.class);
+		PersonWithAddressWithEPAnnotation person = new PersonWithAddressWithEPAnnotation();
+		new BeanRecord(person, PERSON_WITH_ADDRESS_RECORD_AS_STRING);
+		personWriter.write(person);
+		personWriter.close();
+		Assert.assertTrue((PERSON_WITH_ADDRESS_RECORD_AS_STRING + "\n").equals(out.toString()));
+
+		out = new StringWriter();
+		FixefidWriter<Flag> flagWriter = new FixefidWriter<Flag>(out, Flag.class);
+		Flag flag = new Flag();
+		new BeanRecord(flag, FLAG_RECORD_AS_STRING);
+		flagWriter.write(flag);
+		flagWriter.close();
+
+		FixefidReader<Flag> flagReader = new FixefidReader<Flag>(new StringReader(out.toString()), Flag.class);
+		Flag readFlag = flagReader.read();
+		Assert.assertTrue(flag.getFlags().equals(readFlag.getFlags()));
+		Assert.assertTrue(FLAG_RECORD_AS_STRING.equals(new BeanRecord(readFlag).toString()));
+		flagReader.close();
+	}
+
+	@Test
+	public void testWriteNotValidRecordAndGoOn() throws IOException, ParseException {
+		StringWriter out = new StringWriter();
+		FixefidWriter<AddressWithFixedValues> writer = new FixefidWriter<AddressWithFixedValues>(out, AddressWithFixedValues.class);
+		AddressWithFixedValues address = new AddressWithFixedValues();
+		try {
+			writer.write(address);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE42.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("record number=[1]"));
+			Assert.assertTrue(e.getMessage().contains("addressId2-1"));
+		}
+
+		address.setDistrict("BO");
+		address.setAddressRef(100);
+		address.setAddressId2(1f);
+		address.setAddressId3(2f);
+		address.setVip(true);
+		address.setAddressDate(new SimpleDateFormat("yyyy-MM-dd").parse("2022-04-11"));
+		writer.write(address);
+		writer.close();
+
+		Assert.assertTrue(writer.getRecordNumber() == 1);
+		Assert.assertTrue((new BeanRecord(address).toString() + "\n").equals(out.toString()));
+	}
+
+	@Test
+	public void testWriteBinaryFieldsNotValid() {
+		BeanRecordCodec<Account> codec = new BeanRecordCodec<Account>(Account.class);
+		Assert.assertTrue(codec.hasBinaryFields());
+		Assert.assertTrue(!PERSON_CODEC.hasBinaryFields());
+		try {
+			new FixefidWriter<Account>(new StringWriter(), Account.class);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE52.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains(Account.class.getName()));
+		}
+	}
+}
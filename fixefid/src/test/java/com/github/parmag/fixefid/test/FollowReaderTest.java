@@ -0,0 +1,152 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.format.SimpleBooleanFormat;
+import com.github.parmag.fixefid.record.io.FollowReader;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.csv.Car;
+
+public class FollowReaderTest {
+
+	private static final String DETAIL_1 = "D000001Pen       0001\n";
+	private static final String DETAIL_2 = "D000001Book      0002\n";
+	private static final String DETAIL_3 = "D000002Paper     0003\n";
+
+	private static final Map<String, List<FieldExtendedProperty>> MAP_FIELD_EXTENDED_PROPERTIES = new HashMap<String, List<FieldExtendedProperty>>();
+
+	static {
+		MAP_FIELD_EXTENDED_PROPERTIES.put("weight", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DECIMAL_FORMAT, new DecimalFormat("0.00", new DecimalFormatSymbols(Locale.ENGLISH))),
+			new FieldExtendedProperty(FieldExtendedPropertyType.REMOVE_DECIMAL_SEPARATOR, Boolean.valueOf(true))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("productionDate", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DATE_FORMAT, new SimpleDateFormat("ddMMyyyy", Locale.ENGLISH))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("used", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.BOOLEAN_FORMAT, new SimpleBooleanFormat("Y", "N"))));
+	}
+
+	private static void append(Path path, String s) throws IOException {
+		Files.write(path, s.getBytes(StandardCharsets.ISO_8859_1), StandardOpenOption.APPEND);
+	}
+
+	@Test
+	public void testFollow() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".txt");
+		try {
+			append(path, DETAIL_1 + DETAIL_2 + DETAIL_3.substring(0, 10));
+			long offset;
+			try (FollowReader<OrderDetail> reader = new FollowReader<OrderDetail>(path, StandardCharsets.ISO_8859_1, OrderDetail.class)) {
+				Assert.assertTrue(reader.poll().getQuantity() == 1);
+				Assert.assertTrue(reader.poll().getQuantity() == 2);
+				Assert.assertTrue(reader.poll() == null);
+				Assert.assertTrue(reader.read(20, TimeUnit.MILLISECONDS) == null);
+
+				append(path, DETAIL_3.substring(10));
+				Assert.assertTrue(reader.read(1, TimeUnit.SECONDS).getQuantity() == 3);
+				Assert.assertTrue(reader.getRecordNumber() == 3);
+				offset = reader.getOffset();
+				Assert.assertTrue(offset == Files.size(path));
+			}
+
+			append(path, DETAIL_1);
+			try (FollowReader<OrderDetail> reader = new FollowReader<OrderDetail>(path, StandardCharsets.ISO_8859_1, OrderDetail.class, 
+					null, null, RecordDelimiter.NEWLINE, offset, 100)) {
+				Assert.assertTrue(reader.poll().getQuantity() == 1);
+				Assert.assertTrue(reader.getRecordOffset() == offset);
+				Assert.assertTrue(reader.poll() == null);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testTruncationAndRotation() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".txt");
+		Path rotated = path.resolveSibling(path.getFileName() + ".1");
+		try {
+			append(path, DETAIL_1 + DETAIL_2);
+			try (FollowReader<OrderDetail> reader = new FollowReader<OrderDetail>(path, StandardCharsets.ISO_8859_1, OrderDetail.class)) {
+				Assert.assertTrue(reader.poll().getQuantity() == 1);
+				Assert.assertTrue(reader.poll().getQuantity() == 2);
+
+				Files.write(path, DETAIL_3.getBytes(StandardCharsets.ISO_8859_1));
+				Assert.assertTrue(reader.poll().getQuantity() == 3);
+				Assert.assertTrue(reader.getRecordOffset() == 0);
+
+				append(path, DETAIL_1.substring(0, DETAIL_1.length() - 1));
+				Files.move(path, rotated);
+				Files.write(path, DETAIL_2.getBytes(StandardCharsets.ISO_8859_1));
+				Assert.assertTrue(reader.poll().getQuantity() == 1);
+				Assert.assertTrue(reader.poll().getQuantity() == 2);
+				Assert.assertTrue(reader.poll() == null);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+			Files.deleteIfExists(rotated);
+		}
+	}
+
+	@Test
+	public void testNotValidRecord() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".txt");
+		try {
+			append(path, "D000001Pen       0001XXXXXXXXXX\n" + "D00000XPen       0001\n" + DETAIL_2);
+			try (FollowReader<OrderDetail> reader = new FollowReader<OrderDetail>(path, StandardCharsets.ISO_8859_1, OrderDetail.class)) {
+				for (int i = 1; i <= 2; i++) {
+					try {
+						reader.poll();
+						Assert.fail();
+					} catch (RecordException e) {
+						Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+						Assert.assertTrue(reader.getRecordNumber() == i);
+					}
+				}
+
+				Assert.assertTrue(reader.poll().getQuantity() == 2);
+				Assert.assertTrue(reader.poll() == null);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testFollowCSV() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".csv");
+		try {
+			append(path, "Citroen,\"C3\nPic");
+			try (FollowReader<Car> reader = new FollowReader<Car>(path, StandardCharsets.ISO_8859_1, Car.class, null, 
+					MAP_FIELD_EXTENDED_PROPERTIES, RecordDelimiter.NEWLINE, 0, 100)) {
+				Assert.assertTrue(reader.poll() == null);
+				append(path, "asso\",140000,4000,1730,1624,183,10102002,Y\n");
+				Car car = reader.poll();
+				Assert.assertTrue("C3\nPicasso".equals(car.getModel()));
+				Assert.assertTrue(reader.poll() == null);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecord;
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.MappedFixedFile;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class MappedFixedFileTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final int RECORD_COUNT = 100;
+
+	private static final BeanRecordCodec<PersonWithEPAnnotation> PERSON_CODEC = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	@Rule
+	public PersonFiles files = new PersonFiles();
+
+	private Path writePersons(RecordDelimiter recordDelimiter) throws IOException {
+		return files.writePersons(RECORD_COUNT, recordDelimiter, StandardCharsets.ISO_8859_1, (person, i) -> person.setAge(i + 1));
+	}
+
+	@Test
+	public void testGetWithManyRegions() throws IOException {
+		Path path = writePersons(RecordDelimiter.NEWLINE);
+		MappedFixedFile<PersonWithEPAnnotation> file = new MappedFixedFile<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1,
+			PERSON_CODEC, RecordDelimiter.NEWLINE, 3 * (PERSON_RECORD_AS_STRING.length() + 1) + 10);
+		try {
+			Assert.assertTrue(file.getRecordCount() == RECORD_COUNT);
+			Assert.assertTrue(file.get(99).getAge() == 100);
+			Assert.assertTrue(file.get(0).getAge() == 1);
+			Assert.assertTrue(file.get(50).getAge() == 51);
+			Assert.assertTrue("Paolo".equals(file.get(50).getFirstName()));
+			Assert.assertTrue(file.getRecordOffset(50) == 50 * (PERSON_RECORD_AS_STRING.length() + 1));
+
+			BeanRecord record = file.getBeanRecord(7);
+			Assert.assertTrue(record.getValueAsInteger("age") == 8);
+		} finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void testGetCarriageReturnAndLastRecordWithoutNewLine() throws IOException {
+		Path path = files.newPath();
+		Files.write(path, (PERSON_RECORD_AS_STRING + "\r\n" + PERSON_RECORD_AS_STRING.replace("Paolo", "Mario")).getBytes(StandardCharsets.ISO_8859_1));
+		MappedFixedFile<PersonWithEPAnnotation> file = new MappedFixedFile<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1,
+			PersonWithEPAnnotation.class);
+		try {
+			Assert.assertTrue(file.getRecordCount() == 2);
+			Assert.assertTrue("Mario".equals(file.get(1).getFirstName()));
+			Assert.assertTrue(PERSON_RECORD_AS_STRING.equals(file.getRecord(0)));
+		} finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void testGetNoDelimiter() throws IOException {
+		Path path = writePersons(RecordDelimiter.NONE);
+		MappedFixedFile<PersonWithEPAnnotation> file = new MappedFixedFile<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1,
+			PERSON_CODEC, RecordDelimiter.NONE);
+		try {
+			Assert.assertTrue(file.getRecordCount() == RECORD_COUNT);
+			PersonWithEPAnnotation person = new PersonWithEPAnnotation();
+			for (int i = RECORD_COUNT - 1; i >= 0; i--) {
+				Assert.assertTrue(file.get(i, person).getAge() == i + 1);
+			}
+		} finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void testNotValidFile() throws IOException {
+		Path path = files.newPath();
+		Files.write(path, (PERSON_RECORD_AS_STRING + "\n" + "Mario").getBytes(StandardCharsets.ISO_8859_1));
+		try {
+			new MappedFixedFile<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1, PersonWithEPAnnotation.class);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE43.equals(e.getErrorCode()));
+		}
+
+		try {
+			new MappedFixedFile<PersonWithEPAnnotation>(path, StandardCharsets.UTF_8, PersonWithEPAnnotation.class);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE43.equals(e.getErrorCode()));
+		}
+	}
+}
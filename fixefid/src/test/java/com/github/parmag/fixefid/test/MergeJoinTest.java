@@ -0,0 +1,96 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.record.io.JoinResult;
+import com.github.parmag.fixefid.record.io.JoinType;
+import com.github.parmag.fixefid.record.io.MergeJoin;
+import com.github.parmag.fixefid.test.bean.Address;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.bean.OrderHeader;
+
+public class MergeJoinTest {
+
+	private static final List<String> ORDER_ID = Arrays.asList("orderId");
+
+	private static final String HEADERS = 
+		"H000001Mario Rossi\n" + 
+		"H000002Anna Bianchi\n" + 
+		"H000004Luca Verdi\n" + 
+		"H000004Luca Verdi\n";
+
+	private static final String DETAILS = 
+		"D000001Pen       0001\n" + 
+		"D000003Book      0002\n" + 
+		"D000004Paper     0003\n" + 
+		"D000005Ink       0004\n";
+
+	private static MergeJoin<OrderHeader, OrderDetail> newJoin(String headers, String details) {
+		return new MergeJoin<OrderHeader, OrderDetail>(new FixefidReader<OrderHeader>(new StringReader(headers), OrderHeader.class), ORDER_ID, 
+			new FixefidReader<OrderDetail>(new StringReader(details), OrderDetail.class), ORDER_ID);
+	}
+
+	@Test
+	public void testJoin() throws IOException {
+		try (MergeJoin<OrderHeader, OrderDetail> join = newJoin(HEADERS, DETAILS)) {
+			JoinResult<OrderHeader, OrderDetail> result = join.read();
+			Assert.assertTrue(JoinType.MATCHED.equals(result.getType()));
+			Assert.assertTrue(result.getLeft().getOrderId() == 1 && result.getRight().getOrderId() == 1);
+
+			result = join.read();
+			Assert.assertTrue(JoinType.LEFT_ONLY.equals(result.getType()));
+			Assert.assertTrue(result.getLeft().getOrderId() == 2 && result.getRight() == null);
+
+			result = join.read();
+			Assert.assertTrue(JoinType.RIGHT_ONLY.equals(result.getType()));
+			Assert.assertTrue(result.getLeft() == null && result.getRight().getOrderId() == 3);
+
+			result = join.read();
+			Assert.assertTrue(JoinType.MATCHED.equals(result.getType()));
+			Assert.assertTrue(result.getRight().getQuantity() == 3);
+
+			result = join.read();
+			Assert.assertTrue(JoinType.LEFT_ONLY.equals(result.getType()));
+			Assert.assertTrue(result.getLeft().getOrderId() == 4);
+
+			result = join.read();
+			Assert.assertTrue(JoinType.RIGHT_ONLY.equals(result.getType()));
+			Assert.assertTrue(result.getRight().getOrderId() == 5);
+
+			Assert.assertTrue(join.read() == null);
+		}
+	}
+
+	@Test
+	public void testNotSorted() throws IOException {
+		try (MergeJoin<OrderHeader, OrderDetail> join = newJoin("H000002Anna Bianchi\nH000001Mario Rossi\n", "")) {
+			Assert.assertTrue(JoinType.LEFT_ONLY.equals(join.read().getType()));
+			try {
+				join.read();
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE48.equals(e.getErrorCode()));
+			}
+		}
+	}
+
+	@Test
+	public void testNotValidKeyFields() {
+		try {
+			new MergeJoin<OrderHeader, Address>(new FixefidReader<OrderHeader>(new StringReader(HEADERS), OrderHeader.class), ORDER_ID, 
+				new FixefidReader<Address>(new StringReader(""), Address.class), Arrays.asList("postalCode"));
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE48.equals(e.getErrorCode()));
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.MultiLayoutReader;
+import com.github.parmag.fixefid.record.io.RecordDiscriminator;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.bean.OrderHeader;
+import com.github.parmag.fixefid.test.bean.OrderTrailer;
+
+public class MultiLayoutReaderTest {
+
+	private static final String ORDERS = 
+		"H000001Mario Rossi         \n" + 
+		"D000001Pen       0002\n" + 
+		"D000001Book      0010\r\n" + 
+		"X000001Unknown\n" + 
+		"H000002Anna\n" + 
+		"T000005";
+
+	private static List<RecordDiscriminator<?>> orderDiscriminators() {
+		List<RecordDiscriminator<?>> discriminators = new ArrayList<RecordDiscriminator<?>>();
+		discriminators.add(new RecordDiscriminator<OrderHeader>(OrderHeader.class, 0, "H"));
+		discriminators.add(new RecordDiscriminator<OrderDetail>(OrderDetail.class, 0, "D"));
+		discriminators.add(new RecordDiscriminator<OrderTrailer>(OrderTrailer.class, 0, "T"));
+		return discriminators;
+	}
+
+	@Test
+	public void testRead() throws IOException {
+		try (MultiLayoutReader reader = new MultiLayoutReader(new StringReader(ORDERS), orderDiscriminators(), 16)) {
+			Object bean = reader.read();
+			Assert.assertTrue(bean instanceof OrderHeader);
+			Assert.assertTrue(((OrderHeader) bean).getOrderId() == 1);
+			Assert.assertTrue("Mario Rossi".equals(((OrderHeader) bean).getCustomer().trim()));
+			Assert.assertTrue(reader.getDiscriminator().getValue().equals("H"));
+
+			bean = reader.read();
+			Assert.assertTrue(bean instanceof OrderDetail);
+			Assert.assertTrue(((OrderDetail) bean).getQuantity() == 2);
+			bean = reader.read();
+			Assert.assertTrue(bean instanceof OrderDetail);
+			Assert.assertTrue(((OrderDetail) bean).getQuantity() == 10);
+			Assert.assertTrue(reader.getRecordNumber() == 3);
+
+			try {
+				reader.read();
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+				Assert.assertTrue(reader.getRecordNumber() == 4);
+				Assert.assertTrue(reader.getRecordOffset() == 28 + 22 + 23);
+				Assert.assertTrue(reader.getDiscriminator() == null);
+			}
+
+			bean = reader.read();
+			Assert.assertTrue(bean instanceof OrderHeader);
+			Assert.assertTrue("Anna".equals(((OrderHeader) bean).getCustomer().trim()));
+
+			bean = reader.read();
+			Assert.assertTrue(bean instanceof OrderTrailer);
+			Assert.assertTrue(((OrderTrailer) bean).getRecordCount() == 5);
+			Assert.assertTrue(reader.read() == null);
+		}
+	}
+
+	@Test
+	public void testDiscriminatorsWithManyOffsets() throws IOException {
+		List<RecordDiscriminator<?>> discriminators = new ArrayList<RecordDiscriminator<?>>();
+		discriminators.add(new RecordDiscriminator<OrderHeader>(OrderHeader.class, 1, "000001"));
+		discriminators.add(new RecordDiscriminator<OrderDetail>(OrderDetail.class, 0, "D"));
+		try (MultiLayoutReader reader = new MultiLayoutReader(new StringReader("D000002Pen       0002\nH000001Mario\n"), discriminators)) {
+			Assert.assertTrue(reader.read() instanceof OrderDetail);
+			Assert.assertTrue(reader.read() instanceof OrderHeader);
+			Assert.assertTrue(reader.read() == null);
+		}
+	}
+
+	@Test
+	public void testTooLongRecord() throws IOException {
+		try (MultiLayoutReader reader = new MultiLayoutReader(new StringReader("D000001Pen       0002XXXXXXXXXXXXXXXXXX\nT000001\n"), orderDiscriminators())) {
+			try {
+				reader.read();
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			}
+
+			Assert.assertTrue(reader.read() instanceof OrderTrailer);
+			Assert.assertTrue(reader.getRecordNumber() == 2);
+		}
+	}
+
+	@Test
+	public void testNotValidDiscriminator() {
+		List<RecordDiscriminator<?>> discriminators = orderDiscriminators();
+		discriminators.add(new RecordDiscriminator<OrderTrailer>(OrderTrailer.class, 0, "D"));
+		try {
+			new MultiLayoutReader(new StringReader(ORDERS), discriminators);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE45.equals(e.getErrorCode()));
+		}
+
+		try {
+			new RecordDiscriminator<OrderTrailer>(OrderTrailer.class, 5, "XYZ");
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE45.equals(e.getErrorCode()));
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.csv.CSVBeanRecord;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.format.SimpleBooleanFormat;
+import com.github.parmag.fixefid.record.io.ParallelCSVReader;
+import com.github.parmag.fixefid.test.csv.Car;
+
+public class ParallelCSVReaderTest {
+
+	private static final int RECORD_COUNT = 300;
+	private static final int CHUNK_SIZE = 23;
+
+	private static final Map<String, List<FieldExtendedProperty>> MAP_FIELD_EXTENDED_PROPERTIES = new HashMap<String, List<FieldExtendedProperty>>();
+
+	static {
+		MAP_FIELD_EXTENDED_PROPERTIES.put("weight", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DECIMAL_FORMAT, new DecimalFormat("0.00", new DecimalFormatSymbols(Locale.ENGLISH))),
+			new FieldExtendedProperty(FieldExtendedPropertyType.REMOVE_DECIMAL_SEPARATOR, Boolean.valueOf(true))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("productionDate", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DATE_FORMAT, new SimpleDateFormat("ddMMyyyy", Locale.ENGLISH))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("used", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.BOOLEAN_FORMAT, new SimpleBooleanFormat("Y", "N"))));
+	}
+
+	private static List<String> carRecords() {
+		List<String> records = new ArrayList<String>();
+		for (int i = 0; i < RECORD_COUNT; i++) {
+			String model = i % 3 == 0 ? "\"C3\nPicasso, \"\"" + i + "\"\"\"" : "C3 Picasso " + i;
+			records.add("Citroen," + model + "," + (140000 + i) + "," + (4000 + i) + ",1730,1624,183," + (10 + i % 18) + "102002," +
+				(i % 2 == 0 ? "Y" : "N"));
+		}
+
+		return records;
+	}
+
+	private static Path writeCars(List<String> records) throws IOException {
+		Path path = Files.createTempFile("fixefid", ".csv");
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < records.size(); i++) {
+			sb.append(records.get(i)).append(i % 2 == 0 ? "\r\n" : "\n");
+		}
+		Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+		return path;
+	}
+
+	@Test
+	public void testForEachOrdered() throws IOException {
+		List<String> records = carRecords();
+		Path path = writeCars(records);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		ParallelCSVReader<Car> reader = new ParallelCSVReader<Car>(path, StandardCharsets.UTF_8, Car.class, null,
+			MAP_FIELD_EXTENDED_PROPERTIES, executor, CHUNK_SIZE);
+		try {
+			final List<Car> cars = new ArrayList<Car>();
+			reader.forEachOrdered(car -> cars.add(car));
+			Assert.assertTrue(cars.size() == RECORD_COUNT);
+			for (int i = 0; i < RECORD_COUNT; i++) {
+				Car expected = new Car();
+				new CSVBeanRecord(expected, records.get(i), null, MAP_FIELD_EXTENDED_PROPERTIES);
+				Car car = cars.get(i);
+				Assert.assertTrue(expected.getModel().equals(car.getModel()));
+				Assert.assertTrue(car.getLength() == 4000 + i);
+				Assert.assertTrue(expected.getWeight().equals(car.getWeight()));
+				Assert.assertTrue(expected.getProductionDate().equals(car.getProductionDate()));
+				Assert.assertTrue(expected.getUsed().equals(car.getUsed()));
+			}
+			Assert.assertTrue(cars.get(3).getModel().startsWith("C3\nPicasso, \""));
+		} finally {
+			reader.close();
+			executor.shutdown();
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testNotValidRecord() throws IOException {
+		List<String> records = carRecords();
+		records.set(200, records.get(200).replace("4200", "42X0"));
+		Path path = writeCars(records);
+		ParallelCSVReader<Car> reader = new ParallelCSVReader<Car>(path, StandardCharsets.UTF_8, Car.class, null,
+			MAP_FIELD_EXTENDED_PROPERTIES, Executors.newCachedThreadPool(), CHUNK_SIZE);
+		final int[] count = {0};
+		try {
+			reader.forEachOrdered(car -> count[0]++);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("number=[201]"));
+			Assert.assertTrue(count[0] == 200);
+		} finally {
+			reader.close();
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testNotValidCharset() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".csv");
+		try {
+			new ParallelCSVReader<Car>(path, StandardCharsets.UTF_16, Car.class);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE44.equals(e.getErrorCode()));
+		} finally {
+			Files.delete(path);
+		}
+	}
+}
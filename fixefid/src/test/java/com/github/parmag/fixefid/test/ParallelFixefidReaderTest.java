@@ -0,0 +1,103 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.ParallelFixefidReader;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class ParallelFixefidReaderTest {
+
+	private static final String PERSON_RECORD_AS_STRING = PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING;
+	private static final int RECORD_COUNT = 1000;
+	private static final int CHUNK_SIZE = 7 * (PERSON_RECORD_AS_STRING.length() + 1);
+
+	private static final BeanRecordCodec<PersonWithEPAnnotation> PERSON_CODEC = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	@Rule
+	public PersonFiles files = new PersonFiles();
+
+	private Path writePersons() throws IOException {
+		return files.writePersons(RECORD_COUNT, (person, i) -> person.setAge(i % 999 + 1));
+	}
+
+	@Test
+	public void testForEachOrdered() throws IOException {
+		Path path = writePersons();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		ParallelFixefidReader<PersonWithEPAnnotation> reader = new ParallelFixefidReader<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1,
+			PERSON_CODEC, RecordDelimiter.NEWLINE, executor, CHUNK_SIZE);
+		try {
+			Assert.assertTrue(reader.getRecordCount() == RECORD_COUNT);
+			Assert.assertTrue(reader.getChunkCount() == (RECORD_COUNT + 6) / 7);
+
+			final List<Integer> ages = new ArrayList<Integer>();
+			reader.forEachOrdered(person -> ages.add(person.getAge()));
+			Assert.assertTrue(ages.size() == RECORD_COUNT);
+			for (int i = 0; i < RECORD_COUNT; i++) {
+				Assert.assertTrue(ages.get(i) == i % 999 + 1);
+			}
+		} finally {
+			reader.close();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testForEach() throws IOException {
+		Path path = writePersons();
+		ParallelFixefidReader<PersonWithEPAnnotation> reader = new ParallelFixefidReader<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1,
+			PersonWithEPAnnotation.class);
+		try {
+			final List<Integer> ages = new ArrayList<Integer>();
+			reader.forEach(person -> ages.add(person.getAge()));
+			Assert.assertTrue(ages.size() == RECORD_COUNT);
+			List<Integer> expected = new ArrayList<Integer>();
+			for (int i = 0; i < RECORD_COUNT; i++) {
+				expected.add(i % 999 + 1);
+			}
+			Collections.sort(ages);
+			Collections.sort(expected);
+			Assert.assertTrue(expected.equals(ages));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testNotValidRecord() throws IOException {
+		Path path = writePersons();
+		byte[] bytes = Files.readAllBytes(path);
+		int ageOffset = PERSON_RECORD_AS_STRING.indexOf("051") + 1;
+		bytes[500 * (PERSON_RECORD_AS_STRING.length() + 1) + ageOffset] = 'X';
+		Files.write(path, bytes);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		ParallelFixefidReader<PersonWithEPAnnotation> reader = new ParallelFixefidReader<PersonWithEPAnnotation>(path, StandardCharsets.ISO_8859_1,
+			PERSON_CODEC, RecordDelimiter.NEWLINE, executor, CHUNK_SIZE);
+		try {
+			reader.forEachOrdered(person -> { });
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			Assert.assertTrue(e.getMessage().contains("number=[501]"));
+		} finally {
+			reader.close();
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.ObjIntConsumer;
+
+import org.junit.rules.TemporaryFolder;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.io.FixefidWriter;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+/**
+ * The temporary files of the tests that read and write files of persons. The files are deleted after every test, even if it fails.
+ */
+public class PersonFiles extends TemporaryFolder {
+
+	private final BeanRecordCodec<PersonWithEPAnnotation> personCodec = new BeanRecordCodec<PersonWithEPAnnotation>(PersonWithEPAnnotation.class);
+
+	public Path newPath() throws IOException {
+		return newFile().toPath();
+	}
+
+	public Path writePersons(int recordCount, ObjIntConsumer<PersonWithEPAnnotation> setter) throws IOException {
+		return writePersons(recordCount, RecordDelimiter.NEWLINE, StandardCharsets.ISO_8859_1, setter);
+	}
+
+	public Path writePersons(int recordCount, RecordDelimiter recordDelimiter, Charset charset, ObjIntConsumer<PersonWithEPAnnotation> setter)
+			throws IOException {
+		Path path = newPath();
+		FixefidWriter<PersonWithEPAnnotation> writer = new FixefidWriter<PersonWithEPAnnotation>(path, charset, personCodec, recordDelimiter);
+		PersonWithEPAnnotation person = personCodec.decode(PersonWithEPAnnotationTest.PERSON_RECORD_AS_STRING);
+		try {
+			for (int i = 0; i < recordCount; i++) {
+				setter.accept(person, i);
+				writer.write(person);
+			}
+		} finally {
+			writer.close();
+		}
+
+		return path;
+	}
+}
@@ -0,0 +1,146 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecord;
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ByteRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.record.io.FixefidWriter;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.bean.Person1000;
+
+public class ProjectionTest {
+
+	private static final String PERSON_1000_RECORD_AS_STRING = PersonTest.PERSON_RECORD_AS_STRING + String.format("%-903s", "");
+	private static final String DETAIL_RECORD_AS_STRING = "D000001Pen       0001";
+
+	private static Set<String> projection(String... fieldNames) {
+		return new HashSet<String>(Arrays.asList(fieldNames));
+	}
+
+	@Test
+	public void testBeanRecordProjection() {
+		Person1000 person = new Person1000();
+		BeanRecord record = new BeanRecord(person, PERSON_1000_RECORD_AS_STRING, null, null, null, projection("lastName", "age"));
+		Assert.assertTrue("Rossi".equals(person.getLastName()));
+		Assert.assertTrue(person.getAge() == 51);
+		Assert.assertTrue(person.getFirstName() == null);
+		Assert.assertTrue(person.getBirthDate() == null);
+		Assert.assertTrue(PERSON_1000_RECORD_AS_STRING.equals(record.toString()));
+		Assert.assertTrue(record.getProjection().contains("age"));
+
+		Assert.assertTrue("Paolo".equals(record.getValueAsString("firstName")));
+		record.setValue("age", 52);
+		record.setValue("firstName", "Mario");
+		Assert.assertTrue(record.toString().startsWith("Mario                    Rossi                    052"));
+		Assert.assertTrue(record.toString().substring(53).equals(PERSON_1000_RECORD_AS_STRING.substring(53)));
+	}
+
+	@Test
+	public void testBeanRecordProjectionWithUnknownField() {
+		try {
+			new BeanRecord(new Person1000(), PERSON_1000_RECORD_AS_STRING, null, null, null, projection("lastName", "unknown"));
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE9.equals(e.getErrorCode()));
+		}
+	}
+
+	@Test
+	public void testCodecProjection() {
+		BeanRecordCodec<OrderDetail> codec = new BeanRecordCodec<OrderDetail>(OrderDetail.class, null, null, null, projection("quantity"));
+		char[] buffer = "D00000XPen       0001".toCharArray();
+		OrderDetail detail = codec.decode(buffer, 0, new OrderDetail());
+		Assert.assertTrue(detail.getQuantity() == 1);
+		Assert.assertTrue(detail.getOrderId() == null);
+		Assert.assertTrue(detail.getItem() == null);
+
+		detail.setQuantity(5);
+		codec.update(detail, buffer, 0);
+		Assert.assertTrue("D00000XPen       0005".equals(new String(buffer)));
+		Assert.assertTrue(codec.encode(detail).endsWith("          0005"));
+		codec.encode(detail, buffer, 0);
+		Assert.assertTrue(codec.encode(detail).equals(new String(buffer)));
+		Assert.assertTrue(codec.copy().getProjection().equals(projection("quantity")));
+	}
+
+	@Test
+	public void testByteCodecProjection() {
+		ByteRecordCodec<OrderDetail> codec = new ByteRecordCodec<OrderDetail>(
+			new BeanRecordCodec<OrderDetail>(OrderDetail.class, null, null, null, projection("item", "quantity")), StandardCharsets.ISO_8859_1);
+		byte[] bytes = "D00000XPen       0001".getBytes(StandardCharsets.ISO_8859_1);
+		OrderDetail detail = codec.decode(bytes, 0, new OrderDetail());
+		Assert.assertTrue("Pen".equals(detail.getItem()));
+		Assert.assertTrue(detail.getQuantity() == 1);
+		Assert.assertTrue(detail.getOrderId() == null);
+
+		detail.setQuantity(7);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		codec.update(detail, buffer, 0);
+		byte[] encoded = new byte[bytes.length];
+		((Buffer) buffer).flip();
+		buffer.get(encoded);
+		Assert.assertTrue("D00000XPen       0007".equals(new String(encoded, StandardCharsets.ISO_8859_1)));
+
+		codec.encode(detail, buffer, 0);
+		((Buffer) buffer).rewind();
+		buffer.get(encoded);
+		Assert.assertTrue(Arrays.equals(codec.encode(detail), encoded));
+		Assert.assertTrue(new String(encoded, StandardCharsets.ISO_8859_1).endsWith("Pen       0007"));
+	}
+
+	@Test
+	public void testWriterProjection() throws IOException {
+		BeanRecordCodec<OrderDetail> codec = new BeanRecordCodec<OrderDetail>(OrderDetail.class, null, null, null, projection("quantity"));
+		BeanRecordCodec<OrderDetail> allFieldsCodec = new BeanRecordCodec<OrderDetail>(OrderDetail.class);
+		OrderDetail first = allFieldsCodec.decode(DETAIL_RECORD_AS_STRING);
+		OrderDetail second = allFieldsCodec.decode("D000002Book      0002");
+		second.setItem(null);
+
+		StringWriter out = new StringWriter();
+		try (FixefidWriter<OrderDetail> writer = new FixefidWriter<OrderDetail>(out, codec, RecordDelimiter.NEWLINE)) {
+			writer.write(first);
+			writer.write(second);
+		}
+
+		String expected = allFieldsCodec.encode(first) + "\n" + allFieldsCodec.encode(second) + "\n";
+		Assert.assertTrue(expected.equals(out.toString()));
+		Assert.assertTrue(out.toString().indexOf('\0') < 0);
+		Assert.assertTrue(out.toString().startsWith(DETAIL_RECORD_AS_STRING));
+	}
+
+	@Test
+	public void testReaderProjection() throws IOException {
+		Path path = Files.createTempFile("fixefid", ".txt");
+		try {
+			Files.write(path, (DETAIL_RECORD_AS_STRING + "\n" + "D00000XBook      0002\n").getBytes(StandardCharsets.ISO_8859_1));
+			try (FixefidReader<OrderDetail> reader = new FixefidReader<OrderDetail>(path, StandardCharsets.ISO_8859_1, OrderDetail.class, 
+					projection("quantity"))) {
+				Assert.assertTrue(reader.read().getQuantity() == 1);
+				OrderDetail detail = reader.read();
+				Assert.assertTrue(detail.getQuantity() == 2);
+				Assert.assertTrue(detail.getItem() == null);
+				Assert.assertTrue(reader.read() == null);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordCursor;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.eps.FieldExtendedPropertyFactory;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.format.SimpleBooleanFormat;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.record.io.RecordDelimiter;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.bean.Person;
+
+public class RecordCursorTest {
+
+	private static final String DETAILS_AS_STRING = "D000001Pen       0001D000002Book      0012";
+
+	private static final Map<String, List<FieldExtendedProperty>> MAP_FIELD_EXTENDED_PROPERTIES = new HashMap<String, List<FieldExtendedProperty>>();
+
+	static {
+		MAP_FIELD_EXTENDED_PROPERTIES.put("birthDate", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DATE_FORMAT, new SimpleDateFormat("ddMMyyyy", Locale.ENGLISH))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("stature", Arrays.asList(
+			FieldExtendedPropertyFactory.createDecimalFormat("0.00", Locale.ENGLISH),
+			FieldExtendedPropertyFactory.createRemoveDecimalSeparator(Boolean.valueOf(true))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("vip", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.BOOLEAN_FORMAT, new SimpleBooleanFormat("Y", "N"))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("tor", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DECIMAL_FORMAT, new DecimalFormat("0.0000", new DecimalFormatSymbols(Locale.ENGLISH)))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("turnover", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DECIMAL_FORMAT, new DecimalFormat("0.00", new DecimalFormatSymbols(Locale.ENGLISH)))));
+	}
+
+	@Test
+	public void testCharsAndBytes() {
+		RecordCursor cursor = new RecordCursor(new BeanRecordCodec<OrderDetail>(OrderDetail.class), StandardCharsets.ISO_8859_1);
+		int orderId = cursor.fieldIndex("orderId");
+		int quantity = cursor.fieldIndex("quantity");
+
+		char[] chars = DETAILS_AS_STRING.toCharArray();
+		cursor.position(chars, 0);
+		Assert.assertTrue(cursor.getInt(orderId) == 1);
+		Assert.assertTrue("Pen".equals(cursor.getString("item")));
+		cursor.position(chars, cursor.getRecordLen());
+		Assert.assertTrue(cursor.getLong(orderId) == 2);
+		Assert.assertTrue(cursor.getInt(quantity) == 12);
+		Assert.assertTrue(BigDecimal.valueOf(12).equals(cursor.getDecimal(quantity)));
+		Assert.assertTrue("Book".equals(cursor.getString("item")));
+		Assert.assertTrue("D".equals(cursor.getString("recordType")));
+
+		byte[] bytes = DETAILS_AS_STRING.getBytes(StandardCharsets.ISO_8859_1);
+		cursor.position(bytes, cursor.getRecordLen());
+		Assert.assertTrue(cursor.getInt(orderId) == 2);
+		Assert.assertTrue(cursor.getInt("quantity") == 12);
+		Assert.assertTrue("Book".equals(cursor.getString("item")));
+	}
+
+	@Test
+	public void testFormattedFields() {
+		RecordCursor cursor = new RecordCursor(new BeanRecordCodec<Person>(Person.class, null, MAP_FIELD_EXTENDED_PROPERTIES, null));
+		cursor.position(PersonTest.PERSON_RECORD_AS_STRING.toCharArray(), 0);
+		Assert.assertTrue("Rossi".equals(cursor.getString("lastName")));
+		Assert.assertTrue(cursor.getInt("age") == 51);
+		Assert.assertTrue(new BigDecimal("1.86").equals(cursor.getDecimal("stature")));
+		Assert.assertTrue(cursor.getLong("id") == 1);
+		Assert.assertTrue(new BigDecimal("1.0001").equals(cursor.getDecimal("tor")));
+		Assert.assertTrue(new BigDecimal("100000.00").equals(cursor.getDecimal("turnover")));
+
+		Calendar cal = Calendar.getInstance();
+		cal.setTime(cursor.getDate("birthDate"));
+		Assert.assertTrue(cal.get(Calendar.DAY_OF_MONTH) == 7);
+		Assert.assertTrue(cal.get(Calendar.MONTH) == 9);
+		Assert.assertTrue(cal.get(Calendar.YEAR) == 2002);
+
+		cursor.position(PersonTest.PERSON_RECORD_AS_STRING_WITH_ERROR.toCharArray(), 0);
+		try {
+			cursor.getInt("age");
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE39.equals(e.getErrorCode()));
+		}
+	}
+
+	@Test
+	public void testUnknownField() {
+		RecordCursor cursor = new RecordCursor(new BeanRecordCodec<OrderDetail>(OrderDetail.class));
+		try {
+			cursor.fieldIndex("unknown");
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE9.equals(e.getErrorCode()));
+		}
+
+		try {
+			cursor.position(DETAILS_AS_STRING.getBytes(StandardCharsets.ISO_8859_1), 0);
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getMessage() != null);
+		}
+	}
+
+	@Test
+	public void testReaderNext() throws IOException {
+		BeanRecordCodec<OrderDetail> codec = new BeanRecordCodec<OrderDetail>(OrderDetail.class);
+		RecordCursor cursor = new RecordCursor(codec);
+		int quantity = cursor.fieldIndex("quantity");
+		long total = 0;
+		try (FixefidReader<OrderDetail> reader = new FixefidReader<OrderDetail>(new StringReader(DETAILS_AS_STRING), codec, RecordDelimiter.NONE)) {
+			while (reader.next(cursor)) {
+				total += cursor.getInt(quantity);
+			}
+
+			Assert.assertTrue(reader.getRecordNumber() == 2);
+		}
+
+		Assert.assertTrue(total == 13);
+	}
+}
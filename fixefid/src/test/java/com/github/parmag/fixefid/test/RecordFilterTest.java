@@ -0,0 +1,129 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.BeanRecordCodec;
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordCursor;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.RecordFilter;
+import com.github.parmag.fixefid.record.eps.FieldExtendedPropertyFactory;
+import com.github.parmag.fixefid.record.field.FieldExtendedProperty;
+import com.github.parmag.fixefid.record.field.FieldExtendedPropertyType;
+import com.github.parmag.fixefid.record.format.SimpleBooleanFormat;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.bean.Person;
+
+public class RecordFilterTest {
+
+	private static final String DETAIL_1 = "D000001Pen       0001";
+	private static final String DETAIL_2 = "D000002Book      0012";
+	private static final String DETAIL_3 = "D000003Paper     1500";
+	private static final String NOT_VALID_DETAIL = "X00000AXXXXXXXXXXABCD";
+
+	private static final Map<String, List<FieldExtendedProperty>> MAP_FIELD_EXTENDED_PROPERTIES = new HashMap<String, List<FieldExtendedProperty>>();
+
+	static {
+		MAP_FIELD_EXTENDED_PROPERTIES.put("birthDate", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DATE_FORMAT, new SimpleDateFormat("ddMMyyyy", Locale.ENGLISH))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("stature", Arrays.asList(
+			FieldExtendedPropertyFactory.createDecimalFormat("0.00", Locale.ENGLISH),
+			FieldExtendedPropertyFactory.createRemoveDecimalSeparator(Boolean.valueOf(true))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("tor", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DECIMAL_FORMAT, new DecimalFormat("0.0000", new DecimalFormatSymbols(Locale.ENGLISH)))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("turnover", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.DECIMAL_FORMAT, new DecimalFormat("0.00", new DecimalFormatSymbols(Locale.ENGLISH)))));
+		MAP_FIELD_EXTENDED_PROPERTIES.put("vip", Arrays.asList(
+			new FieldExtendedProperty(FieldExtendedPropertyType.BOOLEAN_FORMAT, new SimpleBooleanFormat("Y", "N"))));
+	}
+
+	private static boolean matches(RecordFilter filter, RecordCursor cursor, String record) {
+		Predicate<RecordCursor> predicate = filter.compile(cursor);
+		return predicate.test(cursor.position(record.toCharArray(), 0));
+	}
+
+	@Test
+	public void testFilters() {
+		RecordCursor cursor = new RecordCursor(new BeanRecordCodec<OrderDetail>(OrderDetail.class));
+		Assert.assertTrue(matches(RecordFilter.equalTo("recordType", "D"), cursor, DETAIL_1));
+		Assert.assertTrue(!matches(RecordFilter.equalTo("recordType", "H"), cursor, DETAIL_1));
+		Assert.assertTrue(matches(RecordFilter.equalTo("item", "Book"), cursor, DETAIL_2));
+		Assert.assertTrue(!matches(RecordFilter.equalTo("item", "Boo"), cursor, DETAIL_2));
+		Assert.assertTrue(matches(RecordFilter.equalTo("orderId", 2), cursor, DETAIL_2));
+		Assert.assertTrue(matches(RecordFilter.startsWith("item", "Pa"), cursor, DETAIL_3));
+		Assert.assertTrue(!matches(RecordFilter.startsWith("item", "Pa"), cursor, DETAIL_1));
+		Assert.assertTrue(!matches(RecordFilter.startsWith("item", "Paper     and more"), cursor, DETAIL_3));
+
+		Assert.assertTrue(matches(RecordFilter.greaterThan("quantity", 1000), cursor, DETAIL_3));
+		Assert.assertTrue(!matches(RecordFilter.greaterThan("quantity", 1500), cursor, DETAIL_3));
+		Assert.assertTrue(matches(RecordFilter.lessThan("quantity", 13), cursor, DETAIL_2));
+		Assert.assertTrue(matches(RecordFilter.between("quantity", 12, 12), cursor, DETAIL_2));
+		Assert.assertTrue(!matches(RecordFilter.between("quantity", 13, 100), cursor, DETAIL_2));
+
+		RecordFilter filter = RecordFilter.equalTo("recordType", "D").and(RecordFilter.anyOf(
+			RecordFilter.startsWith("item", "Pe"), RecordFilter.greaterThan("quantity", new BigDecimal("999.5"))));
+		Assert.assertTrue(matches(filter, cursor, DETAIL_1));
+		Assert.assertTrue(!matches(filter, cursor, DETAIL_2));
+		Assert.assertTrue(matches(filter, cursor, DETAIL_3));
+		Assert.assertTrue(matches(RecordFilter.not(filter), cursor, DETAIL_2));
+	}
+
+	@Test
+	public void testDecimalFilters() {
+		RecordCursor cursor = new RecordCursor(new BeanRecordCodec<Person>(Person.class, null, MAP_FIELD_EXTENDED_PROPERTIES, null));
+		Assert.assertTrue(matches(RecordFilter.greaterThan("stature", new BigDecimal("1.85")), cursor, PersonTest.PERSON_RECORD_AS_STRING));
+		Assert.assertTrue(!matches(RecordFilter.greaterThan("stature", new BigDecimal("1.861")), cursor, PersonTest.PERSON_RECORD_AS_STRING));
+		Assert.assertTrue(matches(RecordFilter.lessThan("stature", new BigDecimal("1.861")), cursor, PersonTest.PERSON_RECORD_AS_STRING));
+		Assert.assertTrue(matches(RecordFilter.between("tor", new BigDecimal("1"), new BigDecimal("1.0001")), cursor, PersonTest.PERSON_RECORD_AS_STRING));
+		Assert.assertTrue(!matches(RecordFilter.greaterThan("tor", new BigDecimal("1.0001")), cursor, PersonTest.PERSON_RECORD_AS_STRING));
+	}
+
+	@Test
+	public void testUnknownField() {
+		RecordCursor cursor = new RecordCursor(new BeanRecordCodec<OrderDetail>(OrderDetail.class));
+		try {
+			RecordFilter.equalTo("unknown", "D").compile(cursor);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE9.equals(e.getErrorCode()));
+		}
+	}
+
+	@Test
+	public void testReaderFilter() throws IOException {
+		String records = DETAIL_1 + "\n" + NOT_VALID_DETAIL + "\n" + DETAIL_2 + "\n" + DETAIL_3 + "\n";
+		try (FixefidReader<OrderDetail> reader = new FixefidReader<OrderDetail>(new StringReader(records), OrderDetail.class)) {
+			reader.setFilter(RecordFilter.equalTo("recordType", "D").and(RecordFilter.greaterThan("quantity", 10)));
+			OrderDetail detail = reader.read();
+			Assert.assertTrue(detail.getOrderId() == 2);
+			Assert.assertTrue(reader.getRecordNumber() == 3);
+			detail = reader.read();
+			Assert.assertTrue(detail.getOrderId() == 3);
+			Assert.assertTrue(reader.read() == null);
+			Assert.assertTrue(reader.getRecordNumber() == 4);
+		}
+
+		try (FixefidReader<OrderDetail> reader = new FixefidReader<OrderDetail>(new StringReader(records), OrderDetail.class)) {
+			reader.setFilter(RecordFilter.greaterThan("quantity", 10));
+			Assert.assertTrue(reader.read().getOrderId() == 2);
+			Assert.fail();
+		} catch (RecordException e) {
+			Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+		}
+	}
+}
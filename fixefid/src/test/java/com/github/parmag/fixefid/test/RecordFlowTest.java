@@ -0,0 +1,101 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.flow.Flow;
+import com.github.parmag.fixefid.record.flow.RecordPublisher;
+import com.github.parmag.fixefid.record.flow.RecordSubscriber;
+import com.github.parmag.fixefid.record.io.FixefidReader;
+import com.github.parmag.fixefid.record.io.FixefidWriter;
+import com.github.parmag.fixefid.test.bean.PersonWithEPAnnotation;
+
+public class RecordFlowTest {
+
+	private static final int RECORD_COUNT = 500;
+
+	@Rule
+	public PersonFiles files = new PersonFiles();
+
+	private Path writePersons() throws IOException {
+		return files.writePersons(RECORD_COUNT, (person, i) -> person.setAge(i + 1));
+	}
+
+	@Test
+	public void testPublisherToSubscriber() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+		Path in = writePersons();
+		Path out = files.newPath();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			RecordPublisher<PersonWithEPAnnotation> publisher = new RecordPublisher<PersonWithEPAnnotation>(
+				new FixefidReader<PersonWithEPAnnotation>(in, StandardCharsets.ISO_8859_1, PersonWithEPAnnotation.class), executor);
+			RecordSubscriber<PersonWithEPAnnotation> subscriber = new RecordSubscriber<PersonWithEPAnnotation>(
+				new FixefidWriter<PersonWithEPAnnotation>(out, StandardCharsets.ISO_8859_1, PersonWithEPAnnotation.class), 16);
+			publisher.subscribe(subscriber);
+			Assert.assertTrue(subscriber.getResult().get(10, TimeUnit.SECONDS) == RECORD_COUNT);
+			Assert.assertTrue(Arrays.equals(Files.readAllBytes(in), Files.readAllBytes(out)));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testBackpressure() throws IOException {
+		Path in = writePersons();
+		RecordPublisher<PersonWithEPAnnotation> publisher = new RecordPublisher<PersonWithEPAnnotation>(
+			new FixefidReader<PersonWithEPAnnotation>(in, StandardCharsets.ISO_8859_1, PersonWithEPAnnotation.class), Runnable::run);
+		final List<Integer> ages = new ArrayList<Integer>();
+		final List<Throwable> errors = new ArrayList<Throwable>();
+		final Flow.Subscription[] subscription = new Flow.Subscription[1];
+		publisher.subscribe(new Flow.Subscriber<PersonWithEPAnnotation>() {
+			@Override
+			public void onSubscribe(Flow.Subscription s) {
+				subscription[0] = s;
+			}
+
+			@Override
+			public void onNext(PersonWithEPAnnotation item) {
+				ages.add(item.getAge());
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				errors.add(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+
+		Assert.assertTrue(ages.isEmpty());
+		subscription[0].request(3);
+		Assert.assertTrue(ages.size() == 3);
+		subscription[0].request(2);
+		Assert.assertTrue(ages.size() == 5 && ages.get(4) == 5);
+		subscription[0].request(0);
+		Assert.assertTrue(errors.size() == 1 && errors.get(0) instanceof IllegalArgumentException);
+		subscription[0].request(10);
+		Assert.assertTrue(ages.size() == 5);
+
+		Path out = files.newPath();
+		RecordSubscriber<PersonWithEPAnnotation> subscriber = new RecordSubscriber<PersonWithEPAnnotation>(
+			new FixefidWriter<PersonWithEPAnnotation>(out, StandardCharsets.ISO_8859_1, PersonWithEPAnnotation.class));
+		publisher.subscribe(subscriber);
+		Assert.assertTrue(subscriber.getResult().isCompletedExceptionally());
+	}
+}
@@ -0,0 +1,108 @@
+package com.github.parmag.fixefid.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.parmag.fixefid.record.ErrorCode;
+import com.github.parmag.fixefid.record.RecordException;
+import com.github.parmag.fixefid.record.io.GroupOverflow;
+import com.github.parmag.fixefid.record.io.MultiLayoutReader;
+import com.github.parmag.fixefid.record.io.RecordDiscriminator;
+import com.github.parmag.fixefid.record.io.RecordGroup;
+import com.github.parmag.fixefid.record.io.RecordGroupReader;
+import com.github.parmag.fixefid.test.bean.OrderDetail;
+import com.github.parmag.fixefid.test.bean.OrderHeader;
+import com.github.parmag.fixefid.test.bean.OrderTrailer;
+
+public class RecordGroupReaderTest {
+
+	private static final String ORDERS = 
+		"H000001Mario Rossi\n" + 
+		"D000001Pen       0001\n" + 
+		"D000001Book      0002\n" + 
+		"H000002Anna Bianchi\n" + 
+		"H000003Luca Verdi\n" + 
+		"D000003Pen       0001\n" + 
+		"D000003Book      0002\n" + 
+		"D000003Paper     0003\n" + 
+		"D000003Ink       0004\n" + 
+		"D000003Pencil    0005\n" + 
+		"H000004Paola Neri\n" + 
+		"D000004Pen       0001\n" + 
+		"T000012\n";
+
+	private static MultiLayoutReader newOrderReader(String orders) {
+		List<RecordDiscriminator<?>> discriminators = new ArrayList<RecordDiscriminator<?>>();
+		discriminators.add(new RecordDiscriminator<OrderHeader>(OrderHeader.class, 0, "H"));
+		discriminators.add(new RecordDiscriminator<OrderDetail>(OrderDetail.class, 0, "D"));
+		discriminators.add(new RecordDiscriminator<OrderTrailer>(OrderTrailer.class, 0, "T"));
+		return new MultiLayoutReader(new StringReader(orders), discriminators);
+	}
+
+	@Test
+	public void testReadWithSpill() throws IOException {
+		try (RecordGroupReader<OrderHeader, OrderDetail> reader = new RecordGroupReader<OrderHeader, OrderDetail>(newOrderReader(ORDERS), 
+				OrderHeader.class, OrderDetail.class, 2, GroupOverflow.SPILL)) {
+			RecordGroup<OrderHeader, OrderDetail> group = reader.read();
+			Assert.assertTrue(group.getHeader().getOrderId() == 1);
+			Assert.assertTrue(group.getDetailCount() == 2 && group.getDetails().size() == 2 && !group.isSpilled());
+
+			group = reader.read();
+			Assert.assertTrue(group.getHeader().getOrderId() == 2);
+			Assert.assertTrue(group.getDetailCount() == 0 && !group.iterator().hasNext());
+
+			group = reader.read();
+			Assert.assertTrue(group.getHeader().getOrderId() == 3 && group.getHeaderRecordNumber() == 5);
+			Assert.assertTrue(group.getDetailCount() == 5 && group.getDetails().size() == 2 && group.isSpilled());
+			int quantity = 0;
+			for (OrderDetail detail : group) {
+				Assert.assertTrue(detail.getOrderId() == 3);
+				Assert.assertTrue(detail.getQuantity() == ++quantity);
+			}
+			Assert.assertTrue(quantity == 5);
+
+			group = reader.read();
+			Assert.assertTrue(group.getHeader().getOrderId() == 4);
+			Assert.assertTrue(group.getDetailCount() == 1);
+			Assert.assertTrue(reader.read() == null);
+		}
+	}
+
+	@Test
+	public void testReadWithReject() throws IOException {
+		try (RecordGroupReader<OrderHeader, OrderDetail> reader = new RecordGroupReader<OrderHeader, OrderDetail>(newOrderReader(ORDERS), 
+				OrderHeader.class, OrderDetail.class, 2, GroupOverflow.REJECT)) {
+			Assert.assertTrue(reader.read().getHeader().getOrderId() == 1);
+			Assert.assertTrue(reader.read().getHeader().getOrderId() == 2);
+			try {
+				reader.read();
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE46.equals(e.getErrorCode()));
+			}
+
+			Assert.assertTrue(reader.read().getHeader().getOrderId() == 4);
+			Assert.assertTrue(reader.read() == null);
+		}
+	}
+
+	@Test
+	public void testDetailWithoutHeader() throws IOException {
+		try (RecordGroupReader<OrderHeader, OrderDetail> reader = new RecordGroupReader<OrderHeader, OrderDetail>(
+				newOrderReader("D000001Pen       0001\nH000001Mario Rossi\n"), OrderHeader.class, OrderDetail.class)) {
+			try {
+				reader.read();
+				Assert.fail();
+			} catch (RecordException e) {
+				Assert.assertTrue(ErrorCode.RE41.equals(e.getErrorCode()));
+			}
+
+			Assert.assertTrue(reader.read().getHeader().getOrderId() == 1);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.github.parmag.fixefid.test.bean;
+
+import java.math.BigDecimal;
+
+import com.github.parmag.fixefid.record.bean.FixefidField;
+import com.github.parmag.fixefid.record.bean.FixefidRecord;
+import com.github.parmag.fixefid.record.eps.FixefidScale;
+import com.github.parmag.fixefid.record.field.FieldType;
+
+@FixefidRecord
+public class Account {
+	@FixefidField(fieldOrdinal = 1, fieldLen = 10, fieldType = FieldType.AN)
+	private String code;
+	
+	@FixefidField(fieldOrdinal = 2, fieldLen = 5, fieldType = FieldType.PD)
+	private Integer quantity;
+	
+	@FixefidScale(scale = 2)
+	@FixefidField(fieldOrdinal = 3, fieldLen = 6, fieldType = FieldType.PD)
+	private BigDecimal balance;
+	
+	@FixefidField(fieldOrdinal = 4, fieldLen = 4, fieldType = FieldType.BIN)
+	private Integer count;
+	
+	@FixefidField(fieldOrdinal = 5, fieldLen = 8, fieldType = FieldType.BIN)
+	private Long id;
+	
+	@FixefidScale(scale = 3)
+	@FixefidField(fieldOrdinal = 6, fieldLen = 4, fieldType = FieldType.BIN, fieldDefaultValue = "1.5")
+	private BigDecimal rate;
+	
+	public String getCode() {
+		return code;
+	}
+	public void setCode(String code) {
+		this.code = code;
+	}
+	public Integer getQuantity() {
+		return quantity;
+	}
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+	public BigDecimal getBalance() {
+		return balance;
+	}
+	public void setBalance(BigDecimal balance) {
+		this.balance = balance;
+	}
+	public Integer getCount() {
+		return count;
+	}
+	public void setCount(Integer count) {
+		this.count = count;
+	}
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public BigDecimal getRate() {
+		return rate;
+	}
+	public void setRate(BigDecimal rate) {
+		this.rate = rate;
+	}
+	
+}
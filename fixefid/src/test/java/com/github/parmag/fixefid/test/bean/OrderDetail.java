@@ -0,0 +1,42 @@
+package com.github.parmag.fixefid.test.bean;
+
+import com.github.parmag.fixefid.record.bean.FixefidField;
+import com.github.parmag.fixefid.record.bean.FixefidRecord;
+import com.github.parmag.fixefid.record.field.FieldType;
+
+@FixefidRecord
+public class OrderDetail {
+	@FixefidField(fieldOrdinal = 1, fieldLen = 1, fieldType = FieldType.AN)
+	private String recordType;
+	@FixefidField(fieldOrdinal = 2, fieldLen = 6, fieldType = FieldType.N)
+	private Integer orderId;
+	@FixefidField(fieldOrdinal = 3, fieldLen = 10, fieldType = FieldType.AN)
+	private String item;
+	@FixefidField(fieldOrdinal = 4, fieldLen = 4, fieldType = FieldType.N)
+	private Integer quantity;
+	
+	public String getRecordType() {
+		return recordType;
+	}
+	public void setRecordType(String recordType) {
+		this.recordType = recordType;
+	}
+	public Integer getOrderId() {
+		return orderId;
+	}
+	public void setOrderId(Integer orderId) {
+		this.orderId = orderId;
+	}
+	public String getItem() {
+		return item;
+	}
+	public void setItem(String item) {
+		this.item = item;
+	}
+	public Integer getQuantity() {
+		return quantity;
+	}
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+}
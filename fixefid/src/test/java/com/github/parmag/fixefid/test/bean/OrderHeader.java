@@ -0,0 +1,34 @@
+package com.github.parmag.fixefid.test.bean;
+
+import com.github.parmag.fixefid.record.bean.FixefidField;
+import com.github.parmag.fixefid.record.bean.FixefidRecord;
+import com.github.parmag.fixefid.record.field.FieldType;
+
+@FixefidRecord
+public class OrderHeader {
+	@FixefidField(fieldOrdinal = 1, fieldLen = 1, fieldType = FieldType.AN)
+	private String recordType;
+	@FixefidField(fieldOrdinal = 2, fieldLen = 6, fieldType = FieldType.N)
+	private Integer orderId;
+	@FixefidField(fieldOrdinal = 3, fieldLen = 20, fieldType = FieldType.AN)
+	private String customer;
+	
+	public String getRecordType() {
+		return recordType;
+	}
+	public void setRecordType(String recordType) {
+		this.recordType = recordType;
+	}
+	public Integer getOrderId() {
+		return orderId;
+	}
+	public void setOrderId(Integer orderId) {
+		this.orderId = orderId;
+	}
+	public String getCustomer() {
+		return customer;
+	}
+	public void setCustomer(String customer) {
+		this.customer = customer;
+	}
+}
@@ -0,0 +1,26 @@
+package com.github.parmag.fixefid.test.bean;
+
+import com.github.parmag.fixefid.record.bean.FixefidField;
+import com.github.parmag.fixefid.record.bean.FixefidRecord;
+import com.github.parmag.fixefid.record.field.FieldType;
+
+@FixefidRecord
+public class OrderTrailer {
+	@FixefidField(fieldOrdinal = 1, fieldLen = 1, fieldType = FieldType.AN)
+	private String recordType;
+	@FixefidField(fieldOrdinal = 2, fieldLen = 6, fieldType = FieldType.N)
+	private Integer recordCount;
+	
+	public String getRecordType() {
+		return recordType;
+	}
+	public void setRecordType(String recordType) {
+		this.recordType = recordType;
+	}
+	public Integer getRecordCount() {
+		return recordCount;
+	}
+	public void setRecordCount(Integer recordCount) {
+		this.recordCount = recordCount;
+	}
+}